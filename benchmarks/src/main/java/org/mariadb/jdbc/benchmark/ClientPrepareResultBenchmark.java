@@ -0,0 +1,58 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.util.ClientPrepareResultCache;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side prepared statement parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientPrepareResultBenchmark {
+    private static final String SELECT_SQL = "SELECT o.id, o.label, c.name FROM orders o "
+            + "INNER JOIN customers c ON c.id = o.customer_id "
+            + "WHERE o.created > ? AND o.label LIKE ? /* comment with ? */ AND c.name <> 'it''s ?' "
+            + "ORDER BY o.id LIMIT ?";
+    private static final String INSERT_SQL = "INSERT INTO orders(id, customer_id, amount, label, created, quantity, price, comment) "
+            + "VALUES (?, ?, ?, ?, NOW(), ?, ?, ?) ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
+
+    @Benchmark
+    public ClientPrepareResult parameterPartsSelect() {
+        return ClientPrepareResult.parameterParts(SELECT_SQL, false);
+    }
+
+    @Benchmark
+    public ClientPrepareResult parameterPartsInsert() {
+        return ClientPrepareResult.parameterParts(INSERT_SQL, false);
+    }
+
+    @Benchmark
+    public ClientPrepareResult rewritablePartsInsert() {
+        return ClientPrepareResult.rewritableParts(INSERT_SQL, false);
+    }
+
+    @Benchmark
+    public ClientPrepareResult cachedParameterPartsSelect() {
+        return ClientPrepareResultCache.get(SELECT_SQL, false, false);
+    }
+
+    @Benchmark
+    public ClientPrepareResult cachedRewritablePartsInsert() {
+        return ClientPrepareResultCache.get(INSERT_SQL, false, true);
+    }
+}
@@ -0,0 +1,61 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.queryresults.CmdInformation;
+import org.mariadb.jdbc.internal.queryresults.CmdInformationMultiple;
+import org.mariadb.jdbc.internal.queryresults.CmdInformationRewrite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch results accumulation : one addStats per executed statement, then update counts retrieval,
+ * as done by executeBatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CmdInformationBenchmark {
+
+    @Param({"100", "100000"})
+    public int batchSize;
+
+    /**
+     * Batch send one statement at a time (or pipelined) : one result per statement.
+     *
+     * @return update counts
+     */
+    @Benchmark
+    public int[] multiple() {
+        CmdInformation cmdInformation = new CmdInformationMultiple(1L, 1, batchSize);
+        for (int i = 1; i < batchSize; i++) {
+            cmdInformation.addStats(1, i + 1L);
+        }
+        return cmdInformation.getUpdateCounts();
+    }
+
+    /**
+     * Rewritten batch : one result per rewritten multi-values query of 1000 statements.
+     *
+     * @return update counts
+     */
+    @Benchmark
+    public int[] rewrite() {
+        CmdInformation cmdInformation = new CmdInformationRewrite(batchSize);
+        for (int i = 0; i < batchSize; i += 1000) {
+            cmdInformation.addStats(Math.min(1000, batchSize - i), i + 1L);
+        }
+        return cmdInformation.getUpdateCounts();
+    }
+}
@@ -0,0 +1,110 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.stream.CompressionCodec;
+import org.mariadb.jdbc.internal.stream.CompressionEngine;
+import org.mariadb.jdbc.internal.stream.ZlibCompressionCodec;
+import org.mariadb.jdbc.internal.stream.ZstdCompressionCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compressed protocol codecs on 1MB of text result-set wire bytes, cut in packets of the given size.
+ * One operation handles 1MB, so average time is the CPU time per MB and its inverse the throughput in MB/s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompressionBenchmark {
+    private static final int MB = 1024 * 1024;
+
+    @Param({"zlib", "zstd"})
+    public String codec;
+
+    @Param({"1", "-1"})
+    public int level;
+
+    /**
+     * Compressed packet size.
+     */
+    @Param({"16384", "1048576"})
+    public int packetSize;
+
+    private CompressionEngine engine;
+    private byte[] data;
+    private int[] compressedLengths;
+    private ReplayInputStream compressedStream;
+
+    /**
+     * Build result-set data and its compressed packets.
+     */
+    @Setup
+    public void setup() {
+        CompressionCodec compressionCodec = "zstd".equals(codec) ? new ZstdCompressionCodec() : new ZlibCompressionCodec();
+        compressionCodec.setCompressionLevel(level);
+        engine = new CompressionEngine(compressionCodec, 0);
+
+        byte[] resultSet = SampleData.mixed(20000).textResultSet();
+        data = Arrays.copyOf(resultSet, MB);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressedLengths = new int[MB / packetSize];
+        for (int i = 0; i < compressedLengths.length; i++) {
+            compressedLengths[i] = engine.compress(data, i * packetSize, packetSize);
+            if (compressedLengths[i] == -1) throw new IllegalStateException("sample data not compressible");
+            compressed.write(engine.getCompressedData(), 0, compressedLengths[i]);
+        }
+        compressedStream = new ReplayInputStream(compressed.toByteArray());
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * Compress 1MB, as done when sending.
+     *
+     * @return total compressed length
+     */
+    @Benchmark
+    public int compress() {
+        int total = 0;
+        for (int i = 0; i < compressedLengths.length; i++) {
+            total += engine.compress(data, i * packetSize, packetSize);
+        }
+        return total;
+    }
+
+    /**
+     * Decompress 1MB, as done when reading a result-set.
+     *
+     * @return last decompressed buffer
+     * @throws IOException never
+     */
+    @Benchmark
+    public byte[] decompress() throws IOException {
+        byte[] decompressed = null;
+        for (int compressedLength : compressedLengths) {
+            decompressed = engine.decompress(compressedStream, compressedLength, packetSize);
+        }
+        return decompressed;
+    }
+}
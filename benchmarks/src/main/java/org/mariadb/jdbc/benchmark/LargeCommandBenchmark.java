@@ -0,0 +1,128 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.packet.Packet;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.stream.SocketChannelOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Large rewritten batch command (multi-values INSERT) built with the buffer API and sent to a local socket channel
+ * drained by another thread : heap buffer growing by copy, or chain of direct buffers sent with gathering writes.
+ * Each operation is followed by a small command, as usual in applications, so the heap buffer gets released.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LargeCommandBenchmark {
+
+    @Param({"false", "true"})
+    public boolean directBuffers;
+
+    /**
+     * Number of rows, each one around 100 bytes.
+     */
+    @Param({"10000", "150000"})
+    public int rows;
+
+    private ServerSocketChannel serverChannel;
+    private SocketChannel clientChannel;
+    private Thread drainThread;
+    private PacketOutputStream writer;
+    private String[] ids;
+    private String[] values;
+
+    /**
+     * Connect local channels, and start the thread discarding received data.
+     *
+     * @throws IOException if connection fail
+     */
+    @Setup
+    public void setup() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        final SocketChannel accepted = serverChannel.accept();
+        drainThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+                try {
+                    while (accepted.read(buffer) >= 0) {
+                        buffer.clear();
+                    }
+                } catch (IOException ioe) {
+                    //closed
+                }
+            }
+        });
+        drainThread.setDaemon(true);
+        drainThread.start();
+
+        writer = new PacketOutputStream(new SocketChannelOutputStream(clientChannel), false, 1024);
+        writer.setMaxAllowedPacket(64 * 1024 * 1024);
+        if (directBuffers) writer.useDirectBuffers();
+
+        ids = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = String.valueOf(i);
+        }
+        values = new String[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "customer " + i + " comment, with 'quotes' : lorem ipsum dolor sit amet";
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        clientChannel.close();
+        serverChannel.close();
+    }
+
+    /**
+     * INSERT INTO t VALUES (1,'...'),(2,'...'),... then COMMIT.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void rewrittenBatch() throws IOException {
+        writer.startPacket(0, false);
+        writer.writeByte(Packet.COM_QUERY);
+        writer.writeString("INSERT INTO orders(id, comment) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            writer.writeString(i == 0 ? "(" : ",(");
+            writer.writeString(ids[i]);
+            writer.writeByte((byte) ',');
+            writer.writeStringEscaped(values[i % values.length], false);
+            writer.writeByte((byte) ')');
+        }
+        writer.finishPacketWithoutRelease(false);
+        writer.releaseBuffer();
+
+        writer.startPacket(0);
+        writer.writeByte(Packet.COM_QUERY);
+        writer.writeString("COMMIT");
+        writer.finishPacketWithoutRelease(false);
+        writer.releaseBuffer();
+    }
+}
@@ -0,0 +1,112 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.stream.SocketChannelOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LOAD DATA LOCAL INFILE upload of a 64MB file to a local socket channel drained by another thread :
+ * file read in heap buffer (buffered stream), or transferred from file to socket by the system (file stream).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocalInfileBenchmark {
+
+    @Param({"false", "true"})
+    public boolean transfer;
+
+    private ServerSocketChannel serverChannel;
+    private SocketChannel clientChannel;
+    private PacketOutputStream writer;
+    private File file;
+
+    /**
+     * Create file, connect local channels, and start the thread discarding received data.
+     *
+     * @throws IOException if connection fail
+     */
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("localInfileBenchmark", ".csv");
+        byte[] line = "1234567,\"customer comment, lorem ipsum dolor sit amet\",2017-01-01 12:00:00\n".getBytes("UTF-8");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            for (int written = 0; written < 64 * 1024 * 1024; written += line.length) {
+                out.write(line);
+            }
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        final SocketChannel accepted = serverChannel.accept();
+        Thread drainThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+                try {
+                    while (accepted.read(buffer) >= 0) {
+                        buffer.clear();
+                    }
+                } catch (IOException ioe) {
+                    //closed
+                }
+            }
+        });
+        drainThread.setDaemon(true);
+        drainThread.start();
+
+        writer = new PacketOutputStream(new SocketChannelOutputStream(clientChannel), false, 1024);
+        writer.setMaxAllowedPacket(16 * 1024 * 1024);
+    }
+
+    /**
+     * Close channels and delete file.
+     *
+     * @throws IOException if close fail
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        clientChannel.close();
+        serverChannel.close();
+        file.delete();
+    }
+
+    /**
+     * Send file packets.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void sendFile() throws IOException {
+        try (InputStream is = transfer ? new FileInputStream(file) : new BufferedInputStream(new FileInputStream(file))) {
+            writer.sendFile(is, 2);
+        }
+    }
+}
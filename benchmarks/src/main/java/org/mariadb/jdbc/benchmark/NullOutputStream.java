@@ -0,0 +1,24 @@
+package org.mariadb.jdbc.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * OutputStream that discard all data, standing for the socket.
+ */
+public class NullOutputStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(int value) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+        count += len;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
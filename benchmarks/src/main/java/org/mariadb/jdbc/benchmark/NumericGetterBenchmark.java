@@ -0,0 +1,168 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.benchmark.server.Dataset;
+import org.mariadb.jdbc.benchmark.server.StandInServer;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Numeric getters (getInt / getLong / getDouble) on a result-set already loaded in memory : only value decoding is
+ * measured, not network reading. Run with "-prof gc" to check allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumericGetterBenchmark {
+    private static final String SQL = "SELECT * FROM measures";
+    private static final String PREPARE_SQL = "SELECT * FROM measures WHERE id > ?";
+    private static final int ROWS = 1000;
+
+    private StandInServer server;
+    private Connection connection;
+    private ResultSet textResultSet;
+    private ResultSet binaryResultSet;
+
+    /**
+     * Start stand-in server, connect and load result-sets.
+     *
+     * @throws IOException if server cannot start
+     * @throws SQLException if connection fails
+     */
+    @Setup
+    public void setup() throws IOException, SQLException {
+        Dataset dataset = new Dataset("measures")
+                .column("id", MariaDbType.INTEGER)
+                .column("counter", MariaDbType.BIGINT)
+                .column("ratio", MariaDbType.DOUBLE)
+                .column("amount", MariaDbType.DECIMAL)
+                .column("total", MariaDbType.DECIMAL);
+        for (int i = 0; i < ROWS; i++) {
+            dataset.row(i, 5000000000L + i * 13, i / 7d, (i * 3) + ".25", i + ".00");
+        }
+        server = new StandInServer();
+        server.register(SQL, dataset);
+        server.register(PREPARE_SQL, dataset);
+        connection = DriverManager.getConnection(server.getUrl(null));
+
+        Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        textResultSet = stmt.executeQuery(SQL);
+        PreparedStatement preparedStatement = connection.prepareStatement(PREPARE_SQL,
+                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        preparedStatement.setInt(1, 0);
+        binaryResultSet = preparedStatement.executeQuery();
+    }
+
+    /**
+     * Close connection and stand-in server.
+     *
+     * @throws IOException if server close fails
+     * @throws SQLException if connection close fails
+     */
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        server.close();
+    }
+
+    /**
+     * Text protocol INTEGER column read with getInt.
+     *
+     * @return sum
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public long textGetInt() throws SQLException {
+        long sum = 0;
+        textResultSet.beforeFirst();
+        while (textResultSet.next()) {
+            sum += textResultSet.getInt(1);
+        }
+        return sum;
+    }
+
+    /**
+     * Text protocol BIGINT column read with getLong.
+     *
+     * @return sum
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public long textGetLong() throws SQLException {
+        long sum = 0;
+        textResultSet.beforeFirst();
+        while (textResultSet.next()) {
+            sum += textResultSet.getLong(2);
+        }
+        return sum;
+    }
+
+    /**
+     * Text protocol DOUBLE and DECIMAL columns read with getDouble.
+     *
+     * @return sum
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public double textGetDouble() throws SQLException {
+        double sum = 0;
+        textResultSet.beforeFirst();
+        while (textResultSet.next()) {
+            sum += textResultSet.getDouble(3) + textResultSet.getDouble(4);
+        }
+        return sum;
+    }
+
+    /**
+     * Text protocol DECIMAL column with zero decimal part read with getLong.
+     *
+     * @return sum
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public long textDecimalGetLong() throws SQLException {
+        long sum = 0;
+        textResultSet.beforeFirst();
+        while (textResultSet.next()) {
+            sum += textResultSet.getLong(5);
+        }
+        return sum;
+    }
+
+    /**
+     * Binary protocol INTEGER / BIGINT / DOUBLE columns.
+     *
+     * @return sum
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public double binaryGetters() throws SQLException {
+        double sum = 0;
+        binaryResultSet.beforeFirst();
+        while (binaryResultSet.next()) {
+            sum += binaryResultSet.getInt(1) + binaryResultSet.getLong(2) + binaryResultSet.getDouble(3);
+        }
+        return sum;
+    }
+}
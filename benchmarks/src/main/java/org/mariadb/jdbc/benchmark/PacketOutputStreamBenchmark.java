@@ -0,0 +1,98 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.packet.Packet;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PacketOutputStream command writes : COM_QUERY encoding and packet generation, socket replaced by a null stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketOutputStreamBenchmark {
+
+    /**
+     * Query size in characters.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private PacketOutputStream writer;
+    private String asciiSql;
+    private String unicodeSql;
+
+    /**
+     * Initialize writer and queries.
+     */
+    @Setup
+    public void setup() {
+        writer = new PacketOutputStream(new NullOutputStream(), false, 1024);
+        writer.setMaxAllowedPacket(16 * 1024 * 1024);
+        asciiSql = buildSql(size, "INSERT INTO orders(label) VALUES ('abcdefghij')");
+        unicodeSql = buildSql(size, "INSERT INTO orders(label) VALUES ('café 中文 🎤')");
+    }
+
+    private static String buildSql(int size, String pattern) {
+        StringBuilder sb = new StringBuilder(size + pattern.length());
+        while (sb.length() < size) {
+            sb.append(pattern).append(';');
+        }
+        return sb.substring(0, size);
+    }
+
+    /**
+     * COM_QUERY with ASCII only content.
+     *
+     * @throws IOException never
+     * @throws QueryException never
+     */
+    @Benchmark
+    public void sendAscii() throws IOException, QueryException {
+        writer.send(asciiSql, Packet.COM_QUERY);
+        writer.releaseBuffer();
+    }
+
+    /**
+     * COM_QUERY with multi-bytes UTF-8 content.
+     *
+     * @throws IOException never
+     * @throws QueryException never
+     */
+    @Benchmark
+    public void sendUnicode() throws IOException, QueryException {
+        writer.send(unicodeSql, Packet.COM_QUERY);
+        writer.releaseBuffer();
+    }
+
+    /**
+     * Packet built with the buffer API (startPacket / writeString / finishPacket), as used by prepare commands.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeStringPacket() throws IOException {
+        writer.startPacket(0);
+        writer.writeByte(Packet.COM_QUERY);
+        writer.writeString(unicodeSql);
+        writer.finishPacketWithoutRelease(false);
+        writer.releaseBuffer();
+    }
+}
@@ -0,0 +1,140 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.packet.Packet;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterWriter;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text protocol parameter escaping : ParameterWriter.write* methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParameterWriterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean noBackslashEscapes;
+
+    private PacketOutputStream writer;
+    private String asciiValue;
+    private String escapedValue;
+    private String unicodeValue;
+    private byte[] bytesValue;
+
+    /**
+     * Initialize writer and parameters values.
+     */
+    @Setup
+    public void setup() {
+        writer = new PacketOutputStream(new NullOutputStream(), false, 1024);
+        asciiValue = "some comment for order number 123456, nothing to escape in this one";
+        escapedValue = "it's a \"quoted\" value with back\\slash and 'single' quotes";
+        unicodeValue = "café crème brûlée 中文 🎤 'quoted'";
+        bytesValue = new byte[256];
+        for (int i = 0; i < bytesValue.length; i++) {
+            bytesValue[i] = (byte) i;
+        }
+    }
+
+    private void start() throws IOException {
+        writer.startPacket(0);
+        writer.writeByte(Packet.COM_QUERY);
+    }
+
+    private void finish() throws IOException {
+        writer.finishPacketWithoutRelease(false);
+        writer.releaseBuffer();
+    }
+
+    /**
+     * String without character to escape.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeAsciiString() throws IOException {
+        start();
+        ParameterWriter.write(writer, asciiValue, noBackslashEscapes);
+        finish();
+    }
+
+    /**
+     * String with quotes and backslashes.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeEscapedString() throws IOException {
+        start();
+        ParameterWriter.write(writer, escapedValue, noBackslashEscapes);
+        finish();
+    }
+
+    /**
+     * String with multi-bytes UTF-8 characters.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeUnicodeString() throws IOException {
+        start();
+        ParameterWriter.write(writer, unicodeValue, noBackslashEscapes);
+        finish();
+    }
+
+    /**
+     * String written without buffer capacity check (buffer size checked once before).
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeUnsafeString() throws IOException {
+        start();
+        writer.assureBufferCapacity(escapedValue.length() * 6 + 2);
+        ParameterWriter.writeUnsafe(writer, escapedValue, noBackslashEscapes);
+        finish();
+    }
+
+    /**
+     * Binary value.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeBytes() throws IOException {
+        start();
+        ParameterWriter.write(writer, bytesValue, noBackslashEscapes);
+        finish();
+    }
+
+    /**
+     * Numeric values.
+     *
+     * @throws IOException never
+     */
+    @Benchmark
+    public void writeNumbers() throws IOException {
+        start();
+        ParameterWriter.write(writer, 1234567);
+        ParameterWriter.write(writer, 1234567890123L);
+        ParameterWriter.write(writer, 12345.6789d);
+        finish();
+    }
+}
@@ -0,0 +1,77 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.internal.util.scheduler.HashedWheelTimer;
+import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query timeout task scheduled then cancelled once query is done, as done for each statement execution with a
+ * query timeout, by 8 threads : scheduled executor (remove on cancel) or hashed wheel timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class QueryTimeoutBenchmark {
+
+    private final Runnable task = new Runnable() {
+        @Override
+        public void run() {
+            //never run
+        }
+    };
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private ExecutorService executor;
+    private HashedWheelTimer timer;
+
+    /**
+     * Create schedulers.
+     */
+    @Setup
+    public void setup() {
+        scheduler = new ScheduledThreadPoolExecutor(1, new MariaDbThreadFactory());
+        scheduler.setRemoveOnCancelPolicy(true);
+        executor = Executors.newCachedThreadPool(new MariaDbThreadFactory());
+        timer = new HashedWheelTimer(100, TimeUnit.MILLISECONDS, 512,
+                Executors.newSingleThreadExecutor(new MariaDbThreadFactory()), executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public boolean scheduledExecutor() {
+        Future<?> future = scheduler.schedule(task, 30, TimeUnit.SECONDS);
+        return future.cancel(true);
+    }
+
+    @Benchmark
+    public boolean hashedWheelTimer() {
+        HashedWheelTimer.Timeout timeout = timer.schedule(task, 30, TimeUnit.SECONDS);
+        return timeout.cancel();
+    }
+}
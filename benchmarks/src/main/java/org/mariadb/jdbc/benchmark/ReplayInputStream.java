@@ -0,0 +1,43 @@
+package org.mariadb.jdbc.benchmark;
+
+import java.io.InputStream;
+
+/**
+ * InputStream that endlessly replays the same wire bytes, so that packets can be decoded in a loop
+ * without any socket.
+ */
+public class ReplayInputStream extends InputStream {
+    private final byte[] data;
+    private int position;
+
+    /**
+     * Constructor.
+     *
+     * @param data wire bytes to replay (must not be empty)
+     */
+    public ReplayInputStream(byte[] data) {
+        if (data.length == 0) throw new IllegalArgumentException("no data to replay");
+        this.data = data;
+    }
+
+    @Override
+    public int read() {
+        if (position == data.length) position = 0;
+        return data[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) {
+        if (len == 0) return 0;
+        if (position == data.length) position = 0;
+        int count = Math.min(len, data.length - position);
+        System.arraycopy(data, position, buf, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return data.length - position;
+    }
+}
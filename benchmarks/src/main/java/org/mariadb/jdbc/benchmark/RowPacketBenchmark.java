@@ -0,0 +1,116 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.benchmark.server.Dataset;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.packet.result.BinaryRowPacket;
+import org.mariadb.jdbc.internal.packet.result.TextRowPacket;
+import org.mariadb.jdbc.internal.stream.MariaDbBufferedInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row decoding : TextRowPacket / BinaryRowPacket getRow() and indexRow(), fed with replayed row packets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowPacketBenchmark {
+
+    private MariaDbBufferedInputStream textStream;
+    private ReadPacketFetcher textFetcher;
+    private TextRowPacket textRowPacket;
+
+    private MariaDbBufferedInputStream binaryStream;
+    private ReadPacketFetcher binaryFetcher;
+    private BinaryRowPacket binaryRowPacket;
+
+    private int[] fieldOffsets;
+    private int[] fieldLengths;
+
+    /**
+     * Initialize replayed streams.
+     */
+    @Setup
+    public void setup() {
+        Dataset dataset = SampleData.mixed(100);
+
+        textStream = new MariaDbBufferedInputStream(new ReplayInputStream(dataset.textRows()), 16384);
+        textFetcher = new ReadPacketFetcher(textStream, 1024);
+        textRowPacket = new TextRowPacket(dataset.getColumnCount());
+
+        binaryStream = new MariaDbBufferedInputStream(new ReplayInputStream(dataset.binaryRows()), 16384);
+        binaryFetcher = new ReadPacketFetcher(binaryStream, 1024);
+        binaryRowPacket = new BinaryRowPacket(dataset.columnInformation(), dataset.getColumnCount());
+
+        fieldOffsets = new int[dataset.getColumnCount()];
+        fieldLengths = new int[dataset.getColumnCount()];
+    }
+
+    /**
+     * Text row read directly from stream (standard path of MariaSelectResultSet.readNextValue).
+     *
+     * @return row data
+     * @throws IOException never (in-memory stream)
+     */
+    @Benchmark
+    public byte[] textRow() throws IOException {
+        int length = textStream.readHeader();
+        int read = textStream.read() & 0xff;
+        return textRowPacket.getRow(textFetcher, length - 1, read);
+    }
+
+    /**
+     * Text row read from stream, then column data located (first getter call on a row).
+     *
+     * @return column offsets
+     * @throws IOException never (in-memory stream)
+     */
+    @Benchmark
+    public int[] textRowIndexed() throws IOException {
+        int length = textStream.readHeader();
+        int read = textStream.read() & 0xff;
+        textRowPacket.indexRow(textRowPacket.getRow(textFetcher, length - 1, read), fieldOffsets, fieldLengths);
+        return fieldOffsets;
+    }
+
+    /**
+     * Binary row read directly from stream.
+     *
+     * @return row data
+     * @throws IOException never (in-memory stream)
+     */
+    @Benchmark
+    public byte[] binaryRow() throws IOException {
+        int length = binaryStream.readHeader();
+        int read = binaryStream.read() & 0xff;
+        return binaryRowPacket.getRow(binaryFetcher, length - 1, read);
+    }
+
+    /**
+     * Binary row read from stream, then column data located (first getter call on a row).
+     *
+     * @return column offsets
+     * @throws IOException never (in-memory stream)
+     */
+    @Benchmark
+    public int[] binaryRowIndexed() throws IOException {
+        int length = binaryStream.readHeader();
+        int read = binaryStream.read() & 0xff;
+        binaryRowPacket.indexRow(binaryRowPacket.getRow(binaryFetcher, length - 1, read), fieldOffsets, fieldLengths);
+        return fieldOffsets;
+    }
+}
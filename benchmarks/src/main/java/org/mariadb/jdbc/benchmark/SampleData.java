@@ -0,0 +1,39 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.benchmark.server.Dataset;
+import org.mariadb.jdbc.internal.MariaDbType;
+
+import java.sql.Timestamp;
+
+public class SampleData {
+
+    /**
+     * Typical reporting result-set : 8 columns of mixed types, one nullable column.
+     *
+     * @param rows number of rows
+     * @return dataset
+     */
+    public static Dataset mixed(int rows) {
+        Dataset dataset = new Dataset("orders")
+                .column("id", MariaDbType.INTEGER)
+                .column("customer_id", MariaDbType.BIGINT)
+                .column("amount", MariaDbType.DOUBLE)
+                .column("label", MariaDbType.VARSTRING)
+                .column("created", MariaDbType.DATETIME)
+                .column("quantity", MariaDbType.SMALLINT)
+                .column("price", MariaDbType.DECIMAL)
+                .column("comment", MariaDbType.VARSTRING);
+        long baseTime = Timestamp.valueOf("2017-01-01 00:00:00").getTime();
+        for (int i = 0; i < rows; i++) {
+            dataset.row(i,
+                    1000000000L + i * 7,
+                    i * 1.25d,
+                    "order label " + i,
+                    new Timestamp(baseTime + i * 1000L),
+                    (short) (i % 100),
+                    (i % 1000) + ".50",
+                    i % 10 == 0 ? null : "some comment for order number " + i);
+        }
+        return dataset;
+    }
+}
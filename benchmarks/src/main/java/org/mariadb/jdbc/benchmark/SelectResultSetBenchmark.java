@@ -0,0 +1,158 @@
+package org.mariadb.jdbc.benchmark;
+
+import org.mariadb.jdbc.benchmark.server.StandInServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete result-set read through JDBC API (MariaSelectResultSet.readNextValue and getters),
+ * against the in-memory stand-in server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectResultSetBenchmark {
+    private static final String SQL = "SELECT * FROM orders";
+    private static final String PREPARE_SQL = "SELECT * FROM orders WHERE id > ?";
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private StandInServer server;
+    private Connection connection;
+    private Connection prefetchConnection;
+    private PreparedStatement preparedStatement;
+
+    /**
+     * Start stand-in server and connect.
+     *
+     * @throws IOException if server cannot start
+     * @throws SQLException if connection fails
+     */
+    @Setup
+    public void setup() throws IOException, SQLException {
+        server = new StandInServer();
+        server.register(SQL, SampleData.mixed(rows));
+        server.register(PREPARE_SQL, SampleData.mixed(rows));
+        connection = DriverManager.getConnection(server.getUrl(null));
+        prefetchConnection = DriverManager.getConnection(server.getUrl("useStreamingPrefetch=true"));
+        preparedStatement = connection.prepareStatement(PREPARE_SQL);
+    }
+
+    /**
+     * Close connection and stand-in server.
+     *
+     * @throws IOException if server close fails
+     * @throws SQLException if connection close fails
+     */
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        prefetchConnection.close();
+        server.close();
+    }
+
+    private static int consume(ResultSet rs, Blackhole blackhole) throws SQLException {
+        int count = 0;
+        while (rs.next()) {
+            blackhole.consume(rs.getInt(1));
+            blackhole.consume(rs.getLong(2));
+            blackhole.consume(rs.getDouble(3));
+            blackhole.consume(rs.getString(4));
+            blackhole.consume(rs.getTimestamp(5));
+            blackhole.consume(rs.getShort(6));
+            blackhole.consume(rs.getBigDecimal(7));
+            blackhole.consume(rs.getString(8));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Text protocol, complete result-set loaded in memory.
+     *
+     * @param blackhole blackhole
+     * @return number of rows
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public int textResultSet(Blackhole blackhole) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(SQL)) {
+                return consume(rs, blackhole);
+            }
+        }
+    }
+
+    /**
+     * Text protocol, streaming result-set (fetchSize window).
+     *
+     * @param blackhole blackhole
+     * @return number of rows
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public int streamingResultSet(Blackhole blackhole) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(100);
+            try (ResultSet rs = stmt.executeQuery(SQL)) {
+                return consume(rs, blackhole);
+            }
+        }
+    }
+
+    /**
+     * Text protocol, streaming result-set with next fetchSize window read in background.
+     *
+     * @param blackhole blackhole
+     * @return number of rows
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public int streamingPrefetchResultSet(Blackhole blackhole) throws SQLException {
+        try (Statement stmt = prefetchConnection.createStatement()) {
+            stmt.setFetchSize(100);
+            try (ResultSet rs = stmt.executeQuery(SQL)) {
+                return consume(rs, blackhole);
+            }
+        }
+    }
+
+    /**
+     * Binary protocol (server prepared statement).
+     *
+     * @param blackhole blackhole
+     * @return number of rows
+     * @throws SQLException if any error occur
+     */
+    @Benchmark
+    public int binaryResultSet(Blackhole blackhole) throws SQLException {
+        preparedStatement.setInt(1, 0);
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            return consume(rs, blackhole);
+        }
+    }
+}
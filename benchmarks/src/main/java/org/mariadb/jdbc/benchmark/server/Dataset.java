@@ -0,0 +1,327 @@
+package org.mariadb.jdbc.benchmark.server;
+
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.util.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Result-set definition (columns and rows) that can be encoded in text or binary protocol wire format.
+ */
+public class Dataset {
+    private static final int BINARY_CHARSET = 63;
+    private static final int UTF8_CHARSET = 33;
+    private static final int SERVER_STATUS = 2; //autocommit
+
+    private final String table;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<MariaDbType> columnTypes = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    public Dataset(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Add a column definition.
+     *
+     * @param name column name
+     * @param type column type
+     * @return this
+     */
+    public Dataset column(String name, MariaDbType type) {
+        columnNames.add(name);
+        columnTypes.add(type);
+        return this;
+    }
+
+    /**
+     * Add a row. Values can be Number, String, byte[], java.sql.Date, java.sql.Timestamp or null.
+     *
+     * @param values row values
+     * @return this
+     */
+    public Dataset row(Object... values) {
+        if (values.length != columnNames.size()) {
+            throw new IllegalArgumentException("expected " + columnNames.size() + " values, got " + values.length);
+        }
+        rows.add(values);
+        return this;
+    }
+
+    public int getColumnCount() {
+        return columnNames.size();
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Complete text protocol result-set response (column count, column definitions, EOF, rows, EOF),
+     * as sent by server for a COM_QUERY.
+     *
+     * @return wire bytes
+     */
+    public byte[] textResultSet() {
+        PacketBuilder builder = new PacketBuilder(1);
+        writeColumns(builder);
+        for (Object[] row : rows) {
+            writeTextRow(builder, row);
+        }
+        return builder.eof(SERVER_STATUS).toByteArray();
+    }
+
+    /**
+     * Complete binary protocol result-set response, as sent by server for a COM_STMT_EXECUTE.
+     *
+     * @return wire bytes
+     */
+    public byte[] binaryResultSet() {
+        PacketBuilder builder = new PacketBuilder(1);
+        writeColumns(builder);
+        for (Object[] row : rows) {
+            writeBinaryRow(builder, row);
+        }
+        return builder.eof(SERVER_STATUS).toByteArray();
+    }
+
+    /**
+     * Only the text row packets.
+     *
+     * @return wire bytes
+     */
+    public byte[] textRows() {
+        PacketBuilder builder = new PacketBuilder(0);
+        for (Object[] row : rows) {
+            writeTextRow(builder, row);
+        }
+        return builder.toByteArray();
+    }
+
+    /**
+     * Only the binary row packets.
+     *
+     * @return wire bytes
+     */
+    public byte[] binaryRows() {
+        PacketBuilder builder = new PacketBuilder(0);
+        for (Object[] row : rows) {
+            writeBinaryRow(builder, row);
+        }
+        return builder.toByteArray();
+    }
+
+    /**
+     * COM_STMT_PREPARE response.
+     *
+     * @param statementId statement id
+     * @param paramCount number of parameters
+     * @return wire bytes
+     */
+    public byte[] prepareResponse(int statementId, int paramCount) {
+        return prepareResponse(statementId, paramCount, this);
+    }
+
+    /**
+     * COM_STMT_PREPARE response.
+     *
+     * @param statementId statement id
+     * @param paramCount number of parameters
+     * @param dataset result-set definition, or null if statement doesn't return a result-set
+     * @return wire bytes
+     */
+    public static byte[] prepareResponse(int statementId, int paramCount, Dataset dataset) {
+        int columnCount = dataset == null ? 0 : dataset.getColumnCount();
+        PacketBuilder builder = new PacketBuilder(1);
+        builder.startPacket()
+                .writeByte(0x00)
+                .writeInt(statementId)
+                .writeShort(columnCount)
+                .writeShort(paramCount)
+                .writeByte(0)
+                .writeShort(0)
+                .endPacket();
+        if (paramCount > 0) {
+            for (int i = 0; i < paramCount; i++) {
+                writeColumn(builder, "", "?", MariaDbType.VARSTRING);
+            }
+            builder.eof(SERVER_STATUS);
+        }
+        if (columnCount > 0) {
+            for (int i = 0; i < columnCount; i++) {
+                writeColumn(builder, dataset.table, dataset.columnNames.get(i), dataset.columnTypes.get(i));
+            }
+            builder.eof(SERVER_STATUS);
+        }
+        return builder.toByteArray();
+    }
+
+    /**
+     * Column information, as the driver reads them from the column definition packets.
+     *
+     * @return column information array
+     */
+    public ColumnInformation[] columnInformation() {
+        ColumnInformation[] columns = new ColumnInformation[columnNames.size()];
+        for (int i = 0; i < columns.length; i++) {
+            PacketBuilder builder = new PacketBuilder(0);
+            writeColumn(builder, table, columnNames.get(i), columnTypes.get(i));
+            byte[] packet = builder.toByteArray();
+            byte[] payload = new byte[packet.length - 4];
+            System.arraycopy(packet, 4, payload, 0, payload.length);
+            columns[i] = new ColumnInformation(new Buffer(payload));
+        }
+        return columns;
+    }
+
+    private void writeColumns(PacketBuilder builder) {
+        builder.startPacket().writeLengthEncoded(columnNames.size()).endPacket();
+        for (int i = 0; i < columnNames.size(); i++) {
+            writeColumn(builder, table, columnNames.get(i), columnTypes.get(i));
+        }
+        builder.eof(SERVER_STATUS);
+    }
+
+    private static void writeColumn(PacketBuilder builder, String table, String name, MariaDbType type) {
+        builder.startPacket()
+                .writeLengthEncodedString("def")
+                .writeLengthEncodedString("bench")
+                .writeLengthEncodedString(table)
+                .writeLengthEncodedString(table)
+                .writeLengthEncodedString(name)
+                .writeLengthEncodedString(name)
+                .writeByte(0x0c)
+                .writeShort(isText(type) ? UTF8_CHARSET : BINARY_CHARSET)
+                .writeInt(columnLength(type))
+                .writeByte(type.getType())
+                .writeShort(0)
+                .writeByte(type == MariaDbType.DECIMAL || type == MariaDbType.DOUBLE ? 2 : 0)
+                .writeShort(0)
+                .endPacket();
+    }
+
+    private static boolean isText(MariaDbType type) {
+        switch (type) {
+            case VARCHAR:
+            case VARSTRING:
+            case STRING:
+            case ENUM:
+            case SET:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int columnLength(MariaDbType type) {
+        switch (type) {
+            case TINYINT:
+                return 4;
+            case SMALLINT:
+                return 6;
+            case INTEGER:
+            case MEDIUMINT:
+                return 11;
+            case BIGINT:
+                return 20;
+            case FLOAT:
+                return 12;
+            case DOUBLE:
+                return 22;
+            case DECIMAL:
+                return 12;
+            case DATE:
+                return 10;
+            case DATETIME:
+            case TIMESTAMP:
+                return 19;
+            default:
+                return 765;
+        }
+    }
+
+    private void writeTextRow(PacketBuilder builder, Object[] row) {
+        builder.startPacket();
+        for (Object value : row) {
+            builder.writeLengthEncodedBytes(textValue(value));
+        }
+        builder.endPacket();
+    }
+
+    private static byte[] textValue(Object value) {
+        if (value == null) return null;
+        if (value instanceof byte[]) return (byte[]) value;
+        if (value instanceof Timestamp) {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format((Timestamp) value).getBytes(StandardCharsets.US_ASCII);
+        }
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeBinaryRow(PacketBuilder builder, Object[] row) {
+        builder.startPacket().writeByte(0x00);
+        byte[] nullBitmap = new byte[(row.length + 9) / 8];
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == null) nullBitmap[(i + 2) / 8] |= (byte) (1 << ((i + 2) % 8));
+        }
+        builder.writeBytes(nullBitmap);
+
+        for (int i = 0; i < row.length; i++) {
+            Object value = row[i];
+            if (value == null) continue;
+            switch (columnTypes.get(i)) {
+                case TINYINT:
+                    builder.writeByte(((Number) value).intValue());
+                    break;
+                case SMALLINT:
+                case YEAR:
+                    builder.writeShort(((Number) value).intValue());
+                    break;
+                case INTEGER:
+                case MEDIUMINT:
+                    builder.writeInt(((Number) value).intValue());
+                    break;
+                case BIGINT:
+                    builder.writeLong(((Number) value).longValue());
+                    break;
+                case FLOAT:
+                    builder.writeInt(Float.floatToIntBits(((Number) value).floatValue()));
+                    break;
+                case DOUBLE:
+                    builder.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+                    break;
+                case DATE:
+                    Calendar date = Calendar.getInstance();
+                    date.setTime((Date) value);
+                    builder.writeByte(4)
+                            .writeShort(date.get(Calendar.YEAR))
+                            .writeByte(date.get(Calendar.MONTH) + 1)
+                            .writeByte(date.get(Calendar.DAY_OF_MONTH));
+                    break;
+                case DATETIME:
+                case TIMESTAMP:
+                    Calendar timestamp = Calendar.getInstance();
+                    timestamp.setTime((Timestamp) value);
+                    builder.writeByte(7)
+                            .writeShort(timestamp.get(Calendar.YEAR))
+                            .writeByte(timestamp.get(Calendar.MONTH) + 1)
+                            .writeByte(timestamp.get(Calendar.DAY_OF_MONTH))
+                            .writeByte(timestamp.get(Calendar.HOUR_OF_DAY))
+                            .writeByte(timestamp.get(Calendar.MINUTE))
+                            .writeByte(timestamp.get(Calendar.SECOND));
+                    break;
+                default:
+                    builder.writeLengthEncodedBytes(textValue(value));
+                    break;
+            }
+        }
+        builder.endPacket();
+    }
+}
@@ -0,0 +1,253 @@
+package org.mariadb.jdbc.benchmark.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Build a sequence of MySQL protocol packets (4 bytes header + payload), exactly as a server would put them on the wire.
+ */
+public class PacketBuilder {
+    private static final int MAX_PACKET_LENGTH = 0x00ffffff;
+
+    private byte[] buf = new byte[1024];
+    private int position;
+    private int packetStart = -1;
+    private int seqNo;
+
+    /**
+     * Constructor.
+     *
+     * @param seqNo sequence number of the first packet
+     */
+    public PacketBuilder(int seqNo) {
+        this.seqNo = seqNo;
+    }
+
+    private void ensureCapacity(int len) {
+        if (position + len > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, position + len));
+        }
+    }
+
+    /**
+     * Start a new packet : header will be written when calling {@link #endPacket()}.
+     *
+     * @return this
+     */
+    public PacketBuilder startPacket() {
+        if (packetStart != -1) throw new IllegalStateException("previous packet not ended");
+        ensureCapacity(4);
+        packetStart = position;
+        position += 4;
+        return this;
+    }
+
+    /**
+     * Write header of current packet. Payload bigger than 16M are split in multiple packets.
+     *
+     * @return this
+     */
+    public PacketBuilder endPacket() {
+        int payloadLength = position - packetStart - 4;
+        if (payloadLength < MAX_PACKET_LENGTH) {
+            writeHeader(packetStart, payloadLength);
+        } else {
+            byte[] payload = Arrays.copyOfRange(buf, packetStart + 4, position);
+            position = packetStart;
+            int offset = 0;
+            while (true) {
+                int length = Math.min(MAX_PACKET_LENGTH, payload.length - offset);
+                ensureCapacity(length + 4);
+                writeHeader(position, length);
+                System.arraycopy(payload, offset, buf, position + 4, length);
+                position += length + 4;
+                offset += length;
+                if (length < MAX_PACKET_LENGTH) break;
+            }
+        }
+        packetStart = -1;
+        return this;
+    }
+
+    private void writeHeader(int pos, int length) {
+        buf[pos] = (byte) length;
+        buf[pos + 1] = (byte) (length >>> 8);
+        buf[pos + 2] = (byte) (length >>> 16);
+        buf[pos + 3] = (byte) seqNo++;
+    }
+
+    /**
+     * Add a complete packet with given payload.
+     *
+     * @param payload packet payload
+     * @return this
+     */
+    public PacketBuilder packet(byte[] payload) {
+        return startPacket().writeBytes(payload).endPacket();
+    }
+
+    public PacketBuilder writeByte(int value) {
+        ensureCapacity(1);
+        buf[position++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Write little endian 2 bytes value.
+     *
+     * @param value value
+     * @return this
+     */
+    public PacketBuilder writeShort(int value) {
+        ensureCapacity(2);
+        buf[position++] = (byte) value;
+        buf[position++] = (byte) (value >>> 8);
+        return this;
+    }
+
+    /**
+     * Write little endian 4 bytes value.
+     *
+     * @param value value
+     * @return this
+     */
+    public PacketBuilder writeInt(int value) {
+        ensureCapacity(4);
+        buf[position++] = (byte) value;
+        buf[position++] = (byte) (value >>> 8);
+        buf[position++] = (byte) (value >>> 16);
+        buf[position++] = (byte) (value >>> 24);
+        return this;
+    }
+
+    /**
+     * Write little endian 8 bytes value.
+     *
+     * @param value value
+     * @return this
+     */
+    public PacketBuilder writeLong(long value) {
+        writeInt((int) value);
+        return writeInt((int) (value >>> 32));
+    }
+
+    /**
+     * Write raw bytes.
+     *
+     * @param bytes bytes
+     * @return this
+     */
+    public PacketBuilder writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    /**
+     * Write string followed by a 0x00 terminator.
+     *
+     * @param value string value
+     * @return this
+     */
+    public PacketBuilder writeNullTerminated(String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        return writeByte(0);
+    }
+
+    /**
+     * Write length encoded integer.
+     *
+     * @param length value
+     * @return this
+     */
+    public PacketBuilder writeLengthEncoded(long length) {
+        if (length < 251) {
+            return writeByte((int) length);
+        }
+        if (length < 65536) {
+            return writeByte(0xfc).writeShort((int) length);
+        }
+        if (length < 16777216) {
+            writeByte(0xfd).writeShort((int) length);
+            return writeByte((int) (length >>> 16));
+        }
+        return writeByte(0xfe).writeLong(length);
+    }
+
+    /**
+     * Write length encoded bytes. Null value is written as 0xfb (text protocol NULL).
+     *
+     * @param bytes bytes
+     * @return this
+     */
+    public PacketBuilder writeLengthEncodedBytes(byte[] bytes) {
+        if (bytes == null) return writeByte(0xfb);
+        writeLengthEncoded(bytes.length);
+        return writeBytes(bytes);
+    }
+
+    public PacketBuilder writeLengthEncodedString(String value) {
+        return writeLengthEncodedBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add an OK_Packet.
+     *
+     * @param affectedRows affected rows
+     * @param insertId last insert id
+     * @param serverStatus server status flags
+     * @return this
+     */
+    public PacketBuilder ok(long affectedRows, long insertId, int serverStatus) {
+        return startPacket()
+                .writeByte(0x00)
+                .writeLengthEncoded(affectedRows)
+                .writeLengthEncoded(insertId)
+                .writeShort(serverStatus)
+                .writeShort(0)
+                .endPacket();
+    }
+
+    /**
+     * Add an EOF_Packet.
+     *
+     * @param serverStatus server status flags
+     * @return this
+     */
+    public PacketBuilder eof(int serverStatus) {
+        return startPacket()
+                .writeByte(0xfe)
+                .writeShort(0)
+                .writeShort(serverStatus)
+                .endPacket();
+    }
+
+    /**
+     * Add an ERR_Packet.
+     *
+     * @param errorCode error code
+     * @param sqlState sql state (5 characters)
+     * @param message error message
+     * @return this
+     */
+    public PacketBuilder error(int errorCode, String sqlState, String message) {
+        return startPacket()
+                .writeByte(0xff)
+                .writeShort(errorCode)
+                .writeByte('#')
+                .writeBytes(sqlState.getBytes(StandardCharsets.US_ASCII))
+                .writeBytes(message.getBytes(StandardCharsets.UTF_8))
+                .endPacket();
+    }
+
+    /**
+     * Packets bytes.
+     *
+     * @return wire bytes
+     */
+    public byte[] toByteArray() {
+        if (packetStart != -1) throw new IllegalStateException("current packet not ended");
+        return Arrays.copyOf(buf, position);
+    }
+}
@@ -0,0 +1,294 @@
+package org.mariadb.jdbc.benchmark.server;
+
+import org.mariadb.jdbc.internal.MariaDbServerCapabilities;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.Packet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local in-memory stand-in for a MariaDB server.
+ * Accept any credential, then replay registered wire bytes for each known command. Unknown queries get an OK_Packet,
+ * so benchmarks measure the driver only, not the network or a server.
+ */
+public class StandInServer implements Closeable {
+    public static final String SERVER_VERSION = "10.1.22-MariaDB-standin";
+    public static final String SERVER_DATA_QUERY = "SELECT @@max_allowed_packet , @@system_time_zone, @@time_zone, @@sql_mode";
+
+    private static final int SERVER_STATUS = 2; //autocommit
+    private static final int CAPABILITIES = MariaDbServerCapabilities.CLIENT_MYSQL
+            | MariaDbServerCapabilities.FOUND_ROWS
+            | MariaDbServerCapabilities.LONG_FLAG
+            | MariaDbServerCapabilities.CONNECT_WITH_DB
+            | MariaDbServerCapabilities.LOCAL_FILES
+            | MariaDbServerCapabilities.IGNORE_SPACE
+            | MariaDbServerCapabilities.CLIENT_PROTOCOL_41
+            | MariaDbServerCapabilities.TRANSACTIONS
+            | MariaDbServerCapabilities.SECURE_CONNECTION
+            | MariaDbServerCapabilities.MULTI_STATEMENTS
+            | MariaDbServerCapabilities.MULTI_RESULTS
+            | MariaDbServerCapabilities.PS_MULTI_RESULTS
+            | MariaDbServerCapabilities.PLUGIN_AUTH
+            | MariaDbServerCapabilities.CONNECT_ATTRS
+            | MariaDbServerCapabilities.PLUGIN_AUTH_LENENC_CLIENT_DATA;
+
+    private final ServerSocket serverSocket;
+    private final Map<String, byte[]> textResponses = new ConcurrentHashMap<>();
+    private final Map<String, Dataset> datasets = new ConcurrentHashMap<>();
+    private final Map<Dataset, byte[]> binaryResponses = new ConcurrentHashMap<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Start a stand-in server on a random loopback port.
+     *
+     * @throws IOException if server socket cannot be bound
+     */
+    public StandInServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        register(SERVER_DATA_QUERY, new Dataset("")
+                .column("@@max_allowed_packet", MariaDbType.VARSTRING)
+                .column("@@system_time_zone", MariaDbType.VARSTRING)
+                .column("@@time_zone", MariaDbType.VARSTRING)
+                .column("@@sql_mode", MariaDbType.VARSTRING)
+                .row("16777216", "UTC", "SYSTEM", "STRICT_TRANS_TABLES"));
+
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!closed) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        socket.setTcpNoDelay(true);
+                        clients.add(socket);
+                        Thread session = new Thread(new Session(socket), "stand-in-session-" + socket.getPort());
+                        session.setDaemon(true);
+                        session.start();
+                    } catch (IOException ioe) {
+                        //server closed
+                    }
+                }
+            }
+        }, "stand-in-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Connection string to this server.
+     *
+     * @param options additional connection options (without leading '&amp;'), can be null
+     * @return jdbc url
+     */
+    public String getUrl(String options) {
+        return "jdbc:mariadb://127.0.0.1:" + getPort() + "/bench?user=bench&password=bench"
+                + (options == null ? "" : "&" + options);
+    }
+
+    /**
+     * Register raw (captured) response bytes, replayed verbatim when receiving a COM_QUERY with this exact sql.
+     * Bytes must be complete packets, with sequence number starting at 1.
+     *
+     * @param sql query
+     * @param response wire bytes
+     */
+    public void register(String sql, byte[] response) {
+        textResponses.put(sql, response);
+    }
+
+    /**
+     * Register a result-set, returned in text format for COM_QUERY and in binary format for prepared statements.
+     *
+     * @param sql query
+     * @param dataset result-set definition
+     */
+    public void register(String sql, Dataset dataset) {
+        datasets.put(sql, dataset);
+        binaryResponses.put(dataset, dataset.binaryResultSet());
+        textResponses.put(sql, dataset.textResultSet());
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : clients) {
+            try {
+                socket.close();
+            } catch (IOException ioe) {
+                //eat
+            }
+        }
+    }
+
+    private static int countParameters(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') count++;
+        }
+        return count;
+    }
+
+    private byte[] handshake(int threadId) {
+        PacketBuilder builder = new PacketBuilder(0);
+        return builder.startPacket()
+                .writeByte(10)
+                .writeNullTerminated(SERVER_VERSION)
+                .writeInt(threadId)
+                .writeBytes("12345678".getBytes(StandardCharsets.US_ASCII))
+                .writeByte(0)
+                .writeShort(CAPABILITIES & 0xffff)
+                .writeByte(33)
+                .writeShort(SERVER_STATUS)
+                .writeShort(CAPABILITIES >>> 16)
+                .writeByte(21)
+                .writeBytes(new byte[10])
+                .writeBytes("abcdefghijkl".getBytes(StandardCharsets.US_ASCII))
+                .writeByte(0)
+                .writeNullTerminated("mysql_native_password")
+                .endPacket()
+                .toByteArray();
+    }
+
+    private class Session implements Runnable {
+        private final Socket socket;
+        private final Map<Integer, Dataset> statements = new HashMap<>();
+        private int statementIds;
+
+        Session(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try {
+                InputStream in = new BufferedInputStream(socket.getInputStream(), 16384);
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 16384);
+
+                out.write(handshake(threadIds.incrementAndGet()));
+                out.flush();
+                readPacket(in);
+                out.write(new PacketBuilder(2).ok(0, 0, SERVER_STATUS).toByteArray());
+                out.flush();
+
+                byte[] command;
+                while ((command = readPacket(in)) != null) {
+                    if (!handle(command, out)) break;
+                    out.flush();
+                }
+            } catch (IOException ioe) {
+                //connection closed
+            } finally {
+                clients.remove(socket);
+                try {
+                    socket.close();
+                } catch (IOException ioe) {
+                    //eat
+                }
+            }
+        }
+
+        private boolean handle(byte[] command, OutputStream out) throws IOException {
+            switch (command[0]) {
+                case Packet.COM_QUIT:
+                    return false;
+
+                case Packet.COM_QUERY:
+                    String sql = new String(command, 1, command.length - 1, StandardCharsets.UTF_8);
+                    byte[] response = textResponses.get(sql);
+                    out.write(response != null ? response : new PacketBuilder(1).ok(0, 0, SERVER_STATUS).toByteArray());
+                    return true;
+
+                case Packet.COM_STMT_PREPARE:
+                    String prepareSql = new String(command, 1, command.length - 1, StandardCharsets.UTF_8);
+                    Dataset dataset = datasets.get(prepareSql);
+                    int statementId = ++statementIds;
+                    statements.put(statementId, dataset);
+                    out.write(Dataset.prepareResponse(statementId, countParameters(prepareSql), dataset));
+                    return true;
+
+                case Packet.COM_STMT_EXECUTE:
+                    int executeId = (command[1] & 0xff) + ((command[2] & 0xff) << 8)
+                            + ((command[3] & 0xff) << 16) + ((command[4] & 0xff) << 24);
+                    if (!statements.containsKey(executeId)) {
+                        out.write(new PacketBuilder(1).error(1243, "HY000", "Unknown prepared statement handler").toByteArray());
+                    } else {
+                        Dataset executeDataset = statements.get(executeId);
+                        out.write(executeDataset == null
+                                ? new PacketBuilder(1).ok(0, 0, SERVER_STATUS).toByteArray()
+                                : binaryResponses.get(executeDataset));
+                    }
+                    return true;
+
+                case Packet.COM_STMT_CLOSE:
+                    int closeId = (command[1] & 0xff) + ((command[2] & 0xff) << 8)
+                            + ((command[3] & 0xff) << 16) + ((command[4] & 0xff) << 24);
+                    statements.remove(closeId);
+                    return true;
+
+                case Packet.COM_STMT_SEND_LONG_DATA:
+                    return true;
+
+                default:
+                    out.write(new PacketBuilder(1).ok(0, 0, SERVER_STATUS).toByteArray());
+                    return true;
+            }
+        }
+
+        private byte[] readPacket(InputStream in) throws IOException {
+            byte[] payload = null;
+            int length;
+            do {
+                byte[] header = new byte[4];
+                if (!readFully(in, header, 0, 4, payload == null)) return null;
+                length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+                int offset;
+                if (payload == null) {
+                    payload = new byte[length];
+                    offset = 0;
+                } else {
+                    offset = payload.length;
+                    byte[] newPayload = new byte[offset + length];
+                    System.arraycopy(payload, 0, newPayload, 0, offset);
+                    payload = newPayload;
+                }
+                readFully(in, payload, offset, length, false);
+            } while (length == 0x00ffffff);
+            return payload;
+        }
+
+        private boolean readFully(InputStream in, byte[] buf, int off, int len, boolean eofAllowed) throws IOException {
+            int remaining = len;
+            while (remaining > 0) {
+                int count = in.read(buf, off + len - remaining, remaining);
+                if (count < 0) {
+                    if (eofAllowed && remaining == len) return false;
+                    throw new EOFException("unexpected end of stream");
+                }
+                remaining -= count;
+            }
+            return true;
+        }
+    }
+}
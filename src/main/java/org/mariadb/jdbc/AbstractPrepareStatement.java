@@ -51,6 +51,7 @@ package org.mariadb.jdbc;
 
 import org.mariadb.jdbc.internal.packet.dao.parameters.*;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.MariaDbType;
 
 import java.io.IOException;
@@ -76,6 +77,14 @@ public abstract class AbstractPrepareStatement extends MariaDbStatement implemen
 
     protected abstract Calendar cal();
 
+    /**
+     * Snapshot current query and parameters, to be executed in a pipeline.
+     *
+     * @return pipeline command
+     * @throws SQLException if parameters are missing
+     */
+    protected abstract PipelineQuery getPipelineQuery() throws SQLException;
+
     public AbstractPrepareStatement clone() throws CloneNotSupportedException {
         return (AbstractPrepareStatement) super.clone();
     }
@@ -0,0 +1,593 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc;
+
+import org.mariadb.jdbc.internal.util.buffer.BufferPool;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk loader, loading data in a table with LOAD DATA LOCAL INFILE commands executed concurrently on multiple
+ * connections.
+ * <p>
+ * Data is split in chunks of about {@link #setChunkSize(int)} bytes, each chunk being loaded by one LOAD DATA command.
+ * Chunks are queued for connection threads, producer being blocked when {@link #setMaxPendingChunks(int)} chunks
+ * are waiting, so memory stays bounded whatever the data size. A failing chunk doesn't stop the load : errors are
+ * reported by chunk in {@link Result#getErrors()}.
+ * </p>
+ * <p>
+ * Data use LOAD DATA default format : fields terminated by tabulation, lines terminated by '\n', special characters
+ * escaped by '\', NULL written as \N. Data is loaded without charset conversion (CHARACTER SET binary) so that
+ * binary values are kept : strings are encoded in UTF-8, text columns must then use an utf8/utf8mb4 charset.
+ * Since chunks are loaded independently in distinct transactions, there is no global atomicity.
+ * </p>
+ * <pre>
+ * MariaDbBulkLoader loader = new MariaDbBulkLoader(dataSource, "t", "id", "name").setConnections(8);
+ * MariaDbBulkLoader.Result result = loader.load(rowIterator);
+ * </pre>
+ */
+public class MariaDbBulkLoader {
+
+    private static final Chunk END = new Chunk(-1, -1, null, 0);
+
+    private final DataSource dataSource;
+    private final String sql;
+    private int connections = 4;
+    private int chunkSize = 8 * 1024 * 1024;
+    private int maxPendingChunks = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource data source providing connections
+     * @param table      table name, as written in LOAD DATA command
+     * @param columns    loaded column names. If none, all table columns are loaded.
+     */
+    public MariaDbBulkLoader(DataSource dataSource, String table, String... columns) {
+        this.dataSource = dataSource;
+        StringBuilder sb = new StringBuilder("LOAD DATA LOCAL INFILE 'bulk' INTO TABLE ")
+                .append(table)
+                .append(" CHARACTER SET binary");
+        if (columns.length > 0) {
+            sb.append(" (");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    sb.append(",");
+                }
+                sb.append(columns[i]);
+            }
+            sb.append(")");
+        }
+        this.sql = sb.toString();
+    }
+
+    /**
+     * Set number of connections loading data concurrently. Default to 4.
+     *
+     * @param connections number of connections
+     * @return current loader
+     */
+    public MariaDbBulkLoader setConnections(int connections) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("connections must be at least 1");
+        }
+        this.connections = connections;
+        return this;
+    }
+
+    /**
+     * Set chunk size in bytes. Default to 8M.
+     * A chunk is sent when its size exceed this value, chunks are then slightly bigger.
+     *
+     * @param chunkSize chunk size in bytes
+     * @return current loader
+     */
+    public MariaDbBulkLoader setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Set maximum number of chunks waiting for a connection before blocking producer.
+     * Default to twice the number of connections.
+     *
+     * @param maxPendingChunks maximum number of waiting chunks
+     * @return current loader
+     */
+    public MariaDbBulkLoader setMaxPendingChunks(int maxPendingChunks) {
+        if (maxPendingChunks < 1) {
+            throw new IllegalArgumentException("maxPendingChunks must be at least 1");
+        }
+        this.maxPendingChunks = maxPendingChunks;
+        return this;
+    }
+
+    /**
+     * Load rows. Values are written according to their type : null as NULL, byte array as binary, Boolean as 1/0,
+     * java.util.Date as timestamp, BigDecimal as plain string, other objects using their toString() value.
+     *
+     * @param rows rows to load, each row having one value by loaded column
+     * @return load result
+     * @throws SQLException if connections cannot be created or if load is interrupted
+     */
+    public Result load(Iterator<Object[]> rows) throws SQLException {
+        Loader loader = new Loader();
+        try {
+            ChunkWriter writer = new ChunkWriter(chunkSize);
+            long rowNumber = 0;
+            long firstRow = 0;
+            while (rows.hasNext()) {
+                writer.writeRow(rows.next());
+                rowNumber++;
+                if (writer.position >= chunkSize) {
+                    loader.submit(firstRow, writer.buf, writer.position);
+                    writer = new ChunkWriter(chunkSize);
+                    firstRow = rowNumber;
+                }
+            }
+            if (writer.position > 0) {
+                loader.submit(firstRow, writer.buf, writer.position);
+            } else {
+                BufferPool.giveBack(writer.buf);
+            }
+            return loader.finish();
+        } finally {
+            loader.abort();
+        }
+    }
+
+    /**
+     * Load data already in LOAD DATA default format. Data is split on lines ends.
+     * Chunk positions reported in errors are then byte offsets in stream.
+     *
+     * @param inputStream data
+     * @return load result
+     * @throws SQLException if connections cannot be created, if stream cannot be read or if load is interrupted
+     */
+    public Result load(InputStream inputStream) throws SQLException {
+        Loader loader = new Loader();
+        try {
+            byte[] buf = BufferPool.borrow(chunkSize);
+            int length = 0;
+            long position = 0;
+            int read;
+            while ((read = inputStream.read(buf, length, buf.length - length)) != -1) {
+                length += read;
+                if (length >= chunkSize) {
+                    int split = lineEnd(buf, length);
+                    if (split > 0) {
+                        byte[] next = BufferPool.borrow(Math.max(chunkSize, length - split));
+                        System.arraycopy(buf, split, next, 0, length - split);
+                        loader.submit(position, buf, split);
+                        position += split;
+                        buf = next;
+                        length -= split;
+                    } else if (length == buf.length) {
+                        //line bigger than buffer
+                        buf = grow(buf, buf.length + 1);
+                    }
+                }
+            }
+            if (length > 0) {
+                loader.submit(position, buf, length);
+            } else {
+                BufferPool.giveBack(buf);
+            }
+            return loader.finish();
+        } catch (IOException ioe) {
+            throw new SQLException("Could not read bulk data : " + ioe.getMessage(), "HY000", ioe);
+        } finally {
+            loader.abort();
+        }
+    }
+
+    /**
+     * Search position following last unescaped line end.
+     *
+     * @param buf    data
+     * @param length data length
+     * @return position following line end, or -1 if none
+     */
+    private static int lineEnd(byte[] buf, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buf[i] == '\n') {
+                int escapes = 0;
+                while (i - escapes > 0 && buf[i - escapes - 1] == '\\') {
+                    escapes++;
+                }
+                if ((escapes & 1) == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] grow(byte[] buf, int minLength) {
+        byte[] newBuf = BufferPool.borrow(Math.max(minLength, buf.length * 2));
+        System.arraycopy(buf, 0, newBuf, 0, buf.length);
+        BufferPool.giveBack(buf);
+        return newBuf;
+    }
+
+    /**
+     * Chunk writer, serializing rows in LOAD DATA default format.
+     */
+    private static class ChunkWriter {
+        private byte[] buf;
+        private int position;
+
+        ChunkWriter(int chunkSize) {
+            buf = BufferPool.borrow(chunkSize);
+        }
+
+        private void ensureCapacity(int len) {
+            if (position + len > buf.length) {
+                buf = grow(buf, position + len);
+            }
+        }
+
+        void writeRow(Object[] row) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    write('\t');
+                }
+                writeValue(row[i]);
+            }
+            write('\n');
+        }
+
+        private void writeValue(Object value) {
+            if (value == null) {
+                write('\\');
+                write('N');
+            } else if (value instanceof byte[]) {
+                writeEscaped((byte[]) value);
+            } else if (value instanceof Boolean) {
+                write(((Boolean) value) ? '1' : '0');
+            } else if (value instanceof BigDecimal) {
+                writeEscaped(((BigDecimal) value).toPlainString().getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof java.util.Date && !(value instanceof java.sql.Date)
+                    && !(value instanceof java.sql.Time) && !(value instanceof Timestamp)) {
+                writeEscaped(new Timestamp(((java.util.Date) value).getTime()).toString()
+                        .getBytes(StandardCharsets.UTF_8));
+            } else {
+                writeEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void write(int value) {
+            ensureCapacity(1);
+            buf[position++] = (byte) value;
+        }
+
+        /**
+         * Write escaped bytes. UTF-8 multi-bytes characters never contain ASCII bytes, so escaping can be done on
+         * encoded data.
+         *
+         * @param bytes bytes to write
+         */
+        private void writeEscaped(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            for (byte b : bytes) {
+                switch (b) {
+                    case '\\':
+                    case '\t':
+                    case '\n':
+                        write('\\');
+                        write(b);
+                        break;
+                    case 0:
+                        write('\\');
+                        write('0');
+                        break;
+                    default:
+                        write(b);
+                }
+            }
+        }
+    }
+
+    private static class Chunk {
+        private final int index;
+        private final long position;
+        private final byte[] data;
+        private final int length;
+
+        Chunk(int index, long position, byte[] data, int length) {
+            this.index = index;
+            this.position = position;
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Connections threads. Chunks are loaded by first available connection.
+     */
+    private class Loader {
+        private final BlockingQueue<Chunk> queue;
+        private final List<Connection> connectionList = new ArrayList<>();
+        private final List<Future<?>> workers = new ArrayList<>();
+        private final List<ChunkError> errors = Collections.synchronizedList(new ArrayList<ChunkError>());
+        private final AtomicLong updateCount = new AtomicLong();
+        private final ExecutorService executor;
+        private volatile Throwable workerFailure;
+        private int chunkIndex;
+
+        Loader() throws SQLException {
+            queue = new ArrayBlockingQueue<>(maxPendingChunks > 0 ? maxPendingChunks : 2 * connections);
+            try {
+                for (int i = 0; i < connections; i++) {
+                    connectionList.add(dataSource.getConnection());
+                }
+            } catch (SQLException sqle) {
+                closeConnections();
+                throw sqle;
+            }
+            executor = SchedulerServiceProviderHolder.getFixedSizeScheduler(connections);
+            for (final Connection connection : connectionList) {
+                workers.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        work(connection);
+                    }
+                }));
+            }
+        }
+
+        private void work(Connection connection) {
+            try {
+                loadChunks(connection);
+            } catch (RuntimeException | Error unexpected) {
+                //producer must not wait for a dead worker
+                workerFailure = unexpected;
+                throw unexpected;
+            }
+        }
+
+        private void loadChunks(Connection connection) {
+            MariaDbStatement stmt = null;
+            SQLException statementError = null;
+            try {
+                stmt = connection.createStatement().unwrap(MariaDbStatement.class);
+            } catch (SQLException sqle) {
+                statementError = sqle;
+            }
+            try {
+                Chunk chunk;
+                while ((chunk = queue.take()) != END) {
+                    try {
+                        if (statementError != null) {
+                            throw statementError;
+                        }
+                        stmt.setLocalInfileInputStream(new ByteArrayInputStream(chunk.data, 0, chunk.length));
+                        updateCount.addAndGet(stmt.executeUpdate(sql));
+                    } catch (SQLException sqle) {
+                        errors.add(new ChunkError(chunk.index, chunk.position, sqle));
+                    } catch (RuntimeException e) {
+                        errors.add(new ChunkError(chunk.index, chunk.position,
+                                new SQLException("Unexpected error loading chunk", "HY000", e)));
+                    } finally {
+                        BufferPool.giveBack(chunk.data);
+                    }
+                }
+            } catch (InterruptedException interrupted) {
+                //load aborted
+            }
+        }
+
+        void submit(long position, byte[] data, int length) throws SQLException {
+            try {
+                put(new Chunk(chunkIndex++, position, data, length));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Bulk load interrupted", "HY000", interrupted);
+            }
+        }
+
+        /**
+         * Add chunk to queue, waiting for space while connection threads are alive.
+         */
+        private void put(Chunk chunk) throws SQLException, InterruptedException {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                Throwable failure = workerFailure;
+                if (failure != null) {
+                    throw new SQLException("Unexpected error during bulk load", "HY000", failure);
+                }
+            }
+        }
+
+        Result finish() throws SQLException {
+            try {
+                for (int i = 0; i < workers.size(); i++) {
+                    put(END);
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Bulk load interrupted", "HY000", interrupted);
+            } catch (ExecutionException e) {
+                throw new SQLException("Unexpected error during bulk load", "HY000", e.getCause());
+            }
+            executor.shutdown();
+            closeConnections();
+            List<ChunkError> sortedErrors = new ArrayList<>(errors);
+            Collections.sort(sortedErrors, new Comparator<ChunkError>() {
+                @Override
+                public int compare(ChunkError first, ChunkError second) {
+                    return Integer.compare(first.getChunkIndex(), second.getChunkIndex());
+                }
+            });
+            return new Result(chunkIndex, updateCount.get(), sortedErrors);
+        }
+
+        /**
+         * Stop connection threads and close connections if load didn't finish normally.
+         */
+        void abort() {
+            if (!executor.isShutdown()) {
+                executor.shutdownNow();
+                closeConnections();
+            }
+        }
+
+        private void closeConnections() {
+            for (Connection connection : connectionList) {
+                try {
+                    connection.close();
+                } catch (SQLException sqle) {
+                    //eat exception
+                }
+            }
+            connectionList.clear();
+        }
+    }
+
+    /**
+     * Bulk load result.
+     */
+    public static class Result {
+        private final int chunkCount;
+        private final long updateCount;
+        private final List<ChunkError> errors;
+
+        Result(int chunkCount, long updateCount, List<ChunkError> errors) {
+            this.chunkCount = chunkCount;
+            this.updateCount = updateCount;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        public int getChunkCount() {
+            return chunkCount;
+        }
+
+        /**
+         * Sum of successful chunks LOAD DATA update counts.
+         *
+         * @return number of loaded rows
+         */
+        public long getUpdateCount() {
+            return updateCount;
+        }
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        /**
+         * Errors of failed chunks, ordered by chunk index.
+         *
+         * @return chunk errors
+         */
+        public List<ChunkError> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Chunk load error.
+     */
+    public static class ChunkError {
+        private final int chunkIndex;
+        private final long position;
+        private final SQLException exception;
+
+        ChunkError(int chunkIndex, long position, SQLException exception) {
+            this.chunkIndex = chunkIndex;
+            this.position = position;
+            this.exception = exception;
+        }
+
+        public int getChunkIndex() {
+            return chunkIndex;
+        }
+
+        /**
+         * Chunk position : index of first row of chunk when loading rows, offset in stream when loading a stream.
+         *
+         * @return chunk position
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        public SQLException getException() {
+            return exception;
+        }
+    }
+}
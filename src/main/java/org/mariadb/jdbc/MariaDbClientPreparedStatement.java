@@ -54,8 +54,10 @@ import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.queryresults.*;
 import org.mariadb.jdbc.internal.queryresults.resultset.MariaSelectResultSet;
+import org.mariadb.jdbc.internal.util.ClientPrepareResultCache;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 
 import java.sql.*;
@@ -90,12 +92,16 @@ public class MariaDbClientPreparedStatement extends AbstractPrepareStatement imp
         }
 
         if (prepareResult == null) {
-            if (options.rewriteBatchedStatements) {
+            if (options.cachePrepStmts) {
+                //parsed query parts are shared by all connections
+                prepareResult = ClientPrepareResultCache.get(sqlQuery, connection.noBackslashEscapes,
+                        options.rewriteBatchedStatements);
+            } else if (options.rewriteBatchedStatements) {
                 prepareResult = ClientPrepareResult.rewritableParts(sqlQuery, connection.noBackslashEscapes);
             } else {
                 prepareResult = ClientPrepareResult.parameterParts(sqlQuery, connection.noBackslashEscapes);
             }
-            if (options.cachePrepStmts && sql.length() < 1024) {
+            if (options.cachePrepStmts && sql.length() < ClientPrepareResultCache.MAX_SQL_LENGTH) {
                 String key = new StringBuilder(this.protocol.getDatabase()).append("-").append(sqlQuery).toString();
                 connection.getClientPrepareStatementCache().put(key, prepareResult);
             }
@@ -497,6 +503,17 @@ public class MariaDbClientPreparedStatement extends AbstractPrepareStatement imp
         return prepareResult;
     }
 
+    @Override
+    protected PipelineQuery getPipelineQuery() throws SQLException {
+        for (int i = 0; i < prepareResult.getParamCount(); i++) {
+            if (parameters[i] == null) {
+                throw ExceptionMapper.getSqlException("You need to set exactly " + prepareResult.getParamCount()
+                        + " parameters on the prepared statement");
+            }
+        }
+        return new PipelineQuery(prepareResult, parameters.clone());
+    }
+
     protected void initializeFallbackClient(MariaDbServerPreparedStatement serverPreparedStatement) throws SQLException {
         if (serverPreparedStatement.currentParameterHolder.size() == prepareResult.getParamCount()) {
             this.parameters = serverPreparedStatement.currentParameterHolder.values().toArray(new ParameterHolder[0]);
@@ -96,7 +96,6 @@ public final class MariaDbConnection implements Connection {
     public MariaDbPooledConnection pooledConnection;
     boolean noBackslashEscapes;
     boolean nullCatalogMeansCurrent = true;
-    int autoIncrementIncrement;
     volatile int lowercaseTableNames = -1;
 
     /**
@@ -108,6 +107,10 @@ public final class MariaDbConnection implements Connection {
      */
     private Options options;
     private boolean warningsCleared;
+    /**
+     * client info values set on this connection, so that getters don't need to query server.
+     */
+    private final Properties clientInfo = new Properties();
 
     /**
      * Creates a new connection with a given protocol and query factory.
@@ -159,16 +162,19 @@ public final class MariaDbConnection implements Connection {
     }
 
     int getAutoIncrementIncrement() {
-        if (autoIncrementIncrement == 0) {
-            try {
-                ResultSet rs = createStatement().executeQuery("select @@auto_increment_increment");
-                rs.next();
-                autoIncrementIncrement = rs.getInt(1);
-            } catch (SQLException e) {
-                autoIncrementIncrement = 1;
-            }
-        }
-        return autoIncrementIncrement;
+        return protocol.getAutoIncrementIncrement();
+    }
+
+    /**
+     * Create a pipeline, permitting to send independent queries and prepared statements executions
+     * without waiting for each result.
+     *
+     * @return a new pipeline
+     * @throws SQLException if connection is closed
+     */
+    public MariaDbPipeline pipeline() throws SQLException {
+        checkConnection();
+        return new MariaDbPipeline(this);
     }
 
     /**
@@ -660,6 +666,28 @@ public final class MariaDbConnection implements Connection {
         protocol.closeExplicit();
     }
 
+    /**
+     * <p>Reset connection to its state after connection, so that it can be reused by another user, in a single
+     * round trip : current transaction is rolled back, autocommit enabled, transaction isolation, catalog and
+     * read-only mode restored, client info cleared, and connection session options set again.</p>
+     * <p>When server supports COM_RESET_CONNECTION (MariaDB 10.2.4+, MySQL 5.7.3+), whole session is reset :
+     * user variables and temporary tables are dropped, and server prepared statements are released, so statements
+     * created before reset must not be used afterward.</p>
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a closed connection
+     */
+    public void reset() throws SQLException {
+        checkConnection();
+        try {
+            if (protocol.getReadonly()) protocol.setReadonly(false);
+            protocol.reset();
+        } catch (QueryException e) {
+            ExceptionMapper.throwException(e, this, null);
+        }
+        clientInfo.clear();
+        clearWarnings();
+    }
+
     /**
      * checks if the connection is closed.
      *
@@ -698,6 +726,7 @@ public final class MariaDbConnection implements Connection {
      * @throws SQLException if there is a problem
      */
     public void setReadOnly(final boolean readOnly) throws SQLException {
+        if (options.skipRedundantSetters && readOnly == protocol.getReadonly()) return;
         try {
             protocol.setReadonly(readOnly);
         } catch (QueryException e) {
@@ -707,25 +736,25 @@ public final class MariaDbConnection implements Connection {
 
     /**
      * <p>Retrieves this <code>Connection</code> object's current catalog name.</p>
+     * <p>When server sends session state changes (MariaDB 10.2+, MySQL 5.7+), catalog is known without querying
+     * server : it is the one set on connection, changed by {@link #setCatalog} or by a "USE" command.
+     * Otherwise, server is queried, since catalog may have been changed by a query.</p>
      *
      * @return the current catalog name or <code>null</code> if there is none
      * @throws SQLException if a database access error occurs or this method is called on a closed connection
      * @see #setCatalog
      */
     public String getCatalog() throws SQLException {
-        String catalog = null;
-        Statement st = null;
-        try {
-            st = createStatement();
-            ResultSet rs = st.executeQuery("select database()");
-            rs.next();
-            catalog = rs.getString(1);
-        } finally {
-            if (st != null) {
-                st.close();
+        checkConnection();
+        if (!protocol.isSessionStateTracked()) {
+            try (Statement st = createStatement()) {
+                ResultSet rs = st.executeQuery("select database()");
+                rs.next();
+                return rs.getString(1);
             }
         }
-        return catalog;
+        String catalog = protocol.getDatabase();
+        return (catalog == null || catalog.isEmpty()) ? null : catalog;
     }
 
     /**
@@ -741,6 +770,9 @@ public final class MariaDbConnection implements Connection {
         if (catalog == null) {
             throw new SQLException("The catalog name may not be null", "XAE05");
         }
+        if (options.skipRedundantSetters && protocol.isSessionStateTracked() && catalog.equals(protocol.getDatabase())) {
+            return;
+        }
         try {
             protocol.setCatalog(catalog);
         } catch (QueryException e) {
@@ -750,6 +782,9 @@ public final class MariaDbConnection implements Connection {
 
     /**
      * Retrieves this <code>Connection</code> object's current transaction isolation level.
+     * When server sends session state changes (MariaDB 10.2+, MySQL 5.7+), level is known without querying server :
+     * it is the one read on connection, changed by {@link #setTransactionIsolation} or by a query.
+     * Otherwise, server is queried, since level may have been changed by a query.
      *
      * @return the current transaction isolation level, which will be one of the following constants:
      * <code>Connection.TRANSACTION_READ_UNCOMMITTED</code>,
@@ -759,27 +794,29 @@ public final class MariaDbConnection implements Connection {
      * @see #setTransactionIsolation
      */
     public int getTransactionIsolation() throws SQLException {
-        final Statement stmt = createStatement();
-        try {
-            final ResultSet rs = stmt.executeQuery("SELECT @@tx_isolation");
+        checkConnection();
+        int level = protocol.isSessionStateTracked() ? protocol.getTransactionIsolationLevel() : readTransactionIsolation();
+        if (level == 0) throw ExceptionMapper.getSqlException("Could not get transaction isolation level");
+        return level;
+    }
+
+    private int readTransactionIsolation() throws SQLException {
+        try (Statement stmt = createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT @@tx_isolation");
             rs.next();
-            final String response = rs.getString(1);
-            if (response.equals("REPEATABLE-READ")) {
-                return Connection.TRANSACTION_REPEATABLE_READ;
+            switch (rs.getString(1)) {
+                case "REPEATABLE-READ":
+                    return Connection.TRANSACTION_REPEATABLE_READ;
+                case "READ-UNCOMMITTED":
+                    return Connection.TRANSACTION_READ_UNCOMMITTED;
+                case "READ-COMMITTED":
+                    return Connection.TRANSACTION_READ_COMMITTED;
+                case "SERIALIZABLE":
+                    return Connection.TRANSACTION_SERIALIZABLE;
+                default:
+                    return 0;
             }
-            if (response.equals("READ-UNCOMMITTED")) {
-                return Connection.TRANSACTION_READ_UNCOMMITTED;
-            }
-            if (response.equals("READ-COMMITTED")) {
-                return Connection.TRANSACTION_READ_COMMITTED;
-            }
-            if (response.equals("SERIALIZABLE")) {
-                return Connection.TRANSACTION_SERIALIZABLE;
-            }
-        } finally {
-            stmt.close();
         }
-        throw ExceptionMapper.getSqlException("Could not get transaction isolation level");
     }
 
     /**
@@ -797,6 +834,10 @@ public final class MariaDbConnection implements Connection {
      * @see #getTransactionIsolation
      */
     public void setTransactionIsolation(final int level) throws SQLException {
+        if (options.skipRedundantSetters && protocol.isSessionStateTracked()
+                && level == protocol.getTransactionIsolationLevel()) {
+            return;
+        }
         try {
             protocol.setTransactionIsolation(level);
         } catch (QueryException e) {
@@ -1124,6 +1165,9 @@ public final class MariaDbConnection implements Connection {
                     + "but was : " + name, failures);
         }
 
+        String current = clientInfo.getProperty(name);
+        if (value == null ? current == null : value.equals(current)) return;
+
         StringBuilder escapeQuery = new StringBuilder("SET @").append(name).append("=");
         if (value == null) {
             escapeQuery.append("null");
@@ -1156,6 +1200,11 @@ public final class MariaDbConnection implements Connection {
         try {
             Statement statement = createStatement();
             statement.execute(escapeQuery.toString());
+            if (value == null) {
+                clientInfo.remove(name);
+            } else {
+                clientInfo.setProperty(name, value);
+            }
         } catch (SQLException sqle) {
             Map<String, ClientInfoStatus> failures = new HashMap<>();
             failures.put(name, ClientInfoStatus.REASON_UNKNOWN);
@@ -1203,6 +1252,7 @@ public final class MariaDbConnection implements Connection {
      * the driver.
      * Applications may use the <code>DatabaseMetaData.getClientInfoProperties</code> method to determine the client info properties supported by the
      * driver.
+     * Values are the ones set by {@link #setClientInfo(String, String)} on this connection, server is not queried.
      *
      * @param name The name of the client info property to retrieve
      * @return The value of the client info property specified
@@ -1216,14 +1266,7 @@ public final class MariaDbConnection implements Connection {
         if (!"ApplicationName".equals(name) && !"ClientUser".equals(name) && !"ClientHostname".equals(name)) {
             throw new SQLException("name must be \"ApplicationName\", \"ClientUser\" or \"ClientHostname\", but was \"" + name + "\"");
         }
-        try (Statement statement = createStatement()) {
-            try (ResultSet rs = statement.executeQuery("SELECT @" + name)) {
-                if (rs.next()) {
-                    return rs.getString(1);
-                }
-            }
-        }
-        return null;
+        return clientInfo.getProperty(name);
     }
 
     /**
@@ -1238,22 +1281,9 @@ public final class MariaDbConnection implements Connection {
      */
     public Properties getClientInfo() throws SQLException {
         checkConnection();
-        try (Statement statement = createStatement()) {
-            try (ResultSet rs = statement.executeQuery("SELECT @ApplicationName, @ClientUser, @ClientHostname")) {
-                if (rs.next()) {
-                    Properties properties = new Properties();
-                    if (rs.getString(1) != null) properties.setProperty("ApplicationName", rs.getString(1));
-                    if (rs.getString(2) != null) properties.setProperty("ClientUser", rs.getString(2));
-                    if (rs.getString(3) != null) properties.setProperty("ClientHostname", rs.getString(3));
-                    return properties;
-                }
-            }
-        }
         Properties properties = new Properties();
-        properties.setProperty("ApplicationName", null);
-        properties.setProperty("ClientUser", null);
-        properties.setProperty("ClientHostname", null);
-        return new Properties();
+        properties.putAll(clientInfo);
+        return properties;
     }
 
 
@@ -1500,6 +1530,14 @@ public final class MariaDbConnection implements Connection {
         return clientPrepareStatementCache;
     }
 
+    /**
+     * Server prepared statement cache of this connection, giving access to hit/miss/eviction counters.
+     * @return server prepared statement cache, or null if cachePrepStmts is disabled
+     */
+    public ServerPrepareStatementCache getServerPrepareStatementCache() {
+        return (protocol != null) ? protocol.prepareStatementCache() : null;
+    }
+
     public long getServerThreadId() {
         return (protocol != null) ? protocol.getServerThreadId() : -1;
     }
@@ -0,0 +1,204 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc;
+
+import org.mariadb.jdbc.internal.queryresults.CmdInformation;
+import org.mariadb.jdbc.internal.queryresults.Results;
+import org.mariadb.jdbc.internal.util.ExceptionMapper;
+import org.mariadb.jdbc.internal.util.Utils;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pipeline of independent queries and prepared statement executions.
+ * All commands are send to server before reading any result, avoiding a network round trip for each command.
+ * <p>
+ * Prepared statements parameters are copied when added, so a statement can be added multiple times with different
+ * parameters. Commands are always executed using text protocol.
+ * </p>
+ * <pre>
+ * MariaDbPipeline pipeline = connection.pipeline()
+ *     .add("INSERT INTO t VALUES (1)")
+ *     .add(preparedStatement)
+ *     .add("SELECT * FROM t");
+ * int[] updateCounts = pipeline.execute();
+ * ResultSet rs = pipeline.getResultSet(2);
+ * </pre>
+ */
+public class MariaDbPipeline {
+
+    private final MariaDbConnection connection;
+    private final List<PipelineQuery> queries = new ArrayList<>();
+    private MariaDbStatement statement;
+    private Results[] results;
+
+    MariaDbPipeline(MariaDbConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Add a text query to pipeline.
+     *
+     * @param sql query
+     * @return current pipeline
+     * @throws SQLException if query is null
+     */
+    public MariaDbPipeline add(String sql) throws SQLException {
+        if (sql == null) throw ExceptionMapper.getSqlException("Query cannot be null");
+        queries.add(new PipelineQuery(Utils.nativeSql(sql, connection.noBackslashEscapes)));
+        return this;
+    }
+
+    /**
+     * Add current execution of a prepared statement to pipeline.
+     *
+     * @param preparedStatement prepared statement, created from the same connection
+     * @return current pipeline
+     * @throws SQLException if statement is not from this connection, is a callable statement or if parameters are missing
+     */
+    public MariaDbPipeline add(PreparedStatement preparedStatement) throws SQLException {
+        if (!(preparedStatement instanceof AbstractPrepareStatement) || preparedStatement instanceof CallableStatement
+                || preparedStatement.getConnection() != connection) {
+            throw ExceptionMapper.getSqlException("Only prepared statements created from this connection can be pipelined");
+        }
+        queries.add(((AbstractPrepareStatement) preparedStatement).getPipelineQuery());
+        return this;
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    public void clear() {
+        queries.clear();
+    }
+
+    /**
+     * Execute all pipelined commands. Pipeline is cleared afterward, results of commands staying available until next
+     * execution.
+     * If a command fails, following commands are still executed and the first error is thrown, other commands
+     * results still being available.
+     *
+     * @return update count of each command, -1 if command result is a resultSet, or
+     * <code>Statement.EXECUTE_FAILED</code> if command failed.
+     * @throws SQLException if any command failed
+     */
+    public int[] execute() throws SQLException {
+        if (statement == null) statement = (MariaDbStatement) connection.createStatement();
+        List<PipelineQuery> commands = new ArrayList<>(queries);
+        queries.clear();
+        results = new Results[commands.size()];
+        statement.executePipeline(commands, results);
+        return getUpdateCounts();
+    }
+
+    /**
+     * Update count of each command of last execution.
+     *
+     * @return update counts, -1 if command result is a resultSet, or <code>Statement.EXECUTE_FAILED</code>
+     * if command failed.
+     */
+    public int[] getUpdateCounts() {
+        if (results == null) return new int[0];
+        int[] updateCounts = new int[results.length];
+        for (int i = 0; i < results.length; i++) {
+            updateCounts[i] = getUpdateCount(i);
+        }
+        return updateCounts;
+    }
+
+    /**
+     * Update count of a command of last execution.
+     *
+     * @param index command index, starting at 0
+     * @return update count, -1 if command result is a resultSet, or <code>Statement.EXECUTE_FAILED</code>
+     * if command failed or wasn't executed.
+     */
+    public int getUpdateCount(int index) {
+        CmdInformation cmdInformation = getResults(index).getCmdInformation();
+        return (cmdInformation == null) ? Statement.EXECUTE_FAILED : cmdInformation.getUpdateCount();
+    }
+
+    /**
+     * ResultSet of a command of last execution.
+     *
+     * @param index command index, starting at 0
+     * @return resultSet or null if command has no resultSet
+     */
+    public ResultSet getResultSet(int index) {
+        return getResults(index).getResultSet();
+    }
+
+    /**
+     * Close internal statement.
+     *
+     * @throws SQLException if any error occur
+     */
+    public void close() throws SQLException {
+        queries.clear();
+        results = null;
+        if (statement != null) statement.close();
+    }
+
+    private Results getResults(int index) {
+        if (results == null || index < 0 || index >= results.length) {
+            throw new IndexOutOfBoundsException("No pipeline result at index " + index);
+        }
+        return results[index];
+    }
+}
@@ -55,7 +55,10 @@ import org.mariadb.jdbc.internal.queryresults.*;
 import org.mariadb.jdbc.internal.queryresults.resultset.MariaSelectResultSet;
 import org.mariadb.jdbc.internal.stream.PrepareException;
 import org.mariadb.jdbc.internal.stream.PrepareSqlException;
+import org.mariadb.jdbc.internal.util.ClientPrepareResultCache;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.Utils;
@@ -259,14 +262,23 @@ public class MariaDbServerPreparedStatement extends AbstractPrepareStatement imp
         executing = true;
         QueryException exception = null;
         Results internalResult = null;
+        boolean bulk = canUseBulk(queryParameterSize);
         try {
             executeQueryProlog(serverPrepareResult);
             try {
-                internalResult = new Results(this, 0, true, queryParameterSize, true, resultSetScrollType);
-                executeBatchInternal(internalResult, queryParameterSize);
+                if (bulk) {
+                    internalResult = new ResultsRewrite(this, 0, true, queryParameterSize, true, resultSetScrollType);
+                    protocol.executeBulk(mustExecuteOnMaster, serverPrepareResult, internalResult, queryParameters);
+                } else {
+                    internalResult = new Results(this, 0, true, queryParameterSize, true, resultSetScrollType);
+                    executeBatchInternal(internalResult, queryParameterSize);
+                }
             } catch (QueryException queryException) {
                 exception = queryException;
             } finally {
+                if (bulk) {
+                    ((ResultsRewrite) internalResult).setAutoIncrement(connection.getAutoIncrementIncrement());
+                }
                 internalResult.commandEnd();
                 results = internalResult;
                 executeQueryEpilog(exception);
@@ -289,6 +301,29 @@ public class MariaDbServerPreparedStatement extends AbstractPrepareStatement imp
         }
     }
 
+    /**
+     * Can batch be executed with COM_STMT_BULK_EXECUTE commands : option useBulkStmts set, server support, statement
+     * not returning result-set and no parameter to send as long data.
+     *
+     * @param queryParameterSize batch size
+     * @return true if bulk commands can be used
+     */
+    private boolean canUseBulk(int queryParameterSize) {
+        if (!options.useBulkStmts || queryParameterSize < 2 || serverPrepareResult == null
+                || serverPrepareResult.getColumns().length > 0 || serverPrepareResult.getParameters().length == 0
+                || !protocol.supportsBulkOperations()) {
+            return false;
+        }
+        for (ParameterHolder[] parameters : queryParameters) {
+            for (ParameterHolder parameter : parameters) {
+                if (parameter.isLongData()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Send batch datas according to options.
      *
@@ -361,6 +396,26 @@ public class MariaDbServerPreparedStatement extends AbstractPrepareStatement imp
         return executeInternal(getFetchSize(), false);
     }
 
+    /**
+     * Pipelined commands are send using text protocol : query is parsed client side, and current parameters are
+     * written in text format.
+     *
+     * @return pipeline command
+     * @throws SQLException if parameters are missing
+     */
+    @Override
+    protected PipelineQuery getPipelineQuery() throws SQLException {
+        validParameters();
+        String query = (serverPrepareResult != null) ? serverPrepareResult.getSql() : sql;
+        ClientPrepareResult clientPrepareResult = ClientPrepareResultCache.get(query, connection.noBackslashEscapes, false);
+        ParameterHolder[] parameters = currentParameterHolder.values().toArray(new ParameterHolder[0]);
+        if (parameters.length != clientPrepareResult.getParamCount()) {
+            throw ExceptionMapper.getSqlException("You need to set exactly " + clientPrepareResult.getParamCount()
+                    + " parameters on the prepared statement");
+        }
+        return new PipelineQuery(clientPrepareResult, parameters);
+    }
+
     protected void validParameters() throws SQLException {
         if (serverPrepareResult != null) {
             for (int i = 0; i < parameterCount; i++) {
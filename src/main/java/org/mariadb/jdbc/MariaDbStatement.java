@@ -58,7 +58,9 @@ import org.mariadb.jdbc.internal.util.ExceptionMapper;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
+import org.mariadb.jdbc.internal.util.scheduler.HashedWheelTimer;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 
 import java.io.IOException;
@@ -71,8 +73,6 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public class MariaDbStatement implements Statement, Cloneable {
     private static Logger logger = LoggerFactory.getLogger(MariaDbStatement.class);
-    //timeout scheduler
-    private static final ScheduledExecutorService timeoutScheduler = SchedulerServiceProviderHolder.getTimeoutScheduler();
 
     /**
      * the protocol used to talk to the server.
@@ -83,7 +83,8 @@ public class MariaDbStatement implements Statement, Cloneable {
      * the  Connection object.
      */
     protected MariaDbConnection connection;
-    protected Future<?> timerTaskFuture;
+    protected HashedWheelTimer.Timeout timerTask;
+    private Runnable timeoutTask;
     protected ResultSet batchResultSet = null;
     protected volatile boolean closed = false;
     boolean isTimedout;
@@ -125,7 +126,8 @@ public class MariaDbStatement implements Statement, Cloneable {
         MariaDbStatement clone = (MariaDbStatement) super.clone();
         clone.connection = connection;
         clone.protocol = protocol;
-        clone.timerTaskFuture = null;
+        clone.timerTask = null;
+        clone.timeoutTask = null;
         clone.batchQueries = new ArrayList<>();
         clone.results = null;
         clone.closed = false;
@@ -154,18 +156,26 @@ public class MariaDbStatement implements Statement, Cloneable {
 
     // Part of query prolog - setup timeout timer
     protected void setTimerTask() {
-        assert (timerTaskFuture == null);
-
-        timerTaskFuture = timeoutScheduler.schedule(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    isTimedout = true;
-                    protocol.cancelCurrentQuery();
-                } catch (Throwable e) {
+        assert (timerTask == null);
+
+        if (timeoutTask == null) {
+            timeoutTask = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        isTimedout = true;
+                        protocol.cancelCurrentQuery();
+                    } catch (Throwable e) {
+                    }
                 }
-            }
-        }, queryTimeout, TimeUnit.SECONDS);
+            };
+        }
+        try {
+            timerTask = SchedulerServiceProviderHolder.getTimeoutTimer().schedule(timeoutTask, queryTimeout, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException rejected) {
+            //scheduler provider has changed since timer was get : scheduling on new provider timer
+            timerTask = SchedulerServiceProviderHolder.getTimeoutTimer().schedule(timeoutTask, queryTimeout, TimeUnit.SECONDS);
+        }
     }
 
     protected void executeQueryProlog() throws SQLException {
@@ -179,22 +189,19 @@ public class MariaDbStatement implements Statement, Cloneable {
     }
 
     protected void stopTimeoutTask() {
-        if (timerTaskFuture != null) {
-            if (! timerTaskFuture.cancel(true)) {
+        if (timerTask != null) {
+            if (!timerTask.cancel()) {
                 // could not cancel, task either started or already finished
-                // we must now wait for task to finish to ensure state modifications are done
+                // we must now wait for task to finish to ensure state modifications are done, and that kill
+                // is not received by server during next query
                 try {
-                    timerTaskFuture.get();
+                    timerTask.awaitDone();
                 } catch (InterruptedException e) {
                     // reset interrupt status
                     Thread.currentThread().interrupt();
-                } catch (ExecutionException e) {
-                    // ignore error, likely due to interrupting during cancel
                 }
-                // we don't catch the exception if already canceled, that would indicate we tried
-                // to cancel in parallel (which this code currently is not designed for)
             }
-            timerTaskFuture = null;
+            timerTask = null;
         }
     }
 
@@ -255,6 +262,142 @@ public class MariaDbStatement implements Statement, Cloneable {
         }
     }
 
+    /**
+     * Executes a query asynchronously : query is send immediately, and result is read in background once server has
+     * send it. With option useSocketChannel, no thread is blocked while server is executing the query.
+     * Connection can be used again once the result has been read (other commands will wait for it).
+     * Returned future cannot be cancelled. When done, result is available using {@link #getResultSet()} and
+     * {@link #getUpdateCount()}.
+     *
+     * @param sql the query
+     * @return future indicating if there was a result set. If query failed, future throws an
+     * ExecutionException whose cause is the SQLException.
+     * @throws SQLException if the query could not be sent to server
+     */
+    public Future<Boolean> executeAsync(String sql) throws SQLException {
+        executing = true;
+        lock.lock();
+        try {
+            executeQueryProlog();
+            batchResultSet = null;
+            final Protocol currentProtocol = protocol;
+            final Results internalResults = new Results(this, 0, false, 1, false, resultSetScrollType);
+            final FutureTask<Boolean> resultReader = new FutureTask<Boolean>(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws SQLException {
+                    QueryException exception = null;
+                    try {
+                        currentProtocol.getResult(internalResults);
+                        internalResults.commandEnd();
+                        return internalResults.getResultSet() != null;
+                    } catch (QueryException e) {
+                        exception = e;
+                        return false;
+                    } finally {
+                        executeAsyncEpilog(exception);
+                    }
+                }
+            });
+            FutureTask<Boolean> future = new FutureTask<Boolean>(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws SQLException, InterruptedException {
+                    //run with connection lock held, once result has been read
+                    try {
+                        Boolean hasResultSet = resultReader.get();
+                        results = internalResults;
+                        return hasResultSet;
+                    } catch (ExecutionException executionException) {
+                        if (!(executionException.getCause() instanceof SQLException)) {
+                            throw new SQLException(executionException.getCause());
+                        }
+                        SQLException sqlException = (SQLException) executionException.getCause();
+                        if (sqlException.getSQLState() != null && sqlException.getSQLState().startsWith("08")) {
+                            ExceptionMapper.connectionError(connection, sqlException);
+                        }
+                        throw sqlException;
+                    } catch (CancellationException cancellationException) {
+                        //a command waiting for this result has timed out
+                        SQLException sqlException = new SQLNonTransientConnectionException(
+                                "Asynchronous query result has not been read in time", "08000", cancellationException);
+                        ExceptionMapper.connectionError(connection, sqlException);
+                        throw sqlException;
+                    }
+                }
+            }) {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    //result must be read for connection to be usable
+                    return false;
+                }
+            };
+            currentProtocol.executeQueryAsync(currentProtocol.isMasterConnection(),
+                    Utils.nativeSql(sql, connection.noBackslashEscapes), resultReader, future);
+            return future;
+        } catch (QueryException e) {
+            executing = false;
+            lock.unlock();
+            executeQueryEpilog(e);
+            throw new AssertionError("epilog must throw query exception", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) lock.unlock();
+        }
+    }
+
+    /**
+     * Epilog of an asynchronous execution, run by the reading thread without connection lock.
+     * Connection errors are not handled here, since connection lock may be held by a thread waiting for this result :
+     * they are handled when result is published.
+     *
+     * @param queryException  exception
+     * @throws SQLException exception
+     */
+    private void executeAsyncEpilog(QueryException queryException) throws SQLException {
+        stopTimeoutTask();
+        executing = false;
+        if (isTimedout) {
+            isTimedout = false;
+            queryException = new QueryException("Query timed out", 1317, "JZ0002", queryException);
+        }
+        if (queryException == null) return;
+        if (queryException.getSqlState() != null && queryException.getSqlState().startsWith("08")) {
+            SQLException sqlException = ExceptionMapper.getException(queryException, null, this);
+            logger.error("error executing query", sqlException);
+            throw sqlException;
+        }
+        ExceptionMapper.throwAndLogException(queryException, connection, this, logger);
+    }
+
+    /**
+     * Execute commands in a pipeline, each command results being set in corresponding pipelineResults index.
+     * Results of commands are available even if one command failed.
+     *
+     * @param queries         commands
+     * @param pipelineResults results array, of same size than queries
+     * @throws SQLException if any command failed, first error is thrown once all results are read
+     */
+    protected void executePipeline(List<PipelineQuery> queries, Results[] pipelineResults) throws SQLException {
+        executing = true;
+        QueryException exception = null;
+        lock.lock();
+        try {
+            executeQueryProlog();
+            batchResultSet = null;
+            for (int i = 0; i < pipelineResults.length; i++) {
+                pipelineResults[i] = new Results(this, 0, false, 1, false, resultSetScrollType);
+            }
+            protocol.executePipeline(protocol.isMasterConnection(), queries, pipelineResults);
+        } catch (QueryException e) {
+            exception = e;
+        } finally {
+            for (Results pipelineResult : pipelineResults) {
+                if (pipelineResult != null) pipelineResult.commandEnd();
+            }
+            lock.unlock();
+            executeQueryEpilog(exception);
+            executing = false;
+        }
+    }
+
     /**
      * executes a query.
      *
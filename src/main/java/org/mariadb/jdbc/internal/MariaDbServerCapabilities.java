@@ -72,10 +72,12 @@ public class MariaDbServerCapabilities {
     public static final int PLUGIN_AUTH = 1 << 19;      /* Client supports plugin authentication */
     public static final int CONNECT_ATTRS = 1 << 20;    /* Client send connection attributes */
     public static final int PLUGIN_AUTH_LENENC_CLIENT_DATA = 1 << 21;    /* authentication data length is a length auth integer */
+    public static final int CLIENT_SESSION_TRACK = 1 << 23; /* OK packets contain session state changes */
     public static final int PROGRESS_OLD = 1 << 29;         /* Client support progress indicator (before 10.2)*/
 
     /* MariaDB specific capabilities */
     public static final long MARIADB_CLIENT_PROGRESS = 1L << 32; /* Client support progress indicator (since 10.2) */
     public static final long MARIADB_CLIENT_COM_MULTI = 1L << 33;
+    public static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34; /* COM_STMT_BULK_EXECUTE (since 10.2.7) */
 
 }
\ No newline at end of file
@@ -282,7 +282,17 @@ public abstract class AbstractMastersListener implements Listener {
                         }
                     }
                     break;
+                case "executeQueryAsync":
+                    String asyncQuery = ((String) args[1]).toUpperCase();
+                    if (!asyncQuery.equals("ALTER SYSTEM CRASH") && !asyncQuery.startsWith("KILL")) {
+                        logger.debug("relaunch query to new connection "
+                                + ((currentProtocol != null) ? "server thread id " + currentProtocol.getServerThreadId() : ""));
+                        handleErrorResult.resultObject = method.invoke(currentProtocol, args);
+                        handleErrorResult.mustThrowError = false;
+                    }
+                    break;
                 case "executePreparedQuery":
+                case "executeBulk":
                     //the statementId has been discarded with previous session
                     try {
                         boolean mustBeOnMaster = (Boolean) args[0];
@@ -323,6 +333,9 @@ public abstract class AbstractMastersListener implements Listener {
                         return query.startsWith("SELECT");
                     }
                     break;
+                case "executeQueryAsync":
+                    if (!((Boolean) args[0])) return true; //launched on slave connection
+                    return ((String) args[1]).toUpperCase().startsWith("SELECT");
                 case "executePreparedQuery":
                     if (!((Boolean) args[0])) return true; //launched on slave connection
                     ServerPrepareResult serverPrepareResult = (ServerPrepareResult) args[1];
@@ -334,9 +347,14 @@ public abstract class AbstractMastersListener implements Listener {
                 case "executeBatchMultiple":
                 case "executeBatchRewrite":
                 case "prepareAndExecutes":
+                case "executeBulk":
                 case "executeBatchMulti":
+                case "executePipeline":
                     if (!((Boolean) args[0])) return true; //launched on slave connection
                     return false;
+                case "reset":
+                    //new connection is already in initial state, reset has no effect
+                    return true;
                 default:
                     return false;
             }
@@ -344,14 +362,6 @@ public abstract class AbstractMastersListener implements Listener {
         return false;
     }
 
-    public Object invoke(Method method, Object[] args, Protocol specificProtocol) throws Throwable {
-        return method.invoke(specificProtocol, args);
-    }
-
-    public Object invoke(Method method, Object[] args) throws Throwable {
-        return method.invoke(currentProtocol, args);
-    }
-
     /**
      * When switching between 2 connections, report existing connection parameter to the new used connection.
      *
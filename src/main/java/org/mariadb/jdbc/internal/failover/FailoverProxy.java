@@ -50,34 +50,87 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.failover;
 
 import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.MariaDbConnection;
+import org.mariadb.jdbc.MariaDbStatement;
+import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.queryresults.Results;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
+import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
+import org.mariadb.jdbc.internal.util.SqlStates;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 
-import java.lang.reflect.InvocationHandler;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.locks.ReentrantLock;
 
-
-public class FailoverProxy implements InvocationHandler {
+/**
+ * Protocol implementation used when multiple hosts are configured.
+ * Calls are delegated directly to the listener current protocol; only when a connection error occurs, the corresponding
+ * protocol {@link Method} and arguments are handed to the listener so the operation can be relaunched after failover.
+ */
+public class FailoverProxy implements Protocol {
     private static Logger logger = LoggerFactory.getLogger(FailoverProxy.class);
-    public static final String METHOD_IS_EXPLICIT_CLOSED = "isExplicitClosed";
-    public static final String METHOD_GET_OPTIONS = "getOptions";
-    public static final String METHOD_GET_PROXY = "getProxy";
-    public static final String METHOD_EXECUTE_QUERY = "executeQuery";
-    public static final String METHOD_SET_READ_ONLY = "setReadonly";
-    public static final String METHOD_IS_READ_ONLY = "isReadOnly";
-    public static final String METHOD_CLOSED_EXPLICIT = "closeExplicit";
-    public static final String METHOD_IS_CLOSED = "isClosed";
-    public static final String METHOD_EXECUTE_PREPARED_QUERY = "executePreparedQuery";
-    public static final String METHOD_COM_MULTI_PREPARE_EXECUTES = "prepareAndExecutesComMulti";
-    public static final String METHOD_PROLOG_PROXY = "prologProxy";
 
+    private static final Method PREPARE = protocolMethod("prepare", String.class, boolean.class);
+    private static final Method CONNECT = protocolMethod("connect");
+    private static final Method SET_CATALOG = protocolMethod("setCatalog", String.class);
+    private static final Method ROLLBACK = protocolMethod("rollback");
+    private static final Method PING = protocolMethod("ping");
+    private static final Method RESET = protocolMethod("reset");
+    private static final Method EXECUTE_QUERY = protocolMethod("executeQuery", String.class);
+    private static final Method EXECUTE_QUERY_RESULTS = protocolMethod("executeQuery", boolean.class, Results.class,
+            String.class);
+    private static final Method EXECUTE_QUERY_ASYNC = protocolMethod("executeQueryAsync", boolean.class, String.class,
+            FutureTask.class, Runnable.class);
+    private static final Method EXECUTE_QUERY_CLIENT_PREPARE = protocolMethod("executeQuery", boolean.class, Results.class,
+            ClientPrepareResult.class, ParameterHolder[].class);
+    private static final Method EXECUTE_BATCH_MULTI = protocolMethod("executeBatchMulti", boolean.class, Results.class,
+            ClientPrepareResult.class, List.class);
+    private static final Method EXECUTE_BATCH = protocolMethod("executeBatch", boolean.class, Results.class, List.class);
+    private static final Method EXECUTE_BATCH_MULTIPLE = protocolMethod("executeBatchMultiple", boolean.class, Results.class,
+            List.class);
+    private static final Method EXECUTE_BATCH_REWRITE = protocolMethod("executeBatchRewrite", boolean.class, Results.class,
+            ClientPrepareResult.class, List.class, boolean.class);
+    private static final Method EXECUTE_PIPELINE = protocolMethod("executePipeline", boolean.class, List.class,
+            Results[].class);
+    private static final Method EXECUTE_PREPARED_QUERY = protocolMethod("executePreparedQuery", boolean.class,
+            ServerPrepareResult.class, Results.class, ParameterHolder[].class);
+    private static final Method PREPARE_AND_EXECUTES = protocolMethod("prepareAndExecutes", boolean.class,
+            ServerPrepareResult.class, Results.class, String.class, List.class);
+    private static final Method EXECUTE_BULK = protocolMethod("executeBulk", boolean.class,
+            ServerPrepareResult.class, Results.class, List.class);
+    private static final Method PREPARE_AND_EXECUTE = protocolMethod("prepareAndExecute", boolean.class,
+            ServerPrepareResult.class, Results.class, String.class, ParameterHolder[].class);
+    private static final Method GET_RESULT = protocolMethod("getResult", Results.class);
+    private static final Method CANCEL_CURRENT_QUERY = protocolMethod("cancelCurrentQuery");
+    private static final Method SKIP = protocolMethod("skip");
+    private static final Method CHECK_IF_MASTER = protocolMethod("checkIfMaster");
+    private static final Method SET_MAX_ROWS = protocolMethod("setMaxRows", int.class);
+    private static final Method SET_TRANSACTION_ISOLATION = protocolMethod("setTransactionIsolation", int.class);
+    private static final Method CONNECT_WITHOUT_PROXY = protocolMethod("connectWithoutProxy");
+    private static final Method RELEASE_PREPARE_STATEMENT = protocolMethod("releasePrepareStatement",
+            ServerPrepareResult.class);
+    private static final Method FORCE_RELEASE_PREPARE_STATEMENT = protocolMethod("forceReleasePrepareStatement", int.class);
+    private static final Method FORCE_RELEASE_WAITING_PREPARE_STATEMENT = protocolMethod("forceReleaseWaitingPrepareStatement");
+    private static final Method READ_EOF_PACKET = protocolMethod("readEofPacket");
+    private static final Method SKIP_EOF_PACKET = protocolMethod("skipEofPacket");
 
     public final ReentrantLock lock;
 
@@ -96,135 +149,83 @@ public class FailoverProxy implements InvocationHandler {
         this.listener.initializeConnection();
     }
 
+    private static Method protocolMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return Protocol.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unknown protocol method " + name, e);
+        }
+    }
+
     /**
-     * Proxy that catch Protocol call, to permit to catch errors and handle failover when multiple hosts.
+     * Before an executeQuery, permit listener to check connection state.
+     * Normal error can be thrown upon reconnection if there was a transaction in progress : those are ignored, only
+     * connection errors are handled.
      *
-     * @param proxy  the current protocol
-     * @param method the called method on the protocol
-     * @param args   methods parameters
-     * @return protocol method result
-     * @throws Throwable the method throwed error if not catch by failover
+     * @param method executeQuery method to relaunch if failover occur
+     * @param args executeQuery arguments
+     * @return true if failover has already relaunched the query
+     * @throws QueryException if failover failed
      */
-    @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        String methodName = method.getName();
-        switch (methodName) {
-            case METHOD_IS_EXPLICIT_CLOSED:
-                return listener.isExplicitClosed();
-            case METHOD_GET_OPTIONS:
-                return listener.getUrlParser().getOptions();
-            case METHOD_GET_PROXY:
-                return this;
-            case METHOD_IS_CLOSED:
-                return listener.isClosed();
-            case METHOD_EXECUTE_QUERY:
-                try {
-                    this.listener.preExecute();
-                } catch (QueryException e) {
-                    //handle failover only if connection error
-                    //normal error can be thrown upon reconnection if there was a transaction in progress.
-                    if (hasToHandleFailover(e)) {
-                        return handleFailOver(e, method, args, listener.getCurrentProtocol());
-                    }
-                }
-                break;
-            case METHOD_SET_READ_ONLY:
-                this.listener.switchReadOnlyConnection((Boolean) args[0]);
-                return null;
-            case METHOD_IS_READ_ONLY:
-                return this.listener.isReadOnly();
-            case METHOD_CLOSED_EXPLICIT:
-                this.listener.preClose();
-                return null;
-            case METHOD_COM_MULTI_PREPARE_EXECUTES:
-            case METHOD_EXECUTE_PREPARED_QUERY:
-                boolean mustBeOnMaster = (Boolean) args[0];
-                ServerPrepareResult serverPrepareResult = (ServerPrepareResult) args[1];
-                if (serverPrepareResult != null) {
-                    if (!mustBeOnMaster && serverPrepareResult.getUnProxiedProtocol().isMasterConnection() && !this.listener.hasHostFail()) {
-                        //PrepareStatement was to be executed on slave, but since a failover was running on master connection. Slave connection is up
-                        // again, so has to be re-prepared on slave
-                        try {
-                            logger.trace("re-prepare query \"" + serverPrepareResult.getSql() + "\" on slave (was "
-                                    + "temporary on master since failover)");
-                            this.listener.rePrepareOnSlave(serverPrepareResult, mustBeOnMaster);
-                        } catch (QueryException q) {
-                            //error during re-prepare, will do executed on master.
-                        }
-                    }
-                    try {
-                        return listener.invoke(method, args, serverPrepareResult.getUnProxiedProtocol());
-                    } catch (InvocationTargetException e) {
-                        if (e.getTargetException() != null) {
-                            if (e.getTargetException() instanceof QueryException) {
-                                if (hasToHandleFailover((QueryException) e.getTargetException())) {
-                                    return handleFailOver((QueryException) e.getTargetException(), method, args,
-                                            serverPrepareResult.getUnProxiedProtocol());
-                                }
-                            }
-                            throw e.getTargetException();
-                        }
-                        throw e;
-                    }
-                }
-                break;
-            case METHOD_PROLOG_PROXY:
-                try {
-                    if (args[0] != null) {
-                        return listener.invoke(method, args, ((ServerPrepareResult) args[0]).getUnProxiedProtocol());
-                    }
-                } catch (InvocationTargetException e) {
-                    if (e.getTargetException() != null) {
-                        if (e.getTargetException() instanceof QueryException) {
-                            if (hasToHandleFailover((QueryException) e.getTargetException())) {
-                                return handleFailOver((QueryException) e.getTargetException(), method, args,
-                                        ((ServerPrepareResult) args[0]).getUnProxiedProtocol());
-                            }
-                        }
-                        throw e.getTargetException();
-                    }
-                    throw e;
-                }
-
-            default:
-        }
+    private boolean preExecute(Method method, Object... args) throws QueryException {
         try {
-            return listener.invoke(method, args);
-        } catch (InvocationTargetException e) {
-            if (e.getTargetException() != null) {
-                if (e.getTargetException() instanceof QueryException) {
-                    if (hasToHandleFailover((QueryException) e.getTargetException())) {
-                        return handleFailOver((QueryException) e.getTargetException(), method, args, listener.getCurrentProtocol());
-                    }
-                }
-                throw e.getTargetException();
+            listener.preExecute();
+        } catch (QueryException e) {
+            if (hasToHandleFailover(e)) {
+                handleFailOver(e, method, args, listener.getCurrentProtocol());
+                return true;
             }
-            throw e;
         }
+        return false;
     }
 
-
     /**
      * After a connection exception, launch failover.
      *
      * @param qe     the exception thrown
      * @param method the method to call if failover works well
      * @param args   the arguments of the method
+     * @param protocol the protocol on which error occur
      * @return the object return from the method
-     * @throws Throwable throwable
+     * @throws QueryException if error is not a connection error, or if failover didn't relaunch the operation
      */
-    private Object handleFailOver(QueryException qe, Method method, Object[] args, Protocol protocol) throws Throwable {
+    private Object handleFailOver(QueryException qe, Method method, Object[] args, Protocol protocol) throws QueryException {
+        if (!hasToHandleFailover(qe)) {
+            throw qe;
+        }
         HostAddress failHostAddress = null;
         boolean failIsMaster = true;
         if (protocol != null) {
             failHostAddress = protocol.getHostAddress();
             failIsMaster = protocol.isMasterConnection();
         }
-        HandleErrorResult handleErrorResult = listener.handleFailover(qe, method, args, protocol);
-        if (handleErrorResult.mustThrowError) {
-            listener.throwFailoverMessage(failHostAddress, failIsMaster, qe, handleErrorResult.isReconnected);
+        try {
+            HandleErrorResult handleErrorResult = listener.handleFailover(qe, method, args, protocol);
+            if (handleErrorResult.mustThrowError) {
+                listener.throwFailoverMessage(failHostAddress, failIsMaster, qe, handleErrorResult.isReconnected);
+            }
+            return handleErrorResult.resultObject;
+        } catch (QueryException queryException) {
+            throw queryException;
+        } catch (InvocationTargetException invocationException) {
+            throw toQueryException(invocationException.getTargetException() != null
+                    ? invocationException.getTargetException() : invocationException);
+        } catch (Throwable throwable) {
+            throw toQueryException(throwable);
+        }
+    }
+
+    private static QueryException toQueryException(Throwable throwable) {
+        if (throwable instanceof QueryException) {
+            return (QueryException) throwable;
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
         }
-        return handleErrorResult.resultObject;
+        return new QueryException(throwable.getMessage(), -1, SqlStates.CONNECTION_EXCEPTION, throwable);
     }
 
     /**
@@ -262,4 +263,694 @@ public class FailoverProxy implements InvocationHandler {
     public Listener getListener() {
         return listener;
     }
+
+    @Override
+    public ServerPrepareResult prepare(String sql, boolean executeOnMaster) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.prepare(sql, executeOnMaster);
+        } catch (QueryException qe) {
+            return (ServerPrepareResult) handleFailOver(qe, PREPARE, new Object[]{sql, executeOnMaster}, protocol);
+        }
+    }
+
+    @Override
+    public boolean getAutocommit() {
+        return listener.getCurrentProtocol().getAutocommit();
+    }
+
+    @Override
+    public boolean noBackslashEscapes() {
+        return listener.getCurrentProtocol().noBackslashEscapes();
+    }
+
+    @Override
+    public void connect() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.connect();
+        } catch (QueryException qe) {
+            handleFailOver(qe, CONNECT, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public UrlParser getUrlParser() {
+        return listener.getCurrentProtocol().getUrlParser();
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return listener.getCurrentProtocol().inTransaction();
+    }
+
+    @Override
+    public FailoverProxy getProxy() {
+        return this;
+    }
+
+    @Override
+    public void setProxy(FailoverProxy proxy) {
+        listener.getCurrentProtocol().setProxy(proxy);
+    }
+
+    @Override
+    public Options getOptions() {
+        return listener.getUrlParser().getOptions();
+    }
+
+    @Override
+    public boolean hasMoreResults() {
+        return listener.getCurrentProtocol().hasMoreResults();
+    }
+
+    @Override
+    public void close() {
+        listener.getCurrentProtocol().close();
+    }
+
+    @Override
+    public void closeExplicit() {
+        try {
+            listener.preClose();
+        } catch (SQLException e) {
+            logger.debug("error closing connection : " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return listener.isClosed();
+    }
+
+    @Override
+    public void setCatalog(String database) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.setCatalog(database);
+        } catch (QueryException qe) {
+            handleFailOver(qe, SET_CATALOG, new Object[]{database}, protocol);
+        }
+    }
+
+    @Override
+    public void reset() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.reset();
+        } catch (QueryException qe) {
+            handleFailOver(qe, RESET, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public int getResetCount() {
+        return listener.getCurrentProtocol().getResetCount();
+    }
+
+    @Override
+    public String getServerVersion() {
+        return listener.getCurrentProtocol().getServerVersion();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return listener.getCurrentProtocol().isConnected();
+    }
+
+    @Override
+    public boolean getReadonly() {
+        return listener.getCurrentProtocol().getReadonly();
+    }
+
+    @Override
+    public void setReadonly(boolean readOnly) throws QueryException {
+        listener.switchReadOnlyConnection(readOnly);
+    }
+
+    @Override
+    public boolean isMasterConnection() {
+        return listener.getCurrentProtocol().isMasterConnection();
+    }
+
+    @Override
+    public boolean mustBeMasterConnection() {
+        return listener.getCurrentProtocol().mustBeMasterConnection();
+    }
+
+    @Override
+    public HostAddress getHostAddress() {
+        return listener.getCurrentProtocol().getHostAddress();
+    }
+
+    @Override
+    public void setHostAddress(HostAddress hostAddress) {
+        listener.getCurrentProtocol().setHostAddress(hostAddress);
+    }
+
+    @Override
+    public String getHost() {
+        return listener.getCurrentProtocol().getHost();
+    }
+
+    @Override
+    public int getPort() {
+        return listener.getCurrentProtocol().getPort();
+    }
+
+    @Override
+    public void rollback() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.rollback();
+        } catch (QueryException qe) {
+            handleFailOver(qe, ROLLBACK, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public String getDatabase() {
+        return listener.getCurrentProtocol().getDatabase();
+    }
+
+    @Override
+    public String getUsername() {
+        return listener.getCurrentProtocol().getUsername();
+    }
+
+    @Override
+    public String getPassword() {
+        return listener.getCurrentProtocol().getPassword();
+    }
+
+    @Override
+    public boolean ping() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.ping();
+        } catch (QueryException qe) {
+            return (Boolean) handleFailOver(qe, PING, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public void executeQuery(String sql) throws QueryException {
+        if (preExecute(EXECUTE_QUERY, sql)) {
+            return;
+        }
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeQuery(sql);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_QUERY, new Object[]{sql}, protocol);
+        }
+    }
+
+    @Override
+    public void executeQuery(boolean mustExecuteOnMaster, Results results, String sql) throws QueryException {
+        if (preExecute(EXECUTE_QUERY_RESULTS, mustExecuteOnMaster, results, sql)) {
+            return;
+        }
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeQuery(mustExecuteOnMaster, results, sql);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_QUERY_RESULTS, new Object[]{mustExecuteOnMaster, results, sql}, protocol);
+        }
+    }
+
+    @Override
+    public void executeQuery(boolean mustExecuteOnMaster, Results results, ClientPrepareResult clientPrepareResult,
+                             ParameterHolder[] parameters) throws QueryException {
+        if (preExecute(EXECUTE_QUERY_CLIENT_PREPARE, mustExecuteOnMaster, results, clientPrepareResult, parameters)) {
+            return;
+        }
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_QUERY_CLIENT_PREPARE,
+                    new Object[]{mustExecuteOnMaster, results, clientPrepareResult, parameters}, protocol);
+        }
+    }
+
+    @Override
+    public void executeQueryAsync(boolean mustExecuteOnMaster, String sql, FutureTask<?> resultReader,
+                                  Runnable resultPublisher) throws QueryException {
+        if (preExecute(EXECUTE_QUERY_ASYNC, mustExecuteOnMaster, sql, resultReader, resultPublisher)) {
+            return;
+        }
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeQueryAsync(mustExecuteOnMaster, sql, resultReader, resultPublisher);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_QUERY_ASYNC, new Object[]{mustExecuteOnMaster, sql, resultReader, resultPublisher},
+                    protocol);
+        }
+    }
+
+    @Override
+    public void executeBatchMulti(boolean mustExecuteOnMaster, Results results, ClientPrepareResult clientPrepareResult,
+                                  List<ParameterHolder[]> parameterList) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeBatchMulti(mustExecuteOnMaster, results, clientPrepareResult, parameterList);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_BATCH_MULTI,
+                    new Object[]{mustExecuteOnMaster, results, clientPrepareResult, parameterList}, protocol);
+        }
+    }
+
+    @Override
+    public void executeBatch(boolean mustExecuteOnMaster, Results results, List<String> queries) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeBatch(mustExecuteOnMaster, results, queries);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_BATCH, new Object[]{mustExecuteOnMaster, results, queries}, protocol);
+        }
+    }
+
+    @Override
+    public void executePipeline(boolean mustExecuteOnMaster, List<PipelineQuery> queries, Results[] results)
+            throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executePipeline(mustExecuteOnMaster, queries, results);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_PIPELINE, new Object[]{mustExecuteOnMaster, queries, results}, protocol);
+        }
+    }
+
+    @Override
+    public void executeBatchMultiple(boolean mustExecuteOnMaster, Results results, List<String> queries)
+            throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeBatchMultiple(mustExecuteOnMaster, results, queries);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_BATCH_MULTIPLE, new Object[]{mustExecuteOnMaster, results, queries}, protocol);
+        }
+    }
+
+    @Override
+    public void executeBatchRewrite(boolean mustExecuteOnMaster, Results results, ClientPrepareResult prepareResult,
+                                    List<ParameterHolder[]> parameterList, boolean rewriteValues) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.executeBatchRewrite(mustExecuteOnMaster, results, prepareResult, parameterList, rewriteValues);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_BATCH_REWRITE,
+                    new Object[]{mustExecuteOnMaster, results, prepareResult, parameterList, rewriteValues}, protocol);
+        }
+    }
+
+    /**
+     * Execute a server prepared query.
+     * Query is executed on the protocol that has prepared the statement. If statement was prepared temporary on master
+     * because of a failover on slave connection, and slave connection is up again, query is re-prepared on slave.
+     *
+     * @param mustExecuteOnMaster was intended to be launched on master connection
+     * @param serverPrepareResult prepare result
+     * @param results results
+     * @param parameters parameters
+     * @throws QueryException if any error occur
+     */
+    @Override
+    public void executePreparedQuery(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                                     ParameterHolder[] parameters) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        if (serverPrepareResult != null) {
+            if (!mustExecuteOnMaster && serverPrepareResult.getUnProxiedProtocol().isMasterConnection() && !listener.hasHostFail()) {
+                //PrepareStatement was to be executed on slave, but since a failover was running on master connection. Slave connection is up
+                // again, so has to be re-prepared on slave
+                try {
+                    logger.trace("re-prepare query \"" + serverPrepareResult.getSql() + "\" on slave (was "
+                            + "temporary on master since failover)");
+                    listener.rePrepareOnSlave(serverPrepareResult, mustExecuteOnMaster);
+                } catch (QueryException q) {
+                    //error during re-prepare, will do executed on master.
+                }
+            }
+            protocol = serverPrepareResult.getUnProxiedProtocol();
+        }
+        try {
+            protocol.executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_PREPARED_QUERY,
+                    new Object[]{mustExecuteOnMaster, serverPrepareResult, results, parameters}, protocol);
+        }
+    }
+
+    @Override
+    public ServerPrepareResult prepareAndExecutes(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
+                                                  Results results, String sql, List<ParameterHolder[]> parameterList)
+            throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.prepareAndExecutes(mustExecuteOnMaster, serverPrepareResult, results, sql, parameterList);
+        } catch (QueryException qe) {
+            return (ServerPrepareResult) handleFailOver(qe, PREPARE_AND_EXECUTES,
+                    new Object[]{mustExecuteOnMaster, serverPrepareResult, results, sql, parameterList}, protocol);
+        }
+    }
+
+    @Override
+    public void executeBulk(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                            List<ParameterHolder[]> parameterList) throws QueryException {
+        if (!mustExecuteOnMaster && serverPrepareResult.getUnProxiedProtocol().isMasterConnection() && !listener.hasHostFail()) {
+            //PrepareStatement was to be executed on slave, but since a failover was running on master connection. Slave connection is up
+            // again, so has to be re-prepared on slave
+            try {
+                logger.trace("re-prepare query \"" + serverPrepareResult.getSql() + "\" on slave (was "
+                        + "temporary on master since failover)");
+                listener.rePrepareOnSlave(serverPrepareResult, mustExecuteOnMaster);
+            } catch (QueryException q) {
+                //error during re-prepare, will do executed on master.
+            }
+        }
+        Protocol protocol = serverPrepareResult.getUnProxiedProtocol();
+        try {
+            protocol.executeBulk(mustExecuteOnMaster, serverPrepareResult, results, parameterList);
+        } catch (QueryException qe) {
+            handleFailOver(qe, EXECUTE_BULK,
+                    new Object[]{mustExecuteOnMaster, serverPrepareResult, results, parameterList}, protocol);
+        }
+    }
+
+    @Override
+    public ServerPrepareResult prepareAndExecute(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
+                                                 Results results, String sql, ParameterHolder[] parameters)
+            throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.prepareAndExecute(mustExecuteOnMaster, serverPrepareResult, results, sql, parameters);
+        } catch (QueryException qe) {
+            return (ServerPrepareResult) handleFailOver(qe, PREPARE_AND_EXECUTE,
+                    new Object[]{mustExecuteOnMaster, serverPrepareResult, results, sql, parameters}, protocol);
+        }
+    }
+
+    @Override
+    public void getResult(Results results) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.getResult(results);
+        } catch (QueryException qe) {
+            handleFailOver(qe, GET_RESULT, new Object[]{results}, protocol);
+        }
+    }
+
+    @Override
+    public void cancelCurrentQuery() throws QueryException, IOException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.cancelCurrentQuery();
+        } catch (QueryException qe) {
+            handleFailOver(qe, CANCEL_CURRENT_QUERY, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public void skip() throws SQLException, QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.skip();
+        } catch (QueryException qe) {
+            handleFailOver(qe, SKIP, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public boolean checkIfMaster() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.checkIfMaster();
+        } catch (QueryException qe) {
+            return (Boolean) handleFailOver(qe, CHECK_IF_MASTER, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public boolean hasWarnings() {
+        return listener.getCurrentProtocol().hasWarnings();
+    }
+
+    @Override
+    public int getDataTypeMappingFlags() {
+        return listener.getCurrentProtocol().getDataTypeMappingFlags();
+    }
+
+    @Override
+    public void setInternalMaxRows(int max) {
+        listener.getCurrentProtocol().setInternalMaxRows(max);
+    }
+
+    @Override
+    public int getMaxRows() {
+        return listener.getCurrentProtocol().getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.setMaxRows(max);
+        } catch (QueryException qe) {
+            handleFailOver(qe, SET_MAX_ROWS, new Object[]{max}, protocol);
+        }
+    }
+
+    @Override
+    public int getMajorServerVersion() {
+        return listener.getCurrentProtocol().getMajorServerVersion();
+    }
+
+    @Override
+    public int getMinorServerVersion() {
+        return listener.getCurrentProtocol().getMinorServerVersion();
+    }
+
+    @Override
+    public boolean versionGreaterOrEqual(int major, int minor, int patch) {
+        return listener.getCurrentProtocol().versionGreaterOrEqual(major, minor, patch);
+    }
+
+    @Override
+    public void setLocalInfileInputStream(InputStream inputStream) {
+        listener.getCurrentProtocol().setLocalInfileInputStream(inputStream);
+    }
+
+    @Override
+    public int getTimeout() throws SocketException {
+        return listener.getCurrentProtocol().getTimeout();
+    }
+
+    @Override
+    public void setTimeout(int timeout) throws SocketException {
+        listener.getCurrentProtocol().setTimeout(timeout);
+    }
+
+    @Override
+    public boolean getPinGlobalTxToPhysicalConnection() {
+        return listener.getCurrentProtocol().getPinGlobalTxToPhysicalConnection();
+    }
+
+    @Override
+    public long getServerThreadId() {
+        return listener.getCurrentProtocol().getServerThreadId();
+    }
+
+    @Override
+    public boolean supportsBulkOperations() {
+        return listener.getCurrentProtocol().supportsBulkOperations();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.setTransactionIsolation(level);
+        } catch (QueryException qe) {
+            handleFailOver(qe, SET_TRANSACTION_ISOLATION, new Object[]{level}, protocol);
+        }
+    }
+
+    @Override
+    public int getTransactionIsolationLevel() {
+        return listener.getCurrentProtocol().getTransactionIsolationLevel();
+    }
+
+    @Override
+    public int getAutoIncrementIncrement() {
+        return listener.getCurrentProtocol().getAutoIncrementIncrement();
+    }
+
+    @Override
+    public boolean isSessionStateTracked() {
+        return listener.getCurrentProtocol().isSessionStateTracked();
+    }
+
+    @Override
+    public boolean isExplicitClosed() {
+        return listener.isExplicitClosed();
+    }
+
+    @Override
+    public void connectWithoutProxy() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.connectWithoutProxy();
+        } catch (QueryException qe) {
+            handleFailOver(qe, CONNECT_WITHOUT_PROXY, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public boolean shouldReconnectWithoutProxy() {
+        return listener.getCurrentProtocol().shouldReconnectWithoutProxy();
+    }
+
+    @Override
+    public void setHostFailedWithoutProxy() {
+        listener.getCurrentProtocol().setHostFailedWithoutProxy();
+    }
+
+    @Override
+    public void releasePrepareStatement(ServerPrepareResult serverPrepareResult) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.releasePrepareStatement(serverPrepareResult);
+        } catch (QueryException qe) {
+            handleFailOver(qe, RELEASE_PREPARE_STATEMENT, new Object[]{serverPrepareResult}, protocol);
+        }
+    }
+
+    @Override
+    public boolean forceReleasePrepareStatement(int statementId) throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            return protocol.forceReleasePrepareStatement(statementId);
+        } catch (QueryException qe) {
+            return (Boolean) handleFailOver(qe, FORCE_RELEASE_PREPARE_STATEMENT, new Object[]{statementId}, protocol);
+        }
+    }
+
+    @Override
+    public void forceReleaseWaitingPrepareStatement() throws QueryException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.forceReleaseWaitingPrepareStatement();
+        } catch (QueryException qe) {
+            handleFailOver(qe, FORCE_RELEASE_WAITING_PREPARE_STATEMENT, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public ServerPrepareStatementCache prepareStatementCache() {
+        return listener.getCurrentProtocol().prepareStatementCache();
+    }
+
+    @Override
+    public String getServerData(String code) {
+        return listener.getCurrentProtocol().getServerData(code);
+    }
+
+    @Override
+    public Calendar getCalendar() {
+        return listener.getCurrentProtocol().getCalendar();
+    }
+
+    @Override
+    public void prolog(Results results, int maxRows, boolean hasProxy, MariaDbConnection connection,
+                       MariaDbStatement statement) throws SQLException {
+        listener.getCurrentProtocol().prolog(results, maxRows, hasProxy, connection, statement);
+    }
+
+    @Override
+    public void prologProxy(ServerPrepareResult serverPrepareResult, Results results, int maxRows, boolean hasProxy,
+                            MariaDbConnection connection, MariaDbStatement statement) throws SQLException {
+        Protocol protocol = (serverPrepareResult != null) ? serverPrepareResult.getUnProxiedProtocol() : listener.getCurrentProtocol();
+        protocol.prologProxy(serverPrepareResult, results, maxRows, hasProxy, connection, statement);
+    }
+
+    @Override
+    public Results getActiveStreamingResult() {
+        return listener.getCurrentProtocol().getActiveStreamingResult();
+    }
+
+    @Override
+    public void setActiveStreamingResult(Results mariaSelectResultSet) {
+        listener.getCurrentProtocol().setActiveStreamingResult(mariaSelectResultSet);
+    }
+
+    @Override
+    public ReentrantLock getLock() {
+        return listener.getCurrentProtocol().getLock();
+    }
+
+    @Override
+    public void setMoreResults(boolean moreResults) {
+        listener.getCurrentProtocol().setMoreResults(moreResults);
+    }
+
+    @Override
+    public void setHasWarnings(boolean hasWarnings) {
+        listener.getCurrentProtocol().setHasWarnings(hasWarnings);
+    }
+
+    @Override
+    public void releaseWriterBuffer() {
+        listener.getCurrentProtocol().releaseWriterBuffer();
+    }
+
+    @Override
+    public ByteBuffer getWriter() {
+        return listener.getCurrentProtocol().getWriter();
+    }
+
+    @Override
+    public ServerPrepareResult addPrepareInCache(String key, ServerPrepareResult serverPrepareResult) {
+        return listener.getCurrentProtocol().addPrepareInCache(key, serverPrepareResult);
+    }
+
+    @Override
+    public void readEofPacket() throws QueryException, IOException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.readEofPacket();
+        } catch (QueryException qe) {
+            handleFailOver(qe, READ_EOF_PACKET, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public void skipEofPacket() throws QueryException, IOException {
+        Protocol protocol = listener.getCurrentProtocol();
+        try {
+            protocol.skipEofPacket();
+        } catch (QueryException qe) {
+            handleFailOver(qe, SKIP_EOF_PACKET, new Object[0], protocol);
+        }
+    }
+
+    @Override
+    public ReadPacketFetcher getPacketFetcher() {
+        return listener.getCurrentProtocol().getPacketFetcher();
+    }
+
+    @Override
+    public void changeSocketTcpNoDelay(boolean setTcpNoDelay) throws SocketException {
+        listener.getCurrentProtocol().changeSocketTcpNoDelay(setTcpNoDelay);
+    }
+
+    @Override
+    public void changeSocketSoTimeout(int setSoTimeout) throws SocketException {
+        listener.getCurrentProtocol().changeSocketSoTimeout(setSoTimeout);
+    }
+
+    @Override
+    public void removeActiveStreamingResult() {
+        listener.getCurrentProtocol().removeActiveStreamingResult();
+    }
 }
@@ -78,10 +78,6 @@ public interface Listener {
 
     HandleErrorResult primaryFail(Method method, Object[] args) throws Throwable;
 
-    Object invoke(Method method, Object[] args, Protocol specificProtocol) throws Throwable ;
-
-    Object invoke(Method method, Object[] args) throws Throwable;
-
     HandleErrorResult handleFailover(QueryException qe, Method method, Object[] args, Protocol protocol) throws Throwable;
 
     void foundActiveMaster(Protocol protocol) throws QueryException;
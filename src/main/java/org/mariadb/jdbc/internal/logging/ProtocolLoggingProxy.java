@@ -50,23 +50,40 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.logging;
 
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.failover.FailoverProxy;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.queryresults.Results;
 import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.PrepareResult;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.sql.SQLException;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.Calendar;
 import java.util.List;
-
-public class ProtocolLoggingProxy implements InvocationHandler {
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Protocol wrapper that log queries execution time when profileSql or slowQueryThresholdNanos option is set.
+ * Other methods are delegated directly to the wrapped protocol.
+ */
+public class ProtocolLoggingProxy implements Protocol {
     private static Logger logger = LoggerFactory.getLogger(MariaDbStatement.class);
     private static final NumberFormat numberFormat = DecimalFormat.getInstance();
 
@@ -75,8 +92,6 @@ public class ProtocolLoggingProxy implements InvocationHandler {
     protected int maxQuerySizeToLog;
     protected Protocol protocol;
 
-    public ProtocolLoggingProxy() { }
-
     /**
      * Constructor. Will create a proxy around protocol to log queries.
      * @param protocol protocol to proxy
@@ -89,125 +104,217 @@ public class ProtocolLoggingProxy implements InvocationHandler {
         this.maxQuerySizeToLog = options.maxQuerySizeToLog;
     }
 
+    private boolean mustLog(long startTime) {
+        return logger.isInfoEnabled() && (profileSql
+                || (slowQueryThresholdNanos != null && System.nanoTime() - startTime > slowQueryThresholdNanos.longValue()));
+    }
+
+    private void logQuery(long startTime, String sql) {
+        logger.info("Query - conn:" + protocol.getServerThreadId() + "(" + (protocol.isMasterConnection() ? "M" : "S") + ")"
+                + " - " + numberFormat.format(((double) System.nanoTime() - startTime) / 1000000) + " ms"
+                + " - \"" + ((maxQuerySizeToLog > 0 && sql.length() >= maxQuerySizeToLog)
+                ? sql.substring(0, maxQuerySizeToLog) + "..." : sql) + "\"");
+    }
+
+    private void releaseProtocolWriterBuffer(Protocol protocol) {
+        try {
+            protocol.releaseWriterBuffer();
+        } catch (NullPointerException e) {
+            //if connection is closed
+        }
+    }
+
     @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    public void executeQuery(String sql) throws QueryException {
         long startTime = System.nanoTime();
         try {
-            switch (method.getName()) {
-                case "executeQuery":
-                case "executePreparedQuery":
-                case "executeBatch":
-                case "executeBatchMulti":
-                case "executeBatchRewrite":
-                case "executeBatchMultiple":
-                case "prepareAndExecutes":
-                case "prepareAndExecute":
-                    try {
-                        Object returnObj = method.invoke(protocol, args);
-                        if (logger.isInfoEnabled() && (profileSql
-                                || (slowQueryThresholdNanos != null && System.nanoTime() - startTime > slowQueryThresholdNanos.longValue()))) {
-                            logger.info("Query - conn:" + protocol.getServerThreadId() + "(" + (protocol.isMasterConnection() ? "M" : "S") + ")"
-                                    + " - " + numberFormat.format(((double) System.nanoTime() - startTime) / 1000000) + " ms"
-                                    + logQuery(method.getName(), args, returnObj));
-                        }
-                        return returnObj;
-                    } finally {
-                        try {
-                            protocol.releaseWriterBuffer();
-                        } catch (NullPointerException e) {
-                            //if method is "close"
-                        }
-                    }
-                default:
-                    return method.invoke(protocol, args);
+            protocol.executeQuery(sql);
+            if (mustLog(startTime)) {
+                logQuery(startTime, sql);
             }
-        } catch (InvocationTargetException e) {
-            throw e.getCause();
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private String logQuery(String methodName, Object[] args, Object returnObj) {
-        String sql = "";
-        switch (methodName) {
-            case "executeQuery":
-                switch (args.length) {
-                    case 1:
-                        sql = (String) args[0];
-                        break;
-                    case 3:
-                        sql = (String) args[2];
-                        break;
-                    case 4:
-                        ClientPrepareResult clientPrepareResult = (ClientPrepareResult) args[2];
-                        sql = getQueryFromPrepareParameters(clientPrepareResult, (ParameterHolder[]) args[3], clientPrepareResult.getParamCount());
-                        break;
-                    default:
-                        sql = getQueryFromWriterBuffer();
-                }
-                break;
+    @Override
+    public void executeQuery(boolean mustExecuteOnMaster, Results results, String sql) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeQuery(mustExecuteOnMaster, results, sql);
+            if (mustLog(startTime)) {
+                logQuery(startTime, sql);
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
 
-            case "executeBatchMulti":
-                ClientPrepareResult clientPrepareResult = (ClientPrepareResult) args[2];
-                sql = getQueryFromPrepareParameters(clientPrepareResult.getSql(), (List<ParameterHolder[]>) args[3],
-                        clientPrepareResult.getParamCount());
-                break;
+    @Override
+    public void executeQuery(boolean mustExecuteOnMaster, Results results, ClientPrepareResult clientPrepareResult,
+                             ParameterHolder[] parameters) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(clientPrepareResult, parameters,
+                        clientPrepareResult.getParamCount()));
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
+
+    @Override
+    public void executeQueryAsync(boolean mustExecuteOnMaster, String sql, FutureTask<?> resultReader,
+                                  Runnable resultPublisher) throws QueryException {
+        protocol.executeQueryAsync(mustExecuteOnMaster, sql, resultReader, resultPublisher);
+    }
+
+    @Override
+    public void executeBatchMulti(boolean mustExecuteOnMaster, Results results, ClientPrepareResult clientPrepareResult,
+                                  List<ParameterHolder[]> parameterList) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeBatchMulti(mustExecuteOnMaster, results, clientPrepareResult, parameterList);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(clientPrepareResult.getSql(), parameterList,
+                        clientPrepareResult.getParamCount()));
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
 
-            case "executeBatch":
-                List<String> queries = (List<String>) args[2];
+    @Override
+    public void executeBatch(boolean mustExecuteOnMaster, Results results, List<String> queries) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeBatch(mustExecuteOnMaster, results, queries);
+            if (mustLog(startTime)) {
+                String sql = "";
                 for (int counter = 0; counter < queries.size(); counter++) {
                     sql += queries.get(counter) + ";";
                     if (maxQuerySizeToLog > 0 && sql.length() > maxQuerySizeToLog) break;
                 }
-                break;
+                logQuery(startTime, sql);
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
 
-            case "executeBatchMultiple":
-                List<String> multipleQueries = (List<String>) args[2];
-                if (multipleQueries.size() == 1) {
-                    sql = multipleQueries.get(0);
-                    break;
-                }
-                sql = getQueryFromWriterBuffer();
-                break;
-
-            case "prepareAndExecute":
-                ParameterHolder[] parameters = (ParameterHolder[]) args[4];
-                ServerPrepareResult serverPrepareResult1 = (ServerPrepareResult) returnObj;
-                sql = getQueryFromPrepareParameters(serverPrepareResult1, parameters, serverPrepareResult1.getParamCount());
-                break;
-
-            case "prepareAndExecutes":
-                List<ParameterHolder[]> parameterList = (List<ParameterHolder[]>) args[4];
-                ServerPrepareResult serverPrepareResult = (ServerPrepareResult) returnObj;
-                sql = getQueryFromPrepareParameters(serverPrepareResult.getSql(), parameterList, serverPrepareResult.getParamCount());
-                break;
-
-            case "executeBatchRewrite":
-                ClientPrepareResult prepareResultRewrite = (ClientPrepareResult) args[2];
-                List<ParameterHolder[]> parameterListRewrite = (List<ParameterHolder[]>) args[3];
-                sql = getQueryFromPrepareParameters(prepareResultRewrite.getSql(), parameterListRewrite, prepareResultRewrite.getParamCount());
-                break;
-
-            case "executePreparedQuery":
-                ServerPrepareResult prepareResult = (ServerPrepareResult) args[1];
-                if (args[3] instanceof ParameterHolder[]) {
-                    sql = getQueryFromPrepareParameters(prepareResult, (ParameterHolder[]) args[3], prepareResult.getParamCount());
-                } else {
-                    sql = getQueryFromPrepareParameters(prepareResult.getSql(), (List<ParameterHolder[]>) args[3],
-                            prepareResult.getParameters().length);
+    @Override
+    public void executePipeline(boolean mustExecuteOnMaster, List<PipelineQuery> queries, Results[] results)
+            throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executePipeline(mustExecuteOnMaster, queries, results);
+            if (mustLog(startTime)) {
+                String sql = "";
+                for (int counter = 0; counter < queries.size(); counter++) {
+                    sql += queries.get(counter).getSql() + ";";
+                    if (maxQuerySizeToLog > 0 && sql.length() > maxQuerySizeToLog) break;
                 }
-                break;
+                logQuery(startTime, sql);
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
 
-            default:
-                sql = getQueryFromWriterBuffer();
-                break;
+    @Override
+    public void executeBatchMultiple(boolean mustExecuteOnMaster, Results results, List<String> queries)
+            throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeBatchMultiple(mustExecuteOnMaster, results, queries);
+            if (mustLog(startTime)) {
+                logQuery(startTime, (queries.size() == 1) ? queries.get(0) : getQueryFromWriterBuffer());
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
         }
-        if (maxQuerySizeToLog > 0) {
-            return " - \"" + ((sql.length() < maxQuerySizeToLog) ? sql : sql.substring(0, maxQuerySizeToLog) + "...") + "\"";
-        } else {
-            return " - \"" + sql + "\"";
+    }
+
+    @Override
+    public void executeBatchRewrite(boolean mustExecuteOnMaster, Results results, ClientPrepareResult prepareResult,
+                                    List<ParameterHolder[]> parameterList, boolean rewriteValues) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeBatchRewrite(mustExecuteOnMaster, results, prepareResult, parameterList, rewriteValues);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(prepareResult.getSql(), parameterList,
+                        prepareResult.getParamCount()));
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
+
+    @Override
+    public void executePreparedQuery(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                                     ParameterHolder[] parameters) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(serverPrepareResult, parameters,
+                        serverPrepareResult.getParamCount()));
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
+
+    @Override
+    public ServerPrepareResult prepareAndExecutes(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
+                                                  Results results, String sql, List<ParameterHolder[]> parameterList)
+            throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            ServerPrepareResult prepareResult = protocol.prepareAndExecutes(mustExecuteOnMaster, serverPrepareResult, results,
+                    sql, parameterList);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(prepareResult.getSql(), parameterList,
+                        prepareResult.getParamCount()));
+            }
+            return prepareResult;
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
+    }
+
+    @Override
+    public void executeBulk(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                            List<ParameterHolder[]> parameterList) throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            protocol.executeBulk(mustExecuteOnMaster, serverPrepareResult, results, parameterList);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(serverPrepareResult.getSql(), parameterList,
+                        serverPrepareResult.getParamCount()));
+            }
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
         }
+    }
 
+    @Override
+    public ServerPrepareResult prepareAndExecute(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
+                                                 Results results, String sql, ParameterHolder[] parameters)
+            throws QueryException {
+        long startTime = System.nanoTime();
+        try {
+            ServerPrepareResult prepareResult = protocol.prepareAndExecute(mustExecuteOnMaster, serverPrepareResult, results,
+                    sql, parameters);
+            if (mustLog(startTime)) {
+                logQuery(startTime, getQueryFromPrepareParameters(prepareResult, parameters, prepareResult.getParamCount()));
+            }
+            return prepareResult;
+        } finally {
+            releaseProtocolWriterBuffer(protocol);
+        }
     }
 
     private String getQueryFromPrepareParameters(String sql, List<ParameterHolder[]> parameterList, int parameterLength) {
@@ -252,9 +359,405 @@ public class ProtocolLoggingProxy implements InvocationHandler {
     private String getQueryFromWriterBuffer() {
         ByteBuffer buffer = protocol.getWriter();
         //log first 1024 utf-8 characters
-        String queryString = new String(buffer.array(), 5, Math.min(buffer.limit(), (1024 * 3) + 5));
+        String queryString = new String(buffer.array(), 5, Math.min(buffer.limit() - 5, 1024 * 3));
         if (queryString.length() > 1021 ) queryString = queryString.substring(0, 1021) + "...";
         return queryString;
     }
 
+    @Override
+    public ServerPrepareResult prepare(String sql, boolean executeOnMaster) throws QueryException {
+        return protocol.prepare(sql, executeOnMaster);
+    }
+
+    @Override
+    public boolean getAutocommit() {
+        return protocol.getAutocommit();
+    }
+
+    @Override
+    public boolean noBackslashEscapes() {
+        return protocol.noBackslashEscapes();
+    }
+
+    @Override
+    public void connect() throws QueryException {
+        protocol.connect();
+    }
+
+    @Override
+    public UrlParser getUrlParser() {
+        return protocol.getUrlParser();
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return protocol.inTransaction();
+    }
+
+    @Override
+    public FailoverProxy getProxy() {
+        return protocol.getProxy();
+    }
+
+    @Override
+    public void setProxy(FailoverProxy proxy) {
+        protocol.setProxy(proxy);
+    }
+
+    @Override
+    public Options getOptions() {
+        return protocol.getOptions();
+    }
+
+    @Override
+    public boolean hasMoreResults() {
+        return protocol.hasMoreResults();
+    }
+
+    @Override
+    public void close() {
+        protocol.close();
+    }
+
+    @Override
+    public void closeExplicit() {
+        protocol.closeExplicit();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return protocol.isClosed();
+    }
+
+    @Override
+    public void setCatalog(String database) throws QueryException {
+        protocol.setCatalog(database);
+    }
+
+    @Override
+    public void reset() throws QueryException {
+        protocol.reset();
+    }
+
+    @Override
+    public int getResetCount() {
+        return protocol.getResetCount();
+    }
+
+    @Override
+    public String getServerVersion() {
+        return protocol.getServerVersion();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return protocol.isConnected();
+    }
+
+    @Override
+    public boolean getReadonly() {
+        return protocol.getReadonly();
+    }
+
+    @Override
+    public void setReadonly(boolean readOnly) throws QueryException {
+        protocol.setReadonly(readOnly);
+    }
+
+    @Override
+    public boolean isMasterConnection() {
+        return protocol.isMasterConnection();
+    }
+
+    @Override
+    public boolean mustBeMasterConnection() {
+        return protocol.mustBeMasterConnection();
+    }
+
+    @Override
+    public HostAddress getHostAddress() {
+        return protocol.getHostAddress();
+    }
+
+    @Override
+    public void setHostAddress(HostAddress hostAddress) {
+        protocol.setHostAddress(hostAddress);
+    }
+
+    @Override
+    public String getHost() {
+        return protocol.getHost();
+    }
+
+    @Override
+    public int getPort() {
+        return protocol.getPort();
+    }
+
+    @Override
+    public void rollback() throws QueryException {
+        protocol.rollback();
+    }
+
+    @Override
+    public String getDatabase() {
+        return protocol.getDatabase();
+    }
+
+    @Override
+    public String getUsername() {
+        return protocol.getUsername();
+    }
+
+    @Override
+    public String getPassword() {
+        return protocol.getPassword();
+    }
+
+    @Override
+    public boolean ping() throws QueryException {
+        return protocol.ping();
+    }
+
+    @Override
+    public void getResult(Results results) throws QueryException {
+        protocol.getResult(results);
+    }
+
+    @Override
+    public void cancelCurrentQuery() throws QueryException, IOException {
+        protocol.cancelCurrentQuery();
+    }
+
+    @Override
+    public void skip() throws SQLException, QueryException {
+        protocol.skip();
+    }
+
+    @Override
+    public boolean checkIfMaster() throws QueryException {
+        return protocol.checkIfMaster();
+    }
+
+    @Override
+    public boolean hasWarnings() {
+        return protocol.hasWarnings();
+    }
+
+    @Override
+    public int getDataTypeMappingFlags() {
+        return protocol.getDataTypeMappingFlags();
+    }
+
+    @Override
+    public void setInternalMaxRows(int max) {
+        protocol.setInternalMaxRows(max);
+    }
+
+    @Override
+    public int getMaxRows() {
+        return protocol.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws QueryException {
+        protocol.setMaxRows(max);
+    }
+
+    @Override
+    public int getMajorServerVersion() {
+        return protocol.getMajorServerVersion();
+    }
+
+    @Override
+    public int getMinorServerVersion() {
+        return protocol.getMinorServerVersion();
+    }
+
+    @Override
+    public boolean versionGreaterOrEqual(int major, int minor, int patch) {
+        return protocol.versionGreaterOrEqual(major, minor, patch);
+    }
+
+    @Override
+    public void setLocalInfileInputStream(InputStream inputStream) {
+        protocol.setLocalInfileInputStream(inputStream);
+    }
+
+    @Override
+    public int getTimeout() throws SocketException {
+        return protocol.getTimeout();
+    }
+
+    @Override
+    public void setTimeout(int timeout) throws SocketException {
+        protocol.setTimeout(timeout);
+    }
+
+    @Override
+    public boolean getPinGlobalTxToPhysicalConnection() {
+        return protocol.getPinGlobalTxToPhysicalConnection();
+    }
+
+    @Override
+    public long getServerThreadId() {
+        return protocol.getServerThreadId();
+    }
+
+    @Override
+    public boolean supportsBulkOperations() {
+        return protocol.supportsBulkOperations();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws QueryException {
+        protocol.setTransactionIsolation(level);
+    }
+
+    @Override
+    public int getTransactionIsolationLevel() {
+        return protocol.getTransactionIsolationLevel();
+    }
+
+    @Override
+    public int getAutoIncrementIncrement() {
+        return protocol.getAutoIncrementIncrement();
+    }
+
+    @Override
+    public boolean isSessionStateTracked() {
+        return protocol.isSessionStateTracked();
+    }
+
+    @Override
+    public boolean isExplicitClosed() {
+        return protocol.isExplicitClosed();
+    }
+
+    @Override
+    public void connectWithoutProxy() throws QueryException {
+        protocol.connectWithoutProxy();
+    }
+
+    @Override
+    public boolean shouldReconnectWithoutProxy() {
+        return protocol.shouldReconnectWithoutProxy();
+    }
+
+    @Override
+    public void setHostFailedWithoutProxy() {
+        protocol.setHostFailedWithoutProxy();
+    }
+
+    @Override
+    public void releasePrepareStatement(ServerPrepareResult serverPrepareResult) throws QueryException {
+        protocol.releasePrepareStatement(serverPrepareResult);
+    }
+
+    @Override
+    public boolean forceReleasePrepareStatement(int statementId) throws QueryException {
+        return protocol.forceReleasePrepareStatement(statementId);
+    }
+
+    @Override
+    public void forceReleaseWaitingPrepareStatement() throws QueryException {
+        protocol.forceReleaseWaitingPrepareStatement();
+    }
+
+    @Override
+    public ServerPrepareStatementCache prepareStatementCache() {
+        return protocol.prepareStatementCache();
+    }
+
+    @Override
+    public String getServerData(String code) {
+        return protocol.getServerData(code);
+    }
+
+    @Override
+    public Calendar getCalendar() {
+        return protocol.getCalendar();
+    }
+
+    @Override
+    public void prolog(Results results, int maxRows, boolean hasProxy, MariaDbConnection connection,
+                       MariaDbStatement statement) throws SQLException {
+        protocol.prolog(results, maxRows, hasProxy, connection, statement);
+    }
+
+    @Override
+    public void prologProxy(ServerPrepareResult serverPrepareResult, Results results, int maxRows, boolean hasProxy,
+                            MariaDbConnection connection, MariaDbStatement statement) throws SQLException {
+        protocol.prologProxy(serverPrepareResult, results, maxRows, hasProxy, connection, statement);
+    }
+
+    @Override
+    public Results getActiveStreamingResult() {
+        return protocol.getActiveStreamingResult();
+    }
+
+    @Override
+    public void setActiveStreamingResult(Results mariaSelectResultSet) {
+        protocol.setActiveStreamingResult(mariaSelectResultSet);
+    }
+
+    @Override
+    public ReentrantLock getLock() {
+        return protocol.getLock();
+    }
+
+    @Override
+    public void setMoreResults(boolean moreResults) {
+        protocol.setMoreResults(moreResults);
+    }
+
+    @Override
+    public void setHasWarnings(boolean hasWarnings) {
+        protocol.setHasWarnings(hasWarnings);
+    }
+
+    @Override
+    public void releaseWriterBuffer() {
+        protocol.releaseWriterBuffer();
+    }
+
+    @Override
+    public ByteBuffer getWriter() {
+        return protocol.getWriter();
+    }
+
+    @Override
+    public ServerPrepareResult addPrepareInCache(String key, ServerPrepareResult serverPrepareResult) {
+        return protocol.addPrepareInCache(key, serverPrepareResult);
+    }
+
+    @Override
+    public void readEofPacket() throws QueryException, IOException {
+        protocol.readEofPacket();
+    }
+
+    @Override
+    public void skipEofPacket() throws QueryException, IOException {
+        protocol.skipEofPacket();
+    }
+
+    @Override
+    public ReadPacketFetcher getPacketFetcher() {
+        return protocol.getPacketFetcher();
+    }
+
+    @Override
+    public void changeSocketTcpNoDelay(boolean setTcpNoDelay) throws SocketException {
+        protocol.changeSocketTcpNoDelay(setTcpNoDelay);
+    }
+
+    @Override
+    public void changeSocketSoTimeout(int setSoTimeout) throws SocketException {
+        protocol.changeSocketSoTimeout(setSoTimeout);
+    }
+
+    @Override
+    public void removeActiveStreamingResult() {
+        protocol.removeActiveStreamingResult();
+    }
 }
@@ -0,0 +1,147 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.packet;
+
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * COM_STMT_BULK_EXECUTE command : execute a prepared statement for many parameter sets in one command.
+ *
+ * @see <a href="https://mariadb.com/kb/en/com_stmt_bulk_execute/">COM_STMT_BULK_EXECUTE</a>
+ */
+public class ComStmtBulkExecute {
+    private static final short SEND_TYPES_TO_SERVER = 128;
+    private static final byte INDICATOR_NONE = 0;
+    private static final byte INDICATOR_NULL = 1;
+
+    //binary length of a value is less than its text length plus length encoded header
+    private static final int VALUE_LENGTH_MARGIN = 9;
+
+    /**
+     * Write a COM_STMT_BULK_EXECUTE command for parameter sets from fromIndex.
+     * Parameter types are sent once by command, so command ends before a parameter set having a different
+     * non-null type, or when command would exceed max_allowed_packet.
+     *
+     * @param statementId    statement id
+     * @param parametersList parameter sets
+     * @param fromIndex      first parameter set to send
+     * @param paramCount     parameter number
+     * @param pos            outputStream
+     * @return index following last sent parameter set
+     * @throws IOException if a connection error occur
+     */
+    public static int writeCmd(final int statementId, final List<ParameterHolder[]> parametersList, final int fromIndex,
+                               final int paramCount, final PacketOutputStream pos) throws IOException {
+        MariaDbType[] types = new MariaDbType[paramCount];
+        final int end = bulkEnd(parametersList, fromIndex, paramCount, types, pos);
+
+        pos.assureBufferCapacity(7 + paramCount * 2);
+        pos.buffer.put(Packet.COM_STMT_BULK_EXECUTE);
+        pos.buffer.putInt(statementId);
+        pos.buffer.putShort(SEND_TYPES_TO_SERVER);
+        for (int i = 0; i < paramCount; i++) {
+            pos.buffer.putShort((short) (types[i] == null ? MariaDbType.NULL : types[i]).getType());
+        }
+
+        for (int index = fromIndex; index < end; index++) {
+            ParameterHolder[] parameters = parametersList.get(index);
+            for (int i = 0; i < paramCount; i++) {
+                if (parameters[i].isNullData()) {
+                    pos.writeByte(INDICATOR_NULL);
+                } else {
+                    pos.writeByte(INDICATOR_NONE);
+                    parameters[i].writeBinary(pos);
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Search last parameter set that can be sent in the same command, filling parameter types.
+     *
+     * @return index following last parameter set of command
+     */
+    private static int bulkEnd(List<ParameterHolder[]> parametersList, int fromIndex, int paramCount,
+                               MariaDbType[] types, PacketOutputStream pos) throws IOException {
+        long length = 7 + paramCount * 2;
+        int index = fromIndex;
+        while (index < parametersList.size()) {
+            ParameterHolder[] parameters = parametersList.get(index);
+            long rowLength = paramCount;
+            for (int i = 0; i < paramCount; i++) {
+                if (!parameters[i].isNullData()) {
+                    MariaDbType type = parameters[i].getMariaDbType();
+                    if (types[i] != null && types[i] != type) {
+                        return index;
+                    }
+                    rowLength += parameters[i].getApproximateTextProtocolLength() + VALUE_LENGTH_MARGIN;
+                }
+            }
+            length += rowLength;
+            if (index > fromIndex && (length > Integer.MAX_VALUE || !pos.checkRewritableLength((int) length))) {
+                return index;
+            }
+            for (int i = 0; i < paramCount; i++) {
+                if (!parameters[i].isNullData()) {
+                    types[i] = parameters[i].getMariaDbType();
+                }
+            }
+            index++;
+        }
+        return index;
+    }
+}
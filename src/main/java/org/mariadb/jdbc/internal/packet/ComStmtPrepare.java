@@ -108,6 +108,19 @@ public class ComStmtPrepare {
      * @throws QueryException if server answer with error.
      */
     public ServerPrepareResult read(ReadPacketFetcher packetFetcher) throws IOException, QueryException {
+        return read(packetFetcher, protocol.getOptions().cachePrepStmts);
+    }
+
+    /**
+     * Read COM_PREPARE_RESULT.
+     *
+     * @param packetFetcher inputStream
+     * @param addToCache    must prepare result be added to prepare cache
+     * @return ServerPrepareResult prepare result
+     * @throws IOException is connection has error
+     * @throws QueryException if server answer with error.
+     */
+    public ServerPrepareResult read(ReadPacketFetcher packetFetcher, boolean addToCache) throws IOException, QueryException {
         Buffer buffer = packetFetcher.getReusableBuffer();
         byte firstByte = buffer.getByteAt(0);
 
@@ -160,7 +173,7 @@ public class ComStmtPrepare {
             }
 
             ServerPrepareResult serverPrepareResult = new ServerPrepareResult(sql, statementId, columns, params, protocol);
-            if (protocol.getOptions().cachePrepStmts && sql != null && sql.length() < protocol.getOptions().prepStmtCacheSqlLimit) {
+            if (addToCache && sql != null && sql.length() < protocol.getOptions().prepStmtCacheSqlLimit) {
                 String key = new StringBuilder(protocol.getDatabase()).append("-").append(sql).toString();
                 ServerPrepareResult cachedServerPrepareResult = protocol.addPrepareInCache(key, serverPrepareResult);
                 return cachedServerPrepareResult != null ? cachedServerPrepareResult : serverPrepareResult;
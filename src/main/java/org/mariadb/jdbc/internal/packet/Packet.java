@@ -64,8 +64,10 @@ public class Packet {
     public static final byte COM_INIT_DB = (byte) 0x02;
     public static final byte COM_QUERY = (byte) 0x03;
     public static final byte COM_PING = (byte) 0x0e;
+    public static final byte COM_RESET_CONNECTION = (byte) 0x1f;
     public static final byte COM_STMT_PREPARE = (byte) 0x16;
     public static final byte COM_STMT_EXECUTE = (byte) 0x17;
     public static final byte COM_STMT_SEND_LONG_DATA = (byte) 0x18;
     public static final byte COM_STMT_CLOSE = (byte) 0x19;
+    public static final byte COM_STMT_BULK_EXECUTE = (byte) 0xfa;
 }
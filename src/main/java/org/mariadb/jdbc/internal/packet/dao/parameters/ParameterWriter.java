@@ -120,10 +120,7 @@ public class ParameterWriter {
      * @throws IOException if any error occur when writing to database
      */
     public static void write(PacketOutputStream out, String value, boolean noBackslashEscapes) throws IOException {
-        byte[] bytes = value.getBytes("UTF-8");
-        out.write(QUOTE);
-        writeBytesEscaped(out, bytes, bytes.length, noBackslashEscapes);
-        out.write(QUOTE);
+        out.writeStringEscaped(value, noBackslashEscapes);
     }
 
     /**
@@ -225,6 +222,46 @@ public class ParameterWriter {
         out.write(QUOTE);
     }
 
+    /**
+     * Write whole reader in text format, characters being encoded and escaped directly into buffer.
+     *
+     * @param out database stream
+     * @param reader reader to write
+     * @param noBackslashEscapes must backslash be escape
+     * @throws IOException if any error occur when reading reader
+     */
+    public static void write(PacketOutputStream out, Reader reader, boolean noBackslashEscapes) throws IOException {
+        out.write(QUOTE);
+        char[] buffer = new char[1024];
+        int len;
+        while ((len = reader.read(buffer)) >= 0) {
+            out.writeUtf8(new String(buffer, 0, len), true, noBackslashEscapes);
+        }
+        out.write(QUOTE);
+    }
+
+    /**
+     * Write reader in text format, characters being encoded and escaped directly into buffer.
+     *
+     * @param out database stream
+     * @param reader reader to write
+     * @param length reader max length to write
+     * @param noBackslashEscapes must backslash be escape
+     * @throws IOException if any error occur when reading reader
+     */
+    public static void write(PacketOutputStream out, Reader reader, long length, boolean noBackslashEscapes)
+            throws IOException {
+        out.write(QUOTE);
+        char[] buffer = new char[1024];
+        long charsLeft = length;
+        int len;
+        while (charsLeft > 0 && (len = reader.read(buffer, 0, (int) Math.min(charsLeft, buffer.length))) > 0) {
+            out.writeUtf8(new String(buffer, 0, len), true, noBackslashEscapes);
+            charsLeft -= len;
+        }
+        out.write(QUOTE);
+    }
+
     public static void write(PacketOutputStream out, int value) throws IOException {
         out.write(String.valueOf(value).getBytes());
     }
@@ -250,8 +287,7 @@ public class ParameterWriter {
         char[] buffer = new char[1024];
         int len;
         while ((len = reader.read(buffer)) >= 0) {
-            byte[] data = new String(buffer, 0, len).getBytes("UTF-8");
-            writeBytesEscaped(out, data, data.length, noBackslashEscapes);
+            out.writeUtf8(new String(buffer, 0, len), true, noBackslashEscapes);
         }
         out.writeUnsafe(QUOTE);
     }
@@ -267,8 +303,7 @@ public class ParameterWriter {
     public static void writeUnsafe(PacketOutputStream out, ArrayList<char[]> readArrays, boolean noBackslashEscapes) throws IOException {
         out.writeUnsafe(QUOTE);
         for (char[] charArray : readArrays) {
-            byte[] data = new String(charArray, 0, charArray.length).getBytes("UTF-8");
-            writeBytesEscapedUnsafe(out, data, data.length, noBackslashEscapes);
+            out.writeUtf8(new String(charArray), true, noBackslashEscapes);
         }
         out.writeUnsafe(QUOTE);
     }
@@ -300,10 +335,7 @@ public class ParameterWriter {
      * @throws IOException if any error occur when writing to database
      */
     public static void writeUnsafe(PacketOutputStream out, String value, boolean noBackslashEscapes) throws IOException {
-        byte[] bytes = value.getBytes("UTF-8");
-        out.writeUnsafe(QUOTE);
-        writeBytesEscapedUnsafe(out, bytes, bytes.length, noBackslashEscapes);
-        out.writeUnsafe(QUOTE);
+        out.writeStringEscapedUnsafe(value, noBackslashEscapes);
     }
 
     /**
@@ -50,11 +50,9 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.packet.dao.parameters;
 
 import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.stream.Utf8Encoder;
 import org.mariadb.jdbc.internal.MariaDbType;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.ReflectPermission;
-import java.security.Permission;
 import java.sql.SQLException;
 
 
@@ -62,10 +60,7 @@ public class StringParameter implements ParameterHolder, Cloneable {
 
     private String stringValue;
     private boolean noBackslashEscapes;
-    private byte[] escapedArray = null;
-    private int position;
-    private int charsOffset;
-    private boolean binary;
+    private int escapedLength = -1;
 
     public StringParameter(String str, boolean noBackslashEscapes) throws SQLException {
         this.stringValue = str;
@@ -74,12 +69,12 @@ public class StringParameter implements ParameterHolder, Cloneable {
 
     /**
      * Send escaped String to outputStream.
+     * String is UTF-8 encoded and escaped directly into outputStream buffer.
      *
      * @param os outpustream.
      */
     public void writeTo(final PacketOutputStream os) {
-        if (escapedArray == null) escapeUtf8();
-        os.write(escapedArray, 0, position);
+        os.writeStringEscaped(stringValue, noBackslashEscapes);
     }
 
     /**
@@ -88,13 +83,17 @@ public class StringParameter implements ParameterHolder, Cloneable {
      * @param os outpustream.
      */
     public void writeUnsafeTo(final PacketOutputStream os) {
-        if (escapedArray == null) escapeUtf8();
-        os.buffer.put(escapedArray, 0, position);
+        os.writeStringEscapedUnsafe(stringValue, noBackslashEscapes);
     }
 
+    /**
+     * Exact escaped length, quotes included, computed without encoding string.
+     *
+     * @return escaped length
+     */
     public long getApproximateTextProtocolLength() {
-        if (escapedArray == null) escapeUtf8();
-        return position;
+        if (escapedLength == -1) escapedLength = Utf8Encoder.encodedLength(stringValue, true, noBackslashEscapes) + 2;
+        return escapedLength;
     }
 
     /**
@@ -103,11 +102,7 @@ public class StringParameter implements ParameterHolder, Cloneable {
      * @param writer socket to server.
      */
     public void writeBinary(final PacketOutputStream writer) {
-        if (escapedArray == null) utf8();
-        writer.assureBufferCapacity(position + 9);
-        writer.writeFieldLength(position);
-        writer.buffer.put(escapedArray, 0, position);
-        escapedArray = null; //in case ServerPrepareStmt fallback to clientPrepareStmt (need escape)
+        writer.writeStringLength(stringValue);
     }
 
     public MariaDbType getMariaDbType() {
@@ -116,177 +111,11 @@ public class StringParameter implements ParameterHolder, Cloneable {
 
     @Override
     public String toString() {
-        if (stringValue != null) {
-            if (stringValue.length() < 1024) {
-                return "'" + stringValue + "'";
-            } else {
-                return "'" + stringValue.substring(0, 1024) + "...'";
-            }
+        if (stringValue.length() < 1024) {
+            return "'" + stringValue + "'";
         } else {
-            if (position > 1024) {
-                //escape bytes have integrated quote, binary hasn't
-                if (binary) return "'" + new String(escapedArray, 0, 1024) + "...'";
-                return new String(escapedArray, 0, 1024) + "...'";
-            } else {
-                //escape bytes have integrated quote, binary hasn't
-                if (binary) return "'" + new String(escapedArray, 0, position) + "'";
-                return new String(escapedArray, 0, position);
-            }
-        }
-    }
-
-    /**
-     * Encode char array to UTF-8 byte array, with SQL escape.
-     *
-     * Driver exchange with server use exclusively UTF-8 and lot of parameters are string.
-     * Most the time spend using driver is spend transforming String parameters in UTF-8 escaped bytes.
-     *
-     * Every String as to be escaped to avoid SQL injection, so whe must loop through the String char array
-     * to add escape chars, creating a new char array, and after decoding this char array to UTF-8 bytes.
-     *
-     * Using standard java, this result in :
-     * - recreating a lot of char array (and copy to new array) during escape.
-     * - utf-8 encoding is using internally a byte array initialized to 3 * the char length and will be spliced when final length is known.
-     * when dealing with big string, that is using a lot of array for nothing (and so memory issues)
-     *
-     * Resulting byte array will be send to outputStream, so :
-     * - escape characters are ASCII characters (one byte) -> the escaped characters can be put directly in array
-     * - driver don't need the final byte array shrink, the byte array can be send directly in outputStream.
-     *
-     *
-     * Example for a 1k character String :
-     * if using standard java
-     * - getting toCharArray() will create a new 1k char array (and copy existing array into it).
-     * - escaping (using a StringBuffer) will use a new 1k char array and the internal array may expand (=> new allocation + copy) if there is
-     *   any char to be escape
-     * - getBytes("UTF-8") : a new 3k byte buffer will be created, and finally a new one (+copy into it) when real length is known.
-     *
-     * Current implementation :
-     * - creating a 3k bytes array, send directly these array with length into outputStream.
-     * => only one array.
-     *
-     */
-    private void escapeUtf8() {
-        int charsLength = stringValue.length();
-        charsOffset = 0;
-        position = 0;
-
-        //handle "" String value
-        if (charsLength == 0) {
-            position = 2;
-            escapedArray = new byte[] {(byte)'\'', (byte)'\''};
-            return;
-        }
-
-        //create UTF-8 byte array
-        //since java char are internally using UTF-16 using surrogate's pattern, 4 bytes unicode characters will
-        //represent 2 characters : example "\uD83C\uDFA4" = 🎤 unicode 8 "no microphones"
-        //so max size is 3 * charLength + 2 for the quotes.
-        //(escaping concern only ASCII characters (1 bytes) and when escaped will be 2 bytes = won't cause any problems)
-        escapedArray = new byte[(charsLength * 3) + 2];
-        escapedArray[position++] = (byte)'\'';
-
-        char charValue;
-        //Handle fast conversion without testing kind of escape for each character
-        if (noBackslashEscapes) {
-            do {
-                charValue = stringValue.charAt(charsOffset);
-                if (charValue < 0x80) {
-                    if (charValue == '\'') escapedArray[position++] = (byte) '\''; //add a single escape quote
-                    escapedArray[position++] = (byte) charValue;
-                    charsOffset++;
-                } else {
-                    break;
-                }
-            } while (charsOffset < charsLength);
-        } else {
-            do {
-                charValue = stringValue.charAt(charsOffset);
-                if (charValue < 0x80) {
-                    if (charValue  == '\''
-                            || charValue == '\\'
-                            || charValue == '"'
-                            || charValue == 0) escapedArray[position++] = (byte) '\\'; //add escape slash
-                    escapedArray[position++] = (byte) charValue;
-                    charsOffset++;
-                } else {
-                    break;
-                }
-            } while (charsOffset < charsLength);
-
-        }
-
-        //if contain non ASCII chars
-        while (charsOffset < charsLength) {
-            char currChar = stringValue.charAt(charsOffset++);
-            if (currChar < 0x80) {
-                if (currChar == '\'') {
-                    escapedArray[position++] = noBackslashEscapes ? (byte) '\'' : (byte) '\\';
-                } else if (!noBackslashEscapes && (currChar  == '\\' || currChar  == '"' || currChar  == 0)) {
-                    escapedArray[position++] = (byte) '\\';
-                }
-                escapedArray[position++] = (byte) currChar;
-            } else getNonAsciiByte(currChar, stringValue, charsLength);
-        }
-        escapedArray[position++] = (byte) '\'';
-        stringValue = null;
-        binary = false;
-    }
-
-    private void getNonAsciiByte(char currChar, String stringValue, int charsLength) {
-        if (currChar < 0x800) {
-            escapedArray[position++] = (byte) (0xc0 | (currChar >> 6));
-            escapedArray[position++] = (byte) (0x80 | (currChar & 0x3f));
-        } else if (currChar >= 0xD800 && currChar < 0xE000) {
-            //reserved for surrogate - see https://en.wikipedia.org/wiki/UTF-16
-            if (currChar >= 0xD800 && currChar < 0xDC00) {
-                //is high surrogate
-                if (charsOffset + 1 > charsLength) {
-                    escapedArray[position++] = (byte)0x63;
-                    return;
-                }
-                char nextChar = stringValue.charAt(charsOffset);
-                if (nextChar >= 0xDC00 && nextChar < 0xE000) {
-                    //is low surrogate
-                    int surrogatePairs =  ((currChar << 10) + nextChar) + (0x010000 - (0xD800 << 10) - 0xDC00);
-                    escapedArray[position++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
-                    escapedArray[position++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
-                    escapedArray[position++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
-                    escapedArray[position++] = (byte) (0x80 | (surrogatePairs & 0x3f));
-                    charsOffset++;
-                } else {
-                    //must have low surrogate
-                    escapedArray[position++] = (byte)0x63;
-                }
-            } else {
-                //low surrogate without high surrogate before
-                escapedArray[position++] = (byte)0x63;
-            }
-        } else {
-            escapedArray[position++] = (byte) (0xe0 | ((currChar >> 12)));
-            escapedArray[position++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
-            escapedArray[position++] = (byte) (0x80 | (currChar & 0x3f));
-        }
-    }
-
-    /**
-     * Get fast UTF-8 array from String.
-     */
-    private void utf8() {
-        //get char array
-        int charsLength = stringValue.length();
-        charsOffset = 0;
-        position = 0;
-
-        escapedArray = new byte[(charsLength * 3)];
-
-        while (charsOffset < charsLength) {
-            char currChar = stringValue.charAt(charsOffset++);
-            if (currChar < 0x80) {
-                escapedArray[position++] = (byte) currChar;
-            } else getNonAsciiByte(currChar, stringValue, charsLength);
+            return "'" + stringValue.substring(0, 1024) + "...'";
         }
-        binary = true;
     }
 
     public boolean isLongData() {
@@ -0,0 +1,204 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.packet.read;
+
+import org.mariadb.jdbc.internal.stream.MariaDbInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Last column value of a row bigger than 16M, read directly from socket instead of being read with the row.
+ * Value begins in the first row packet, already read, and continues in following packets.
+ * Value must be completely read (or skipped) before any other packet can be read.
+ */
+public class LargeValueInputStream extends InputStream {
+    private final ReadPacketFetcher packetFetcher;
+    private final MariaDbInputStream inputStream;
+    private final ReentrantLock lock;
+    private final int length;
+
+    private final byte[] firstPacket;
+    private int firstPacketPosition;
+    private final int firstPacketLimit;
+
+    private int remaining;
+    private int packetRemaining;
+    private boolean fullPacket;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param packetFetcher packet fetcher
+     * @param lock          connection lock, hold while reading socket
+     * @param firstPacket   first row packet data. Array must not be modified until value is read.
+     * @param offset        value offset in first packet
+     * @param limit         first packet length
+     * @param length        value length
+     */
+    public LargeValueInputStream(ReadPacketFetcher packetFetcher, ReentrantLock lock, byte[] firstPacket,
+                                 int offset, int limit, int length) {
+        this.packetFetcher = packetFetcher;
+        this.inputStream = packetFetcher.getInputStream();
+        this.lock = lock;
+        this.length = length;
+        this.firstPacket = firstPacket;
+        this.firstPacketPosition = offset;
+        this.firstPacketLimit = limit;
+        this.remaining = length;
+        this.fullPacket = limit == ReadPacketFetcher.MAX_PACKET_LENGTH;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] oneByte = new byte[1];
+        return read(oneByte, 0, 1) == -1 ? -1 : oneByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream has already closed");
+        }
+        if (remaining == 0) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (firstPacketPosition < firstPacketLimit) {
+            int count = Math.min(len, firstPacketLimit - firstPacketPosition);
+            System.arraycopy(firstPacket, firstPacketPosition, bytes, off, count);
+            firstPacketPosition += count;
+            remaining -= count;
+            return count;
+        }
+
+        lock.lock();
+        try {
+            return readPacketData(bytes, off, Math.min(len, remaining));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int readPacketData(byte[] bytes, int off, int len) throws IOException {
+        if (packetRemaining == 0) {
+            if (!fullPacket) {
+                throw new EOFException("unexpected end of row, " + remaining + " bytes of value remaining");
+            }
+            packetRemaining = packetFetcher.getPacketLength();
+            fullPacket = packetRemaining == ReadPacketFetcher.MAX_PACKET_LENGTH;
+        }
+        int count = inputStream.read(bytes, off, Math.min(len, packetRemaining));
+        if (count < 0) {
+            throw new EOFException("unexpected end of stream, " + remaining + " bytes of value remaining");
+        }
+        packetRemaining -= count;
+        remaining -= count;
+        if (remaining == 0) {
+            //value ends the row. A full last packet is followed by an empty one.
+            if (packetRemaining != 0) {
+                throw new IOException("Row length differ from expected length");
+            }
+            if (fullPacket && packetFetcher.getPacketLength() != 0) {
+                throw new IOException("Row length exceed expected length");
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read remaining value data.
+     *
+     * @param bytes destination array
+     * @param off   destination offset
+     * @throws IOException if any connection error occur
+     */
+    public void readRemaining(byte[] bytes, int off) throws IOException {
+        int position = off;
+        int count;
+        while ((count = read(bytes, position, remaining)) > 0) {
+            position += count;
+        }
+    }
+
+    /**
+     * Skip remaining value data, even if stream has been closed.
+     *
+     * @throws IOException if any connection error occur
+     */
+    public void skipRemaining() throws IOException {
+        closed = false;
+        byte[] skipBuffer = new byte[65536];
+        while (read(skipBuffer, 0, skipBuffer.length) > 0) {
+            //discard
+        }
+        closed = true;
+    }
+
+    @Override
+    public int available() {
+        return firstPacketLimit - firstPacketPosition;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
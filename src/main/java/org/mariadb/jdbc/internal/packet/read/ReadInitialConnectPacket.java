@@ -109,7 +109,7 @@ public class ReadInitialConnectPacket {
 
         //mariaDb additional capabilities.valid only if mariadb server.
         //has value since server 10.2 (was 0 before)
-        long mariaDbAdditionalCapacities = buffer.readInt();
+        long mariaDbAdditionalCapacities = buffer.readInt() & 0xffffffffL;
 
         if ((serverCapabilities4FirstBytes & MariaDbServerCapabilities.SECURE_CONNECTION) != 0) {
             final byte[] seed2 = buffer.readRawBytes(saltLength);
@@ -130,6 +130,9 @@ public class ReadInitialConnectPacket {
             if (serverVersion.startsWith(MARIADB_RPL_HACK_PREFIX)) {
                 serverCapabilities = (serverCapabilities4FirstBytes & 0xffffffffL) + (mariaDbAdditionalCapacities << 32);
                 serverVersion = serverVersion.substring(MARIADB_RPL_HACK_PREFIX.length());
+            } else if ((serverCapabilities4FirstBytes & MariaDbServerCapabilities.CLIENT_MYSQL) == 0) {
+                //MariaDB server without replication hack prefix (since 11.0)
+                serverCapabilities = (serverCapabilities4FirstBytes & 0xffffffffL) + (mariaDbAdditionalCapacities << 32);
             } else {
                 serverCapabilities = serverCapabilities4FirstBytes & 0xffffffffL;
             }
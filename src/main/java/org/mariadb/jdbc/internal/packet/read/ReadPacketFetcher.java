@@ -55,19 +55,25 @@ import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.stream.MariaDbInputStream;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
+import org.mariadb.jdbc.internal.util.buffer.BufferPool;
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class ReadPacketFetcher {
 
     private static Logger logger = LoggerFactory.getLogger(ReadPacketFetcher.class);
 
     public static final int AVOID_CREATE_BUFFER_LENGTH = 4096;
+    public static final int MAX_PACKET_LENGTH = 0x00ffffff;
     private static int maxQuerySizeToLog;
     private final MariaDbInputStream inputStream;
 
     private byte[] headerBuffer = new byte[4];
     private byte[] reusableBuffer = new byte[AVOID_CREATE_BUFFER_LENGTH];
+    private byte[] largeBuffer;
 
     /**
      * Reader utility to fetch mysql packet.
@@ -129,23 +135,26 @@ public class ReadPacketFetcher {
 
     /**
      * Get buffer with shared array of designated length.
+     * Big arrays are borrowed from buffer pool, and kept while next reads are big too.
+     * Buffer data is valid until next read.
+     *
      * @param length length to read
-     * @param lastReusableArray (optional) lastReusableArray to avoid create new array if possible
      * @return Buffer the buffer
      * @throws IOException if any
      */
-    public Buffer getReusableBuffer(int length, byte[] lastReusableArray) throws IOException {
+    public Buffer getReusableBuffer(int length) throws IOException {
 
         byte[] rawBytes;
 
         if (length < ReadPacketFetcher.AVOID_CREATE_BUFFER_LENGTH) {
+            releaseLargeBuffer();
             rawBytes = reusableBuffer;
         } else {
-            if (lastReusableArray != null && lastReusableArray.length > length) {
-                rawBytes = lastReusableArray;
-            } else {
-                rawBytes = new byte[length];
+            if (largeBuffer == null || largeBuffer.length < length) {
+                releaseLargeBuffer();
+                largeBuffer = BufferPool.borrow(length);
             }
+            rawBytes = largeBuffer;
         }
 
         int reads = 0;
@@ -214,10 +223,25 @@ public class ReadPacketFetcher {
     }
     
     
+    /**
+     * Close stream.
+     * Can be called by another thread (abort, failover) while a result is being read : large buffer is dropped,
+     * not given back to pool.
+     *
+     * @throws IOException if an error occur closing the underlying stream
+     */
     public void close() throws IOException {
+        largeBuffer = null;
         inputStream.close();
     }
 
+    private void releaseLargeBuffer() {
+        if (largeBuffer != null) {
+            BufferPool.giveBack(largeBuffer);
+            largeBuffer = null;
+        }
+    }
+
     public MariaDbInputStream getInputStream() {
         return inputStream;
     }
@@ -231,20 +255,92 @@ public class ReadPacketFetcher {
      */
     public byte[] readLength(int length) throws IOException {
         byte[] valueBuffer = new byte[length];
+        readFully(valueBuffer, 0, length);
+        return valueBuffer;
+    }
+
+    /**
+     * Read data in existing array without reading the length packet first.
+     *
+     * @param valueBuffer destination array
+     * @param offset      destination offset
+     * @param length      data to read
+     * @throws IOException if any error occur
+     */
+    public void readFully(byte[] valueBuffer, int offset, int length) throws IOException {
         int remainingToRead = length;
-        int off = 0;
-        do {
+        int off = offset;
+        while (remainingToRead > 0) {
             int count = inputStream.read(valueBuffer, off, remainingToRead);
             if (count <= 0) {
                 throw new EOFException("unexpected end of stream, read " + (length - remainingToRead) + " bytes from " + length);
             }
             remainingToRead -= count;
             off += count;
-        } while (remainingToRead > 0);
+        }
         if (logger.isTraceEnabled()) {
-            logger.trace("read packet data(part):" + Utils.hexdump(valueBuffer, maxQuerySizeToLog));
+            logger.trace("read packet data(part):" + Utils.hexdump(valueBuffer, maxQuerySizeToLog, offset, length));
         }
-        return valueBuffer;
+    }
+
+    /**
+     * Read data of a row bigger than 16M.
+     * When row length is known from first packet, following packets are read directly in an array of this length.
+     *
+     * @param firstPacket first packet data
+     * @param rowLength   row length, -1 if unknown
+     * @return complete data
+     * @throws IOException if any error occur
+     */
+    public byte[] readMultiPacket(Buffer firstPacket, int rowLength) throws IOException {
+        if (rowLength < firstPacket.limit) {
+            return readMultiPacket(firstPacket);
+        }
+        byte[] data = new byte[rowLength];
+        System.arraycopy(firstPacket.buf, 0, data, 0, firstPacket.limit);
+        int position = firstPacket.limit;
+        int length = firstPacket.limit;
+        while (length == MAX_PACKET_LENGTH) {
+            length = getPacketLength();
+            if (position + length > rowLength) {
+                throw new IOException("Row length exceed expected length " + rowLength);
+            }
+            readFully(data, position, length);
+            position += length;
+        }
+        if (position != rowLength) {
+            throw new IOException("Row length " + position + " differ from expected length " + rowLength);
+        }
+        return data;
+    }
+
+    /**
+     * Read data of a packet bigger than 16M.
+     * First packet has already been read, following packets are read until the last one (length &lt; 16M).
+     * Packets are concatenated once all read.
+     *
+     * @param firstPacket first packet data
+     * @return complete data
+     * @throws IOException if any error occur
+     */
+    public byte[] readMultiPacket(Buffer firstPacket) throws IOException {
+        List<byte[]> packets = new ArrayList<>();
+        packets.add(Arrays.copyOf(firstPacket.buf, firstPacket.limit));
+        int rowLength = firstPacket.limit;
+        int length = firstPacket.limit;
+        while (length == MAX_PACKET_LENGTH) {
+            length = getPacketLength();
+            packets.add(readLength(length));
+            rowLength += length;
+        }
+
+        byte[] data = new byte[rowLength];
+        int position = 0;
+        for (byte[] packet : packets) {
+            System.arraycopy(packet, 0, data, position, packet.length);
+            position += packet.length;
+        }
+        return data;
     }
 
 }
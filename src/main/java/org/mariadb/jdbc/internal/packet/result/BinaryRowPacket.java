@@ -49,16 +49,17 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.packet.result;
 
+import org.mariadb.jdbc.internal.MariaDbType;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
-import org.mariadb.jdbc.internal.stream.MariaDbInputStream;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
 
 import java.io.IOException;
-import java.io.InputStream;
 
 
 public class BinaryRowPacket implements RowPacket {
+    private static final int LENGTH_ENCODED = -2;
+
     private final ColumnInformation[] columnInformation;
     private final int columnInformationLength;
 
@@ -74,223 +75,153 @@ public class BinaryRowPacket implements RowPacket {
     }
 
     /**
-     * Fetch stream to retrieve data. Data length is unknown.
+     * Get next row data.
      *
-     * @param buffer        buffer
      * @param packetFetcher packetFetcher
-     * @return next field length
-     * @throws IOException if a connection error occur
+     * @param buffer        current buffer (first packet of a row bigger than 16M)
+     * @return row data
+     * @throws IOException if any connection error occur
      */
-    public long appendPacketIfNeeded(Buffer buffer, ReadPacketFetcher packetFetcher) throws IOException {
-        long encLength = buffer.getLengthEncodedBinary();
-        while (encLength > buffer.remaining()) {
-            buffer.appendPacket(packetFetcher.getPacket());
-        }
-        return encLength;
+    public byte[] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException {
+        int[] fieldLengths = new int[columnInformationLength];
+        int offset = locateLastColumn(buffer.buf, buffer.limit, new int[columnInformationLength], fieldLengths);
+        return packetFetcher.readMultiPacket(buffer, offset < 0 ? -1 : offset + fieldLengths[columnInformationLength - 1]);
     }
 
     /**
-     * Fetch stream to retrieve data. Data length is known.
+     * Read binary row stream. (to fetch Resulset.next() datas)
+     * Row data are read in one array, without parsing.
      *
-     * @param buffer        reader
      * @param packetFetcher packetFetcher
-     * @param encLength     data binary length
-     * @throws IOException if a connection error occur
+     * @param remaining     remaining packet length
+     * @param read          packet header byte, already read
+     * @return row data
+     * @throws IOException if any connection error occur
      */
-    public void appendPacketIfNeeded(Buffer buffer, ReadPacketFetcher packetFetcher, long encLength) throws IOException {
-        while (encLength > buffer.remaining()) {
-            buffer.appendPacket(packetFetcher.getPacket());
-        }
+    public byte[] getRow(ReadPacketFetcher packetFetcher, int remaining, int read) throws IOException {
+        byte[] row = new byte[remaining + 1];
+        row[0] = (byte) read;
+        packetFetcher.readFully(row, 1, remaining);
+        return row;
     }
 
     /**
-     * Get next row data.
+     * Locate columns data in row, according to null bitmap and column types.
      *
-     * @param packetFetcher packetFetcher
-     * @param buffer        current buffer
-     * @return read data
-     * @throws IOException if any connection error occur
+     * @param row          row data
+     * @param fieldOffsets field data offset (output)
+     * @param fieldLengths field data length, -1 for NULL values (output)
      */
-    public byte[][] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException {
-        byte[][] valueObjects = new byte[columnInformationLength][];
-        buffer.skipByte(); //stream header
-        int nullCount = (columnInformationLength + 9) / 8;
-        byte[] nullBitsBuffer = buffer.readRawBytes(nullCount);
-
+    public void indexRow(byte[] row, int[] fieldOffsets, int[] fieldLengths) {
+        //skip packet header, null bitmap begins at offset 1
+        int position = 1 + (columnInformationLength + 9) / 8;
         for (int i = 0; i < columnInformationLength; i++) {
-            if ((nullBitsBuffer[(i + 2) / 8] & (1 << ((i + 2) % 8))) > 0) {
+            if ((row[1 + (i + 2) / 8] & (1 << ((i + 2) % 8))) != 0) {
                 //field is null
-                valueObjects[i] = null;
-            } else {
-                switch (columnInformation[i].getType()) {
-                    case VARCHAR:
-                    case BIT:
-                    case ENUM:
-                    case SET:
-                    case TINYBLOB:
-                    case MEDIUMBLOB:
-                    case LONGBLOB:
-                    case BLOB:
-                    case VARSTRING:
-                    case STRING:
-                    case GEOMETRY:
-                    case OLDDECIMAL:
-                    case DECIMAL:
-                    case TIME:
-                    case DATE:
-                    case DATETIME:
-                    case TIMESTAMP:
-                        long length = appendPacketIfNeeded(buffer, packetFetcher);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(length);
-                        break;
-
-                    case BIGINT:
-                        appendPacketIfNeeded(buffer, packetFetcher, 8);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(8);
-                        break;
-
-                    case INTEGER:
-                    case MEDIUMINT:
-                        appendPacketIfNeeded(buffer, packetFetcher, 4);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(4);
-                        break;
-
-                    case SMALLINT:
-                    case YEAR:
-                        appendPacketIfNeeded(buffer, packetFetcher, 2);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(2);
-                        break;
-
-                    case TINYINT:
-                        appendPacketIfNeeded(buffer, packetFetcher, 1);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(1);
-                        break;
-
-                    case DOUBLE:
-                        appendPacketIfNeeded(buffer, packetFetcher, 8);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(8);
-                        break;
+                fieldOffsets[i] = position;
+                fieldLengths[i] = -1;
+                continue;
+            }
 
-                    case FLOAT:
-                        appendPacketIfNeeded(buffer, packetFetcher, 4);
-                        valueObjects[i] = buffer.getLengthEncodedBytesWithLength(4);
-                        break;
-                    default:
-                        appendPacketIfNeeded(buffer, packetFetcher);
-                        valueObjects[i] = null;
-                        break;
-                }
+            int length = dataLength(columnInformation[i].getType());
+            if (length == LENGTH_ENCODED) {
+                length = TextRowPacket.readLengthEncoded(row, position);
+                position += TextRowPacket.lengthEncodedHeaderSize(row[position]);
+            }
+            fieldOffsets[i] = position;
+            fieldLengths[i] = length;
+            if (length > 0) {
+                position += length;
             }
         }
-        return valueObjects;
     }
 
     /**
-     * Read text row stream. (to fetch Resulset.next() datas)
+     * Locate columns data in the beginning of a row, up to last column data.
      *
-     * @param packetFetcher packetFetcher
-     * @param inputStream inputStream
-     * @return datas object
-     * @throws IOException if any connection error occur
+     * @param row          row data beginning
+     * @param limit        row data available length
+     * @param fieldOffsets field data offset (output)
+     * @param fieldLengths field data length, -1 for NULL values (output)
+     * @return last column data offset, or -1 if last column is NULL, hasn't a length encoded value,
+     *     or isn't located in available data
      */
-    public byte[][] getRow(ReadPacketFetcher packetFetcher, MariaDbInputStream inputStream, int remaining, int read) throws IOException {
-        byte[][] valueObjects = new byte[columnInformationLength][];
-        int toReadLen;
-        int nullCount = (columnInformationLength + 9) / 8;
-        byte[] nullBitsBuffer = packetFetcher.readLength(nullCount);
-        remaining -= nullCount;
+    public int locateLastColumn(byte[] row, int limit, int[] fieldOffsets, int[] fieldLengths) {
+        int position = 1 + (columnInformationLength + 9) / 8;
+        if (position > limit) {
+            return -1;
+        }
         for (int i = 0; i < columnInformationLength; i++) {
-            if ((nullBitsBuffer[(i + 2) / 8] & (1 << ((i + 2) % 8))) > 0) {
-                //field is null
-                valueObjects[i] = null;
-            } else {
-                switch (columnInformation[i].getType()) {
-                    case VARCHAR:
-                    case BIT:
-                    case ENUM:
-                    case SET:
-                    case TINYBLOB:
-                    case MEDIUMBLOB:
-                    case LONGBLOB:
-                    case BLOB:
-                    case VARSTRING:
-                    case STRING:
-                    case GEOMETRY:
-                    case OLDDECIMAL:
-                    case DECIMAL:
-                    case TIME:
-                    case DATE:
-                    case DATETIME:
-                    case TIMESTAMP:
-                        read = inputStream.read() & 0xff;
-                        remaining -= 1;
-                        switch (read) {
-                            case 251:
-                                toReadLen = -1;
-                                break;
-                            case 252:
-                                toReadLen = ((inputStream.read() & 0xff) + ((inputStream.read() & 0xff) << 8));
-                                remaining -= 2;
-                                break;
-                            case 253:
-                                toReadLen = (inputStream.read() & 0xff)
-                                        + ((inputStream.read() & 0xff) << 8)
-                                        + ((inputStream.read() & 0xff) << 16);
-                                remaining -= 3;
-                                break;
-                            case 254:
-                                toReadLen = (int) (((inputStream.read() & 0xff)
-                                        + ((long) (inputStream.read() & 0xff) << 8)
-                                        + ((long) (inputStream.read() & 0xff) << 16)
-                                        + ((long) (inputStream.read() & 0xff) << 24)
-                                        + ((long) (inputStream.read() & 0xff) << 32)
-                                        + ((long) (inputStream.read() & 0xff) << 40)
-                                        + ((long) (inputStream.read() & 0xff) << 48)
-                                        + ((long) (inputStream.read() & 0xff) << 56)));
-                                remaining -= 8;
-                                break;
-                            default:
-                                toReadLen = read;
-                        }
-                        if (toReadLen == -1) {
-                            valueObjects[i] = null;
-                        } else if (toReadLen == 0) {
-                            valueObjects[i] = new byte[0];
-                        } else {
-                            valueObjects[i] = packetFetcher.readLength(toReadLen);
-                            remaining -= toReadLen;
-                        }
-                        break;
-
-                    case BIGINT:
-                    case DOUBLE:
-                        valueObjects[i] = packetFetcher.readLength(8);
-                        remaining -= 8;
-                        break;
-
-                    case INTEGER:
-                    case MEDIUMINT:
-                    case FLOAT:
-                        valueObjects[i] = packetFetcher.readLength(4);
-                        remaining -= 4;
-                        break;
-
-                    case SMALLINT:
-                    case YEAR:
-                        valueObjects[i] = packetFetcher.readLength(2);
-                        remaining -= 2;
-                        break;
+            if ((row[1 + (i + 2) / 8] & (1 << ((i + 2) % 8))) != 0) {
+                fieldOffsets[i] = position;
+                fieldLengths[i] = -1;
+                continue;
+            }
 
-                    case TINYINT:
-                        valueObjects[i] = new byte[]{(byte) inputStream.read()};
-                        remaining -= 1;
-                        break;
-                    default:
-                        valueObjects[i] = null;
-                        break;
+            int length = dataLength(columnInformation[i].getType());
+            if (length == LENGTH_ENCODED) {
+                if (position >= limit || position + TextRowPacket.lengthEncodedHeaderSize(row[position]) > limit) {
+                    return -1;
                 }
+                length = TextRowPacket.readLengthEncoded(row, position);
+                position += TextRowPacket.lengthEncodedHeaderSize(row[position]);
+            } else if (i == columnInformationLength - 1) {
+                return -1;
+            }
+            fieldOffsets[i] = position;
+            fieldLengths[i] = length;
+            if (length > 0) {
+                position += length;
             }
         }
-        return valueObjects;
+        return fieldLengths[columnInformationLength - 1] == -1 ? -1 : fieldOffsets[columnInformationLength - 1];
+    }
+
+    /**
+     * Binary data length according to type.
+     *
+     * @param type column type
+     * @return data length, or LENGTH_ENCODED if data is length encoded
+     */
+    private static int dataLength(MariaDbType type) {
+        switch (type) {
+            case VARCHAR:
+            case BIT:
+            case ENUM:
+            case SET:
+            case TINYBLOB:
+            case MEDIUMBLOB:
+            case LONGBLOB:
+            case BLOB:
+            case VARSTRING:
+            case STRING:
+            case GEOMETRY:
+            case OLDDECIMAL:
+            case DECIMAL:
+            case TIME:
+            case DATE:
+            case DATETIME:
+            case TIMESTAMP:
+                return LENGTH_ENCODED;
+
+            case BIGINT:
+            case DOUBLE:
+                return 8;
+
+            case INTEGER:
+            case MEDIUMINT:
+            case FLOAT:
+                return 4;
+
+            case SMALLINT:
+            case YEAR:
+                return 2;
+
+            case TINYINT:
+                return 1;
+
+            default:
+                return -1;
+        }
     }
-}
\ No newline at end of file
+}
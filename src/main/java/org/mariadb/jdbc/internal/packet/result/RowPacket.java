@@ -51,15 +51,21 @@ OF SUCH DAMAGE.
 
 
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
-import org.mariadb.jdbc.internal.stream.MariaDbInputStream;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
 
 import java.io.IOException;
-import java.io.InputStream;
 
+/**
+ * Row reader. A row is kept as the raw packet payload in a single array, column data being located using
+ * {@link #indexRow(byte[], int[], int[])} : no per-column array is created.
+ */
 public interface RowPacket {
 
-    byte[][] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException;
+    byte[] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException;
 
-    byte[][] getRow(ReadPacketFetcher packetFetcher, MariaDbInputStream inputStream, int remaining, int read) throws IOException;
+    byte[] getRow(ReadPacketFetcher packetFetcher, int remaining, int read) throws IOException;
+
+    void indexRow(byte[] row, int[] fieldOffsets, int[] fieldLengths);
+
+    int locateLastColumn(byte[] row, int limit, int[] fieldOffsets, int[] fieldLengths);
 }
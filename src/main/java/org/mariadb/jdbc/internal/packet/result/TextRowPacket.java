@@ -50,12 +50,9 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.packet.result;
 
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
-import org.mariadb.jdbc.internal.stream.MariaDbInputStream;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
 
 
 public class TextRowPacket implements RowPacket {
@@ -74,89 +71,202 @@ public class TextRowPacket implements RowPacket {
      * Read text row stream. (to fetch Resulset.next() datas)
      *
      * @param packetFetcher packetFetcher
-     * @param buffer        current buffer
-     * @return datas object
+     * @param buffer        current buffer (first packet of a row bigger than 16M)
+     * @return row data
      * @throws IOException if any connection error occur
      */
-    public byte[][] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException {
-
-        byte[][] valueObjects = new byte[columnInformationLength][];
-        for (int i = 0; i < columnInformationLength; i++) {
-            while (buffer.remaining() == 0) {
-                buffer.appendPacket(packetFetcher.getPacket());
-            }
-            long valueLen = buffer.getLengthEncodedBinary();
-            if (valueLen == -1) {
-                valueObjects[i] = null;
-            } else {
-                while (buffer.remaining() < valueLen) {
-                    buffer.appendPacket(packetFetcher.getPacket());
-                }
-                valueObjects[i] = buffer.readRawBytes((int) valueLen);
-            }
-        }
-        return valueObjects;
+    public byte[] getRow(ReadPacketFetcher packetFetcher, Buffer buffer) throws IOException {
+        int[] fieldLengths = new int[columnInformationLength];
+        int offset = locateLastColumn(buffer.buf, buffer.limit, new int[columnInformationLength], fieldLengths);
+        return packetFetcher.readMultiPacket(buffer, offset < 0 ? -1 : offset + fieldLengths[columnInformationLength - 1]);
     }
 
     /**
      * Read text row stream. (to fetch Resulset.next() datas)
+     * Row data are read in one array, without parsing.
      *
      * @param packetFetcher packetFetcher
-     * @param inputStream inputStream
-     * @return datas object
+     * @param remaining     remaining packet length
+     * @param read          first packet byte, already read
+     * @return row data
      * @throws IOException if any connection error occur
      */
-    public byte[][] getRow(ReadPacketFetcher packetFetcher, MariaDbInputStream inputStream, int remaining, int read) throws IOException {
+    public byte[] getRow(ReadPacketFetcher packetFetcher, int remaining, int read) throws IOException {
+        byte[] row = new byte[remaining + 1];
+        row[0] = (byte) read;
+        packetFetcher.readFully(row, 1, remaining);
+        return row;
+    }
 
-        byte[][] valueObjects = new byte[columnInformationLength][];
+    /**
+     * Locate columns data in row : each field is length encoded.
+     *
+     * @param row          row data
+     * @param fieldOffsets field data offset (output)
+     * @param fieldLengths field data length, -1 for NULL values (output)
+     */
+    public void indexRow(byte[] row, int[] fieldOffsets, int[] fieldLengths) {
         int position = 0;
-        int toReadLen;
-
-        while (true) {
-            switch (read) {
+        for (int i = 0; i < columnInformationLength; i++) {
+            int length = row[position++] & 0xff;
+            switch (length) {
                 case 251:
-                    toReadLen = -1;
+                    length = -1;
                     break;
                 case 252:
-                    toReadLen = ((inputStream.read() & 0xff) + ((inputStream.read() & 0xff) << 8));
-                    remaining -= 2;
+                    length = (row[position++] & 0xff)
+                            + ((row[position++] & 0xff) << 8);
                     break;
                 case 253:
-                    toReadLen = (inputStream.read() & 0xff)
-                            + ((inputStream.read() & 0xff) << 8)
-                            + ((inputStream.read() & 0xff) << 16);
-                    remaining -= 3;
+                    length = (row[position++] & 0xff)
+                            + ((row[position++] & 0xff) << 8)
+                            + ((row[position++] & 0xff) << 16);
                     break;
                 case 254:
-                    toReadLen = (int) (((inputStream.read() & 0xff)
-                            + ((long) (inputStream.read() & 0xff) << 8)
-                            + ((long) (inputStream.read() & 0xff) << 16)
-                            + ((long) (inputStream.read() & 0xff) << 24)
-                            + ((long) (inputStream.read() & 0xff) << 32)
-                            + ((long) (inputStream.read() & 0xff) << 40)
-                            + ((long) (inputStream.read() & 0xff) << 48)
-                            + ((long) (inputStream.read() & 0xff) << 56)));
-                    remaining -= 8;
+                    length = (int) ((row[position++] & 0xff)
+                            + ((long) (row[position++] & 0xff) << 8)
+                            + ((long) (row[position++] & 0xff) << 16)
+                            + ((long) (row[position++] & 0xff) << 24)
+                            + ((long) (row[position++] & 0xff) << 32)
+                            + ((long) (row[position++] & 0xff) << 40)
+                            + ((long) (row[position++] & 0xff) << 48)
+                            + ((long) (row[position++] & 0xff) << 56));
                     break;
                 default:
-                    toReadLen = read;
+                    break;
             }
-            if (toReadLen == -1) {
-                valueObjects[position++] = null;
-            } else if (toReadLen == 0) {
-                valueObjects[position++] = new byte[0];
-            } else {
-                valueObjects[position++] = packetFetcher.readLength(toReadLen);
-                remaining -= toReadLen;
+            fieldOffsets[i] = position;
+            fieldLengths[i] = length;
+            if (length > 0) {
+                position += length;
+            }
+        }
+    }
+
+    /**
+     * Locate columns data in the beginning of a row, up to last column data.
+     *
+     * @param row          row data beginning
+     * @param limit        row data available length
+     * @param fieldOffsets field data offset (output)
+     * @param fieldLengths field data length, -1 for NULL values (output)
+     * @return last column data offset, or -1 if last column is NULL or isn't located in available data
+     */
+    public int locateLastColumn(byte[] row, int limit, int[] fieldOffsets, int[] fieldLengths) {
+        int position = 0;
+        for (int i = 0; i < columnInformationLength; i++) {
+            if (position >= limit || position + lengthEncodedHeaderSize(row[position]) > limit) {
+                return -1;
             }
-            if (remaining <= 0) {
-                break;
+            int length = readLengthEncoded(row, position);
+            position += lengthEncodedHeaderSize(row[position]);
+            fieldOffsets[i] = position;
+            fieldLengths[i] = length;
+            if (length > 0) {
+                position += length;
             }
-            read = inputStream.read() & 0xff;
-            remaining -= 1;
         }
-        return valueObjects;
+        return fieldLengths[columnInformationLength - 1] == -1 ? -1 : fieldOffsets[columnInformationLength - 1];
     }
 
+    /**
+     * Size of a length encoded header.
+     *
+     * @param firstByte header first byte
+     * @return header size
+     */
+    static int lengthEncodedHeaderSize(byte firstByte) {
+        switch (firstByte & 0xff) {
+            case 252:
+                return 3;
+            case 253:
+                return 4;
+            case 254:
+                return 9;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Read a length encoded length.
+     *
+     * @param row      row data
+     * @param position header position
+     * @return length, -1 for NULL values
+     */
+    static int readLengthEncoded(byte[] row, int position) {
+        int length = row[position] & 0xff;
+        switch (length) {
+            case 251:
+                return -1;
+            case 252:
+                return (row[position + 1] & 0xff)
+                        + ((row[position + 2] & 0xff) << 8);
+            case 253:
+                return (row[position + 1] & 0xff)
+                        + ((row[position + 2] & 0xff) << 8)
+                        + ((row[position + 3] & 0xff) << 16);
+            case 254:
+                //values are limited by max_allowed_packet (1G)
+                return (row[position + 1] & 0xff)
+                        + ((row[position + 2] & 0xff) << 8)
+                        + ((row[position + 3] & 0xff) << 16)
+                        + ((row[position + 4] & 0xff) << 24);
+            default:
+                return length;
+        }
+    }
+
+    /**
+     * Encode column values to text row format.
+     *
+     * @param values column values (null for NULL)
+     * @return row data
+     */
+    public static byte[] encodeRow(byte[][] values) {
+        int rowLength = 0;
+        for (byte[] value : values) {
+            rowLength += (value == null) ? 1 : lengthEncodedSize(value.length) + value.length;
+        }
+        byte[] row = new byte[rowLength];
+        int position = 0;
+        for (byte[] value : values) {
+            if (value == null) {
+                row[position++] = (byte) 251;
+                continue;
+            }
+            int length = value.length;
+            if (length < 251) {
+                row[position++] = (byte) length;
+            } else if (length < 65536) {
+                row[position++] = (byte) 252;
+                row[position++] = (byte) length;
+                row[position++] = (byte) (length >>> 8);
+            } else if (length < 16777216) {
+                row[position++] = (byte) 253;
+                row[position++] = (byte) length;
+                row[position++] = (byte) (length >>> 8);
+                row[position++] = (byte) (length >>> 16);
+            } else {
+                row[position++] = (byte) 254;
+                row[position++] = (byte) length;
+                row[position++] = (byte) (length >>> 8);
+                row[position++] = (byte) (length >>> 16);
+                row[position++] = (byte) (length >>> 24);
+                position += 4;
+            }
+            System.arraycopy(value, 0, row, position, length);
+            position += length;
+        }
+        return row;
+    }
+
+    private static int lengthEncodedSize(int length) {
+        if (length < 251) return 1;
+        if (length < 65536) return 3;
+        if (length < 16777216) return 4;
+        return 9;
+    }
 
-}
\ No newline at end of file
+}
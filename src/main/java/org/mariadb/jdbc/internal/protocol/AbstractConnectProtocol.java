@@ -77,8 +77,13 @@ import org.mariadb.jdbc.internal.util.constant.ParameterConstant;
 import org.mariadb.jdbc.internal.util.constant.ServerStatus;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.packet.result.*;
+import org.mariadb.jdbc.internal.stream.CompressionCodec;
+import org.mariadb.jdbc.internal.stream.CompressionEngine;
 import org.mariadb.jdbc.internal.stream.DecompressInputStream;
+import org.mariadb.jdbc.internal.stream.ZlibCompressionCodec;
+import org.mariadb.jdbc.internal.stream.ZstdCompressionCodec;
 import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.stream.SocketChannelOutputStream;
 
 import javax.net.ssl.*;
 
@@ -86,16 +91,25 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.*;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.security.*;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.mariadb.jdbc.internal.util.SqlStates.CONNECTION_EXCEPTION;
+import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
 
 public abstract class AbstractConnectProtocol implements Protocol {
     private static Logger logger = LoggerFactory.getLogger(AbstractConnectProtocol.class);
@@ -122,12 +136,19 @@ public abstract class AbstractConnectProtocol implements Protocol {
     protected volatile boolean connected = false;
     protected boolean explicitClosed = false;
     protected String database;
+    protected int transactionIsolationLevel = 0;
+    protected int autoIncrementIncrement = 1;
     protected long serverThreadId;
+    protected long serverCapabilities;
     protected ServerPrepareStatementCache serverPrepareStatementCache;
+    protected final Queue<Integer> statementIdToRelease = new ConcurrentLinkedQueue<>();
     protected boolean moreResults = false;
 
     public boolean hasWarnings = false;
     public Results activeStreamingResult = null;
+    protected volatile Future<?> pendingAsyncResult = null;
+    protected volatile Runnable pendingAsyncPublisher = null;
+    protected volatile Thread asyncReaderThread = null;
     public int dataTypeMappingFlags;
     public short serverStatus;
 
@@ -146,7 +167,7 @@ public abstract class AbstractConnectProtocol implements Protocol {
         this.username = (urlParser.getUsername() == null ? "" : urlParser.getUsername());
         this.password = (urlParser.getPassword() == null ? "" : urlParser.getPassword());
         if (options.cachePrepStmts) {
-            serverPrepareStatementCache = ServerPrepareStatementCache.newInstance(options.prepStmtCacheSize, this);
+            serverPrepareStatementCache = ServerPrepareStatementCache.newInstance(options.prepStmtCacheSize, statementIdToRelease);
         }
 
         setDataTypeMappingFlags();
@@ -167,6 +188,59 @@ public abstract class AbstractConnectProtocol implements Protocol {
         }
     }
 
+    /**
+     * Wait for the result of an asynchronous execution to be read, before connection can be used again.
+     * Once read, result is published to the statement with connection lock held.
+     * Wait is limited to socketTimeout if set : if result has not been read in time, reading is cancelled and
+     * connection is considered broken.
+     *
+     * @throws QueryException if waiting thread is interrupted, or if result has not been read in time
+     */
+    protected void waitPendingAsyncResult() throws QueryException {
+        Future<?> pending = pendingAsyncResult;
+        if (pending == null || asyncReaderThread == Thread.currentThread()) return;
+        try {
+            if (options.socketTimeout != null && options.socketTimeout > 0) {
+                pending.get(options.socketTimeout, TimeUnit.MILLISECONDS);
+            } else {
+                pending.get();
+            }
+        } catch (TimeoutException timeoutException) {
+            //result will not be read : asynchronous caller gets a cancellation, and connection is broken
+            pending.cancel(false);
+            publishPendingAsyncResult(pending);
+            connected = false;
+            throw new QueryException("Timeout waiting for asynchronous query result", -1,
+                    CONNECTION_EXCEPTION.getSqlState(), timeoutException);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new QueryException("Interrupted waiting for asynchronous query result", -1,
+                    INTERRUPTED_EXCEPTION.getSqlState(), interruptedException);
+        } catch (ExecutionException | CancellationException exception) {
+            //error is reported to the asynchronous execution caller
+        }
+        publishPendingAsyncResult(pending);
+    }
+
+    /**
+     * Publish result of a finished asynchronous execution, with connection lock held.
+     * Publication is done only once, either by reading thread or by first thread waiting for that result.
+     *
+     * @param pending finished asynchronous execution
+     */
+    protected void publishPendingAsyncResult(Future<?> pending) {
+        lock.lock();
+        try {
+            if (pendingAsyncResult != pending) return;
+            Runnable publisher = pendingAsyncPublisher;
+            pendingAsyncResult = null;
+            pendingAsyncPublisher = null;
+            if (publisher != null) publisher.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public void setMoreResults(boolean moreResults) {
         this.moreResults = moreResults;
     }
@@ -175,6 +249,12 @@ public abstract class AbstractConnectProtocol implements Protocol {
      * Closes socket and stream readers/writers Attempts graceful shutdown.
      */
     public void close() {
+        //If result is not read in time, closing socket will make reader fail.
+        try {
+            waitPendingAsyncResult();
+        } catch (QueryException queryException) {
+            //eat exception
+        }
         if (lock != null) {
             lock.lock();
         }
@@ -189,6 +269,7 @@ public abstract class AbstractConnectProtocol implements Protocol {
             if (options.cachePrepStmts) {
                 serverPrepareStatementCache.clear();
             }
+            statementIdToRelease.clear();
             close(packetFetcher, writer, socket);
         } catch (Exception e) {
             // socket is closed, so it is ok to ignore exception
@@ -225,6 +306,37 @@ public abstract class AbstractConnectProtocol implements Protocol {
         }
     }
 
+    /**
+     * Create compression codec according to option compressionCodec : "zlib" (default), "zstd", or codec class name.
+     *
+     * @return compression codec
+     * @throws QueryException if codec cannot be created
+     */
+    private CompressionCodec getCompressionCodec() throws QueryException {
+        CompressionCodec codec;
+        String codecName = options.compressionCodec;
+        if (codecName == null || "zlib".equalsIgnoreCase(codecName)) {
+            codec = new ZlibCompressionCodec();
+        } else if ("zstd".equalsIgnoreCase(codecName)) {
+            try {
+                Class.forName("com.github.luben.zstd.ZstdCompressCtx");
+            } catch (ClassNotFoundException classNotFound) {
+                throw new QueryException("compressionCodec=zstd requires com.github.luben:zstd-jni dependency",
+                        -1, CONNECTION_EXCEPTION, classNotFound);
+            }
+            codec = new ZstdCompressionCodec();
+        } else {
+            try {
+                codec = Class.forName(codecName).asSubclass(CompressionCodec.class).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException exception) {
+                throw new QueryException("Could not create compression codec '" + codecName + "'", -1,
+                        CONNECTION_EXCEPTION, exception);
+            }
+        }
+        codec.setCompressionLevel(options.compressionLevel);
+        return codec;
+    }
+
     private SSLSocketFactory getSslSocketFactory() throws QueryException {
         if (!options.trustServerCertificate
                 && options.serverSslCert == null
@@ -384,18 +496,19 @@ public abstract class AbstractConnectProtocol implements Protocol {
             handleConnectionPhases();
 
             if (options.useCompression) {
-                writer.setUseCompression(true);
-                packetFetcher = new ReadPacketFetcher(new DecompressInputStream(socket.getInputStream()), options.maxQuerySizeToLog);
+                CompressionEngine compressionEngine = new CompressionEngine(getCompressionCodec(), options.compressionThreshold);
+                writer.setCompressionEngine(compressionEngine);
+                packetFetcher = new ReadPacketFetcher(new DecompressInputStream(socket.getInputStream(), compressionEngine),
+                        options.maxQuerySizeToLog);
             }
             connected = true;
 
             writer.forceCleanupBuffer();
+            if (options.useDirectBuffers) writer.useDirectBuffers();
 
-            loadServerData();
-            setSessionOptions();
+            initializeSession();
             writer.setMaxAllowedPacket(Integer.parseInt(serverData.get("max_allowed_packet")));
 
-            createDatabaseIfNotExist();
             loadCalendar();
 
 
@@ -431,26 +544,73 @@ public abstract class AbstractConnectProtocol implements Protocol {
         return !this.connected;
     }
 
-    private void setSessionOptions()  throws QueryException {
+    /**
+     * Session variables set on connection.
+     * Values only depend on current server values, so that command can be send without waiting for server data.
+     *
+     * @param sqlMode sql_mode to set, or null to keep current one
+     * @return variable assignments, like "autocommit=1,sql_mode=..."
+     */
+    protected String sessionOptions(String sqlMode) {
         // In JDBC, connection must start in autocommit mode
         // [CONJ-269] we cannot rely on serverStatus & ServerStatus.AUTOCOMMIT before this command to avoid this command.
         // if autocommit=0 is set on server configuration, DB always send Autocommit on serverStatus flag
         // after setting autocommit, we can rely on serverStatus value
         String sessionOption = "autocommit=1";
 
+        //server removes duplicate modes
         if (options.jdbcCompliantTruncation) {
-            if (serverData.get("sql_mode") == null || "".equals(serverData.get("sql_mode"))) {
-                sessionOption += ",sql_mode='STRICT_TRANS_TABLES'";
+            if (sqlMode == null) {
+                sessionOption += ",sql_mode=CONCAT_WS(',',NULLIF(@@sql_mode,''),'STRICT_TRANS_TABLES')";
             } else {
-                if (!serverData.get("sql_mode").contains("STRICT_TRANS_TABLES")) {
-                    sessionOption += ",sql_mode='" + serverData.get("sql_mode") + ",STRICT_TRANS_TABLES'";
-                }
+                sessionOption += ",sql_mode='" + (sqlMode.isEmpty() ? "" : sqlMode + ",") + "STRICT_TRANS_TABLES'";
             }
+        } else if (sqlMode != null) {
+            sessionOption += ",sql_mode='" + sqlMode + "'";
+        }
+
+        if (isSessionStateTracked()) {
+            sessionOption += ",session_track_schema=1"
+                    + ",session_track_system_variables=IF(@@session_track_system_variables='*','*',"
+                    + "CONCAT_WS(',',NULLIF(@@session_track_system_variables,''),'" + txIsolationVariable()
+                    + "','auto_increment_increment'))";
         }
         if (options.sessionVariables != null) {
             sessionOption += "," + options.sessionVariables;
         }
-        executeQuery("set session " + sessionOption);
+        return sessionOption;
+    }
+
+    /**
+     * Are session state changes (current database, system variables) sent by server in OK packets.
+     *
+     * @return true if CLIENT_SESSION_TRACK capability is used
+     */
+    public boolean isSessionStateTracked() {
+        return (serverCapabilities & MariaDbServerCapabilities.CLIENT_SESSION_TRACK) != 0;
+    }
+
+    /**
+     * Transaction isolation system variable name : tx_isolation has been removed in MySQL 8.
+     *
+     * @return variable name
+     */
+    protected String txIsolationVariable() {
+        return (version.indexOf("MariaDB") == -1 && versionGreaterOrEqual(8, 0, 3)) ? "transaction_isolation" : "tx_isolation";
+    }
+
+    /**
+     * Convert transaction isolation system variable value to JDBC level.
+     *
+     * @param value system variable value, like "REPEATABLE-READ"
+     * @return JDBC transaction isolation level, or 0 if unknown
+     */
+    protected static int transactionIsolationLevel(String value) {
+        if ("REPEATABLE-READ".equals(value)) return Connection.TRANSACTION_REPEATABLE_READ;
+        if ("READ-UNCOMMITTED".equals(value)) return Connection.TRANSACTION_READ_UNCOMMITTED;
+        if ("READ-COMMITTED".equals(value)) return Connection.TRANSACTION_READ_COMMITTED;
+        if ("SERIALIZABLE".equals(value)) return Connection.TRANSACTION_SERIALIZABLE;
+        return 0;
     }
 
     private void handleConnectionPhases() throws QueryException {
@@ -458,11 +618,14 @@ public abstract class AbstractConnectProtocol implements Protocol {
         try {
             reader = new MariaDbBufferedInputStream(socket.getInputStream(), 16384);
             packetFetcher = new ReadPacketFetcher(reader, options.maxQuerySizeToLog);
-            writer = new PacketOutputStream(socket.getOutputStream(),
+            OutputStream outputStream = (socket.getChannel() != null)
+                    ? new SocketChannelOutputStream(socket.getChannel()) : socket.getOutputStream();
+            writer = new PacketOutputStream(outputStream,
                     options.profileSql || options.slowQueryThresholdNanos != null, options.maxQuerySizeToLog);
 
             final ReadInitialConnectPacket greetingPacket = new ReadInitialConnectPacket(packetFetcher);
             this.serverThreadId = greetingPacket.getServerThreadId();
+            this.serverCapabilities = greetingPacket.getServerCapabilities();
             this.version = greetingPacket.getServerVersion();
             this.checkCallableResultSet = this.version.indexOf("MariaDB") == -1;
 
@@ -590,6 +753,14 @@ public abstract class AbstractConnectProtocol implements Protocol {
             }
         }
 
+        if ((serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS) != 0) {
+            capabilities |= MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS;
+        }
+
+        if ((serverCapabilities & MariaDbServerCapabilities.CLIENT_SESSION_TRACK) != 0) {
+            capabilities |= MariaDbServerCapabilities.CLIENT_SESSION_TRACK;
+        }
+
         if (options.interactiveClient) {
             capabilities |= MariaDbServerCapabilities.CLIENT_INTERACTIVE;
         }
@@ -602,19 +773,6 @@ public abstract class AbstractConnectProtocol implements Protocol {
         return capabilities;
     }
 
-    /**
-     * If createDB is true, then just try to create the database and to use it.
-     * @throws QueryException if connection failed
-     */
-    private void createDatabaseIfNotExist() throws QueryException {
-        if (checkIfMaster() && options.createDatabaseIfNotExist) {
-            // Try to create the database if it does not exist
-            String quotedDb = MariaDbConnection.quoteIdentifier(this.database);
-            executeQuery("CREATE DATABASE IF NOT EXISTS " + quotedDb);
-            executeQuery("USE " + quotedDb);
-        }
-    }
-
     private void loadCalendar() throws QueryException {
         String timeZone = null;
         if (options.serverTimezone != null) {
@@ -653,14 +811,46 @@ public abstract class AbstractConnectProtocol implements Protocol {
 
     }
 
-    private void loadServerData() throws QueryException, IOException {
+    /**
+     * Load server variables, set session options and create database if needed.
+     * All commands are send before reading any result, so that initialization takes a single round trip.
+     *
+     * @throws QueryException if a command fails
+     */
+    private void initializeSession() throws QueryException {
+        List<String> commands = new ArrayList<>();
+        commands.add("SELECT @@max_allowed_packet , "
+                + "@@system_time_zone, "
+                + "@@time_zone, "
+                + "@@sql_mode, "
+                + "@@" + txIsolationVariable() + ", "
+                + "@@auto_increment_increment");
+        commands.add("set session " + sessionOptions(null));
+        //without session tracking, values changed by session variables must be read again after being set
+        boolean reloadSessionState = !isSessionStateTracked() && options.sessionVariables != null;
+        if (reloadSessionState) {
+            commands.add("SELECT @@" + txIsolationVariable() + ", @@auto_increment_increment");
+        }
+        if (checkIfMaster() && options.createDatabaseIfNotExist) {
+            // Try to create the database if it does not exist
+            String quotedDb = MariaDbConnection.quoteIdentifier(this.database);
+            commands.add("CREATE DATABASE IF NOT EXISTS " + quotedDb);
+            commands.add("USE " + quotedDb);
+        }
+
+        try {
+            for (String command : commands) {
+                writer.send(command, Packet.COM_QUERY);
+            }
+        } catch (IOException e) {
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, CONNECTION_EXCEPTION, e);
+        }
+
         serverData = new TreeMap<>();
+        boolean serverDataLoaded = false;
         try {
             Results results = new Results();
-            executeQuery(true, results, "SELECT @@max_allowed_packet , "
-                            + "@@system_time_zone, "
-                            + "@@time_zone, "
-                            + "@@sql_mode");
+            getResult(results);
             results.commandEnd();
             MariaSelectResultSet resultSet = results.getResultSet();
             resultSet.next();
@@ -669,29 +859,92 @@ public abstract class AbstractConnectProtocol implements Protocol {
             serverData.put("system_time_zone", resultSet.getString(2));
             serverData.put("time_zone", resultSet.getString(3));
             serverData.put("sql_mode", resultSet.getString(4));
-
+            serverData.put(txIsolationVariable(), resultSet.getString(5));
+            serverData.put("auto_increment_increment", resultSet.getString(6));
+            //initial values, before session tracking of following commands
+            loadInitialSessionState();
+            serverDataLoaded = true;
+        } catch (QueryException qex) {
+            if (qex.getSqlState() != null && qex.getSqlState().startsWith("08")) throw qex;
+            //server data query failure is handled by fallback after other commands
         } catch (SQLException sqle) {
+            throw new QueryException("could not load system variables", -1, CONNECTION_EXCEPTION, sqle);
+        }
 
-            //fallback in case of galera non primary nodes that permit only show / set command
+        QueryException exception = null;
+        for (int i = 1; i < commands.size(); i++) {
             try {
                 Results results = new Results();
-                executeQuery(true, results, "SHOW VARIABLES WHERE Variable_name in ("
-                        + "'max_allowed_packet', "
-                        + "'system_time_zone', "
-                        + "'time_zone', "
-                        + "'sql_mode'"
-                        + ")");
-                results.commandEnd();
-                MariaSelectResultSet resultSet = results.getResultSet();
-                while (resultSet.next()) {
-                    logger.debug("server data " + resultSet.getString(1) + " : " + resultSet.getString(2));
-                    serverData.put(resultSet.getString(1), resultSet.getString(2));
+                getResult(results);
+                if (reloadSessionState && i == 2 && serverDataLoaded) {
+                    serverDataLoaded = reloadSessionState(results);
+                }
+            } catch (QueryException qex) {
+                if (qex.getSqlState() != null && qex.getSqlState().startsWith("08")) throw qex;
+                if (reloadSessionState && i == 2) {
+                    //variables will be loaded by fallback
+                    serverDataLoaded = false;
+                } else if (exception == null) {
+                    exception = addQueryInfo(commands.get(i), qex);
                 }
-            } catch (SQLException sqlee) {
-                throw new QueryException("could not load system variables", -1, CONNECTION_EXCEPTION, sqlee);
             }
         }
+        if (exception != null) throw exception;
+        if (serverDataLoaded) return;
+
+        //fallback in case of galera non primary nodes that permit only show / set command
+        try {
+            Results results = new Results();
+            executeQuery(true, results, "SHOW VARIABLES WHERE Variable_name in ("
+                    + "'max_allowed_packet', "
+                    + "'system_time_zone', "
+                    + "'time_zone', "
+                    + "'sql_mode', "
+                    + "'" + txIsolationVariable() + "', "
+                    + "'auto_increment_increment'"
+                    + ")");
+            results.commandEnd();
+            MariaSelectResultSet resultSet = results.getResultSet();
+            while (resultSet.next()) {
+                logger.debug("server data " + resultSet.getString(1) + " : " + resultSet.getString(2));
+                serverData.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        } catch (SQLException sqle) {
+            throw new QueryException("could not load system variables", -1, CONNECTION_EXCEPTION, sqle);
+        }
+        loadInitialSessionState();
+    }
 
+    /**
+     * Read transaction isolation and auto increment increment values again, after connection session variables have
+     * been set.
+     *
+     * @param results result of isolation and increment query
+     * @return true if values have been loaded
+     * @throws QueryException if a connection error occur
+     */
+    private boolean reloadSessionState(Results results) throws QueryException {
+        results.commandEnd();
+        MariaSelectResultSet resultSet = results.getResultSet();
+        try {
+            if (resultSet == null || !resultSet.next()) return false;
+            serverData.put(txIsolationVariable(), resultSet.getString(1));
+            serverData.put("auto_increment_increment", resultSet.getString(2));
+        } catch (SQLException sqle) {
+            throw new QueryException("could not load system variables", -1, CONNECTION_EXCEPTION, sqle);
+        }
+        loadInitialSessionState();
+        return true;
+    }
+
+    /**
+     * Set session state to its value when connecting. It is then kept up to date by driver setters and server
+     * session tracking.
+     */
+    protected void loadInitialSessionState() {
+        transactionIsolationLevel = transactionIsolationLevel(serverData.get(txIsolationVariable()));
+        String increment = serverData.get("auto_increment_increment");
+        autoIncrementIncrement = increment == null ? 1 : Integer.parseInt(increment);
     }
 
     public String getServerData(String code) {
@@ -878,6 +1131,14 @@ public abstract class AbstractConnectProtocol implements Protocol {
         return database;
     }
 
+    public int getTransactionIsolationLevel() {
+        return transactionIsolationLevel;
+    }
+
+    public int getAutoIncrementIncrement() {
+        return autoIncrementIncrement;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -1034,6 +1295,24 @@ public abstract class AbstractConnectProtocol implements Protocol {
         return serverThreadId;
     }
 
+    /**
+     * Does server support COM_STMT_BULK_EXECUTE command (MariaDB 10.2.7+).
+     *
+     * @return true if bulk operations are supported
+     */
+    public boolean supportsBulkOperations() {
+        return (serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS) != 0;
+    }
+
+    /**
+     * Does server support COM_RESET_CONNECTION command (MariaDB 10.2.4+, MySQL 5.7.3+).
+     *
+     * @return true if connection can be reset without re-authentication
+     */
+    public boolean supportsResetConnection() {
+        return version.indexOf("MariaDB") != -1 ? versionGreaterOrEqual(10, 2, 4) : versionGreaterOrEqual(5, 7, 3);
+    }
+
     public int getDataTypeMappingFlags() {
         return dataTypeMappingFlags;
     }
@@ -1088,12 +1367,22 @@ public abstract class AbstractConnectProtocol implements Protocol {
 
     public abstract void executeQuery(final String sql) throws QueryException;
 
+    protected QueryException addQueryInfo(String sql, QueryException queryException) {
+        if (getOptions().dumpQueriesOnException || queryException.getErrorCode() == 1064) {
+            if (options.maxQuerySizeToLog > 0 && sql.length() > options.maxQuerySizeToLog - 3) {
+                sql = sql.substring(0, options.maxQuerySizeToLog - 3) + "...";
+            }
+            queryException.setMessage(queryException.getMessage() + "\nQuery is : " + sql);
+        }
+        return queryException;
+    }
+
     public void releaseWriterBuffer() {
         writer.releaseBuffer();
     }
 
     public ByteBuffer getWriter() {
-        return writer.buffer;
+        return writer.getQueryBuffer();
     }
 
     public ReadPacketFetcher getPacketFetcher() {
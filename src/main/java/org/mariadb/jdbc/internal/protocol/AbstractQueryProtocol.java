@@ -66,10 +66,13 @@ import org.mariadb.jdbc.internal.util.BulkStatus;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.PrepareResult;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.util.constant.ServerStatus;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+import org.mariadb.jdbc.internal.util.scheduler.SocketChannelSelector;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
@@ -80,11 +83,19 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.mariadb.jdbc.internal.util.SqlStates.CONNECTION_EXCEPTION;
@@ -94,10 +105,13 @@ import static org.mariadb.jdbc.internal.util.SqlStates.FEATURE_NOT_SUPPORTED;
 
 public class AbstractQueryProtocol extends AbstractConnectProtocol implements Protocol {
 
-    private int transactionIsolationLevel = 0;
+    private static final ThreadPoolExecutor readScheduler = SchedulerServiceProviderHolder.getBulkScheduler();
+    //OK_Packet session state change types
+    private static final int SESSION_TRACK_SYSTEM_VARIABLES = 0;
+    private static final int SESSION_TRACK_SCHEMA = 1;
     private InputStream localInfileInputStream;
     private int maxRows;  /* max rows returned by a statement */
-    private volatile int statementIdToRelease = -1;
+    private volatile int resetCount;  /* number of COM_RESET_CONNECTION, that release server prepared statements */
 
     /**
      * Get a protocol instance.
@@ -175,6 +189,82 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
+    /**
+     * Send query without waiting for its result. Once server has send result, resultReader is run using
+     * the bulk scheduler and must read result using {@link #getResult(Results)}.
+     * When socket is created from a SocketChannel, no thread is blocked until result is available.
+     * Connection cannot be used for another command until resultReader has finished.
+     * Once resultReader has finished, resultPublisher is run once with connection lock held, either by reading thread
+     * or by the first command waiting for this result.
+     *
+     * @param mustExecuteOnMaster was intended to be launched on master connection
+     * @param sql                 the query to execute
+     * @param resultReader        task reading result, without connection lock
+     * @param resultPublisher     task publishing read result, with connection lock
+     * @throws QueryException if query cannot be send
+     */
+    @Override
+    public void executeQueryAsync(boolean mustExecuteOnMaster, final String sql, final FutureTask<?> resultReader,
+                                  final Runnable resultPublisher) throws QueryException {
+        cmdPrologue();
+        try {
+            writer.send(sql, Packet.COM_QUERY);
+        } catch (MaxAllowedPacketException e) {
+            if (e.isMustReconnect()) connect();
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, INTERRUPTED_EXCEPTION.getSqlState(), e);
+        } catch (IOException e) {
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, CONNECTION_EXCEPTION.getSqlState(), e);
+        }
+
+        final Runnable publisher = new Runnable() {
+            private final AtomicBoolean published = new AtomicBoolean();
+
+            @Override
+            public void run() {
+                if (published.compareAndSet(false, true)) resultPublisher.run();
+            }
+        };
+        pendingAsyncPublisher = publisher;
+        pendingAsyncResult = resultReader;
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                asyncReaderThread = Thread.currentThread();
+                try {
+                    resultReader.run();
+                    //publishing even if a waiting command has timed out, so asynchronous caller get the error
+                    lock.lock();
+                    try {
+                        if (pendingAsyncResult == resultReader) {
+                            pendingAsyncResult = null;
+                            pendingAsyncPublisher = null;
+                        }
+                        publisher.run();
+                    } finally {
+                        lock.unlock();
+                    }
+                } finally {
+                    asyncReaderThread = null;
+                }
+            }
+        };
+
+        SocketChannel channel = socket.getChannel();
+        if (channel != null) {
+            try {
+                SocketChannelSelector.register(channel, task, readScheduler);
+                return;
+            } catch (IOException ioException) {
+                //use a blocking read
+            }
+        }
+        try {
+            readScheduler.execute(task);
+        } catch (RejectedExecutionException rejectedException) {
+            task.run();
+        }
+    }
+
     /**
      * Execute clientPrepareQuery batch.
      *
@@ -273,6 +363,107 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     }
 
+    /**
+     * Execute independent commands in a pipeline : all commands are send before reading results,
+     * each command result being read in its own Results object.
+     * If a command fails, following commands results are still read, and first error is thrown afterward.
+     *
+     * @param mustExecuteOnMaster was intended to be launched on master connection
+     * @param queries             commands
+     * @param results             results, one by command
+     * @throws QueryException exception
+     */
+    @Override
+    public void executePipeline(boolean mustExecuteOnMaster, final List<PipelineQuery> queries, final Results[] results)
+            throws QueryException {
+        cmdPrologue();
+        if (queries.isEmpty()) return;
+
+        FutureTask<QueryException> futureReadTask = new FutureTask<>(new Callable<QueryException>() {
+            @Override
+            public QueryException call() throws Exception {
+                //socket timeout is disabled, since results can be read before last command is send
+                if (options.socketTimeout != null) changeSocketSoTimeout(0);
+                QueryException exception = null;
+                for (int i = 0; i < queries.size(); i++) {
+                    try {
+                        getResult(results[i]);
+                    } catch (QueryException qex) {
+                        if (exception == null) exception = addPipelineQueryInfo(queries.get(i), qex);
+                        if (qex.getSqlState() != null && qex.getSqlState().startsWith("08")) break;
+                    }
+                }
+                if (options.socketTimeout != null) changeSocketSoTimeout(options.socketTimeout);
+                return exception;
+            }
+        });
+
+        boolean readInCurrentThread = false;
+        QueryException exception = null;
+        try {
+            changeSocketTcpNoDelay(false); //enable NAGLE algorithm temporary.
+            for (int i = 0; i < queries.size(); i++) {
+                PipelineQuery query = queries.get(i);
+                if (!query.isPrepared()) {
+                    writer.send(query.getSql(), Packet.COM_QUERY);
+                } else {
+                    ClientPrepareResult clientPrepareResult = query.getClientPrepareResult();
+                    if (clientPrepareResult.getParamCount() == 0 && !clientPrepareResult.isQueryMultiValuesRewritable()) {
+                        ComExecute.sendDirect(writer, clientPrepareResult.getQueryParts().get(0));
+                    } else {
+                        writer.startPacket(0);
+                        ComExecute.sendSubCmd(writer, clientPrepareResult, query.getParameters());
+                        writer.finishPacketWithoutRelease(true);
+                    }
+                }
+                if (i == 0) {
+                    try {
+                        readScheduler.execute(futureReadTask);
+                    } catch (RejectedExecutionException rejected) {
+                        //no thread available : each result is read after sending its query
+                        readInCurrentThread = true;
+                        changeSocketTcpNoDelay(options.tcpNoDelay);
+                    }
+                }
+                if (readInCurrentThread) {
+                    try {
+                        getResult(results[i]);
+                    } catch (QueryException qex) {
+                        if (exception == null) exception = addPipelineQueryInfo(query, qex);
+                        if (qex.getSqlState() != null && qex.getSqlState().startsWith("08")) break;
+                    }
+                }
+            }
+            changeSocketTcpNoDelay(options.tcpNoDelay);
+
+            if (!readInCurrentThread) exception = futureReadTask.get();
+            if (exception != null) throw exception;
+
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() == null) {
+                throw new QueryException("Error reading results " + executionException.getMessage());
+            }
+            throw new QueryException("Error reading results " + executionException.getCause().getMessage());
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new QueryException("Interrupted reading results", -1, INTERRUPTED_EXCEPTION.getSqlState(), interruptedException);
+        } catch (MaxAllowedPacketException e) {
+            if (e.isMustReconnect()) connect();
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, INTERRUPTED_EXCEPTION.getSqlState(), e);
+        } catch (IOException e) {
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, CONNECTION_EXCEPTION.getSqlState(), e);
+        } finally {
+            writer.releaseBufferIfNotLogging();
+        }
+    }
+
+    private QueryException addPipelineQueryInfo(PipelineQuery query, QueryException queryException) throws QueryException {
+        if (query.isPrepared()) {
+            return throwErrorWithQuery(query.getParameters(), queryException, query.getClientPrepareResult());
+        }
+        return addQueryInfo(query.getSql(), queryException);
+    }
+
     /**
      * Prepare query on server side.
      * Will permit to know the parameter number of the query, and permit to send only the data on next results.
@@ -316,6 +507,28 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
+    /**
+     * Prepare again a statement released by server on connection reset.
+     * Prepare result is updated with the new statement id, so that all statements sharing it can use it.
+     *
+     * @param serverPrepareResult prepare result
+     * @throws QueryException if prepare fails
+     */
+    private void prepareAgainIfReset(ServerPrepareResult serverPrepareResult) throws QueryException {
+        if (serverPrepareResult == null || !serverPrepareResult.isReleasedByReset()) return;
+        try {
+            writer.startPacket(0, true);
+            ComStmtPrepare comStmtPrepare = new ComStmtPrepare(this, serverPrepareResult.getSql());
+            comStmtPrepare.send(writer);
+            serverPrepareResult.prepareAgain(comStmtPrepare.read(packetFetcher, false).getStatementId());
+        } catch (MaxAllowedPacketException e) {
+            if (e.isMustReconnect()) connect();
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, INTERRUPTED_EXCEPTION.getSqlState(), e);
+        } catch (IOException e) {
+            throw new QueryException(e.getMessage(), -1, CONNECTION_EXCEPTION.getSqlState(), e);
+        }
+    }
+
     /**
      * Execute list of queries.
      * This method is used when using text batch statement and using rewriting (allowMultiQueries || rewriteBatchedStatements).
@@ -390,7 +603,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             } while (currentIndex < totalParameterList);
 
         } catch (QueryException queryException) {
-            throwErrorWithQuery(writer.buffer, queryException);
+            throwErrorWithQuery(writer.getQueryBuffer(), queryException);
         } catch (MaxAllowedPacketException e) {
             if (e.isMustReconnect()) connect();
             throw new QueryException("Could not send query: " + e.getMessage(), -1, INTERRUPTED_EXCEPTION.getSqlState(), e);
@@ -416,6 +629,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                                                   Results results, String sql, final List<ParameterHolder[]> parametersList)
             throws QueryException {
         cmdPrologue();
+        prepareAgainIfReset(serverPrepareResult);
         return (ServerPrepareResult) new AbstractMultiSend(this, writer, results, serverPrepareResult, parametersList,true, sql) {
             @Override
             public void sendCmd(PacketOutputStream writer, Results results,
@@ -564,6 +778,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                                      ParameterHolder[] parameters)
             throws QueryException {
         cmdPrologue();
+        prepareAgainIfReset(serverPrepareResult);
         try {
             int parameterCount = serverPrepareResult.getParameters().length;
             //send binary data in a separate stream
@@ -590,6 +805,44 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
+    /**
+     * Execute a prepared statement for all parameter sets using COM_STMT_BULK_EXECUTE commands.
+     * Server returns a single result by command, so results are similar to a rewritten batch.
+     * Parameters must not contain long data.
+     *
+     * @param mustExecuteOnMaster was intended to be launched on master connection
+     * @param serverPrepareResult prepare result
+     * @param results             execution results
+     * @param parametersList      parameter sets
+     * @throws QueryException if parameter error or connection error occur.
+     */
+    public void executeBulk(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                            List<ParameterHolder[]> parametersList) throws QueryException {
+        cmdPrologue();
+        prepareAgainIfReset(serverPrepareResult);
+        try {
+            int parameterCount = serverPrepareResult.getParameters().length;
+            int index = 0;
+            do {
+                writer.startPacket(0);
+                index = ComStmtBulkExecute.writeCmd(serverPrepareResult.getStatementId(), parametersList, index,
+                        parameterCount, writer);
+                writer.finishPacketWithoutRelease(true);
+                getResult(results);
+            } while (index < parametersList.size());
+
+        } catch (QueryException qex) {
+            throw throwErrorWithQuery(parametersList, qex, serverPrepareResult);
+        } catch (MaxAllowedPacketException e) {
+            if (e.isMustReconnect()) connect();
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, INTERRUPTED_EXCEPTION.getSqlState(), e);
+        } catch (IOException e) {
+            throw new QueryException("Could not send query: " + e.getMessage(), -1, CONNECTION_EXCEPTION.getSqlState(), e);
+        } finally {
+            writer.releaseBufferIfNotLogging();
+        }
+    }
+
     /**
      * Rollback transaction.
      */
@@ -609,8 +862,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     /**
      * Force release of prepare statement that are not used.
-     * This method will be call when adding a new preparestatement in cache, so the packet can be send to server without
-     * problem.
+     * If connection is used by another thread (bulk reading), release will be send with next command.
      *
      * @param statementId prepared statement Id to remove.
      * @return true if successfully released
@@ -619,6 +871,10 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     public boolean forceReleasePrepareStatement(int statementId) throws QueryException {
         if (lock.tryLock()) {
             try {
+                if (isAsyncResultPending()) {
+                    statementIdToRelease.add(statementId);
+                    return false;
+                }
                 checkClose();
                 try {
                     writer.closePrepare(statementId);
@@ -631,20 +887,31 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             }
         } else {
             //lock is used by another thread (bulk reading)
-            statementIdToRelease = statementId;
+            statementIdToRelease.add(statementId);
         }
         return false;
     }
 
     /**
-     * Force release of prepare statement that are not used.
-     * This permit to deallocate a statement that cannot be release due to multi-thread use.
+     * Release prepare statements waiting to be released (evicted from cache, or that could not be released due to
+     * multi-thread use). All COM_STMT_CLOSE are send in one write.
      * @throws QueryException if connection occur
      */
     public void forceReleaseWaitingPrepareStatement() throws QueryException {
-        if (statementIdToRelease != -1) {
-            if (forceReleasePrepareStatement(statementIdToRelease)) {
-                statementIdToRelease = -1;
+        if (!statementIdToRelease.isEmpty() && lock.tryLock()) {
+            try {
+                if (isAsyncResultPending()) return;
+                int[] statementIds = new int[statementIdToRelease.size()];
+                int length = 0;
+                Integer statementId;
+                while (length < statementIds.length && (statementId = statementIdToRelease.poll()) != null) {
+                    statementIds[length++] = statementId;
+                }
+                writer.closePrepare(statementIds, length);
+            } catch (IOException e) {
+                throw new QueryException("Could not deallocate query: " + e.getMessage(), -1, CONNECTION_EXCEPTION.getSqlState(), e);
+            } finally {
+                lock.unlock();
             }
         }
     }
@@ -690,13 +957,95 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
 
     /**
-     * Cancels the current query - clones the current protocol and executes a query using the new connection.
+     * Reset session to its state after connection, in a single round trip : commands are all send before reading
+     * results.
+     * When server supports it, COM_RESET_CONNECTION resets whole session (transaction, session and user variables,
+     * temporary tables, server prepared statements), then connection session options are set again.
+     * Otherwise, current transaction is rolled back, and autocommit, transaction isolation, client info variables and
+     * connection session options are set again.
+     * Initial database is selected again if changed.
+     *
+     * @throws QueryException if any command fails
+     */
+    @Override
+    public void reset() throws QueryException {
+        cmdPrologue();
+        lock.lock();
+        try {
+            boolean resetConnection = supportsResetConnection();
+            String initialDatabase = urlParser.getDatabase() == null ? "" : urlParser.getDatabase();
+            final boolean changeDatabase = !initialDatabase.isEmpty() && !initialDatabase.equals(database);
+            int commands = 2;
+
+            if (resetConnection) {
+                new SendResetConnectionPacket().send(writer);
+            } else {
+                writer.send("ROLLBACK", Packet.COM_QUERY);
+            }
+
+            StringBuilder query = new StringBuilder("set session ");
+            if (!resetConnection) {
+                String isolation = getServerData(txIsolationVariable());
+                if (isolation != null) query.append(txIsolationVariable()).append("='").append(isolation).append("',");
+                String increment = getServerData("auto_increment_increment");
+                if (increment != null) query.append("auto_increment_increment=").append(increment).append(",");
+                query.append("@ApplicationName=NULL,@ClientUser=NULL,@ClientHostname=NULL,");
+            }
+            //sql_mode read after connection, that may contain modes set by client capabilities (IGNORE_SPACE)
+            query.append(sessionOptions(getServerData("sql_mode")));
+            writer.send(query.toString(), Packet.COM_QUERY);
+
+            if (changeDatabase) {
+                new SendChangeDbPacket(initialDatabase).send(writer);
+                commands++;
+            }
+
+            //values restored by commands, may then be changed by session tracking of connection session options
+            loadInitialSessionState();
+
+            QueryException exception = null;
+            for (int i = 0; i < commands; i++) {
+                try {
+                    getResult(new Results());
+                } catch (QueryException qex) {
+                    if (exception == null) exception = qex;
+                    if (qex.getSqlState() != null && qex.getSqlState().startsWith("08")) break;
+                }
+            }
+
+            if (resetConnection) {
+                //server prepared statements have been released by server : statements still using them will prepare again
+                if (options.cachePrepStmts) serverPrepareStatementCache.clear();
+                statementIdToRelease.clear();
+                resetCount++;
+                //SQL_SELECT_LIMIT has been reset by server
+                maxRows = 0;
+            }
+            if (exception != null) throw exception;
+            if (changeDatabase) database = initialDatabase;
+            hasWarnings = false;
+
+        } catch (IOException e) {
+            throw new QueryException("Could not reset connection: " + e.getMessage(), -1,
+                    CONNECTION_EXCEPTION.getSqlState(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the current query - executes KILL QUERY using the host shared kill channel, or when useSharedKillChannel
+     * is disabled, clones the current protocol and executes a query using the new connection.
      *
      * @throws QueryException never thrown
      * @throws IOException    if Host is not responding
      */
     @Override
     public void cancelCurrentQuery() throws QueryException, IOException {
+        if (options.useSharedKillChannel) {
+            KillChannel.get(urlParser, getHostAddress()).kill(serverThreadId);
+            return;
+        }
         MasterProtocol copiedProtocol = new MasterProtocol(urlParser, new ReentrantLock());
         copiedProtocol.setHostAddress(getHostAddress());
         copiedProtocol.connect();
@@ -794,8 +1143,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         //so synchronised use count indicator will be decrement.
         serverPrepareResult.decrementShareCounter();
 
-        //deallocate from server if not cached
-        if (serverPrepareResult.canBeDeallocate()) {
+        //deallocate from server if not cached, and not already released by a connection reset
+        if (serverPrepareResult.canBeDeallocate() && !serverPrepareResult.isReleasedByReset()) {
             forceReleasePrepareStatement(serverPrepareResult.getStatementId());
         }
     }
@@ -813,6 +1162,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         return maxRows;
     }
 
+    @Override
+    public int getResetCount() {
+        return resetCount;
+    }
+
     @Override
     public void setMaxRows(int max) throws QueryException {
         if (maxRows != max) {
@@ -892,31 +1246,17 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
-    public int getTransactionIsolationLevel() {
-        return transactionIsolationLevel;
-    }
-
     private void checkClose() throws QueryException {
         if (!this.connected) throw new QueryException("Connection is close", 1220, "08000");
     }
 
-    private QueryException addQueryInfo(String sql, QueryException queryException) {
-        if (getOptions().dumpQueriesOnException || queryException.getErrorCode() == 1064) {
-            if (options.maxQuerySizeToLog > 0 && sql.length() > options.maxQuerySizeToLog - 3) {
-                sql = sql.substring(0, options.maxQuerySizeToLog - 3) + "...";
-            }
-            queryException.setMessage(queryException.getMessage() + "\nQuery is : " + sql);
-        }
-        return queryException;
-    }
-
 
     private void throwErrorWithQuery(ByteBuffer buffer, QueryException queryException) throws QueryException {
         if (getOptions().dumpQueriesOnException || queryException.getErrorCode() == 1064) {
             //log first maxQuerySizeToLog utf-8 characters
             String queryString;
             if (options.maxQuerySizeToLog == 0) {
-                queryString = new String(buffer.array(), 5, buffer.limit());
+                queryString = new String(buffer.array(), 5, buffer.limit() - 5);
             } else {
                 queryString = new String(buffer.array(), 5, Math.min(buffer.limit() - 5, (options.maxQuerySizeToLog * 3)));
                 if (queryString.length() > options.maxQuerySizeToLog - 3) {
@@ -1072,10 +1412,67 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         serverStatus = buffer.readShort();
         this.hasWarnings = (buffer.readShort() > 0);
         this.moreResults = ((serverStatus & ServerStatus.MORE_RESULTS_EXISTS) != 0);
+        if ((serverStatus & ServerStatus.SESSION_STATE_CHANGED) != 0 && isSessionStateTracked()) {
+            readSessionStateChanges(buffer);
+        }
 
         results.addStats(updateCount, insertId, moreResults);
     }
 
+    /**
+     * Update session state (current database, transaction isolation and auto increment increment) from OK_Packet
+     * session state changes, so that connection getters don't need to query server.
+     *
+     * @see <a href="https://mariadb.com/kb/en/mariadb/ok_packet/">OK_Packet</a>
+     *
+     * @param buffer current buffer, positioned after warning count
+     */
+    private void readSessionStateChanges(Buffer buffer) {
+        buffer.skipLengthEncodedBytes(); //info
+        buffer.getLengthEncodedBinary(); //session state changes length
+        while (buffer.remaining() > 0) {
+            int type = buffer.readByte();
+            int length = (int) buffer.getLengthEncodedBinary();
+            //each entry is read within its length, unknown or remaining data being skipped
+            int end = Math.min(buffer.position + length, buffer.limit);
+            switch (type) {
+                case SESSION_TRACK_SYSTEM_VARIABLES:
+                    while (buffer.position < end) {
+                        String variable = readLengthEncodedString(buffer);
+                        if (buffer.position >= end) break;
+                        String value = readLengthEncodedString(buffer);
+                        if (buffer.position > end) break;
+                        updateSessionVariable(variable, value);
+                    }
+                    break;
+                case SESSION_TRACK_SCHEMA:
+                    String schema = readLengthEncodedString(buffer);
+                    if (buffer.position <= end) database = schema == null ? "" : schema;
+                    break;
+                default:
+                    break;
+            }
+            buffer.position = end;
+        }
+    }
+
+    private void updateSessionVariable(String variable, String value) {
+        if ("tx_isolation".equals(variable) || "transaction_isolation".equals(variable)) {
+            transactionIsolationLevel = transactionIsolationLevel(value);
+        } else if ("auto_increment_increment".equals(variable)) {
+            try {
+                autoIncrementIncrement = Integer.parseInt(value);
+            } catch (NumberFormatException numberFormatException) {
+                //keep current value
+            }
+        }
+    }
+
+    private static String readLengthEncodedString(Buffer buffer) {
+        byte[] bytes = buffer.getLengthEncodedBytesWithLength(buffer.getLengthEncodedBinary());
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
 
     /**
      * Read ERR_Packet.
@@ -1242,13 +1639,20 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         return serverPrepareStatementCache.put(key, serverPrepareResult);
     }
 
+    private boolean isAsyncResultPending() {
+        Future<?> pending = pendingAsyncResult;
+        return pending != null && !pending.isDone();
+    }
+
     private void cmdPrologue() throws QueryException {
+        waitPendingAsyncResult();
         if (activeStreamingResult != null) {
             throw new QueryException("There is an open result set on the current connection, which must be "
                     + "closed prior to executing a query");
         }
         this.moreResults = false;
         if (!this.connected) throw new QueryException("Connection is close", 1220, "08000");
+        forceReleaseWaitingPrepareStatement();
     }
 
 }
@@ -0,0 +1,602 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.protocol;
+
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.queryresults.CmdInformation;
+import org.mariadb.jdbc.internal.queryresults.Results;
+import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.mariadb.jdbc.internal.util.SqlStates.CONNECTION_EXCEPTION;
+import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
+import static org.mariadb.jdbc.internal.util.SqlStates.TIMEOUT_EXCEPTION;
+
+/**
+ * Connection sending KILL QUERY commands to a host, shared by all connections to this host with the same database
+ * and options (user, password, SSL, ...), so that query timeouts and cancels don't each create a new connection
+ * (TCP/TLS handshake and authentication) when server is likely already overloaded.
+ * Connection is created on first kill, and closed (channel being forgotten) after {@link #IDLE_TIMEOUT} milliseconds
+ * without kill.
+ * Kills are sent by a single task, kills waiting when task sends are pipelined in one round trip (up to
+ * {@link #MAX_BATCH_SIZE}), kills of a thread id already waiting are sent once, and kills are limited to
+ * killChannelMaxRate by second.
+ */
+public final class KillChannel {
+    public static final long IDLE_TIMEOUT = 30000;
+    public static final int MAX_BATCH_SIZE = 100;
+    //maximum time to wait for a kill, since caller may be a timeout task
+    public static final long MAX_KILL_TIMEOUT = 10000;
+
+    private static final ConcurrentHashMap<ChannelKey, KillChannel> channels = new ConcurrentHashMap<>();
+    private static final ThreadPoolExecutor killScheduler = SchedulerServiceProviderHolder.getBulkScheduler();
+    private static final ScheduledExecutorService idleScheduler = SchedulerServiceProviderHolder.getTimeoutScheduler();
+
+    private static final AtomicLong requested = new AtomicLong();
+    private static final AtomicLong merged = new AtomicLong();
+    private static final AtomicLong sent = new AtomicLong();
+    private static final AtomicLong roundTrips = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong connections = new AtomicLong();
+    private static final AtomicLong totalLatency = new AtomicLong();
+    private static final AtomicLong maxLatency = new AtomicLong();
+
+    private final ChannelKey key;
+    private final UrlParser urlParser;
+    private final HostAddress hostAddress;
+    private final long minInterval;
+    private final long killTimeout;
+    private final Runnable sender = new Runnable() {
+        @Override
+        public void run() {
+            sendPending();
+        }
+    };
+    private final Runnable idleCloser = new Runnable() {
+        @Override
+        public void run() {
+            closeIfIdle(IDLE_TIMEOUT);
+        }
+    };
+
+    //pending kills by thread id, and sender state, guarded by this
+    private final LinkedHashMap<Long, KillRequest> pending = new LinkedHashMap<>();
+    private boolean running;
+    private long lastUse;
+
+    //only used by running sender, or when not running
+    private Protocol protocol;
+    private long lastKill;
+
+    private KillChannel(ChannelKey key, UrlParser urlParser, HostAddress hostAddress) {
+        this.key = key;
+        this.urlParser = urlParser;
+        this.hostAddress = hostAddress;
+        int maxRate = urlParser.getOptions().killChannelMaxRate;
+        this.minInterval = maxRate == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxRate;
+        this.lastKill = System.nanoTime() - minInterval;
+        this.killTimeout = killTimeout(urlParser.getOptions());
+    }
+
+    /**
+     * Maximum time to wait for a kill : time to connect, then to execute command, limited to
+     * {@link #MAX_KILL_TIMEOUT}.
+     *
+     * @param options connection options
+     * @return timeout in milliseconds
+     */
+    private static long killTimeout(Options options) {
+        long connectTimeout = options.connectTimeout == null ? 0 : options.connectTimeout;
+        long socketTimeout = options.socketTimeout == null ? 0 : options.socketTimeout;
+        if (connectTimeout == 0 && socketTimeout == 0) return MAX_KILL_TIMEOUT;
+        return Math.min(connectTimeout + socketTimeout, MAX_KILL_TIMEOUT);
+    }
+
+    /**
+     * Get kill channel of a host, created if needed.
+     *
+     * @param urlParser   connection URL infos, used to create channel connection
+     * @param hostAddress host
+     * @return host kill channel for this database and options
+     */
+    public static KillChannel get(UrlParser urlParser, HostAddress hostAddress) {
+        ChannelKey key = new ChannelKey(hostAddress, urlParser);
+        KillChannel channel = channels.get(key);
+        if (channel == null) {
+            channel = new KillChannel(key, urlParser, hostAddress);
+            KillChannel existing = channels.putIfAbsent(key, channel);
+            if (existing != null) return existing;
+        }
+        return channel;
+    }
+
+    /**
+     * Kill query running on a server thread, waiting for KILL QUERY command to be executed.
+     *
+     * @param threadId server thread id
+     * @throws QueryException if kill failed
+     */
+    public void kill(long threadId) throws QueryException {
+        long start = System.nanoTime();
+        requested.incrementAndGet();
+        KillRequest request;
+        boolean startSender = false;
+        synchronized (this) {
+            request = pending.get(threadId);
+            if (request == null) {
+                request = new KillRequest(threadId);
+                pending.put(threadId, request);
+            } else {
+                merged.incrementAndGet();
+            }
+            if (!running) {
+                running = true;
+                startSender = true;
+            }
+        }
+
+        if (startSender) {
+            try {
+                killScheduler.execute(sender);
+            } catch (RejectedExecutionException rejected) {
+                //no thread available, sending in current thread
+                sendPending();
+            }
+        }
+
+        try {
+            request.await(killTimeout);
+        } finally {
+            long latency = System.nanoTime() - start;
+            totalLatency.addAndGet(latency);
+            long max;
+            while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency)) {
+                //retry
+            }
+        }
+    }
+
+    /**
+     * Send pending kills, until there is none.
+     */
+    private void sendPending() {
+        List<KillRequest> batch = new ArrayList<>();
+        try {
+            while (true) {
+                synchronized (this) {
+                    Iterator<KillRequest> iterator = pending.values().iterator();
+                    if (!iterator.hasNext()) {
+                        running = false;
+                        lastUse = System.nanoTime();
+                        break;
+                    }
+                    while (iterator.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                        batch.add(iterator.next());
+                        iterator.remove();
+                    }
+                }
+                throttle(batch.size());
+                send(batch);
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            QueryException error = new QueryException("Could not kill query : " + e.getMessage(), -1,
+                    CONNECTION_EXCEPTION.getSqlState(), e);
+            synchronized (this) {
+                for (KillRequest request : batch) {
+                    request.done(error);
+                }
+                for (KillRequest waiting : pending.values()) {
+                    waiting.done(error);
+                }
+                pending.clear();
+                running = false;
+                lastUse = System.nanoTime();
+            }
+        }
+        try {
+            idleScheduler.schedule(idleCloser, IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException rejected) {
+            //scheduler is shutting down, connection would never be closed
+            closeIfIdle(0);
+        }
+    }
+
+    /**
+     * Wait so that kills are not sent more than killChannelMaxRate by second.
+     * A batch of kills reserves its whole rate share : next batch waits accordingly.
+     *
+     * @param killNumber number of kills about to be sent
+     */
+    private void throttle(int killNumber) {
+        if (minInterval == 0) return;
+        long wait = lastKill + minInterval - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lastKill = System.nanoTime() + (killNumber - 1) * minInterval;
+    }
+
+    /**
+     * Send KILL QUERY commands of a batch in one round trip, connecting if needed, and report each kill result.
+     * If shared connection has been closed (by server wait_timeout for example), commands without result are sent
+     * again on a new connection.
+     *
+     * @param batch kills to send
+     */
+    private void send(List<KillRequest> batch) {
+        boolean reused = protocol != null;
+        List<KillRequest> remaining = batch;
+        while (true) {
+            Results[] results = new Results[remaining.size()];
+            try {
+                if (protocol == null) {
+                    MasterProtocol newProtocol = new MasterProtocol(urlParser, new ReentrantLock());
+                    newProtocol.setHostAddress(hostAddress);
+                    newProtocol.connect();
+                    connections.incrementAndGet();
+                    protocol = newProtocol;
+                }
+                roundTrips.incrementAndGet();
+                if (remaining.size() == 1) {
+                    results[0] = new Results();
+                    protocol.executeQuery(true, results[0], "KILL QUERY " + remaining.get(0).threadId);
+                } else {
+                    List<PipelineQuery> queries = new ArrayList<>(remaining.size());
+                    for (int i = 0; i < remaining.size(); i++) {
+                        results[i] = new Results();
+                        queries.add(new PipelineQuery("KILL QUERY " + remaining.get(i).threadId));
+                    }
+                    protocol.executePipeline(true, queries, results);
+                }
+                reportResults(remaining, results, null);
+                return;
+            } catch (QueryException e) {
+                //commands without result have not been executed
+                List<KillRequest> unsent = reportResults(remaining, results, e);
+                if (unsent.isEmpty()) return;
+                if (protocol != null && !protocol.isClosed()
+                        && !CONNECTION_EXCEPTION.getSqlState().equals(e.getSqlState())) {
+                    reportError(unsent, e);
+                    return;
+                }
+                closeProtocol();
+                if (!reused) {
+                    reportError(unsent, e);
+                    return;
+                }
+                reused = false;
+                remaining = unsent;
+            }
+        }
+    }
+
+    /**
+     * Report kills result. Server error (like unknown thread id) of a pipeline is only known for first failing kill,
+     * other failing kills get a generic error.
+     *
+     * @param requests kills
+     * @param results  kills results
+     * @param error    first error, or null if all kills succeed
+     * @return kills without result
+     */
+    private static List<KillRequest> reportResults(List<KillRequest> requests, Results[] results, QueryException error) {
+        List<KillRequest> unsent = new ArrayList<>();
+        QueryException firstError = error;
+        for (int i = 0; i < requests.size(); i++) {
+            KillRequest request = requests.get(i);
+            CmdInformation cmdInformation = results[i] == null ? null : results[i].getCmdInformation();
+            if (cmdInformation == null) {
+                unsent.add(request);
+            } else if (cmdInformation.getUpdateCount() == Statement.EXECUTE_FAILED) {
+                failed.incrementAndGet();
+                request.done(firstError != null ? firstError
+                        : new QueryException("Could not kill query of thread " + request.threadId, -1, "HY000"));
+                firstError = null;
+            } else {
+                sent.incrementAndGet();
+                request.done(null);
+            }
+        }
+        return unsent;
+    }
+
+    private static void reportError(List<KillRequest> requests, QueryException error) {
+        for (KillRequest request : requests) {
+            failed.incrementAndGet();
+            request.done(error);
+        }
+    }
+
+    private void closeProtocol() {
+        if (protocol != null) {
+            protocol.close();
+            protocol = null;
+        }
+    }
+
+    /**
+     * Close connection and forget channel if no kill has been requested for minIdle milliseconds.
+     * A kill requested afterward on this instance creates a new connection, closed the same way.
+     *
+     * @param minIdle minimum idle time in milliseconds
+     */
+    private void closeIfIdle(long minIdle) {
+        Protocol idleProtocol;
+        synchronized (this) {
+            if (running) return;
+            long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUse);
+            if (idle < minIdle) return;
+            channels.remove(key, this);
+            idleProtocol = protocol;
+            protocol = null;
+        }
+        if (idleProtocol != null) idleProtocol.close();
+    }
+
+    public static Stats getStats() {
+        return new Stats(requested.get(), merged.get(), sent.get(), roundTrips.get(), failed.get(), connections.get(),
+                totalLatency.get(), maxLatency.get());
+    }
+
+    private static final class KillRequest {
+        private final long threadId;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile QueryException error;
+
+        KillRequest(long threadId) {
+            this.threadId = threadId;
+        }
+
+        void done(QueryException error) {
+            if (latch.getCount() == 0) return;
+            this.error = error;
+            latch.countDown();
+        }
+
+        /**
+         * Wait for kill.
+         * Request is still sent if waiting fails, but result is not reported anymore.
+         *
+         * @param timeout maximum time to wait in milliseconds
+         * @throws QueryException if kill failed, did not complete in time, or thread was interrupted
+         */
+        void await(long timeout) throws QueryException {
+            try {
+                if (!latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    failed.incrementAndGet();
+                    throw new QueryException("Could not kill query : no result after " + timeout + "ms", -1,
+                            TIMEOUT_EXCEPTION.getSqlState());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new QueryException("Could not kill query : interrupted while waiting", -1,
+                        INTERRUPTED_EXCEPTION.getSqlState(), e);
+            }
+            if (error != null) throw error;
+        }
+    }
+
+    /**
+     * Channel identity : host and all connection options, since they can change the connection used for kills
+     * (user, password, SSL, timeouts, ...).
+     */
+    private static final class ChannelKey {
+        private final String host;
+        private final int port;
+        private final String database;
+        private final String user;
+        private final Options options;
+
+        ChannelKey(HostAddress hostAddress, UrlParser urlParser) {
+            this.host = hostAddress.host;
+            this.port = hostAddress.port;
+            this.database = urlParser.getDatabase();
+            this.user = urlParser.getUsername();
+            this.options = urlParser.getOptions();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ChannelKey)) return false;
+            ChannelKey key = (ChannelKey) obj;
+            return port == key.port
+                    && host.equals(key.host)
+                    && (database != null ? database.equals(key.database) : key.database == null)
+                    && (user != null ? user.equals(key.user) : key.user == null)
+                    && options.equals(key.options);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = host.hashCode();
+            result = 31 * result + port;
+            result = 31 * result + (user != null ? user.hashCode() : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Kill statistics of all channels since JVM start.
+     */
+    public static final class Stats {
+        private final long requested;
+        private final long merged;
+        private final long sent;
+        private final long roundTrips;
+        private final long failed;
+        private final long connections;
+        private final long totalLatency;
+        private final long maxLatency;
+
+        Stats(long requested, long merged, long sent, long roundTrips, long failed, long connections, long totalLatency,
+              long maxLatency) {
+            this.requested = requested;
+            this.merged = merged;
+            this.sent = sent;
+            this.roundTrips = roundTrips;
+            this.failed = failed;
+            this.connections = connections;
+            this.totalLatency = totalLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        /**
+         * Number of kills requested.
+         *
+         * @return requested count
+         */
+        public long getRequested() {
+            return requested;
+        }
+
+        /**
+         * Number of kills requested for a thread id already waiting to be killed, so not sent again.
+         *
+         * @return merged count
+         */
+        public long getMerged() {
+            return merged;
+        }
+
+        /**
+         * Number of KILL QUERY commands successfully executed.
+         *
+         * @return sent count
+         */
+        public long getSent() {
+            return sent;
+        }
+
+        /**
+         * Number of server round trips, a round trip sending all kills waiting at that time.
+         *
+         * @return round trip count
+         */
+        public long getRoundTrips() {
+            return roundTrips;
+        }
+
+        /**
+         * Number of KILL QUERY commands that failed (connection error, unknown thread id, ...).
+         *
+         * @return failed count
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Number of channel connections created.
+         *
+         * @return connection count
+         */
+        public long getConnections() {
+            return connections;
+        }
+
+        /**
+         * Sum of kill latencies, from request to KILL QUERY command result.
+         *
+         * @return total latency in nanoseconds
+         */
+        public long getTotalLatency() {
+            return totalLatency;
+        }
+
+        /**
+         * Maximum kill latency.
+         *
+         * @return maximum latency in nanoseconds
+         */
+        public long getMaxLatency() {
+            return maxLatency;
+        }
+
+        /**
+         * Average kill latency.
+         *
+         * @return average latency in nanoseconds
+         */
+        public long getAverageLatency() {
+            return requested == 0 ? 0 : totalLatency / requested;
+        }
+
+        @Override
+        public String toString() {
+            return "KillChannel{requested=" + requested + ", merged=" + merged + ", sent=" + sent
+                    + ", roundTrips=" + roundTrips + ", failed=" + failed + ", connections=" + connections + ", averageLatency="
+                    + getAverageLatency() + "ns, maxLatency=" + maxLatency + "ns}";
+        }
+    }
+}
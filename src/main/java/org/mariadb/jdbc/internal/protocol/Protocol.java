@@ -60,6 +60,7 @@ import org.mariadb.jdbc.internal.queryresults.resultset.MariaSelectResultSet;
 import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.PipelineQuery;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
@@ -71,6 +72,7 @@ import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.locks.ReentrantLock;
 
 public interface Protocol {
@@ -102,6 +104,10 @@ public interface Protocol {
 
     void setCatalog(String database) throws QueryException;
 
+    void reset() throws QueryException;
+
+    int getResetCount();
+
     String getServerVersion();
 
     boolean isConnected();
@@ -139,6 +145,9 @@ public interface Protocol {
     void executeQuery(boolean mustExecuteOnMaster, Results results, final ClientPrepareResult clientPrepareResult,
                       ParameterHolder[] parameters) throws QueryException;
 
+    void executeQueryAsync(boolean mustExecuteOnMaster, String sql, FutureTask<?> resultReader, Runnable resultPublisher)
+            throws QueryException;
+
     void executeBatchMulti(boolean mustExecuteOnMaster, Results results, final ClientPrepareResult clientPrepareResult,
                            List<ParameterHolder[]> parameterList) throws QueryException;
 
@@ -149,6 +158,8 @@ public interface Protocol {
     void executeBatchRewrite(boolean mustExecuteOnMaster, Results results, final ClientPrepareResult prepareResult,
                              List<ParameterHolder[]> parameterList, boolean rewriteValues) throws QueryException;
 
+    void executePipeline(boolean mustExecuteOnMaster, List<PipelineQuery> queries, Results[] results) throws QueryException;
+
 
     void executePreparedQuery(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
                               Results results, ParameterHolder[] parameters) throws QueryException;
@@ -157,6 +168,9 @@ public interface Protocol {
                                            Results results, String sql,
                                            List<ParameterHolder[]> parameterList) throws QueryException;
 
+    void executeBulk(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult, Results results,
+                     List<ParameterHolder[]> parameterList) throws QueryException;
+
     ServerPrepareResult prepareAndExecute(boolean mustExecuteOnMaster, ServerPrepareResult serverPrepareResult,
                                           Results results, String sql, ParameterHolder[] parameters) throws QueryException;
 
@@ -194,10 +208,16 @@ public interface Protocol {
 
     long getServerThreadId();
 
+    boolean supportsBulkOperations();
+
     void setTransactionIsolation(int level) throws QueryException;
 
     int getTransactionIsolationLevel();
 
+    int getAutoIncrementIncrement();
+
+    boolean isSessionStateTracked();
+
     boolean isExplicitClosed();
 
     void connectWithoutProxy() throws QueryException;
@@ -55,7 +55,7 @@ import org.mariadb.jdbc.internal.queryresults.resultset.MariaSelectResultSet;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.*;
+import java.util.Arrays;
 
 /**
  * Permit to store multiple update count / insert ids.
@@ -70,8 +70,11 @@ import java.util.*;
  */
 public class CmdInformationMultiple implements CmdInformation {
 
-    private Deque<Long> insertIds;
-    private Deque<Integer> updateCounts;
+    private long[] insertIds;
+    private int insertIdsSize;
+    private int[] updateCounts;
+    private int updateCountsSize;
+    private int position;
     private int expectedSize;
 
     /**
@@ -82,11 +85,8 @@ public class CmdInformationMultiple implements CmdInformation {
      * @param expectedSize expected batch size
      */
     public CmdInformationMultiple(long insertId, int updateCount, int expectedSize) {
-        this.expectedSize = expectedSize;
-        this.insertIds = new ArrayDeque<>(expectedSize);
-        this.updateCounts = new ArrayDeque<>(expectedSize);
-        if (insertId != 0) this.insertIds.add(insertId);
-        this.updateCounts.add(updateCount);
+        this(updateCount, expectedSize);
+        if (insertId != 0) addInsertId(insertId);
     }
 
     /**
@@ -97,9 +97,9 @@ public class CmdInformationMultiple implements CmdInformation {
      */
     public CmdInformationMultiple(int updateCount, int expectedSize) {
         this.expectedSize = expectedSize;
-        this.insertIds = new ArrayDeque<>(expectedSize);
-        this.updateCounts = new ArrayDeque<>(expectedSize);
-        this.updateCounts.add(updateCount);
+        this.insertIds = new long[Math.max(expectedSize, 1)];
+        this.updateCounts = new int[Math.max(expectedSize, 1)];
+        addUpdateCount(updateCount);
     }
 
     /**
@@ -108,43 +108,49 @@ public class CmdInformationMultiple implements CmdInformation {
      * @param expectedSize expected batch size.
      */
     public CmdInformationMultiple(int expectedSize) {
-        this.expectedSize = expectedSize;
-        this.insertIds = new ArrayDeque<>(expectedSize);
-        this.updateCounts = new ArrayDeque<>(expectedSize);
-        this.updateCounts.add(Statement.EXECUTE_FAILED);
+        this(Statement.EXECUTE_FAILED, expectedSize);
+    }
+
+    private void addUpdateCount(int updateCount) {
+        if (updateCountsSize == updateCounts.length) {
+            updateCounts = Arrays.copyOf(updateCounts, updateCounts.length * 2);
+        }
+        updateCounts[updateCountsSize++] = updateCount;
+    }
+
+    private void addInsertId(long insertId) {
+        if (insertIdsSize == insertIds.length) {
+            insertIds = Arrays.copyOf(insertIds, insertIds.length * 2);
+        }
+        insertIds[insertIdsSize++] = insertId;
     }
 
     @Override
     public void addStats(int updateCount) {
-        this.updateCounts.add(updateCount);
+        addUpdateCount(updateCount);
     }
 
     @Override
     public void addStats(int updateCount, long insertId) {
-        if (insertId != 0) this.insertIds.add(insertId);
-        this.updateCounts.add(updateCount);
+        if (insertId != 0) addInsertId(insertId);
+        addUpdateCount(updateCount);
     }
 
     @Override
     public int[] getUpdateCounts() {
-        int[] ret = new int[Math.max(updateCounts.size(), expectedSize)];
-        int pos = 0;
-        for (Integer updateCount : updateCounts) {
-            ret[pos++] = updateCount;
-        }
+        int size = updateCountsSize - position;
+        int[] ret = new int[Math.max(size, expectedSize)];
+        System.arraycopy(updateCounts, position, ret, 0, size);
 
         //in case of Exception
-        while (pos < ret.length) {
-            ret[pos++] = Statement.EXECUTE_FAILED;
-        }
+        if (size < ret.length) Arrays.fill(ret, size, ret.length, Statement.EXECUTE_FAILED);
 
         return ret;
     }
 
     @Override
     public int getUpdateCount() {
-        Integer updateCount = updateCounts.peekFirst();
-        return (updateCount == null) ? NO_UPDATE_COUNT : updateCount;
+        return (position < updateCountsSize) ? updateCounts[position] : NO_UPDATE_COUNT;
     }
 
     /**
@@ -154,29 +160,25 @@ public class CmdInformationMultiple implements CmdInformation {
      * @return a resultSet with insert ids.
      */
     public ResultSet getGeneratedKeys(Protocol protocol) {
-        long[] ret = new long[insertIds.size()];
-        Iterator<Long> iterator = insertIds.iterator();
-        for (int i = 0; i < ret.length; i++) {
-            ret[i] = iterator.next().longValue();
-        }
-        return MariaSelectResultSet.createGeneratedData(ret, protocol, true);
+        return MariaSelectResultSet.createGeneratedData(Arrays.copyOf(insertIds, insertIdsSize), protocol, true);
     }
 
     public int getCurrentStatNumber() {
-        return updateCounts.size();
+        return updateCountsSize - position;
     }
 
     @Override
     public boolean moreResults() {
-        if (updateCounts.pollFirst() != null) return isCurrentUpdateCount();
+        if (position < updateCountsSize) {
+            position++;
+            return isCurrentUpdateCount();
+        }
         return false;
     }
 
     @Override
     public boolean isCurrentUpdateCount() {
-        Integer updateCount = updateCounts.peekFirst();
-        return (updateCount == null) ? false : NO_UPDATE_COUNT != updateCount;
+        return position < updateCountsSize && NO_UPDATE_COUNT != updateCounts[position];
     }
 
 }
-
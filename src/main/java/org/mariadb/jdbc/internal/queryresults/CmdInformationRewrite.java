@@ -55,12 +55,16 @@ import org.mariadb.jdbc.internal.queryresults.resultset.MariaSelectResultSet;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.*;
+import java.util.Arrays;
 
 public class CmdInformationRewrite implements CmdInformation {
 
-    private Deque<Long> insertIds;
-    private Deque<Integer> updateCounts;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] insertIds;
+    private int[] updateCounts;
+    private int size;
+    private int currentStat;
     private int insertIdNumber = 0;
     private int expectedSize;
     private boolean hasException;
@@ -77,23 +81,32 @@ public class CmdInformationRewrite implements CmdInformation {
      */
     public CmdInformationRewrite(int expectedSize) {
         this.expectedSize = expectedSize;
-        this.insertIds = new ArrayDeque<>(expectedSize);
-        this.updateCounts = new ArrayDeque<>(expectedSize);
+        //results are per rewritten query, not per batch statement
+        this.insertIds = new long[INITIAL_CAPACITY];
+        this.updateCounts = new int[INITIAL_CAPACITY];
         this.hasException = false;
     }
 
+    private void add(int updateCount, long insertId) {
+        if (size == updateCounts.length) {
+            updateCounts = Arrays.copyOf(updateCounts, size * 2);
+            insertIds = Arrays.copyOf(insertIds, size * 2);
+        }
+        updateCounts[size] = updateCount;
+        insertIds[size++] = insertId;
+    }
+
     @Override
     public void addStats(int updateCount) {
         hasException = true;
-        this.updateCounts.add(updateCount);
+        add(updateCount, 0);
     }
 
     @Override
     public void addStats(int updateCount, long insertId) {
         if (insertId != 0) {
-            this.insertIds.add(insertId);
             insertIdNumber += updateCount;
-            this.updateCounts.add(updateCount);
+            add(updateCount, insertId);
         }
     }
 
@@ -119,10 +132,10 @@ public class CmdInformationRewrite implements CmdInformation {
     public ResultSet getGeneratedKeys(Protocol protocol) {
         long[] ret = new long[insertIdNumber];
         int position = 0;
-        Iterator<Long> iterator = insertIds.iterator();
-        for (int updateCount : updateCounts) {
+        for (int pos = 0; pos < size; pos++) {
+            int updateCount = updateCounts[pos];
             if (updateCount != Statement.EXECUTE_FAILED) {
-                long insertId = iterator.next().longValue();
+                long insertId = insertIds[pos];
                 for (int i = 0; i < updateCount; i++) {
                     ret[position++] = insertId + i * autoIncrement;
                 }
@@ -132,24 +145,25 @@ public class CmdInformationRewrite implements CmdInformation {
     }
 
     public int getCurrentStatNumber() {
-        return updateCounts.size();
+        return size - currentStat;
     }
 
 
     @Override
     public boolean moreResults() {
-        if (updateCounts.pollFirst() != null) return isCurrentUpdateCount();
+        if (currentStat < size) {
+            currentStat++;
+            return isCurrentUpdateCount();
+        }
         return false;
     }
 
     @Override
     public boolean isCurrentUpdateCount() {
-        Integer updateCount = updateCounts.peekFirst();
-        return (updateCount == null) ? false : NO_UPDATE_COUNT != updateCount;
+        return currentStat < size && NO_UPDATE_COUNT != updateCounts[currentStat];
     }
 
     void setAutoIncrement(int autoIncrement) {
         this.autoIncrement = autoIncrement;
     }
 }
-
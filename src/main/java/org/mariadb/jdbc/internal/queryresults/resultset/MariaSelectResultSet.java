@@ -57,6 +57,7 @@ import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 import org.mariadb.jdbc.internal.packet.Packet;
+import org.mariadb.jdbc.internal.packet.read.LargeValueInputStream;
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 import org.mariadb.jdbc.internal.packet.result.*;
 import org.mariadb.jdbc.internal.protocol.Protocol;
@@ -69,6 +70,7 @@ import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.buffer.Buffer;
 import org.mariadb.jdbc.internal.util.constant.ServerStatus;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 
 import java.io.*;
 import java.math.BigDecimal;
@@ -81,10 +83,17 @@ import java.sql.Date;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import static org.mariadb.jdbc.internal.util.SqlStates.CONNECTION_EXCEPTION;
+import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
 
 @SuppressWarnings("deprecation")
 public class MariaSelectResultSet implements ResultSet {
@@ -94,6 +103,11 @@ public class MariaSelectResultSet implements ResultSet {
     public static final int TINYINT1_IS_BIT = 1;
     public static final int YEAR_IS_DATE_TYPE = 2;
     private static final Pattern isIntegerRegex = Pattern.compile("^-?\\d+\\.0+$");
+    private static final ThreadPoolExecutor prefetchScheduler = SchedulerServiceProviderHolder.getBulkScheduler();
+    private static final String STREAMING_READ_ERROR = "Server has closed the connection. If result set contain huge amount of data, "
+            + "Server expects client to read off the result set relatively fast. "
+            + "In this case, please consider increasing net_wait_timeout session variable."
+            + " / processing your result set faster (check Streaming result sets documentation for more information)";
 
     private Protocol protocol;
     private ReadPacketFetcher packetFetcher;
@@ -103,13 +117,15 @@ public class MariaSelectResultSet implements ResultSet {
     private RowPacket rowPacket;
     private ColumnInformation[] columnsInformation;
 
-    private byte[] lastReusableArray = null;
     private boolean isEof;
     private boolean isBinaryEncoded;
     private int dataFetchTime;
     private boolean streaming;
     private int columnInformationLength;
-    private List<byte[][]> resultSet;
+    private List<byte[]> resultSet;
+    private int[] fieldOffsets;
+    private int[] fieldLengths;
+    private byte[] indexedRow;
     private int resultSetSize;
     private int fetchSize;
     private int resultSetScrollType;
@@ -123,6 +139,17 @@ public class MariaSelectResultSet implements ResultSet {
     private boolean isClosed;
     public boolean callableResult;
 
+    //streaming prefetch : next fetchSize rows are read in background, and only handed over by prefetchTask result
+    private boolean prefetch;
+    private ReentrantLock lock;
+    private FutureTask<PrefetchedRows> prefetchTask;
+    private AtomicBoolean prefetchClaim;
+    private PrefetchedRows prefetchedRows;
+
+    //streaming : last column value of last read row (row bigger than 16M), still to be read from socket
+    private LargeValueInputStream pendingValue;
+    private boolean pendingValueStreamed;
+
     /**
      * Create Streaming resultSet.
      *
@@ -165,6 +192,8 @@ public class MariaSelectResultSet implements ResultSet {
         } else {
             rowPacket = new TextRowPacket(columnInformationLength);
         }
+        this.fieldOffsets = new int[columnInformationLength];
+        this.fieldLengths = new int[columnInformationLength];
         this.fetchSize = results.getFetchSize();
         this.resultSetScrollType = results.getResultSetScrollType();
         this.resultSet = new ArrayList<>();
@@ -181,6 +210,11 @@ public class MariaSelectResultSet implements ResultSet {
             resultSet = new ArrayList<>(fetchSize);
             nextStreamingValue();
             streaming = true;
+            if (options.useStreamingPrefetch && !isEof) {
+                prefetch = true;
+                lock = protocol.getLock();
+                startPrefetch();
+            }
         }
 
     }
@@ -215,9 +249,15 @@ public class MariaSelectResultSet implements ResultSet {
         this.columnInformationLength = columnInformation.length;
         this.isEof = false;
         this.isBinaryEncoded = false;
+        this.rowPacket = new TextRowPacket(columnInformationLength);
+        this.fieldOffsets = new int[columnInformationLength];
+        this.fieldLengths = new int[columnInformationLength];
         this.fetchSize = 1;
         this.resultSetScrollType = resultSetScrollType;
-        this.resultSet = resultSet;
+        this.resultSet = new ArrayList<>(resultSet.size());
+        for (byte[][] row : resultSet) {
+            this.resultSet.add(TextRowPacket.encodeRow(row));
+        }
         this.resultSetSize = this.resultSet.size();
         this.dataFetchTime = 0;
         this.rowPointer = -1;
@@ -319,7 +359,7 @@ public class MariaSelectResultSet implements ResultSet {
 
     private void fetchAllResults() throws IOException, QueryException {
 
-        final List<byte[][]> valueObjects = new ArrayList<>();
+        final List<byte[]> valueObjects = new ArrayList<>();
         while (readNextValue(valueObjects)) {
             //fetch all results
         }
@@ -336,10 +376,18 @@ public class MariaSelectResultSet implements ResultSet {
     public void fetchRemaining() throws SQLException {
         try {
             try {
+                stopPrefetch();
                 if (!isEof) {
                     ReentrantLock lock = protocol.getLock();
                     lock.lock();
                     try {
+                        if (pendingValue != null) {
+                            if (pendingValueStreamed) {
+                                skipPendingValue();
+                            } else {
+                                readPendingValue();
+                            }
+                        }
                         while (readNextValue(resultSet)) {
                             //fetch all results
                         }
@@ -360,12 +408,135 @@ public class MariaSelectResultSet implements ResultSet {
         streaming = false;
     }
 
+    /**
+     * Launch reading of next fetchSize rows in background.
+     * Reading is done by another thread, that will hold connection lock during reading. Read rows and end of data
+     * state are only returned by task result : result set fields are only changed by application thread.
+     * If no thread is available, next rows will be read when needed.
+     */
+    private void startPrefetch() {
+        final int prefetchSize = fetchSize;
+        final AtomicBoolean claim = new AtomicBoolean();
+        FutureTask<PrefetchedRows> task = new FutureTask<>(new Callable<PrefetchedRows>() {
+            @Override
+            public PrefetchedRows call() throws Exception {
+                lock.lockInterruptibly();
+                try {
+                    //connection may have been used for another command before this task can obtain lock
+                    if (!claim.compareAndSet(false, true)) return null;
+                    List<byte[]> rows = new ArrayList<>(prefetchSize);
+                    while (rows.size() < prefetchSize) {
+                        if (!readRow(rows, false)) return new PrefetchedRows(rows, true);
+                    }
+                    return new PrefetchedRows(rows, false);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        try {
+            prefetchScheduler.execute(task);
+            prefetchTask = task;
+            prefetchClaim = claim;
+        } catch (RejectedExecutionException rejectedException) {
+            prefetchTask = null;
+        }
+    }
+
+    /**
+     * Wait for background reading to end. Read rows are then available in prefetchedRows.
+     *
+     * @throws SQLException if background reading failed
+     */
+    private void awaitPrefetch() throws SQLException {
+        if (prefetchTask == null) return;
+        try {
+            prefetchedRows = prefetchTask.get();
+            prefetchTask = null;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for next rows", INTERRUPTED_EXCEPTION.getSqlState(), interruptedException);
+        } catch (ExecutionException executionException) {
+            prefetchTask = null;
+            prefetch = false;
+            Throwable cause = executionException.getCause();
+            if (cause instanceof QueryException) {
+                //error packet : result is ended
+                detachConnection();
+                throw new SQLException(cause);
+            }
+            if (cause instanceof IOException) {
+                throw new SQLException(STREAMING_READ_ERROR, cause);
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Wait for background reading to end, and use read rows as current rows.
+     *
+     * @throws SQLException if background reading failed
+     */
+    private void nextPrefetchedValue() throws SQLException {
+        awaitPrefetch();
+        resultSet = prefetchedRows.rows;
+        resultSetSize = resultSet.size();
+        dataFetchTime++;
+        endPrefetchedRows();
+        if (!isEof) {
+            startPrefetch();
+        }
+    }
+
+    /**
+     * Set end of data state of rows read in background, once handed over.
+     */
+    private void endPrefetchedRows() {
+        if (prefetchedRows.eof) {
+            isEof = true;
+            detachConnection();
+        }
+        prefetchedRows = null;
+    }
+
+    /**
+     * Stop background reading. Rows already read are added to current rows.
+     * Lock is taken : background task is then either finished, or waiting for the lock and will be interrupted
+     * without reading anything.
+     *
+     * @throws SQLException if background reading failed
+     */
+    private void stopPrefetch() throws SQLException {
+        if (!prefetch) return;
+        prefetch = false;
+        if (prefetchTask != null) {
+            lock.lock();
+            try {
+                if (prefetchClaim.compareAndSet(false, true)) {
+                    //task has not read anything, and will not
+                    prefetchTask.cancel(true);
+                    prefetchTask = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            //task has finished reading : result is available without needing the lock
+            awaitPrefetch();
+        }
+        if (prefetchedRows != null) {
+            resultSet.addAll(prefetchedRows.rows);
+            resultSetSize = resultSet.size();
+            endPrefetchedRows();
+        }
+    }
+
     private void nextStreamingValue() throws IOException, QueryException {
 
         resultSet.clear();
-        //fetch maximum fetchSize results
+        //fetch maximum fetchSize results. Last column of a row bigger than 16M is left on socket if not prefetching
         int fetchSizeTmp = fetchSize;
-        while (fetchSizeTmp > 0 && readNextValue(resultSet)) {
+        boolean leaveLargeValue = !options.useStreamingPrefetch;
+        while (fetchSizeTmp > 0 && pendingValue == null && readNextValue(resultSet, leaveLargeValue)) {
             fetchSizeTmp--;
         }
         dataFetchTime++;
@@ -380,7 +551,52 @@ public class MariaSelectResultSet implements ResultSet {
      * @throws IOException    exception
      * @throws QueryException exception
      */
-    public boolean readNextValue(List<byte[][]> values) throws IOException, QueryException {
+    public boolean readNextValue(List<byte[]> values) throws IOException, QueryException {
+        return readNextValue(values, false);
+    }
+
+    /**
+     * Read next value.
+     *
+     * @param values          values
+     * @param leaveLargeValue if row is bigger than 16M, leave last column value on socket, to be read if needed
+     * @return true if have a new value
+     * @throws IOException    exception
+     * @throws QueryException exception
+     */
+    private boolean readNextValue(List<byte[]> values, boolean leaveLargeValue) throws IOException, QueryException {
+        try {
+            if (readRow(values, leaveLargeValue)) return true;
+        } catch (QueryException queryException) {
+            //error packet : result is ended
+            detachConnection();
+            throw queryException;
+        }
+        isEof = true;
+        detachConnection();
+        return false;
+    }
+
+    /**
+     * Release connection references once result has been fully read.
+     */
+    private void detachConnection() {
+        protocol = null;
+        packetFetcher = null;
+        inputStream = null;
+    }
+
+    /**
+     * Read next row, without changing result set state, so that it can be used by background reading.
+     * End of data or error packet only change protocol state.
+     *
+     * @param values          values
+     * @param leaveLargeValue if row is bigger than 16M, leave last column value on socket, to be read if needed
+     * @return true if have a new value, false if end of data
+     * @throws IOException    if connection error occur
+     * @throws QueryException if server returned an error packet
+     */
+    private boolean readRow(List<byte[]> values, boolean leaveLargeValue) throws IOException, QueryException {
         int length = inputStream.readHeader();
         if (length < 0x00ffffff) {
             //There is only one packet.
@@ -394,12 +610,8 @@ public class MariaSelectResultSet implements ResultSet {
             if (read == 255) { //ERROR packet
                 protocol.removeActiveStreamingResult();
                 protocol.setMoreResults(false);
-                Buffer buffer = packetFetcher.getReusableBuffer(remaining, lastReusableArray);
+                Buffer buffer = packetFetcher.getReusableBuffer(remaining);
                 ErrorPacket errorPacket = new ErrorPacket(buffer, false);
-                lastReusableArray = null;
-                protocol = null;
-                packetFetcher = null;
-                inputStream = null;
                 if (statement != null) {
                     throw new QueryException("(conn:" + statement.getServerThreadId() + ") " + errorPacket.getMessage(),
                             errorPacket.getErrorNumber(), errorPacket.getSqlState());
@@ -409,7 +621,7 @@ public class MariaSelectResultSet implements ResultSet {
             }
 
             if (read == 254 && remaining < 9) { //EOF packet
-                Buffer buffer = packetFetcher.getReusableBuffer(remaining, lastReusableArray);
+                Buffer buffer = packetFetcher.getReusableBuffer(remaining);
                 protocol.setHasWarnings(((buffer.buf[0] & 0xff) + ((buffer.buf[1] & 0xff) << 8)) > 0);
 
                 //force the more packet value when this is a callable output result.
@@ -418,32 +630,22 @@ public class MariaSelectResultSet implements ResultSet {
                 //so force the value, since this will corrupt connection.
                 protocol.setMoreResults(callableResult
                         || (((buffer.buf[2] & 0xff) + ((buffer.buf[3] & 0xff) << 8)) & ServerStatus.MORE_RESULTS_EXISTS) != 0);
-                isEof = true;
                 if (!protocol.hasMoreResults()) protocol.removeActiveStreamingResult();
-                protocol = null;
-                packetFetcher = null;
-                inputStream = null;
-                lastReusableArray = null;
                 return false;
             }
 
-            values.add(rowPacket.getRow(packetFetcher, inputStream, remaining, read));
+            values.add(rowPacket.getRow(packetFetcher, remaining, read));
             return true;
         }
 
         //if not possible read with standard packet
-        Buffer buffer = packetFetcher.getReusableBuffer(length, lastReusableArray);
-        lastReusableArray = buffer.buf;
+        Buffer buffer = packetFetcher.getReusableBuffer(length);
 
         //is error Packet
         if (buffer.getByteAt(0) == Packet.ERROR) {
             protocol.removeActiveStreamingResult();
             protocol.setMoreResults(false);
             ErrorPacket errorPacket = new ErrorPacket(buffer);
-            lastReusableArray = null;
-            protocol = null;
-            packetFetcher = null;
-            inputStream = null;
             if (statement != null) {
                 throw new QueryException("(conn:" + statement.getServerThreadId() + ") " + errorPacket.getMessage(),
                         errorPacket.getErrorNumber(), errorPacket.getSqlState());
@@ -454,30 +656,108 @@ public class MariaSelectResultSet implements ResultSet {
 
         //is EOF stream
         if ((buffer.getByteAt(0) == Packet.EOF && buffer.limit < 9)) {
-            isEof = true;
             protocol.setHasWarnings(((buffer.buf[1] & 0xff) + ((buffer.buf[2] & 0xff) << 8)) > 0);
             protocol.setMoreResults(callableResult
                     || (((buffer.buf[3] & 0xff) + ((buffer.buf[4] & 0xff) << 8)) & ServerStatus.MORE_RESULTS_EXISTS) != 0);
             if (!protocol.hasMoreResults()) protocol.removeActiveStreamingResult();
-            protocol = null;
-            packetFetcher = null;
-            inputStream = null;
-            lastReusableArray = null;
             return false;
         }
+
+        if (leaveLargeValue) {
+            int offset = rowPacket.locateLastColumn(buffer.buf, buffer.limit, fieldOffsets, fieldLengths);
+            indexedRow = null;
+            int valueLength = fieldLengths[columnInformationLength - 1];
+            if (offset >= 0 && valueLength > buffer.limit - offset
+                    && isStreamable(columnsInformation[columnInformationLength - 1])) {
+                values.add(Arrays.copyOf(buffer.buf, offset));
+                pendingValue = new LargeValueInputStream(packetFetcher, protocol.getLock(), buffer.buf, offset,
+                        buffer.limit, valueLength);
+                pendingValueStreamed = false;
+                return true;
+            }
+        }
         values.add(rowPacket.getRow(packetFetcher, buffer));
         return true;
     }
 
+    private static boolean isStreamable(ColumnInformation columnInfo) {
+        switch (columnInfo.getType()) {
+            case VARCHAR:
+            case VARSTRING:
+            case STRING:
+            case TINYBLOB:
+            case MEDIUMBLOB:
+            case LONGBLOB:
+            case BLOB:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Indicate if column is the pending large value of current row.
+     *
+     * @param columnIndex column index
+     * @return true if column value is still on socket
+     */
+    private boolean isPendingValue(int columnIndex) {
+        return pendingValue != null && columnIndex == columnInformationLength && rowPointer == resultSetSize - 1;
+    }
+
+    /**
+     * Give pending large value as a stream reading socket. Value can then not be read again.
+     *
+     * @return value stream
+     * @throws SQLException if value has already been streamed
+     */
+    private InputStream streamPendingValue() throws SQLException {
+        if (pendingValueStreamed) {
+            throw new SQLException("Column value has already been read as a stream", "HY000");
+        }
+        pendingValueStreamed = true;
+        lastGetWasNull = false;
+        return pendingValue;
+    }
+
+    /**
+     * Read pending large value, completing current row data.
+     *
+     * @throws IOException if any connection error occur
+     */
+    private void readPendingValue() throws IOException {
+        int rowIndex = resultSet.size() - 1;
+        byte[] rowBeginning = resultSet.get(rowIndex);
+        byte[] row = Arrays.copyOf(rowBeginning, rowBeginning.length + pendingValue.getLength());
+        pendingValue.readRemaining(row, rowBeginning.length);
+        resultSet.set(rowIndex, row);
+        pendingValue = null;
+        indexedRow = null;
+    }
+
+    /**
+     * Skip pending large value remaining data, so next packets can be read.
+     *
+     * @throws IOException if any connection error occur
+     */
+    private void skipPendingValue() throws IOException {
+        pendingValue.skipRemaining();
+        pendingValue = null;
+    }
+
     /**
      * Close resultSet.
      */
     public void close() throws SQLException {
         isClosed = true;
+        stopPrefetch();
         if (protocol != null) {
             ReentrantLock lock = protocol.getLock();
             lock.lock();
             try {
+                if (pendingValue != null) {
+                    skipPendingValue();
+                }
                 while (!isEof) {
                     //fetch all results
                     Buffer buffer = packetFetcher.getReusableBuffer();
@@ -498,7 +778,6 @@ public class MariaSelectResultSet implements ResultSet {
                         protocol.setMoreResults(callableResult || (endOfFilePacket.getStatusFlags() & ServerStatus.MORE_RESULTS_EXISTS) != 0);
                         if (!protocol.hasMoreResults()) protocol.removeActiveStreamingResult();
 
-                        lastReusableArray = null;
                         isEof = true;
                     }
                 }
@@ -517,12 +796,8 @@ public class MariaSelectResultSet implements ResultSet {
         }
 
         //clean releasing memory
-        for (byte[][] bytes : resultSet) {
-            for (int i = 0; i < bytes.length; i++) {
-                bytes[i] = null;
-            }
-        }
         resultSet.clear();
+        indexedRow = null;
 
         if (statement != null) {
             ((MariaDbStatement) statement).checkCloseOnCompletion(this);
@@ -538,18 +813,26 @@ public class MariaSelectResultSet implements ResultSet {
             return true;
         } else {
             if (streaming) {
+                if (prefetchTask != null || prefetchedRows != null) {
+                    nextPrefetchedValue();
+                    rowPointer = 0;
+                    return resultSetSize > 0;
+                }
                 if (isEof) {
                     return false;
                 } else {
                     ReentrantLock lock = protocol.getLock();
                     lock.lock();
                     try {
+                        if (pendingValue != null) {
+                            skipPendingValue();
+                        }
                         nextStreamingValue();
+                        if (prefetch && !isEof) {
+                            startPrefetch();
+                        }
                     } catch (IOException ioe) {
-                        throw new SQLException("Server has closed the connection. If result set contain huge amount of data, Server expects client to"
-                                + " read off the result set relatively fast. "
-                                + "In this case, please consider increasing net_wait_timeout session variable."
-                                + " / processing your result set faster (check Streaming result sets documentation for more information)", ioe);
+                        throw new SQLException(STREAMING_READ_ERROR, ioe);
                     } catch (QueryException queryException) {
                         throw new SQLException(queryException);
                     } finally {
@@ -566,20 +849,56 @@ public class MariaSelectResultSet implements ResultSet {
     }
 
     protected byte[] checkObjectRange(int position) throws SQLException {
+        byte[] row = indexCurrentRow(position);
+        int length = fieldLengths[position - 1];
+        if (length == -1) {
+            return null;
+        }
+        int offset = fieldOffsets[position - 1];
+        return Arrays.copyOfRange(row, offset, offset + length);
+    }
+
+    /**
+     * Locate current row columns data, without copying data.
+     * Column data are then available in returned array, from fieldOffsets[position - 1], with length
+     * fieldLengths[position - 1] (-1 for NULL values).
+     *
+     * @param position column index
+     * @return current row data
+     * @throws SQLException if position is not valid
+     */
+    private byte[] indexCurrentRow(int position) throws SQLException {
         if (this.rowPointer < 0) {
             throwError("Current position is before the first row", ExceptionCode.INVALID_PARAMETER_VALUE);
         }
         if (this.rowPointer >= resultSetSize) {
             throwError("Current position is after the last row", ExceptionCode.INVALID_PARAMETER_VALUE);
         }
-        byte[][] row = resultSet.get(this.rowPointer);
-        if (position <= 0 || position > row.length) {
+        if (position <= 0 || position > columnInformationLength) {
             throwError("No such column: " + position, ExceptionCode.INVALID_PARAMETER_VALUE);
         }
-        byte[] vo = row[position - 1];
+        if (isPendingValue(position)) {
+            if (pendingValueStreamed) {
+                throwError("Column value has already been read as a stream", ExceptionCode.INVALID_PARAMETER_VALUE);
+            }
+            ReentrantLock lock = protocol.getLock();
+            lock.lock();
+            try {
+                readPendingValue();
+            } catch (IOException ioe) {
+                throw new SQLException(STREAMING_READ_ERROR, ioe);
+            } finally {
+                lock.unlock();
+            }
+        }
+        byte[] row = resultSet.get(this.rowPointer);
+        if (row != indexedRow) {
+            rowPacket.indexRow(row, fieldOffsets, fieldLengths);
+            indexedRow = row;
+        }
 
-        this.lastGetWasNull = isNull(vo, columnsInformation[position - 1].getType());
-        return vo;
+        this.lastGetWasNull = isNull(row, position - 1, columnsInformation[position - 1].getType());
+        return row;
     }
 
     private void throwError(String message, ExceptionCode exceptionCode) throws SQLException {
@@ -628,6 +947,12 @@ public class MariaSelectResultSet implements ResultSet {
     @Override
     public boolean isLast() throws SQLException {
         checkClose();
+        if (prefetchTask != null || prefetchedRows != null) {
+            if (rowPointer != resultSetSize - 1 || resultSetSize == 0) return false;
+            //current row is the last of current rows : next rows being read indicate if there is more
+            awaitPrefetch();
+            return prefetchedRows.rows.isEmpty() && prefetchedRows.eof;
+        }
         if (dataFetchTime > 0 && isEof) {
             return rowPointer == resultSetSize - 1 && resultSetSize > 0;
         } else if (streaming) {
@@ -834,12 +1159,49 @@ public class MariaSelectResultSet implements ResultSet {
         return getInputStream(checkObjectRange(columnIndex));
     }
 
+    /**
+     * Indicate if column string value is the raw data, permitting to create String without intermediate copy.
+     *
+     * @param columnInfo column information
+     * @return true if string value is raw data
+     */
+    private boolean isRawString(ColumnInformation columnInfo) {
+        switch (columnInfo.getType()) {
+            case VARCHAR:
+            case VARSTRING:
+            case STRING:
+            case ENUM:
+            case SET:
+            case TINYBLOB:
+            case MEDIUMBLOB:
+            case LONGBLOB:
+            case BLOB:
+                return true;
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case MEDIUMINT:
+            case BIGINT:
+                return !isBinaryEncoded;
+            default:
+                return false;
+        }
+    }
+
     /**
      * {inheritDoc}.
      */
     public String getString(int columnIndex) throws SQLException {
-        byte[] rawByte = checkObjectRange(columnIndex);
-        return getString(rawByte, columnsInformation[columnIndex - 1], cal);
+        byte[] row = indexCurrentRow(columnIndex);
+        ColumnInformation columnInfo = columnsInformation[columnIndex - 1];
+        if (isRawString(columnInfo)) {
+            int length = fieldLengths[columnIndex - 1];
+            if (length == -1) {
+                return null;
+            }
+            return new String(row, fieldOffsets[columnIndex - 1], length, StandardCharsets.UTF_8);
+        }
+        return getString(checkObjectRange(columnIndex), columnInfo, cal);
     }
 
     /**
@@ -948,11 +1310,15 @@ public class MariaSelectResultSet implements ResultSet {
      * {inheritDoc}.
      */
     public InputStream getBinaryStream(int columnIndex) throws SQLException {
-        byte[] rawBytes = checkObjectRange(columnIndex);
-        if (rawBytes == null) {
+        if (isPendingValue(columnIndex)) {
+            return streamPendingValue();
+        }
+        byte[] row = indexCurrentRow(columnIndex);
+        int length = fieldLengths[columnIndex - 1];
+        if (length == -1) {
             return null;
         }
-        return new ByteArrayInputStream(rawBytes);
+        return new ByteArrayInputStream(row, fieldOffsets[columnIndex - 1], length);
     }
 
     /**
@@ -966,7 +1332,26 @@ public class MariaSelectResultSet implements ResultSet {
      * {inheritDoc}.
      */
     public int getInt(int columnIndex) throws SQLException {
-        return getInt(checkObjectRange(columnIndex), columnsInformation[columnIndex - 1]);
+        byte[] row = indexCurrentRow(columnIndex);
+        ColumnInformation columnInfo = columnsInformation[columnIndex - 1];
+        int offset = fieldOffsets[columnIndex - 1];
+        int length = fieldLengths[columnIndex - 1];
+        if (length == -1) {
+            return 0;
+        }
+        if (isBinaryEncoded) {
+            if (isBinaryInteger(columnInfo)) {
+                long value = readBinaryInteger(row, offset, length, columnInfo.isSigned());
+                rangeCheck(Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE, value, columnInfo);
+                return (int) value;
+            }
+        } else if (isAsciiInteger(row, offset, length, columnInfo)) {
+            long value = parseAsciiInteger(row, offset, length);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+        }
+        return getInt(checkObjectRange(columnIndex), columnInfo);
     }
 
     /**
@@ -1042,7 +1427,21 @@ public class MariaSelectResultSet implements ResultSet {
      * {inheritDoc}.
      */
     public long getLong(int columnIndex) throws SQLException {
-        return getLong(checkObjectRange(columnIndex), columnsInformation[columnIndex - 1]);
+        byte[] row = indexCurrentRow(columnIndex);
+        ColumnInformation columnInfo = columnsInformation[columnIndex - 1];
+        int offset = fieldOffsets[columnIndex - 1];
+        int length = fieldLengths[columnIndex - 1];
+        if (length == -1) {
+            return 0;
+        }
+        if (isBinaryEncoded) {
+            if (isBinaryInteger(columnInfo)) {
+                return readBinaryInteger(row, offset, length, columnInfo.isSigned());
+            }
+        } else if (isAsciiInteger(row, offset, length, columnInfo)) {
+            return parseAsciiInteger(row, offset, length);
+        }
+        return getLong(checkObjectRange(columnIndex), columnInfo);
     }
 
     /**
@@ -1207,7 +1606,27 @@ public class MariaSelectResultSet implements ResultSet {
      * {inheritDoc}.
      */
     public double getDouble(int columnIndex) throws SQLException {
-        return getDouble(checkObjectRange(columnIndex), columnsInformation[columnIndex - 1]);
+        byte[] row = indexCurrentRow(columnIndex);
+        ColumnInformation columnInfo = columnsInformation[columnIndex - 1];
+        int offset = fieldOffsets[columnIndex - 1];
+        int length = fieldLengths[columnIndex - 1];
+        if (length == -1) {
+            return 0;
+        }
+        if (isBinaryEncoded) {
+            if (columnInfo.getType() == MariaDbType.DOUBLE) {
+                return Double.longBitsToDouble(readBinaryInteger(row, offset, 8, true));
+            }
+            if (isBinaryInteger(columnInfo)) {
+                return readBinaryInteger(row, offset, length, columnInfo.isSigned());
+            }
+        } else if (columnInfo.getType() != MariaDbType.BIT) {
+            double value = parseAsciiDouble(row, offset, length);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return getDouble(checkObjectRange(columnIndex), columnInfo);
     }
 
 
@@ -1915,6 +2334,9 @@ public class MariaSelectResultSet implements ResultSet {
      * {inheritDoc}.
      */
     public Reader getCharacterStream(int columnIndex) throws SQLException {
+        if (isPendingValue(columnIndex)) {
+            return new InputStreamReader(streamPendingValue(), StandardCharsets.UTF_8);
+        }
         String value = getString(checkObjectRange(columnIndex), columnsInformation[columnIndex - 1]);
         if (value == null) {
             return null;
@@ -3020,6 +3442,205 @@ public class MariaSelectResultSet implements ResultSet {
         }
     }
 
+    /**
+     * Indicate if binary value is an integer that can be read as a long.
+     *
+     * @param columnInfo column information
+     * @return true if value can be read with readBinaryInteger
+     */
+    private static boolean isBinaryInteger(ColumnInformation columnInfo) {
+        switch (columnInfo.getType()) {
+            case TINYINT:
+            case SMALLINT:
+            case YEAR:
+            case INTEGER:
+            case MEDIUMINT:
+                return true;
+            case BIGINT:
+                return columnInfo.isSigned();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Read little-endian binary integer directly from row buffer.
+     *
+     * @param row    row data
+     * @param offset value offset
+     * @param length value length (1, 2, 4 or 8)
+     * @param signed is value signed
+     * @return value
+     */
+    private static long readBinaryInteger(byte[] row, int offset, int length, boolean signed) {
+        long value = 0;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            value = (value << 8) | (row[i] & 0xff);
+        }
+        if (signed && length < 8) {
+            int shift = 64 - 8 * length;
+            value = (value << shift) >> shift;
+        }
+        return value;
+    }
+
+    /**
+     * Indicate if text value is an integer that parseAsciiInteger can decode : optional minus sign, 1 to 18 digits
+     * (no overflow possible), optionally followed by a decimal part containing only zeros (like "1.000").
+     * Other values (floating types, exponents, bigger values, ...) must use the standard parsing.
+     *
+     * @param row        row data
+     * @param offset     value offset
+     * @param length     value length
+     * @param columnInfo column information
+     * @return true if value can be decoded by parseAsciiInteger
+     */
+    private static boolean isAsciiInteger(byte[] row, int offset, int length, ColumnInformation columnInfo) {
+        switch (columnInfo.getType()) {
+            case BIT:
+            case FLOAT:
+            case DOUBLE:
+                return false;
+            default:
+                int pos = offset;
+                int end = offset + length;
+                if (pos < end && row[pos] == '-') {
+                    pos++;
+                }
+                int digitStart = pos;
+                while (pos < end && row[pos] >= '0' && row[pos] <= '9') {
+                    pos++;
+                }
+                int digits = pos - digitStart;
+                if (digits == 0 || digits > 18) {
+                    return false;
+                }
+                if (pos < end) {
+                    if (row[pos++] != '.' || pos == end) {
+                        return false;
+                    }
+                    while (pos < end) {
+                        if (row[pos++] != '0') {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Decode ASCII integer value directly from row buffer. Value must have been validated by isAsciiInteger.
+     *
+     * @param row    row data
+     * @param offset value offset
+     * @param length value length
+     * @return value
+     */
+    private static long parseAsciiInteger(byte[] row, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        boolean negate = false;
+        if (row[pos] == '-') {
+            negate = true;
+            pos++;
+        }
+        long result = 0;
+        while (pos < end && row[pos] != '.') {
+            result = result * 10 + row[pos++] - '0';
+        }
+        return negate ? -result : result;
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Decode ASCII decimal value directly from row buffer.
+     * Only values with at most 15 significant digits and a decimal exponent between -22 and 22 are decoded :
+     * mantissa and power of ten are then exact doubles, so a single multiplication / division gives the correctly
+     * rounded result, identical to Double.parseDouble().
+     *
+     * @param row    row data
+     * @param offset value offset
+     * @param length value length
+     * @return value, or NaN if value must be parsed using Double.parseDouble()
+     */
+    private static double parseAsciiDouble(byte[] row, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        boolean negate = false;
+        if (pos < end && (row[pos] == '-' || row[pos] == '+')) {
+            negate = row[pos] == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean decimalPart = false;
+        for (; pos < end; pos++) {
+            byte digit = row[pos];
+            if (digit == '.' && !decimalPart) {
+                decimalPart = true;
+                continue;
+            }
+            if (digit < '0' || digit > '9') {
+                break;
+            }
+            hasDigits = true;
+            if (mantissa != 0 || digit != '0') {
+                if (++significantDigits > 15) {
+                    return Double.NaN;
+                }
+            }
+            mantissa = mantissa * 10 + digit - '0';
+            if (decimalPart) {
+                exponent--;
+            }
+        }
+        if (!hasDigits) {
+            return Double.NaN;
+        }
+
+        if (pos < end && (row[pos] == 'e' || row[pos] == 'E')) {
+            pos++;
+            boolean negateExponent = false;
+            if (pos < end && (row[pos] == '-' || row[pos] == '+')) {
+                negateExponent = row[pos] == '-';
+                pos++;
+            }
+            if (pos == end) {
+                return Double.NaN;
+            }
+            int exponentValue = 0;
+            for (; pos < end; pos++) {
+                if (row[pos] < '0' || row[pos] > '9' || exponentValue > 1000) {
+                    return Double.NaN;
+                }
+                exponentValue = exponentValue * 10 + row[pos] - '0';
+            }
+            exponent += negateExponent ? -exponentValue : exponentValue;
+        }
+        if (pos != end) {
+            return Double.NaN;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negate ? -value : value;
+    }
+
     private int getTinyInt(byte[] rawBytes, ColumnInformation columnInfo) throws SQLException {
         int value = rawBytes[0];
         if (!columnInfo.isSigned()) {
@@ -3573,18 +4194,49 @@ public class MariaSelectResultSet implements ResultSet {
     /**
      * Is data null.
      *
-     * @param rawBytes bytes
+     * @param row      current row data
+     * @param index    column index (0-based)
      * @param dataType field datatype
      * @return true if data is null
      */
-    private boolean isNull(byte[] rawBytes, MariaDbType dataType) {
-        return (rawBytes == null
-                || (isBinaryEncoded && ((dataType == MariaDbType.DATE || dataType == MariaDbType.TIMESTAMP || dataType == MariaDbType.DATETIME)
-                && rawBytes.length == 0))
-                || (!isBinaryEncoded && ((dataType == MariaDbType.TIMESTAMP || dataType == MariaDbType.DATETIME)
-                && zeroTimestamp.equals(new String(rawBytes, StandardCharsets.UTF_8))))
-                || (!isBinaryEncoded && (dataType == MariaDbType.DATE && zeroDate.equals(new String(rawBytes, StandardCharsets.UTF_8)))));
+    private boolean isNull(byte[] row, int index, MariaDbType dataType) {
+        int length = fieldLengths[index];
+        if (length == -1) {
+            return true;
+        }
+        switch (dataType) {
+            case DATE:
+                return isBinaryEncoded ? length == 0 : isZero(row, fieldOffsets[index], length, zeroDate);
+            case TIMESTAMP:
+            case DATETIME:
+                return isBinaryEncoded ? length == 0 : isZero(row, fieldOffsets[index], length, zeroTimestamp);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isZero(byte[] row, int offset, int length, String zeroValue) {
+        if (length != zeroValue.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (row[offset + i] != zeroValue.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * Rows read in background, with end of data indicator.
+     */
+    private static final class PrefetchedRows {
+        private final List<byte[]> rows;
+        private final boolean eof;
 
+        PrefetchedRows(List<byte[]> rows, boolean eof) {
+            this.rows = rows;
+            this.eof = eof;
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import java.io.IOException;
+
+/**
+ * Compression algorithm of compressed protocol packets payload.
+ * Packet framing (7 bytes compression header) doesn't depend on codec, so codecs other than zlib are only understood
+ * by a proxy decompressing them before server, like a local sidecar.
+ * A codec instance is used by a single connection. Custom implementations, set by class name with option
+ * compressionCodec, must have a public no-arg constructor.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Set compression level. Called once before any compression.
+     *
+     * @param compressionLevel compression level, -1 meaning codec default level
+     */
+    void setCompressionLevel(int compressionLevel);
+
+    /**
+     * Compress data.
+     *
+     * @param src       data to compress
+     * @param srcOffset data offset
+     * @param length    data length
+     * @param dest      destination buffer
+     * @param maxLength maximum compressed length
+     * @return compressed length, or -1 if compressed data would be longer than maxLength
+     */
+    int compress(byte[] src, int srcOffset, int length, byte[] dest, int maxLength);
+
+    /**
+     * Decompress data.
+     *
+     * @param src                compressed data
+     * @param srcOffset          compressed data offset
+     * @param length             compressed data length
+     * @param dest               destination buffer
+     * @param decompressedLength expected decompressed length
+     * @return decompressed length
+     * @throws IOException if data cannot be decompressed
+     */
+    int decompress(byte[] src, int srcOffset, int length, byte[] dest, int decompressedLength) throws IOException;
+
+    /**
+     * Release codec resources.
+     */
+    void close();
+}
@@ -0,0 +1,184 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Connection compression state for compressed protocol.
+ * Codec state and working buffers are reused for every packet.
+ * Compression is only used by the sending thread and decompression by the reading thread.
+ * Connection can be closed by another thread (abort) : codec native resources are then released once current
+ * compression and decompression are done.
+ */
+public class CompressionEngine {
+
+    private static final float MIN_COMPRESSION_RATIO = 0.9f;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final CompressionCodec codec;
+    private final int compressionThreshold;
+
+    private byte[] compressBuffer = new byte[0];
+    private byte[] compressedData;
+    private byte[] compressedReadBuffer = new byte[0];
+    private byte[] decompressedBuffer = new byte[0];
+
+    //codec users and close state, guarded by this
+    private int users;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param codec                compression codec
+     * @param compressionThreshold packets with a length up to this threshold are sent without compression
+     */
+    public CompressionEngine(CompressionCodec codec, int compressionThreshold) {
+        this.codec = codec;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int length) {
+        return (buffer.length < length) ? new byte[length] : buffer;
+    }
+
+    /**
+     * Compress data.
+     * Compression stops as soon as the result would not be smaller than 90% of initial length.
+     *
+     * @param bytes  data to compress
+     * @param offset data offset
+     * @param length data length
+     * @return compressed length, or -1 if data must be sent uncompressed. Compressed data is then available
+     *     with {@link #getCompressedData()}.
+     */
+    public int compress(byte[] bytes, int offset, int length) {
+        if (length <= compressionThreshold) return -1;
+        //once closed, data is sent uncompressed, and socket write will fail
+        if (!acquire()) return -1;
+        try {
+            int maxLength = (int) (MIN_COMPRESSION_RATIO * length);
+            compressedData = ensureCapacity(compressBuffer, maxLength);
+            if (maxLength <= MAX_RETAINED_BUFFER_SIZE) compressBuffer = compressedData;
+            return codec.compress(bytes, offset, length, compressedData, maxLength);
+        } finally {
+            release();
+        }
+    }
+
+    public byte[] getCompressedData() {
+        return compressedData;
+    }
+
+    /**
+     * Read a compressed packet and decompress it.
+     *
+     * @param inputStream        stream to read compressed data from
+     * @param compressedLength   compressed length
+     * @param decompressedLength expected decompressed length
+     * @return buffer containing decompressed data from position 0. Buffer is reused by next decompression.
+     * @throws IOException if any socket error occur or if data cannot be decompressed
+     */
+    public byte[] decompress(InputStream inputStream, int compressedLength, int decompressedLength) throws IOException {
+        if (!acquire()) throw new IOException("Connection is closed");
+        try {
+            return decompressPacket(inputStream, compressedLength, decompressedLength);
+        } finally {
+            release();
+        }
+    }
+
+    private byte[] decompressPacket(InputStream inputStream, int compressedLength, int decompressedLength)
+            throws IOException {
+        byte[] compressed = ensureCapacity(compressedReadBuffer, compressedLength);
+        if (compressedLength <= MAX_RETAINED_BUFFER_SIZE) compressedReadBuffer = compressed;
+        byte[] decompressed = ensureCapacity(decompressedBuffer, decompressedLength);
+        if (decompressedLength <= MAX_RETAINED_BUFFER_SIZE) decompressedBuffer = decompressed;
+
+        int off = 0;
+        while (off < compressedLength) {
+            int count = inputStream.read(compressed, off, compressedLength - off);
+            if (count <= 0) {
+                throw new EOFException("unexpected end of stream, read " + off + " bytes from " + compressedLength);
+            }
+            off += count;
+        }
+
+        int actualUncompressBytes = codec.decompress(compressed, 0, compressedLength, decompressed, decompressedLength);
+        if (actualUncompressBytes != decompressedLength) {
+            throw new IOException("Invalid stream length after decompression " + actualUncompressBytes + ",expected "
+                    + decompressedLength);
+        }
+        return decompressed;
+    }
+
+    private synchronized boolean acquire() {
+        if (closed) return false;
+        users++;
+        return true;
+    }
+
+    private synchronized void release() {
+        if (--users == 0 && closed) codec.close();
+    }
+
+    /**
+     * Release codec resources, once current compression or decompression is done.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (users == 0) codec.close();
+    }
+}
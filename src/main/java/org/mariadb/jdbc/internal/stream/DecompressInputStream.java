@@ -53,13 +53,10 @@ package org.mariadb.jdbc.internal.stream;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidParameterException;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
 public class DecompressInputStream extends InputStream implements MariaDbInputStream {
     private static Logger logger = LoggerFactory.getLogger(DecompressInputStream.class);
@@ -69,14 +66,18 @@ public class DecompressInputStream extends InputStream implements MariaDbInputSt
     private byte[] header;
     private byte[] readHeader;
     private boolean doDecompress;
-    private ByteArrayInputStream decompressedByteStream;
+    private byte[] decompressedBuffer;
+    private int decompressedPosition;
+    private CompressionEngine compressionEngine;
 
     /**
      * Constructor of inputStream when compression is used.
      * @param baseStream socket inputStream.
+     * @param compressionEngine connection compression engine
      */
-    public DecompressInputStream(InputStream baseStream) {
+    public DecompressInputStream(InputStream baseStream, CompressionEngine compressionEngine) {
         this.baseStream = baseStream;
+        this.compressionEngine = compressionEngine;
         header = new byte[7];
         readHeader = new byte[4];
     }
@@ -113,7 +114,9 @@ public class DecompressInputStream extends InputStream implements MariaDbInputSt
         int ret;
         int bytesToRead = Math.min(remainingBytes, len);
         if (doDecompress) {
-            ret = decompressedByteStream.read(bytes, off, bytesToRead);
+            System.arraycopy(decompressedBuffer, decompressedPosition, bytes, off, bytesToRead);
+            decompressedPosition += bytesToRead;
+            ret = bytesToRead;
         } else {
             ret = baseStream.read(bytes, off, bytesToRead);
         }
@@ -166,41 +169,21 @@ public class DecompressInputStream extends InputStream implements MariaDbInputSt
         if (decompressedLength != 0) {
             doDecompress = true;
             remainingBytes += decompressedLength;
-            byte[] compressedBuffer = new byte[compressedLength];
-            byte[] decompressedBuffer = new byte[decompressedLength];
-
-            off = 0;
-            remaining = compressedBuffer.length;
-            do {
-                int count = baseStream.read(compressedBuffer, off, remaining);
-                if (count <= 0) {
-                    throw new EOFException("unexpected end of stream, read " + (7 - remaining) + " bytes from " + 7);
-                }
-                remaining -= count;
-                off += count;
-            } while (remaining > 0);
-
-            Inflater inflater = new Inflater();
-            inflater.setInput(compressedBuffer);
-            try {
-                int actualUncompressBytes = inflater.inflate(decompressedBuffer);
-                if (actualUncompressBytes != decompressedLength) {
-                    throw new IOException("Invalid stream length after decompression " + actualUncompressBytes + ",expected "
-                            + decompressedLength);
-                }
-            } catch (DataFormatException dfe) {
-                throw new IOException(dfe);
-            }
-            inflater.end();
-            decompressedByteStream = new ByteArrayInputStream(decompressedBuffer);
+            decompressedBuffer = compressionEngine.decompress(baseStream, compressedLength, decompressedLength);
+            decompressedPosition = 0;
         } else {
             doDecompress = false;
             remainingBytes += compressedLength;
-            decompressedByteStream = null;
+            decompressedBuffer = null;
         }
         logger.trace("read compress packet seq:" + lastPacketSeq + " length:" + remainingBytes);
     }
 
+    @Override
+    public void close() throws IOException {
+        compressionEngine.close();
+    }
+
     @Override
     public int getLastPacketSeq() {
         return lastPacketSeq;
@@ -0,0 +1,187 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import org.mariadb.jdbc.internal.util.buffer.BufferPool;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Command buffer made of a chain of fixed size direct buffers ("chunks"), to be sent with gathering writes.
+ * Growing the chain never copies written data, and direct buffers are written to the socket channel without the
+ * JDK copy into a temporary direct buffer.
+ * Chunks are written in order, each chunk position being the end of its data.
+ * Data that must be contiguous and is bigger than a chunk goes to a dedicated heap chunk.
+ * Chunks are borrowed from the shared {@link BufferPool}, and given back when released.
+ */
+public class DirectBufferChain {
+    public static final int CHUNK_SIZE = 65536;
+
+    private ByteBuffer[] chunks = new ByteBuffer[16];
+    private int count;
+    private int completedLength;
+
+    /**
+     * Create chain with a first chunk.
+     */
+    public DirectBufferChain() {
+        chunks[0] = allocateChunk();
+        count = 1;
+    }
+
+    private static ByteBuffer allocateChunk() {
+        return BufferPool.borrowDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Release all chunks but the first one, that is cleared.
+     *
+     * @return first chunk
+     */
+    public ByteBuffer reset() {
+        release();
+        chunks[0].clear();
+        return chunks[0];
+    }
+
+    /**
+     * Release all chunks but the first one, first chunk data staying available.
+     */
+    public void release() {
+        for (int i = 1; i < count; i++) {
+            BufferPool.giveBack(chunks[i]);
+            chunks[i] = null;
+        }
+        count = 1;
+        completedLength = 0;
+    }
+
+    /**
+     * Drop all chunks. Chain must not be used anymore.
+     * Chunks are not given back to pool, since chain can be closed by another thread while in use.
+     */
+    public void close() {
+        for (int i = 0; i < count; i++) {
+            chunks[i] = null;
+        }
+        count = 0;
+        completedLength = 0;
+    }
+
+    /**
+     * Complete current chunk and add a new one.
+     *
+     * @param current     current chunk (last of chain)
+     * @param minCapacity contiguous size needed
+     * @return new current chunk
+     */
+    public ByteBuffer next(ByteBuffer current, int minCapacity) {
+        completedLength += current.position();
+        ByteBuffer chunk;
+        if (minCapacity > CHUNK_SIZE) {
+            chunk = ByteBuffer.allocate(minCapacity).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            chunk = allocateChunk();
+        }
+        if (count == chunks.length) {
+            ByteBuffer[] newChunks = new ByteBuffer[count * 2];
+            System.arraycopy(chunks, 0, newChunks, 0, count);
+            chunks = newChunks;
+        }
+        chunks[count++] = chunk;
+        return chunk;
+    }
+
+    /**
+     * Total data length.
+     *
+     * @param current current chunk (last of chain)
+     * @return data length of all chunks
+     */
+    public int position(ByteBuffer current) {
+        return completedLength + current.position();
+    }
+
+    public ByteBuffer first() {
+        return chunks[0];
+    }
+
+    /**
+     * Chunks data views, ready to be written : position 0, limit being the end of chunk data.
+     *
+     * @return views, array length being the number of chunks
+     */
+    public ByteBuffer[] views() {
+        ByteBuffer[] views = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            views[i] = chunks[i].duplicate();
+            views[i].flip();
+        }
+        return views;
+    }
+
+    /**
+     * Copy the beginning of first chunk to a heap buffer.
+     *
+     * @param maxLength maximum length to copy
+     * @return heap buffer, limit being the copied length
+     */
+    public ByteBuffer copyFirst(int maxLength) {
+        ByteBuffer view = chunks[0].duplicate();
+        view.flip();
+        if (view.limit() > maxLength) view.limit(maxLength);
+        ByteBuffer copy = ByteBuffer.allocate(view.remaining());
+        copy.put(view);
+        copy.flip();
+        return copy;
+    }
+}
@@ -54,27 +54,27 @@ import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.packet.Packet;
 import org.mariadb.jdbc.internal.util.Utils;
+import org.mariadb.jdbc.internal.util.buffer.BufferPool;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.zip.DeflaterOutputStream;
 
 import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
 
 public class PacketOutputStream extends OutputStream {
 
-    private static final int MIN_COMPRESSION_SIZE = 16 * 1024;
-    private static final float MIN_COMPRESSION_RATIO = 0.9f;
     private static final int MAX_PACKET_LENGTH = 0x00ffffff;
     private static final int HEADER_LENGTH = 4;
     private static final int BUFFER_DEFAULT_SIZE = 4096;
     private static final float NORMAL_INCREASE = 4f;
     private static final float BIG_SIZE_INCREASE = 1.5f;
+    private static final int ENCODE_SLICE_LENGTH = 8192;
     private static Logger logger = LoggerFactory.getLogger(PacketOutputStream.class);
     public ByteBuffer buffer;
     public ByteBuffer firstBuffer;
@@ -86,6 +86,9 @@ public class PacketOutputStream extends OutputStream {
     int maxPacketSize = MAX_PACKET_LENGTH;
     boolean checkPacketLength;
     boolean useCompression;
+    CompressionEngine compressionEngine;
+    DirectBufferChain chain;
+    private byte[] encodeBuffer;
     boolean logQuery;
     int maxQuerySizeToLog;
     private volatile boolean closed = false;
@@ -107,12 +110,23 @@ public class PacketOutputStream extends OutputStream {
     }
 
     protected void increase(int newCapacity) {
-        ByteBuffer newBuffer = ByteBuffer.allocate(newCapacity).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer newBuffer = ByteBuffer.wrap(BufferPool.borrow(newCapacity)).order(ByteOrder.LITTLE_ENDIAN);
         System.arraycopy(buffer.array(), 0, newBuffer.array(), 0, buffer.position());
         newBuffer.position(buffer.position());
+        releaseToPool();
         buffer = newBuffer;
     }
 
+    /**
+     * Give current buffer back to shared pool if it isn't the initial buffer.
+     */
+    private void releaseToPool() {
+        if (buffer != firstBuffer) {
+            BufferPool.giveBack(buffer.array());
+            buffer = firstBuffer;
+        }
+    }
+
     /**
      * Initialize stream sequence. Max stream allowed size will be checked.
      *
@@ -127,7 +141,11 @@ public class PacketOutputStream extends OutputStream {
         this.seqNo = seqNo;
         this.compressSeqNo = seqNo;
         this.checkPacketLength = checkPacketLength;
-        buffer.clear();
+        if (chain != null) {
+            buffer = chain.reset();
+        } else {
+            buffer.clear();
+        }
         buffer.position(4);
     }
 
@@ -182,6 +200,8 @@ public class PacketOutputStream extends OutputStream {
 
     /**
      * Used to send LOAD DATA INFILE. End of data is indicated by stream of length 0.
+     * A file is transferred directly from file to socket when connection uses a socket channel without compression,
+     * up to the file size : remaining data is always read until end of stream.
      *
      * @param is  inputStream to send
      * @param seq stream sequence number
@@ -191,6 +211,9 @@ public class PacketOutputStream extends OutputStream {
         this.seqNo = seq;
 
         if (!useCompression) {
+            if (is.getClass() == FileInputStream.class && outputStream instanceof SocketChannelOutputStream) {
+                transferFile(((FileInputStream) is).getChannel());
+            }
             //No compression
             //According to protocol, buffer can be up to max_allowed_packet, but if max_allowed_packet size > a packet :
             // - it may take a lot of memory client side
@@ -198,76 +221,113 @@ public class PacketOutputStream extends OutputStream {
             //so, reserve the 4th first bytes for packet header to permit writing buffer immediately buffer to socket
 
             int bufLength = Math.min(maxAllowedPacket, MAX_PACKET_LENGTH) - 4;
-            byte[] buf = new byte[bufLength + 4];
+            byte[] buf = BufferPool.borrow(bufLength + 4);
+            try {
+                sendFilePackets(is, buf, bufLength);
+            } finally {
+                BufferPool.giveBack(buf);
+            }
+        } else {
+            //reserve 11 byte for header (7 bytes for compression header + 4 byte packet header)
+            int bufLength = Math.min(maxAllowedPacket - 11, MAX_PACKET_LENGTH - 11);
+            byte[] buf = BufferPool.borrow(bufLength + 11);
+            try {
+                sendFileWithCompression(is, buf, bufLength);
+            } finally {
+                BufferPool.giveBack(buf);
+            }
+        }
+    }
 
-            int len;
-            while ((len = is.read(buf, 4, bufLength)) > 0) {
-                buf[0] = (byte) ((len) & 0xff);
-                buf[1] = (byte) ((len) >>> 8);
-                buf[2] = (byte) ((len) >>> 16);
-                buf[3] = (byte) seqNo++;
-                outputStream.write(buf, 0, len + 4);
+    /**
+     * Send file from its current position up to its size, file data being transferred to socket by the system
+     * (FileChannel.transferTo), without copy in java heap.
+     * Size is only known for a regular file : pipes, devices or /proc files report no or an inexact size, so data
+     * remaining after that size is then to be read until end of stream. Nothing is transferred if the channel is not
+     * seekable.
+     *
+     * @param fileChannel file channel
+     * @throws IOException if any error occur during data send to server
+     */
+    private void transferFile(FileChannel fileChannel) throws IOException {
+        long position;
+        long size;
+        try {
+            position = fileChannel.position();
+            size = fileChannel.size();
+        } catch (IOException ioException) {
+            //not a regular file
+            return;
+        }
 
-                if (logger.isTraceEnabled() && logQuery) {
-                    logger.trace("send packet local file packet seq:" + (seqNo - 1) + " length:" + (len));
-                }
+        SocketChannelOutputStream channelOutputStream = (SocketChannelOutputStream) outputStream;
+        int packetLength = Math.min(maxAllowedPacket, MAX_PACKET_LENGTH) - 4;
+        byte[] header = new byte[4];
+        while (position < size) {
+            int len = (int) Math.min(packetLength, size - position);
+            header[0] = (byte) ((len) & 0xff);
+            header[1] = (byte) ((len) >>> 8);
+            header[2] = (byte) ((len) >>> 16);
+            header[3] = (byte) seqNo++;
+            outputStream.write(header, 0, 4);
+            channelOutputStream.transferFrom(fileChannel, position, len);
+            position += len;
+
+            if (logger.isTraceEnabled() && logQuery) {
+                logger.trace("send packet local file packet seq:" + (seqNo - 1) + " length:" + (len));
             }
+        }
+        fileChannel.position(position);
+    }
 
-            //send empty packet when finish
-            buf[0] = ((byte) 0);
-            buf[1] = ((byte) 0);
-            buf[2] = ((byte) 0);
-            buf[3] = ((byte) seqNo);
-            outputStream.write(buf, 0, 4);
+    private void sendFilePackets(InputStream is, byte[] buf, int bufLength) throws IOException {
+        int len;
+        while ((len = is.read(buf, 4, bufLength)) > 0) {
+            buf[0] = (byte) ((len) & 0xff);
+            buf[1] = (byte) ((len) >>> 8);
+            buf[2] = (byte) ((len) >>> 16);
+            buf[3] = (byte) seqNo++;
+            outputStream.write(buf, 0, len + 4);
 
-        } else {
-            sendFileWithCompression(is);
+            if (logger.isTraceEnabled() && logQuery) {
+                logger.trace("send packet local file packet seq:" + (seqNo - 1) + " length:" + (len));
+            }
         }
+
+        //send empty packet when finish
+        buf[0] = ((byte) 0);
+        buf[1] = ((byte) 0);
+        buf[2] = ((byte) 0);
+        buf[3] = ((byte) seqNo);
+        outputStream.write(buf, 0, 4);
     }
 
-    private void sendFileWithCompression(InputStream is) throws IOException {
-        //compression
-        //reserve 11 byte for header (7 bytes for compression header + 4 byte packet header)
-        int bufLength = Math.min(maxAllowedPacket - 11, MAX_PACKET_LENGTH - 11);
-        byte[] buf = new byte[bufLength + 11];
+    private void sendFileWithCompression(InputStream is, byte[] buf, int bufLength) throws IOException {
         int len;
 
         while ((len = is.read(buf, 11, bufLength)) > 0) {
             boolean compressedPacketSend = false;
 
-            if (len > MIN_COMPRESSION_SIZE) {
-                buf[7] = (byte) ((len) & 0xff);
-                buf[8] = (byte) (((len) >> 8) & 0xff);
-                buf[9] = (byte) (((len) >> 16) & 0xff);
-                buf[10] = (byte) this.seqNo;
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                DeflaterOutputStream deflater = new DeflaterOutputStream(baos);
-                deflater.write(buf, 7, len + 4);
-                deflater.finish();
-                deflater.close();
-
-                byte[] compressedBytes = baos.toByteArray();
-                baos.close();
-
-                if (compressedBytes.length < (int) (MIN_COMPRESSION_RATIO * len)) {
-
-                    int compressedLength = compressedBytes.length;
-
-                    buf[0] = (byte) ((compressedLength) & 0xff);
-                    buf[1] = (byte) (((compressedLength) >> 8) & 0xff);
-                    buf[2] = (byte) (((compressedLength) >> 16) & 0xff);
-                    buf[3] = (byte) this.compressSeqNo++;
-                    buf[4] = (byte) ((len + 4) & 0xff);
-                    buf[5] = (byte) (((len + 4) >> 8) & 0xff);
-                    buf[6] = (byte) (((len + 4) >> 16) & 0xff);
-                    outputStream.write(buf, 0, 7);
-                    outputStream.write(compressedBytes, 0, compressedLength);
-                    this.seqNo++;
-                    compressedPacketSend = true;
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("send compress packet seq:" + compressSeqNo + " length:" + compressedLength
-                                + " gzip data");
-                    }
+            buf[7] = (byte) ((len) & 0xff);
+            buf[8] = (byte) (((len) >> 8) & 0xff);
+            buf[9] = (byte) (((len) >> 16) & 0xff);
+            buf[10] = (byte) this.seqNo;
+            int compressedLength = compressionEngine.compress(buf, 7, len + 4);
+            if (compressedLength != -1) {
+                buf[0] = (byte) ((compressedLength) & 0xff);
+                buf[1] = (byte) (((compressedLength) >> 8) & 0xff);
+                buf[2] = (byte) (((compressedLength) >> 16) & 0xff);
+                buf[3] = (byte) this.compressSeqNo++;
+                buf[4] = (byte) ((len + 4) & 0xff);
+                buf[5] = (byte) (((len + 4) >> 8) & 0xff);
+                buf[6] = (byte) (((len + 4) >> 16) & 0xff);
+                outputStream.write(buf, 0, 7);
+                outputStream.write(compressionEngine.getCompressedData(), 0, compressedLength);
+                this.seqNo++;
+                compressedPacketSend = true;
+                if (logger.isTraceEnabled()) {
+                    logger.trace("send compress packet seq:" + compressSeqNo + " length:" + compressedLength
+                            + " gzip data");
                 }
             }
 
@@ -361,8 +421,7 @@ public class PacketOutputStream extends OutputStream {
         char[] buffer = new char[BUFFER_DEFAULT_SIZE];
         int len;
         while ((len = reader.read(buffer)) > 0) {
-            byte[] bytes = new String(buffer, 0, len).getBytes("UTF-8");
-            write(bytes, 0, bytes.length);
+            writeString(new String(buffer, 0, len));
         }
     }
 
@@ -382,8 +441,7 @@ public class PacketOutputStream extends OutputStream {
             if (read == -1) {
                 return;
             }
-            byte[] bytes = new String(buffer, 0, read).getBytes("UTF-8");
-            write(bytes, 0, bytes.length);
+            writeString(new String(buffer, 0, read));
             remainingReadLength -= read;
         }
 
@@ -393,10 +451,15 @@ public class PacketOutputStream extends OutputStream {
      * Reinitialized buffer to smaller size if needed to avoid memory consumption.
      */
     public void releaseBuffer() {
+        if (chain != null) {
+            chain.release();
+            buffer = chain.first();
+            return;
+        }
         //save big buffer next query to avoid new allocation if next query size is similar
         if ((buffer.capacity() > 4194304 && buffer.limit() * BIG_SIZE_INCREASE < buffer.capacity())
                 || (buffer.capacity() <= 4194304 && buffer.limit() * NORMAL_INCREASE < buffer.capacity())) {
-            buffer = firstBuffer;
+            releaseToPool();
         }
     }
 
@@ -405,10 +468,14 @@ public class PacketOutputStream extends OutputStream {
      * (if logging is active, it will use the buffer to know send query and release buffer after a while)
      */
     public void releaseBufferIfNotLogging() {
+        if (chain != null) {
+            if (!logQuery) releaseBuffer();
+            return;
+        }
         //save big buffer next query to avoid new allocation if next query size is similar
         if (!logQuery && buffer != null && ((buffer.capacity() > 4194304 && buffer.limit() * BIG_SIZE_INCREASE < buffer.capacity())
                 || (buffer.capacity() <= 4194304 && buffer.limit() * NORMAL_INCREASE < buffer.capacity()))) {
-            buffer = firstBuffer;
+            releaseToPool();
         }
     }
 
@@ -419,11 +486,13 @@ public class PacketOutputStream extends OutputStream {
      * @throws IOException if any connection error occur
      */
     public void finishPacketWithoutRelease(boolean logQuery) throws IOException {
-        if (buffer.position() > 4) {
-            checkPacketMaxSize(buffer.position() - 4);
+        if (position() > 4) {
+            checkPacketMaxSize(position() - 4);
 
             if (useCompression) {
                 generatePacketWithCompression(logQuery);
+            } else if (chain != null) {
+                generateChainPacket(logQuery);
             } else {
                 generatePacket(logQuery);
             }
@@ -435,7 +504,12 @@ public class PacketOutputStream extends OutputStream {
      * Force buffer cleanup.
      */
     public void forceCleanupBuffer() {
-        Arrays.fill(buffer.array(), (byte) 0x00);
+        if (buffer.hasArray()) {
+            Arrays.fill(buffer.array(), (byte) 0x00);
+        } else {
+            buffer.clear();
+            while (buffer.hasRemaining()) buffer.put((byte) 0x00);
+        }
     }
 
     @Override
@@ -451,6 +525,19 @@ public class PacketOutputStream extends OutputStream {
 
     @Override
     public void write(byte[] bytes, int off, int len) {
+        if (chain != null) {
+            int offset = off;
+            int remaining = len;
+            while (remaining > buffer.remaining()) {
+                int chunkLength = buffer.remaining();
+                buffer.put(bytes, offset, chunkLength);
+                offset += chunkLength;
+                remaining -= chunkLength;
+                buffer = chain.next(buffer, Math.min(remaining, DirectBufferChain.CHUNK_SIZE));
+            }
+            buffer.put(bytes, offset, remaining);
+            return;
+        }
         assureBufferCapacity(len);
         buffer.put(bytes, off, len);
     }
@@ -482,8 +569,8 @@ public class PacketOutputStream extends OutputStream {
      */
     public boolean checkRewritableLength(int length) {
         return !(checkPacketLength
-                && ((!useCompression && buffer.position() + length >= maxAllowedPacket)
-                || (useCompression && buffer.position() + length + 4 >= maxAllowedPacket)));
+                && ((!useCompression && position() + length >= maxAllowedPacket)
+                || (useCompression && position() + length + 4 >= maxAllowedPacket)));
     }
 
     private void checkPacketMaxSize(int limit) throws MaxAllowedPacketException {
@@ -557,31 +644,105 @@ public class PacketOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * Send chain chunks with gathering writes.
+     * First packet header is in the 4 reserved bytes of the first chunk, and when data is bigger than a packet,
+     * next packet headers are inserted in the gathered buffers between chunk slices.
+     *
+     * @param logQuery log query
+     * @throws IOException if any connection error occur
+     */
+    private void generateChainPacket(boolean logQuery) throws IOException {
+        int dataLength = position() - 4;
+        ByteBuffer[] views = chain.views();
+        int packetLength = Math.min(dataLength, maxPacketSize);
+        ByteBuffer first = chain.first();
+        first.put(0, (byte) (packetLength & 0xff));
+        first.put(1, (byte) (packetLength >>> 8));
+        first.put(2, (byte) (packetLength >>> 16));
+        first.put(3, (byte) seqNo++);
+        if (logger.isTraceEnabled() && logQuery) {
+            ByteBuffer sent = chain.copyFirst(maxQuerySizeToLog + 4);
+            logger.trace("send packet seq:" + (seqNo - 1) + " length:" + dataLength
+                    + " data:" + Utils.hexdump(sent.array(), maxQuerySizeToLog, 4, sent.limit() - 4));
+        }
+
+        if (dataLength < maxPacketSize) {
+            ((SocketChannelOutputStream) outputStream).write(views, views.length);
+            return;
+        }
+
+        //multiple packets : cut chunks views at packet boundaries, inserting headers
+        ByteBuffer[] gathered = new ByteBuffer[views.length * 2 + 2 * (dataLength / maxPacketSize) + 2];
+        int gatheredLength = 0;
+        int remainingData = dataLength;
+        int packetRemaining = packetLength + 4;
+        for (ByteBuffer view : views) {
+            while (view.hasRemaining()) {
+                if (packetRemaining == 0) {
+                    remainingData -= maxPacketSize;
+                    packetLength = Math.min(remainingData, maxPacketSize);
+                    ByteBuffer header = ByteBuffer.allocate(4);
+                    header.put((byte) (packetLength & 0xff))
+                            .put((byte) (packetLength >>> 8))
+                            .put((byte) (packetLength >>> 16))
+                            .put((byte) seqNo++);
+                    header.flip();
+                    gathered = addGathered(gathered, gatheredLength++, header);
+                    packetRemaining = packetLength;
+                }
+                int sliceLength = Math.min(view.remaining(), packetRemaining);
+                ByteBuffer slice = view.duplicate();
+                slice.limit(view.position() + sliceLength);
+                gathered = addGathered(gathered, gatheredLength++, slice);
+                view.position(view.position() + sliceLength);
+                packetRemaining -= sliceLength;
+            }
+        }
+        if (packetLength == maxPacketSize) {
+            //data length is a multiple of max packet size : end with an empty packet
+            ByteBuffer header = ByteBuffer.allocate(4);
+            header.put(3, (byte) seqNo++);
+            gathered = addGathered(gathered, gatheredLength++, header);
+        }
+        ((SocketChannelOutputStream) outputStream).write(gathered, gatheredLength);
+    }
+
+    private static ByteBuffer[] addGathered(ByteBuffer[] gathered, int index, ByteBuffer buffer) {
+        ByteBuffer[] array = gathered;
+        if (index == array.length) array = Arrays.copyOf(array, index * 2);
+        array[index] = buffer;
+        return array;
+    }
+
     private void generatePacketWithCompression(boolean logQuery) throws IOException {
         buffer.flip();
         int limit = buffer.limit();
         buffer.position(4);
         int position = 0;
         int expectedPacketSize = limit - 4 + HEADER_LENGTH * ((limit / maxPacketSize) + 1);
-        byte[] bufferBytes = new byte[expectedPacketSize];
-
-        while (position < expectedPacketSize) {
-            int length = buffer.remaining();
-            if (length > maxPacketSize) {
-                length = maxPacketSize;
-            }
-            bufferBytes[position++] = (byte) (length & 0xff);
-            bufferBytes[position++] = (byte) (length >>> 8);
-            bufferBytes[position++] = (byte) (length >>> 16);
-            bufferBytes[position++] = (byte) seqNo++;
-
-            if (length > 0) {
-                buffer.get(bufferBytes, position, length);
-                position += length;
+        byte[] bufferBytes = BufferPool.borrow(expectedPacketSize);
+        try {
+            while (position < expectedPacketSize) {
+                int length = buffer.remaining();
+                if (length > maxPacketSize) {
+                    length = maxPacketSize;
+                }
+                bufferBytes[position++] = (byte) (length & 0xff);
+                bufferBytes[position++] = (byte) (length >>> 8);
+                bufferBytes[position++] = (byte) (length >>> 16);
+                bufferBytes[position++] = (byte) seqNo++;
+
+                if (length > 0) {
+                    buffer.get(bufferBytes, position, length);
+                    position += length;
+                }
             }
+            //now bufferBytes in filled with uncompressed data
+            compressedAndSend(position, bufferBytes, logQuery);
+        } finally {
+            BufferPool.giveBack(bufferBytes);
         }
-        //now bufferBytes in filled with uncompressed data
-        compressedAndSend(position, bufferBytes, logQuery);
     }
 
     /**
@@ -600,28 +761,16 @@ public class PacketOutputStream extends OutputStream {
             packetLength = Math.min(notCompressPosition - position, maxPacketSize);
             boolean compressedPacketSend = false;
 
-            if (packetLength > MIN_COMPRESSION_SIZE) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                DeflaterOutputStream deflater = new DeflaterOutputStream(baos);
-
-                deflater.write(bufferBytes, position, packetLength);
-                deflater.finish();
-                deflater.close();
-
-                byte[] compressedBytes = baos.toByteArray();
-                baos.close();
-
-                if (compressedBytes.length < (int) (MIN_COMPRESSION_RATIO * packetLength)) {
-
-                    int compressedLength = compressedBytes.length;
-                    writeCompressedHeader(compressedLength, packetLength);
-                    if (logger.isTraceEnabled() && logQuery) {
-                        logger.trace("send packet seq:" + compressSeqNo + " length:" + packetLength
-                                + " data:" + Utils.hexdump(compressedBytes, maxQuerySizeToLog));
-                    }
-                    outputStream.write(compressedBytes, 0, compressedLength);
-                    compressedPacketSend = true;
+            int compressedLength = compressionEngine.compress(bufferBytes, position, packetLength);
+            if (compressedLength != -1) {
+                writeCompressedHeader(compressedLength, packetLength);
+                if (logger.isTraceEnabled() && logQuery) {
+                    logger.trace("send packet seq:" + compressSeqNo + " length:" + packetLength
+                            + " data:" + Utils.hexdump(compressionEngine.getCompressedData(), maxQuerySizeToLog, 0,
+                            compressedLength));
                 }
+                outputStream.write(compressionEngine.getCompressedData(), 0, compressedLength);
+                compressedPacketSend = true;
             }
 
             if (!compressedPacketSend) {
@@ -652,8 +801,12 @@ public class PacketOutputStream extends OutputStream {
     @Override
     public void close() throws IOException {
         outputStream.close();
+        //close can be called by another thread (abort, failover) while a command is being written :
+        //buffers are dropped, not given back to pool
+        if (chain != null) chain.close();
         buffer = null;
         firstBuffer = null;
+        chain = null;
         closed = true;
     }
 
@@ -663,6 +816,10 @@ public class PacketOutputStream extends OutputStream {
      * @param len size of the data
      */
     public void assureBufferCapacity(final int len) {
+        if (chain != null) {
+            if (len > buffer.remaining()) buffer = chain.next(buffer, len);
+            return;
+        }
         while (len > buffer.remaining()) {
             int newCapacity = Math.max(
                     (int) (len + buffer.position() * BIG_SIZE_INCREASE),
@@ -729,13 +886,79 @@ public class PacketOutputStream extends OutputStream {
      * @return this.
      */
     public PacketOutputStream writeString(final String str) {
-        final byte[] strBytes;
-        try {
-            strBytes = str.getBytes("UTF-8");
-            return writeByteArray(strBytes);
-        } catch (UnsupportedEncodingException u) {
+        writeUtf8(str, false, false);
+        return this;
+    }
+
+    /**
+     * Write string UTF-8 encoded, escaped if needed, without enclosing quotes.
+     *
+     * @param str                string value to encode
+     * @param escape             escape characters for text protocol
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     */
+    public void writeUtf8(final String str, boolean escape, boolean noBackslashEscapes) {
+        if (chain != null) {
+            encodeUtf8Slices(str, escape, noBackslashEscapes);
+            return;
+        }
+        assureBufferCapacity(str.length() * 3);
+        encodeUtf8(str, escape, noBackslashEscapes);
+    }
+
+    /**
+     * Write string data in text format : UTF-8 encoded, escaped and enclosed in quotes.
+     *
+     * @param str                string value to encode
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     * @return this.
+     */
+    public PacketOutputStream writeStringEscaped(final String str, boolean noBackslashEscapes) {
+        if (chain != null) {
+            write('\'');
+            writeUtf8(str, true, noBackslashEscapes);
+            write('\'');
             return this;
         }
+        assureBufferCapacity(str.length() * 3 + 2);
+        writeStringEscapedUnsafe(str, noBackslashEscapes);
+        return this;
+    }
+
+    /**
+     * Write string data in text format, without checking buffer size.
+     * (buffer size must have been checked beforehand using {@link Utf8Encoder#encodedLength} + 2 !)
+     *
+     * @param str                string value to encode
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     */
+    public void writeStringEscapedUnsafe(final String str, boolean noBackslashEscapes) {
+        buffer.put((byte) '\'');
+        encodeUtf8(str, true, noBackslashEscapes);
+        buffer.put((byte) '\'');
+    }
+
+    private void encodeUtf8(String str, boolean escape, boolean noBackslashEscapes) {
+        if (buffer.hasArray()) {
+            buffer.position(Utf8Encoder.encode(str, buffer.array(), buffer.position(), escape, noBackslashEscapes));
+        } else {
+            encodeUtf8Slices(str, escape, noBackslashEscapes);
+        }
+    }
+
+    /**
+     * Encode string by slices in a small heap array, then copy to chain, for direct buffers that have no array.
+     */
+    private void encodeUtf8Slices(String str, boolean escape, boolean noBackslashEscapes) {
+        if (encodeBuffer == null) encodeBuffer = new byte[ENCODE_SLICE_LENGTH * 3];
+        int length = str.length();
+        int begin = 0;
+        while (begin < length) {
+            int end = Math.min(begin + ENCODE_SLICE_LENGTH, length);
+            if (end < length && Character.isHighSurrogate(str.charAt(end - 1))) end--;
+            write(encodeBuffer, 0, Utf8Encoder.encode(str, begin, end, encodeBuffer, 0, escape, noBackslashEscapes));
+            begin = end;
+        }
     }
 
     /**
@@ -808,13 +1031,16 @@ public class PacketOutputStream extends OutputStream {
      * @return this.
      */
     public PacketOutputStream writeStringLength(final String str) {
-        try {
-            final byte[] strBytes = str.getBytes("UTF-8");
-            assureBufferCapacity(strBytes.length + 9);
-            writeFieldLength(strBytes.length);
-            buffer.put(strBytes);
-        } catch (UnsupportedEncodingException u) {
+        int length = Utf8Encoder.encodedLength(str, false, false);
+        if (chain != null) {
+            assureBufferCapacity(9);
+            writeFieldLength(length);
+            writeUtf8(str, false, false);
+            return this;
         }
+        assureBufferCapacity(length + 9);
+        writeFieldLength(length);
+        encodeUtf8(str, false, false);
         return this;
     }
 
@@ -941,59 +1167,28 @@ public class PacketOutputStream extends OutputStream {
      * @throws QueryException if query size is to big according to server max_allowed_size
      */
     public void send(String sql, byte commandType) throws IOException, QueryException {
+        if (chain != null) {
+            startPacket(0, false);
+            buffer.put(commandType);
+            writeUtf8(sql, false, false);
+            if (position() - 4 > getMaxAllowedPacket()) {
+                throw new QueryException("Could not send query: query size " + (position() - 4)
+                        + " is >= to max_allowed_packet (" + maxAllowedPacket + ")", -1, INTERRUPTED_EXCEPTION);
+            }
+            generateChainPacket(true);
+            return;
+        }
 
         startPacket(0, true);
-        int charsLength = sql.length();
-        int charsOffset = 0;
         int position = 4;
 
-        //create UTF-8 byte array
-        //since java char are internally using UTF-16 using surrogate's pattern, 4 bytes unicode characters will
-        //represent 2 characters : example "\uD83C\uDFA4" = 🎤 unicode 8 "no microphones"
-        //so max size is 3 * charLength + 1 for query type
-        assureBufferCapacity((charsLength * 3) + 1);
+        //UTF-8 max size is 3 * charLength + 1 for query type
+        assureBufferCapacity((sql.length() * 3) + 1);
 
         byte[] arr = buffer.array();
         arr[position++] = commandType;
 
-        while (charsOffset < charsLength) {
-            char currChar = sql.charAt(charsOffset++);
-            if (currChar < 0x80) {
-                arr[position++] = (byte) currChar;
-            } else if (currChar < 0x800) {
-                arr[position++] = (byte) (0xc0 | (currChar >> 6));
-                arr[position++] = (byte) (0x80 | (currChar & 0x3f));
-            } else if (currChar >= 0xD800 && currChar < 0xE000) {
-                //reserved for surrogate - see https://en.wikipedia.org/wiki/UTF-16
-                if (currChar >= 0xD800 && currChar < 0xDC00) {
-                    //is high surrogate
-                    if (charsOffset + 1 > charsLength) {
-                        arr[position++] = (byte) 0x63;
-                    } else {
-                        char nextChar = sql.charAt(charsOffset);
-                        if (nextChar >= 0xDC00 && nextChar < 0xE000) {
-                            //is low surrogate
-                            int surrogatePairs = ((currChar << 10) + nextChar) + (0x010000 - (0xD800 << 10) - 0xDC00);
-                            arr[position++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
-                            arr[position++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
-                            arr[position++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
-                            arr[position++] = (byte) (0x80 | (surrogatePairs & 0x3f));
-                            charsOffset++;
-                        } else {
-                            //must have low surrogate
-                            arr[position++] = (byte) 0x63;
-                        }
-                    }
-                } else {
-                    //low surrogate without high surrogate before
-                    arr[position++] = (byte) 0x63;
-                }
-            } else {
-                arr[position++] = (byte) (0xe0 | ((currChar >> 12)));
-                arr[position++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
-                arr[position++] = (byte) (0x80 | (currChar & 0x3f));
-            }
-        }
+        position = Utf8Encoder.encode(sql, arr, position, false, false);
 
         if (position - 4 < maxPacketSize && !useCompression) {
             arr[0] = (byte) ((position - 4) & 0xff);
@@ -1160,6 +1355,56 @@ public class PacketOutputStream extends OutputStream {
         this.useCompression = useCompression;
     }
 
+    /**
+     * Use compressed protocol, compressing packets with connection compression engine.
+     *
+     * @param compressionEngine connection compression engine
+     */
+    public void setCompressionEngine(CompressionEngine compressionEngine) {
+        this.compressionEngine = compressionEngine;
+        this.useCompression = compressionEngine != null;
+        if (useCompression && chain != null) {
+            chain = null;
+            buffer = firstBuffer;
+        }
+    }
+
+    /**
+     * Build commands in a chain of direct buffers sent with gathering writes, instead of a growing heap buffer.
+     * Only possible when writing to a socket channel without compression, ignored otherwise.
+     */
+    public void useDirectBuffers() {
+        if (outputStream instanceof SocketChannelOutputStream && !useCompression && chain == null) {
+            chain = new DirectBufferChain();
+            buffer = chain.reset();
+            buffer.position(4);
+        }
+    }
+
+    public boolean isUsingDirectBuffers() {
+        return chain != null;
+    }
+
+    /**
+     * Current command length, including the 4 bytes reserved for first packet header.
+     *
+     * @return command length
+     */
+    public int position() {
+        return (chain != null) ? chain.position(buffer) : buffer.position();
+    }
+
+    /**
+     * Buffer containing the last command, for logging purpose.
+     * When using direct buffers, this is a heap copy of the beginning of command.
+     *
+     * @return buffer containing last command
+     */
+    public ByteBuffer getQueryBuffer() {
+        if (chain != null) return chain.copyFirst(DirectBufferChain.CHUNK_SIZE);
+        return buffer;
+    }
+
     /**
      * Send COM_STMT_CLOSE packet.
      *
@@ -1167,28 +1412,42 @@ public class PacketOutputStream extends OutputStream {
      * @throws IOException if connection error occur.
      */
     public void closePrepare(int statementId) throws IOException {
-        byte[] packetBuffer;
-        if (useCompression) {
-            packetBuffer = new byte[12];
-            packetBuffer[0] = (byte) 5;
-            //packetBuffer[1,2,3,4,5,6] = (byte) 0;
-            packetBuffer[7] = Packet.COM_STMT_CLOSE;
-            packetBuffer[8] = (byte) (statementId & 0xff);
-            packetBuffer[9] = (byte) ((statementId >> 8) & 0xff);
-            packetBuffer[10] = (byte) ((statementId >> 16) & 0xff);
-            packetBuffer[11] = (byte) ((statementId >> 24) & 0xff);
-        } else {
-            packetBuffer = new byte[9];
-            packetBuffer[0] = (byte) 5; //packet length 1st byte
+        closePrepare(new int[] {statementId}, 1);
+    }
+
+    /**
+     * Send COM_STMT_CLOSE packets for multiple statements in one write.
+     * COM_STMT_CLOSE has no server response, so packets can be send together.
+     *
+     * @param statementIds statement ids to close.
+     * @param length number of statement ids to close.
+     * @throws IOException if connection error occur.
+     */
+    public void closePrepare(int[] statementIds, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        int packetLength = useCompression ? 16 : 9;
+        byte[] packetBuffer = new byte[packetLength * length];
+        for (int i = 0; i < length; i++) {
+            final int statementId = statementIds[i];
+            int pos = i * packetLength;
+            if (useCompression) {
+                //not compressed packet : compressed length 1st byte, seq and uncompressed length 0
+                packetBuffer[pos] = (byte) 9;
+                pos += 7;
+            }
+            packetBuffer[pos] = (byte) 5; //packet length 1st byte
             //packetBuffer[1,2,3] = (byte) 0;
-            packetBuffer[4] = Packet.COM_STMT_CLOSE;
-            packetBuffer[5] = (byte) (statementId & 0xff);
-            packetBuffer[6] = (byte) ((statementId >> 8) & 0xff);
-            packetBuffer[7] = (byte) ((statementId >> 16) & 0xff);
-            packetBuffer[8] = (byte) ((statementId >> 24) & 0xff);
+            pos += 4;
+            packetBuffer[pos] = Packet.COM_STMT_CLOSE;
+            packetBuffer[pos + 1] = (byte) (statementId & 0xff);
+            packetBuffer[pos + 2] = (byte) ((statementId >> 8) & 0xff);
+            packetBuffer[pos + 3] = (byte) ((statementId >> 16) & 0xff);
+            packetBuffer[pos + 4] = (byte) ((statementId >> 24) & 0xff);
         }
         if (logger.isTraceEnabled()) {
-            logger.trace("send packet seq:" + seqNo + " length:" + 5
+            logger.trace("send packet seq:" + seqNo + " length:" + (5 * length)
                     + " data:" + Utils.hexdump(packetBuffer, maxQuerySizeToLog));
         }
         outputStream.write(packetBuffer);
@@ -0,0 +1,163 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * OutputStream writing directly to a SocketChannel.
+ * Socket adaptor streams share the channel blocking lock between reads and writes, so a thread reading results
+ * would block a thread sending commands (bulk send). Writing on channel only takes the channel write lock.
+ */
+public class SocketChannelOutputStream extends OutputStream {
+    private final SocketChannel channel;
+    private volatile Selector writeSelector;
+
+    public SocketChannelOutputStream(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, off, len);
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) awaitWritable();
+        }
+    }
+
+    /**
+     * Gathering write of buffers, in order.
+     *
+     * @param buffers buffers to write from their position to their limit
+     * @param length  number of buffers to write
+     * @throws IOException if any connection error occur
+     */
+    public void write(ByteBuffer[] buffers, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            if (channel.write(buffers, offset, length - offset) == 0) awaitWritable();
+            while (offset < length && !buffers[offset].hasRemaining()) offset++;
+        }
+    }
+
+    /**
+     * Write file data to channel, transferred by the system without being copied in java heap.
+     *
+     * @param file     file channel
+     * @param position file position
+     * @param count    number of bytes to write
+     * @throws IOException if any connection error occur, or if file is shorter than expected
+     */
+    public void transferFrom(FileChannel file, long position, long count) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long written = file.transferTo(position + transferred, count - transferred, channel);
+            if (written == 0) {
+                if (position + transferred >= file.size()) {
+                    throw new EOFException("File has been truncated during transfer");
+                }
+                awaitWritable();
+            }
+            transferred += written;
+        }
+    }
+
+    /**
+     * Wait until channel can be written again after a write returned 0.
+     * Channel can temporary be non-blocking while registered for an asynchronous read, or when a read with timeout
+     * is in progress. Blocking mode cannot change while channel blocking lock is held.
+     *
+     * @throws IOException if channel is closed
+     */
+    private void awaitWritable() throws IOException {
+        synchronized (channel.blockingLock()) {
+            if (channel.isBlocking()) return;
+            try {
+                Selector selector = writeSelector;
+                if (selector == null) {
+                    selector = Selector.open();
+                    writeSelector = selector;
+                }
+                SelectionKey key = channel.register(selector, SelectionKey.OP_WRITE);
+                try {
+                    selector.select();
+                } finally {
+                    key.cancel();
+                    //deregister channel, so that its blocking mode can be changed again
+                    selector.selectNow();
+                }
+            } catch (ClosedSelectorException closedException) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Selector selector = writeSelector;
+        if (selector != null) selector.close();
+    }
+}
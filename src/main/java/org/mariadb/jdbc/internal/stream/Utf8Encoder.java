@@ -0,0 +1,192 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+/**
+ * UTF-16 to UTF-8 encoding directly into a byte array, optionally escaping characters for text protocol.
+ * Escape characters are all ASCII, so escaping is done while encoding without any intermediate array.
+ * Java chars use UTF-16 surrogate pairs for 4 bytes characters, so encoded length is at most 3 * string length
+ * (+ escapes, that only concern 1 byte characters : at most 2 * string length).
+ * Invalid surrogates are encoded as 0x63.
+ */
+public class Utf8Encoder {
+
+    /**
+     * Encode string to UTF-8.
+     *
+     * @param str                string to encode
+     * @param arr                destination array, with at least 3 * string length remaining bytes
+     * @param position           destination position
+     * @param escape             escape characters for text protocol
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     * @return destination position after encoded data
+     */
+    public static int encode(String str, byte[] arr, int position, boolean escape, boolean noBackslashEscapes) {
+        return encode(str, 0, str.length(), arr, position, escape, noBackslashEscapes);
+    }
+
+    /**
+     * Encode part of a string to UTF-8.
+     * A surrogate pair must not be split between two parts, or each half will be encoded as an invalid surrogate.
+     *
+     * @param str                string to encode
+     * @param beginIndex         first char index, inclusive
+     * @param endIndex           last char index, exclusive
+     * @param arr                destination array, with at least 3 * (endIndex - beginIndex) remaining bytes
+     * @param position           destination position
+     * @param escape             escape characters for text protocol
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     * @return destination position after encoded data
+     */
+    public static int encode(String str, int beginIndex, int endIndex, byte[] arr, int position, boolean escape,
+                             boolean noBackslashEscapes) {
+        int charsLength = endIndex;
+        int charsOffset = beginIndex;
+        char currChar;
+
+        //pure ASCII fast path, without any test for kind of escape when not needed
+        if (!escape) {
+            while (charsOffset < charsLength && (currChar = str.charAt(charsOffset)) < 0x80) {
+                arr[position++] = (byte) currChar;
+                charsOffset++;
+            }
+        } else if (noBackslashEscapes) {
+            while (charsOffset < charsLength && (currChar = str.charAt(charsOffset)) < 0x80) {
+                if (currChar == '\'') arr[position++] = (byte) '\''; //add a single escape quote
+                arr[position++] = (byte) currChar;
+                charsOffset++;
+            }
+        } else {
+            while (charsOffset < charsLength && (currChar = str.charAt(charsOffset)) < 0x80) {
+                if (currChar == '\''
+                        || currChar == '\\'
+                        || currChar == '"'
+                        || currChar == 0) arr[position++] = (byte) '\\'; //add escape slash
+                arr[position++] = (byte) currChar;
+                charsOffset++;
+            }
+        }
+
+        //if contain non ASCII chars
+        while (charsOffset < charsLength) {
+            currChar = str.charAt(charsOffset++);
+            if (currChar < 0x80) {
+                if (escape) {
+                    if (currChar == '\'') {
+                        arr[position++] = noBackslashEscapes ? (byte) '\'' : (byte) '\\';
+                    } else if (!noBackslashEscapes && (currChar == '\\' || currChar == '"' || currChar == 0)) {
+                        arr[position++] = (byte) '\\';
+                    }
+                }
+                arr[position++] = (byte) currChar;
+            } else if (currChar < 0x800) {
+                arr[position++] = (byte) (0xc0 | (currChar >> 6));
+                arr[position++] = (byte) (0x80 | (currChar & 0x3f));
+            } else if (currChar >= 0xD800 && currChar < 0xE000) {
+                //reserved for surrogate - see https://en.wikipedia.org/wiki/UTF-16
+                char nextChar;
+                if (currChar < 0xDC00 && charsOffset < charsLength
+                        && (nextChar = str.charAt(charsOffset)) >= 0xDC00 && nextChar < 0xE000) {
+                    //high surrogate followed by low surrogate
+                    int surrogatePairs = ((currChar << 10) + nextChar) + (0x010000 - (0xD800 << 10) - 0xDC00);
+                    arr[position++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
+                    arr[position++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
+                    arr[position++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
+                    arr[position++] = (byte) (0x80 | (surrogatePairs & 0x3f));
+                    charsOffset++;
+                } else {
+                    //high surrogate without low surrogate, or low surrogate without high surrogate before
+                    arr[position++] = (byte) 0x63;
+                }
+            } else {
+                arr[position++] = (byte) (0xe0 | ((currChar >> 12)));
+                arr[position++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
+                arr[position++] = (byte) (0x80 | (currChar & 0x3f));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Exact length of encoded string, without encoding it.
+     *
+     * @param str                string
+     * @param escape             escape characters for text protocol
+     * @param noBackslashEscapes escape only quotes by doubling them (NO_BACKSLASH_ESCAPES sql mode)
+     * @return encoded length
+     */
+    public static int encodedLength(String str, boolean escape, boolean noBackslashEscapes) {
+        int charsLength = str.length();
+        int length = charsLength;
+        for (int charsOffset = 0; charsOffset < charsLength; charsOffset++) {
+            char currChar = str.charAt(charsOffset);
+            if (currChar < 0x80) {
+                if (escape && (currChar == '\''
+                        || (!noBackslashEscapes && (currChar == '\\' || currChar == '"' || currChar == 0)))) {
+                    length++;
+                }
+            } else if (currChar < 0x800) {
+                length++;
+            } else if (currChar >= 0xD800 && currChar < 0xE000) {
+                char nextChar;
+                if (currChar < 0xDC00 && charsOffset + 1 < charsLength
+                        && (nextChar = str.charAt(charsOffset + 1)) >= 0xDC00 && nextChar < 0xE000) {
+                    //surrogate pair : 2 chars for 4 bytes
+                    length += 2;
+                    charsOffset++;
+                }
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
+}
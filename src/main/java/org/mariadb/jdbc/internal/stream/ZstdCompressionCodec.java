@@ -0,0 +1,106 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+
+import java.io.IOException;
+
+/**
+ * Zstandard codec, using optional zstd-jni dependency.
+ * Much faster than zlib for a similar compression ratio, but not understood by servers : only usable with a proxy
+ * decompressing packets before server.
+ * Native compression and decompression contexts are reused for every packet.
+ */
+public class ZstdCompressionCodec implements CompressionCodec {
+
+    private static final int DEFAULT_LEVEL = 1;
+
+    private final ZstdCompressCtx compressCtx = new ZstdCompressCtx();
+    private final ZstdDecompressCtx decompressCtx = new ZstdDecompressCtx();
+
+    public ZstdCompressionCodec() {
+        compressCtx.setLevel(DEFAULT_LEVEL);
+    }
+
+    @Override
+    public void setCompressionLevel(int compressionLevel) {
+        compressCtx.setLevel(compressionLevel == -1 ? DEFAULT_LEVEL : compressionLevel);
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int length, byte[] dest, int maxLength) {
+        try {
+            return compressCtx.compressByteArray(dest, 0, maxLength, src, srcOffset, length);
+        } catch (ZstdException zstdException) {
+            //destination buffer is too small
+            return -1;
+        }
+    }
+
+    @Override
+    public int decompress(byte[] src, int srcOffset, int length, byte[] dest, int decompressedLength)
+            throws IOException {
+        try {
+            return decompressCtx.decompressByteArray(dest, 0, decompressedLength, src, srcOffset, length);
+        } catch (ZstdException zstdException) {
+            throw new IOException(zstdException);
+        }
+    }
+
+    @Override
+    public void close() {
+        compressCtx.close();
+        decompressCtx.close();
+    }
+}
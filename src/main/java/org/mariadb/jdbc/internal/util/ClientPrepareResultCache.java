@@ -0,0 +1,141 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.util;
+
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide cache of parsed client prepared statements.
+ * Parsing result only depends on the sql, the escape mode and if query is parsed for rewrite, so immutable parts can be
+ * shared by all connections. When cache is full, an arbitrary entry is removed.
+ */
+public final class ClientPrepareResultCache {
+    public static final int MAX_SIZE = 2048;
+    public static final int MAX_SQL_LENGTH = 1024;
+
+    private static final ConcurrentHashMap<Key, ClientPrepareResult> cache = new ConcurrentHashMap<>(256);
+
+    private ClientPrepareResultCache() {
+    }
+
+    /**
+     * Get parsed query from cache, parsing it if not already cached.
+     *
+     * @param sql                query
+     * @param noBackslashEscapes escape mode
+     * @param rewritable         must query be parsed for rewrite (rewriteBatchedStatements)
+     * @return ClientPrepareResult
+     */
+    public static ClientPrepareResult get(String sql, boolean noBackslashEscapes, boolean rewritable) {
+        if (sql.length() >= MAX_SQL_LENGTH) {
+            return parse(sql, noBackslashEscapes, rewritable);
+        }
+        Key key = new Key(sql, noBackslashEscapes, rewritable);
+        ClientPrepareResult prepareResult = cache.get(key);
+        if (prepareResult == null) {
+            prepareResult = parse(sql, noBackslashEscapes, rewritable);
+            if (cache.size() >= MAX_SIZE) {
+                Iterator<Key> iterator = cache.keySet().iterator();
+                if (iterator.hasNext()) {
+                    cache.remove(iterator.next());
+                }
+            }
+            ClientPrepareResult cachedPrepareResult = cache.putIfAbsent(key, prepareResult);
+            if (cachedPrepareResult != null) {
+                return cachedPrepareResult;
+            }
+        }
+        return prepareResult;
+    }
+
+    private static ClientPrepareResult parse(String sql, boolean noBackslashEscapes, boolean rewritable) {
+        if (rewritable) {
+            return ClientPrepareResult.rewritableParts(sql, noBackslashEscapes);
+        }
+        return ClientPrepareResult.parameterParts(sql, noBackslashEscapes);
+    }
+
+    public static int size() {
+        return cache.size();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final boolean noBackslashEscapes;
+        private final boolean rewritable;
+
+        Key(String sql, boolean noBackslashEscapes, boolean rewritable) {
+            this.sql = sql;
+            this.noBackslashEscapes = noBackslashEscapes;
+            this.rewritable = rewritable;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key key = (Key) obj;
+            return noBackslashEscapes == key.noBackslashEscapes && rewritable == key.rewritable && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * sql.hashCode() + (noBackslashEscapes ? 1 : 0)) + (rewritable ? 1 : 0);
+        }
+    }
+}
@@ -414,7 +414,73 @@ public enum DefaultOptions {
      * Will log query with execution time superior to this value (if defined )
      * default to null.
      */
-    SLOW_QUERY_TIME("slowQueryThresholdNanos", (Long) null, new Long(0), Long.MAX_VALUE, "1.5.0");
+    SLOW_QUERY_TIME("slowQueryThresholdNanos", (Long) null, new Long(0), Long.MAX_VALUE, "1.5.0"),
+
+    /**
+     * When streaming a resultSet (fetchSize &gt; 0), read next fetchSize rows in background while the application
+     * is reading the current ones.
+     * default to false.
+     */
+    USE_STREAMING_PREFETCH("useStreamingPrefetch", Boolean.FALSE, "1.6.0"),
+
+    /**
+     * Create TCP sockets from a SocketChannel, permitting asynchronous executions to wait for results
+     * without blocking a thread.
+     * default to false.
+     */
+    USE_SOCKET_CHANNEL("useSocketChannel", Boolean.FALSE, "1.6.0"),
+
+    /**
+     * Compression level (0-9) used when useCompression is set. -1 uses zlib default level (6).
+     * default to -1.
+     */
+    COMPRESSION_LEVEL("compressionLevel", new Integer(-1), new Integer(-1), new Integer(9), "1.6.0"),
+
+    /**
+     * Packets with a length up to this threshold (in bytes) are not compressed when useCompression is set.
+     * default to 16384.
+     */
+    COMPRESSION_THRESHOLD("compressionThreshold", new Integer(16384), new Integer(0), Integer.MAX_VALUE, "1.6.0"),
+
+    /**
+     * Compression codec used when useCompression is set : "zlib", "zstd" or a CompressionCodec implementation class name.
+     * Codecs other than zlib require a proxy decompressing packets before server.
+     * default to zlib.
+     */
+    COMPRESSION_CODEC("compressionCodec", "1.6.0"),
+
+    /**
+     * Build commands in a chain of pooled direct buffers, sent with gathering writes, instead of a heap buffer growing
+     * by copy. Only used with useSocketChannel, without compression.
+     */
+    USE_DIRECT_BUFFERS("useDirectBuffers", Boolean.FALSE, "1.6.0"),
+
+    /**
+     * Server PreparedStatement.executeBatch() will send all parameter sets in COM_STMT_BULK_EXECUTE commands when
+     * server support them (MariaDB 10.2.7+). Update counts are then Statement.SUCCESS_NO_INFO.
+     * default to false.
+     */
+    USE_BULK_STMTS("useBulkStmts", Boolean.FALSE, "1.6.0"),
+
+    /**
+     * Query timeouts and Statement.cancel() send KILL QUERY commands through a connection shared by all connections
+     * to the same host and user, created on first use and closed when idle, instead of a new connection by kill.
+     * default to true.
+     */
+    USE_SHARED_KILL_CHANNEL("useSharedKillChannel", Boolean.TRUE, "1.6.0"),
+
+    /**
+     * Maximum number of KILL QUERY commands sent by second to a host through the shared kill channel.
+     * 0 means no limit. default to 100.
+     */
+    KILL_CHANNEL_MAX_RATE("killChannelMaxRate", new Integer(100), new Integer(0), Integer.MAX_VALUE, "1.6.0"),
+
+    /**
+     * Pool hint mode : setTransactionIsolation(), setCatalog() and setReadOnly() don't send any command when
+     * connection tracked state already has the requested value, as connection pools call them on each borrow.
+     * default to false.
+     */
+    SKIP_REDUNDANT_SETTERS("skipRedundantSetters", Boolean.FALSE, "1.6.0");
 
 
     protected final String name;
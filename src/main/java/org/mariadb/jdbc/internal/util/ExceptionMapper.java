@@ -91,7 +91,15 @@ public class ExceptionMapper {
         throw getException(exception, connection, statement);
     }
 
-    private static SQLException getException(QueryException exception, MariaDbConnection connection, MariaDbStatement statement) {
+    /**
+     * Map exception. When connection is given, connection errors are handled and pool listeners are notified.
+     *
+     * @param exception exception
+     * @param connection current connection, or null
+     * @param statement current statement
+     * @return SQLException
+     */
+    public static SQLException getException(QueryException exception, MariaDbConnection connection, MariaDbStatement statement) {
         String message = exception.getMessage();
         if (connection != null) {
             message = "(conn:" + connection.getServerThreadId() + ") " + message;
@@ -103,10 +111,7 @@ public class ExceptionMapper {
         SqlStates state = SqlStates.fromString(sqlState);
         if (connection != null) {
             if (state.equals(SqlStates.CONNECTION_EXCEPTION)) {
-                connection.setHostFailed();
-                if (connection.pooledConnection != null) {
-                    connection.pooledConnection.fireConnectionErrorOccured(sqlException);
-                }
+                connectionError(connection, sqlException);
             } else if (connection.pooledConnection != null && statement != null) {
                 connection.pooledConnection.fireStatementErrorOccured(statement, sqlException);
             }
@@ -115,6 +120,19 @@ public class ExceptionMapper {
         return sqlException;
     }
 
+    /**
+     * Handle connection error : host is marked as failed, and pool listeners are notified.
+     *
+     * @param connection current connection
+     * @param sqlException connection error
+     */
+    public static void connectionError(MariaDbConnection connection, SQLException sqlException) {
+        connection.setHostFailed();
+        if (connection.pooledConnection != null) {
+            connection.pooledConnection.fireConnectionErrorOccured(sqlException);
+        }
+    }
+
     private static SQLException get(final String message, final QueryException exception) {
         final String sqlState = exception.getSqlState();
         final SqlStates state = SqlStates.fromString(sqlState);
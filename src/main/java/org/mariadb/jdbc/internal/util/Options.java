@@ -107,6 +107,16 @@ public class Options {
     public String connectionAttributes;
     public boolean useBatchMultiSend;
     public int useBatchMultiSendNumber;
+    public boolean useStreamingPrefetch;
+    public boolean useSocketChannel;
+    public int compressionLevel;
+    public int compressionThreshold;
+    public String compressionCodec;
+    public boolean useDirectBuffers;
+    public boolean useBulkStmts;
+    public boolean useSharedKillChannel;
+    public int killChannelMaxRate;
+    public boolean skipRedundantSetters;
 
     //logging options
     public boolean log;
@@ -178,6 +188,16 @@ public class Options {
                 + ", cacheCallableStmts=" + cacheCallableStmts
                 + ", useBatchMultiSend=" + useBatchMultiSend
                 + ", useBatchMultiSendNumber=" + useBatchMultiSendNumber
+                + ", useStreamingPrefetch=" + useStreamingPrefetch
+                + ", useSocketChannel=" + useSocketChannel
+                + ", compressionLevel=" + compressionLevel
+                + ", compressionThreshold=" + compressionThreshold
+                + ", compressionCodec=" + compressionCodec
+                + ", useDirectBuffers=" + useDirectBuffers
+                + ", useBulkStmts=" + useBulkStmts
+                + ", useSharedKillChannel=" + useSharedKillChannel
+                + ", killChannelMaxRate=" + killChannelMaxRate
+                + ", skipRedundantSetters=" + skipRedundantSetters
                 + ", callableStmtCacheSize=" + callableStmtCacheSize
                 + ", connectionAttributes=" + connectionAttributes
                 + ", log=" + log
@@ -268,6 +288,16 @@ public class Options {
         }
         if (useBatchMultiSend != options.useBatchMultiSend) return false;
         if (useBatchMultiSendNumber != options.useBatchMultiSendNumber) return false;
+        if (useStreamingPrefetch != options.useStreamingPrefetch) return false;
+        if (useSocketChannel != options.useSocketChannel) return false;
+        if (compressionLevel != options.compressionLevel) return false;
+        if (compressionThreshold != options.compressionThreshold) return false;
+        if (compressionCodec != null ? !compressionCodec.equals(options.compressionCodec) : options.compressionCodec != null) return false;
+        if (useDirectBuffers != options.useDirectBuffers) return false;
+        if (useBulkStmts != options.useBulkStmts) return false;
+        if (useSharedKillChannel != options.useSharedKillChannel) return false;
+        if (killChannelMaxRate != options.killChannelMaxRate) return false;
+        if (skipRedundantSetters != options.skipRedundantSetters) return false;
 
         return !(prepStmtCacheSqlLimit != null ? !prepStmtCacheSqlLimit.equals(options.prepStmtCacheSqlLimit)
                 : options.prepStmtCacheSqlLimit != null);
@@ -49,49 +49,55 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.util;
 
-import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
-import org.mariadb.jdbc.internal.util.dao.QueryException;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-
-
-public final class ServerPrepareStatementCache extends LinkedHashMap<String, ServerPrepareResult> {
+import java.util.Queue;
+
+/**
+ * LRU cache of server prepared statements.
+ * Evicted statements are not released in the middle of a put : their statement id is added to a release queue,
+ * that protocol will send (COM_STMT_CLOSE) with the next command.
+ */
+public final class ServerPrepareStatementCache {
     private final int maxSize;
-    private final Protocol protocol;
+    private final Queue<Integer> statementIdToRelease;
+    private final LinkedHashMap<String, ServerPrepareResult> cache;
+    private long hits;
+    private long misses;
+    private long evictions;
 
-    private ServerPrepareStatementCache(int size, Protocol protocol) {
-        super(size, .75f, true);
+    private ServerPrepareStatementCache(int size, Queue<Integer> statementIdToRelease) {
         this.maxSize = size;
-        this.protocol = protocol;
+        this.statementIdToRelease = statementIdToRelease;
+        this.cache = new LinkedHashMap<>(size, .75f, true);
     }
 
-    public static ServerPrepareStatementCache newInstance(int size, Protocol protocol) {
-        return new ServerPrepareStatementCache(size, protocol);
+    /**
+     * Create a new cache.
+     * @param size maximum number of cached prepare results
+     * @param statementIdToRelease queue that will receive statement id of evicted prepare results that must be released
+     * @return cache
+     */
+    public static ServerPrepareStatementCache newInstance(int size, Queue<Integer> statementIdToRelease) {
+        return new ServerPrepareStatementCache(size, statementIdToRelease);
     }
 
     /**
-     * Remove eldestEntry.
-     * @param eldest eldest entry
-     * @return true if eldest entry must be removed
+     * Get cached prepare result.
+     * @param key key
+     * @return cached prepare result, or null if not in cache
      */
-    @Override
-    public boolean removeEldestEntry(Map.Entry eldest) {
-        boolean mustBeRemoved = this.size() > maxSize;
-
-        if (mustBeRemoved) {
-            ServerPrepareResult serverPrepareResult = ((ServerPrepareResult) eldest.getValue());
-            serverPrepareResult.setRemoveFromCache();
-            if (serverPrepareResult.canBeDeallocate()) {
-                try {
-                    protocol.forceReleasePrepareStatement(serverPrepareResult.getStatementId());
-                } catch (QueryException e) {
-                    //eat exception
-                }
-            }
+    public synchronized ServerPrepareResult get(String key) {
+        ServerPrepareResult serverPrepareResult = cache.get(key);
+        if (serverPrepareResult != null) {
+            hits++;
+        } else {
+            misses++;
         }
-        return mustBeRemoved;
+        return serverPrepareResult;
     }
 
     /**
@@ -103,21 +109,66 @@ public final class ServerPrepareStatementCache extends LinkedHashMap<String, Ser
      * @return the previous value associated with key if not been deallocate, or null if there was no mapping for key.
      */
     public synchronized ServerPrepareResult put(String key, ServerPrepareResult result) {
-        ServerPrepareResult cachedServerPrepareResult = super.get(key);
+        ServerPrepareResult cachedServerPrepareResult = cache.get(key);
         //if there is already some cached data (and not been deallocate), return existing cached data
         if (cachedServerPrepareResult != null && cachedServerPrepareResult.incrementShareCounter()) {
             return cachedServerPrepareResult;
         }
         //if no cache data, or been deallocate, put new result in cache
         result.setAddToCache();
-        super.put(key, result);
+        cache.put(key, result);
+        if (cache.size() > maxSize) {
+            evictEldest();
+        }
         return null;
     }
 
+    private void evictEldest() {
+        Iterator<ServerPrepareResult> iterator = cache.values().iterator();
+        ServerPrepareResult eldest = iterator.next();
+        iterator.remove();
+        evictions++;
+        eldest.setRemoveFromCache();
+        if (eldest.canBeDeallocate()) {
+            statementIdToRelease.add(eldest.getStatementId());
+        }
+    }
+
+    public synchronized boolean containsKey(String key) {
+        return cache.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all prepare results from cache, without releasing them : used when server has already released
+     * all statements.
+     */
+    public synchronized void clear() {
+        for (ServerPrepareResult serverPrepareResult : cache.values()) {
+            serverPrepareResult.setRemoveFromCache();
+        }
+        cache.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder stringBuilder = new StringBuilder("ServerPrepareStatementCache.map[");
-        for (Map.Entry<String, ServerPrepareResult> entry : this.entrySet()) {
+        for (Map.Entry<String, ServerPrepareResult> entry : cache.entrySet()) {
             stringBuilder.append("\n").append(entry.getKey()).append("-").append(entry.getValue().getShareCounter());
         }
         stringBuilder.append("]");
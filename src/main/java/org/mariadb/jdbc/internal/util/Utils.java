@@ -55,9 +55,7 @@ import org.mariadb.jdbc.internal.failover.impl.MastersFailoverListener;
 import org.mariadb.jdbc.internal.failover.impl.MastersSlavesListener;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.logging.ProtocolLoggingProxy;
-import org.mariadb.jdbc.internal.protocol.AuroraProtocol;
 import org.mariadb.jdbc.internal.protocol.MasterProtocol;
-import org.mariadb.jdbc.internal.protocol.MastersSlavesProtocol;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.socket.NamedPipeSocket;
 import org.mariadb.jdbc.internal.socket.SharedMemorySocket;
@@ -66,8 +64,8 @@ import org.mariadb.jdbc.internal.util.dao.QueryException;
 
 import javax.net.SocketFactory;
 import java.io.IOException;
-import java.lang.reflect.Proxy;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
@@ -448,22 +446,12 @@ public class Utils {
         Protocol protocol;
         switch (urlParser.getHaMode()) {
             case AURORA:
-                return getProxyLoggingIfNeeded(urlParser, (Protocol) Proxy.newProxyInstance(
-                            AuroraProtocol.class.getClassLoader(),
-                            new Class[]{Protocol.class},
-                            new FailoverProxy(new AuroraListener(urlParser), lock)));
+                return getProxyLoggingIfNeeded(urlParser, new FailoverProxy(new AuroraListener(urlParser), lock));
             case REPLICATION:
-                return getProxyLoggingIfNeeded(urlParser,
-                        (Protocol) Proxy.newProxyInstance(
-                        MastersSlavesProtocol.class.getClassLoader(),
-                        new Class[]{Protocol.class},
-                        new FailoverProxy(new MastersSlavesListener(urlParser), lock)));
+                return getProxyLoggingIfNeeded(urlParser, new FailoverProxy(new MastersSlavesListener(urlParser), lock));
             case FAILOVER:
             case SEQUENTIAL:
-                return getProxyLoggingIfNeeded(urlParser, (Protocol) Proxy.newProxyInstance(
-                        MasterProtocol.class.getClassLoader(),
-                        new Class[]{Protocol.class},
-                        new FailoverProxy(new MastersFailoverListener(urlParser), lock)));
+                return getProxyLoggingIfNeeded(urlParser, new FailoverProxy(new MastersFailoverListener(urlParser), lock));
             default:
                 protocol = getProxyLoggingIfNeeded(urlParser, new MasterProtocol(urlParser, lock));
                 protocol.connectWithoutProxy();
@@ -473,10 +461,7 @@ public class Utils {
 
     private static Protocol getProxyLoggingIfNeeded(UrlParser urlParser, Protocol protocol) {
         if (urlParser.getOptions().profileSql || urlParser.getOptions().slowQueryThresholdNanos != null) {
-            return (Protocol) Proxy.newProxyInstance(
-                    MasterProtocol.class.getClassLoader(),
-                    new Class[]{Protocol.class},
-                    new ProtocolLoggingProxy(protocol, urlParser.getOptions()));
+            return new ProtocolLoggingProxy(protocol, urlParser.getOptions());
         }
         return protocol;
     }
@@ -531,6 +516,8 @@ public class Utils {
                 } catch (Exception sfex) {
                     socketFactory = SocketFactory.getDefault();
                 }
+            } else if (urlParser.getOptions().useSocketChannel && !urlParser.getOptions().useSsl) {
+                return SocketChannel.open().socket();
             } else {
                 socketFactory = SocketFactory.getDefault();
             }
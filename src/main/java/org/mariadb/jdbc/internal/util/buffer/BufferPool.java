@@ -0,0 +1,290 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.util.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Packet buffers pool shared by all connections, so that large buffers are reused instead of being allocated
+ * for each big command or result, then released.
+ * Buffers are pooled by size class (powers of two from 8KB to maxBufferSize), heap arrays and direct buffers apart.
+ * Total size of pooled buffers is limited to maxSize, buffers given back over this limit being discarded.
+ * Limits default to system properties "mariadb.bufferPool.maxSize" (in bytes, default 64MB, 0 disables pooling)
+ * and "mariadb.bufferPool.maxBufferSize" (in bytes, default 16MB).
+ */
+public final class BufferPool {
+    public static final int MIN_BUFFER_SIZE = 8192;
+    private static final int MIN_SHIFT = 13;
+    private static final int MAX_SHIFT = 30;
+    private static final int SIZE_CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+
+    private static final Queue<byte[]>[] arrays = newQueues();
+    private static final Queue<ByteBuffer>[] directBuffers = newQueues();
+
+    private static final AtomicLong pooledBytes = new AtomicLong();
+    private static final AtomicLong borrowed = new AtomicLong();
+    private static final AtomicLong allocated = new AtomicLong();
+    private static final AtomicLong returned = new AtomicLong();
+    private static final AtomicLong discarded = new AtomicLong();
+
+    private static volatile long maxSize = Long.getLong("mariadb.bufferPool.maxSize", 64L * 1024 * 1024);
+    private static volatile int maxBufferSize = Math.min(1 << MAX_SHIFT,
+            Integer.getInteger("mariadb.bufferPool.maxBufferSize", 16 * 1024 * 1024));
+
+    private BufferPool() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Queue<T>[] newQueues() {
+        Queue<T>[] queues = new Queue[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+        return queues;
+    }
+
+    private static int sizeClass(int length) {
+        if (length <= MIN_BUFFER_SIZE) return 0;
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_SHIFT;
+    }
+
+    private static boolean isPoolable(int minLength) {
+        return maxSize > 0 && minLength <= maxBufferSize;
+    }
+
+    /**
+     * Get an array of at least minLength bytes. Array content is undefined.
+     *
+     * @param minLength minimum length
+     * @return array, to be given back with {@link #giveBack(byte[])} when not used anymore
+     */
+    public static byte[] borrow(int minLength) {
+        borrowed.incrementAndGet();
+        if (!isPoolable(minLength)) {
+            allocated.incrementAndGet();
+            return new byte[minLength];
+        }
+        int sizeClass = sizeClass(minLength);
+        byte[] array = arrays[sizeClass].poll();
+        if (array != null) {
+            pooledBytes.addAndGet(-array.length);
+            return array;
+        }
+        allocated.incrementAndGet();
+        return new byte[1 << (sizeClass + MIN_SHIFT)];
+    }
+
+    /**
+     * Get a cleared direct buffer of at least minLength bytes, with big endian order.
+     *
+     * @param minLength minimum length
+     * @return direct buffer, to be given back with {@link #giveBack(ByteBuffer)} when not used anymore
+     */
+    public static ByteBuffer borrowDirect(int minLength) {
+        borrowed.incrementAndGet();
+        if (!isPoolable(minLength)) {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocateDirect(minLength);
+        }
+        int sizeClass = sizeClass(minLength);
+        ByteBuffer buffer = directBuffers[sizeClass].poll();
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.capacity());
+            return buffer;
+        }
+        allocated.incrementAndGet();
+        return ByteBuffer.allocateDirect(1 << (sizeClass + MIN_SHIFT));
+    }
+
+    /**
+     * Give back an array. Caller must not use it anymore.
+     *
+     * @param array array previously borrowed (can be null)
+     */
+    public static void giveBack(byte[] array) {
+        if (array != null && reserve(array.length)) {
+            arrays[sizeClass(array.length)].offer(array);
+        }
+    }
+
+    /**
+     * Give back a direct buffer. Caller must not use it anymore.
+     *
+     * @param buffer direct buffer previously borrowed (can be null)
+     */
+    public static void giveBack(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect() && reserve(buffer.capacity())) {
+            buffer.clear();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            directBuffers[sizeClass(buffer.capacity())].offer(buffer);
+        }
+    }
+
+    /**
+     * Check that a given back buffer has a size class length, and reserve its size in pool.
+     */
+    private static boolean reserve(int length) {
+        if (length < MIN_BUFFER_SIZE || length > maxBufferSize || Integer.bitCount(length) != 1) return false;
+        if (pooledBytes.addAndGet(length) > maxSize) {
+            pooledBytes.addAndGet(-length);
+            discarded.incrementAndGet();
+            return false;
+        }
+        returned.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Change pool limits. Pooled buffers over new limits are released.
+     *
+     * @param newMaxSize       maximum total size of pooled buffers (0 disables pooling)
+     * @param newMaxBufferSize maximum size of a pooled buffer
+     */
+    public static void setLimits(long newMaxSize, int newMaxBufferSize) {
+        maxSize = newMaxSize;
+        maxBufferSize = Math.min(1 << MAX_SHIFT, newMaxBufferSize);
+        clear();
+    }
+
+    /**
+     * Release all pooled buffers.
+     */
+    public static void clear() {
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            byte[] array;
+            while ((array = arrays[i].poll()) != null) {
+                pooledBytes.addAndGet(-array.length);
+            }
+            ByteBuffer buffer;
+            while ((buffer = directBuffers[i].poll()) != null) {
+                pooledBytes.addAndGet(-buffer.capacity());
+            }
+        }
+    }
+
+    public static Stats getStats() {
+        return new Stats(borrowed.get(), allocated.get(), returned.get(), discarded.get(), pooledBytes.get());
+    }
+
+    /**
+     * Pool statistics since JVM start.
+     */
+    public static final class Stats {
+        private final long borrowed;
+        private final long allocated;
+        private final long returned;
+        private final long discarded;
+        private final long pooledBytes;
+
+        Stats(long borrowed, long allocated, long returned, long discarded, long pooledBytes) {
+            this.borrowed = borrowed;
+            this.allocated = allocated;
+            this.returned = returned;
+            this.discarded = discarded;
+            this.pooledBytes = pooledBytes;
+        }
+
+        /**
+         * Number of buffers borrowed.
+         *
+         * @return borrowed count
+         */
+        public long getBorrowed() {
+            return borrowed;
+        }
+
+        /**
+         * Number of buffers allocated because none was available in pool.
+         *
+         * @return allocated count
+         */
+        public long getAllocated() {
+            return allocated;
+        }
+
+        /**
+         * Number of buffers given back and kept in pool.
+         *
+         * @return returned count
+         */
+        public long getReturned() {
+            return returned;
+        }
+
+        /**
+         * Number of buffers given back but discarded, because pool maximum size was reached.
+         *
+         * @return discarded count
+         */
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        /**
+         * Current total size of pooled buffers.
+         *
+         * @return pooled size in bytes
+         */
+        public long getPooledBytes() {
+            return pooledBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "BufferPool{borrowed=" + borrowed + ", allocated=" + allocated + ", returned=" + returned
+                    + ", discarded=" + discarded + ", pooledBytes=" + pooledBytes + "}";
+        }
+    }
+}
@@ -62,6 +62,7 @@ public class ServerPrepareResult implements PrepareResult {
     private MariaDbType[] parameterTypeHeader;
     private Protocol unProxiedProtocol;
     private String sql;
+    private int resetCount;
 
 
     //share indicator
@@ -86,6 +87,7 @@ public class ServerPrepareResult implements PrepareResult {
         this.parameters = parameters;
         this.unProxiedProtocol = unProxiedProtocol;
         this.parameterTypeHeader = new MariaDbType[parameters.length];
+        this.resetCount = unProxiedProtocol.getResetCount();
     }
 
     public void resetParameterTypeHeader() {
@@ -101,11 +103,33 @@ public class ServerPrepareResult implements PrepareResult {
         this.statementId = statementId;
         this.unProxiedProtocol = unProxiedProtocol;
         this.parameterTypeHeader = new MariaDbType[parameters.length];
+        this.resetCount = unProxiedProtocol.getResetCount();
         this.shareCounter = 1;
         this.isBeingDeallocate = false;
 
     }
 
+    /**
+     * Indicate if server statement has been released by a connection reset since prepare.
+     *
+     * @return true if statement must be prepared again before being executed
+     */
+    public boolean isReleasedByReset() {
+        return resetCount != unProxiedProtocol.getResetCount();
+    }
+
+    /**
+     * Update information after statement has been prepared again following a connection reset.
+     * Share counter is kept, since statements that were using this prepare result still use it.
+     *
+     * @param statementId new statement Id
+     */
+    public void prepareAgain(int statementId) {
+        this.statementId = statementId;
+        this.parameterTypeHeader = new MariaDbType[parameters.length];
+        this.resetCount = unProxiedProtocol.getResetCount();
+    }
+
     public void setAddToCache() {
         inCache.set(true);
     }
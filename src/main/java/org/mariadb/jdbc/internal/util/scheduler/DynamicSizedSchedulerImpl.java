@@ -50,6 +50,7 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.util.scheduler;
 
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 
 public class DynamicSizedSchedulerImpl extends ScheduledThreadPoolExecutor implements DynamicSizedSchedulerInterface {
     /**
@@ -57,7 +58,16 @@ public class DynamicSizedSchedulerImpl extends ScheduledThreadPoolExecutor imple
      * @param corePoolSize initial Core pool size
      */
     public DynamicSizedSchedulerImpl(int corePoolSize) {
-        super(corePoolSize, new MariaDbThreadFactory());
+        this(corePoolSize, new MariaDbThreadFactory());
+    }
+
+    /**
+     * Initialize a scheduler with dynamic pool size.
+     * @param corePoolSize initial Core pool size
+     * @param threadFactory thread factory
+     */
+    public DynamicSizedSchedulerImpl(int corePoolSize, ThreadFactory threadFactory) {
+        super(corePoolSize, threadFactory);
     }
 
     @Override
@@ -50,6 +50,7 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.util.scheduler;
 
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 public class FixedSizedSchedulerImpl extends ScheduledThreadPoolExecutor {
@@ -58,7 +59,16 @@ public class FixedSizedSchedulerImpl extends ScheduledThreadPoolExecutor {
      * @param corePoolSize core pool size
      */
     public FixedSizedSchedulerImpl(int corePoolSize) {
-        super(corePoolSize, new MariaDbThreadFactory());
+        this(corePoolSize, new MariaDbThreadFactory());
+    }
+
+    /**
+     * Create scheduler with fixed size.
+     * @param corePoolSize core pool size
+     * @param threadFactory thread factory
+     */
+    public FixedSizedSchedulerImpl(int corePoolSize, ThreadFactory threadFactory) {
+        super(corePoolSize, threadFactory);
 
         // set a rare thread timeout option to allow garbage collection
         setKeepAliveTime(2, TimeUnit.HOURS);
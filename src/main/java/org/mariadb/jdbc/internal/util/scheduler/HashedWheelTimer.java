@@ -0,0 +1,350 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer for many short-lived timeouts that are usually cancelled before expiration, like query timeouts.
+ * Timeouts are linked in a wheel of buckets, one by tick, in O(1) : each bucket is split in lists by scheduling
+ * thread, so that threads don't contend on the same lock, and a cancelled timeout is unlinked at once, without
+ * any work for the timer thread. Timer thread checks one bucket by tick.
+ * Expiration is precise to a tick. Expired tasks are run by an executor, so that a blocking task doesn't delay others.
+ * Timer loop runs as a task of its own executor. Once {@link #shutdown()} is called, no new timeout is accepted, and
+ * both executors are shut down when pending timeouts have expired or been cancelled.
+ */
+public class HashedWheelTimer {
+    private final long tickDuration;
+    private final Bucket[][] wheel;
+    private final int mask;
+    private final int stripeMask;
+    private final ExecutorService workerExecutor;
+    private final ExecutorService taskExecutor;
+
+    private final long startTime = System.nanoTime();
+    private volatile boolean started;
+    //read under bucket lock when scheduling, so timer can check that no timeout is pending anymore
+    private volatile boolean shutdown;
+    //tick being processed, or next one
+    private volatile long tick;
+
+    /**
+     * Create timer. Timer thread is started on first schedule.
+     *
+     * @param tickDuration  tick duration
+     * @param unit          tick duration unit
+     * @param wheelSize     number of ticks in a wheel round, rounded to a power of 2
+     * @param workerExecutor executor running timer loop, using one of its thread until shutdown
+     * @param taskExecutor  executor running expired tasks
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize, ExecutorService workerExecutor,
+                            ExecutorService taskExecutor) {
+        if (tickDuration <= 0) throw new IllegalArgumentException("tickDuration must be > 0");
+        if (wheelSize <= 0 || wheelSize > (1 << 20)) throw new IllegalArgumentException("wrong wheelSize " + wheelSize);
+        this.tickDuration = unit.toNanos(tickDuration);
+        int size = powerOfTwo(wheelSize);
+        int stripes = powerOfTwo(Math.min(16, Runtime.getRuntime().availableProcessors()));
+        this.wheel = new Bucket[size][stripes];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < stripes; j++) {
+                wheel[i][j] = new Bucket();
+            }
+        }
+        this.mask = size - 1;
+        this.stripeMask = stripes - 1;
+        this.workerExecutor = workerExecutor;
+        this.taskExecutor = taskExecutor;
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Schedule a task.
+     *
+     * @param task  task to run after delay
+     * @param delay delay
+     * @param unit  delay unit
+     * @return timeout, that can be cancelled
+     * @throws RejectedExecutionException if timer is shut down, or timer loop cannot be started
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!started) start();
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        long deadlineTick = timeout.deadline / tickDuration;
+        while (true) {
+            //never in the bucket being checked
+            long timeoutTick = Math.max(deadlineTick, tick + 1);
+            Bucket bucket = wheel[(int) (timeoutTick & mask)][stripe];
+            synchronized (bucket) {
+                if (shutdown) throw new RejectedExecutionException("Timer is shut down");
+                //if timer has already checked this bucket for timeout tick, tick has changed : retry
+                if (bucket.checkedTick < timeoutTick) {
+                    bucket.add(timeout);
+                    return timeout;
+                }
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (shutdown) throw new RejectedExecutionException("Timer is shut down");
+        if (!started) {
+            workerExecutor.execute(new Worker());
+            started = true;
+        }
+    }
+
+    /**
+     * Stop accepting new timeouts. Pending timeouts are still run when expired, then timer loop ends and executors
+     * are shut down.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (!started) shutdownExecutors();
+    }
+
+    private void shutdownExecutors() {
+        taskExecutor.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    /**
+     * Check that no timeout is pending. Once timer is shut down, result cannot change from true to false.
+     *
+     * @return true if all buckets are empty
+     */
+    private boolean isEmpty() {
+        for (Bucket[] buckets : wheel) {
+            for (Bucket bucket : buckets) {
+                synchronized (bucket) {
+                    if (bucket.head != null) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void runTask(final Timeout timeout) {
+        try {
+            taskExecutor.execute(timeout);
+        } catch (RejectedExecutionException rejected) {
+            timeout.run();
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final List<Timeout> expired = new ArrayList<>();
+
+        @Override
+        public void run() {
+            try {
+                loop();
+            } finally {
+                shutdownExecutors();
+            }
+        }
+
+        private void loop() {
+            while (!shutdown || !isEmpty()) {
+                long current = tick;
+                long deadline = tickDuration * (current + 1);
+                long sleep;
+                while ((sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+                    LockSupport.parkNanos(this, sleep);
+                }
+
+                for (Bucket bucket : wheel[(int) (current & mask)]) {
+                    synchronized (bucket) {
+                        bucket.expire(current, deadline, expired);
+                    }
+                }
+                tick = current + 1;
+
+                for (Timeout timeout : expired) {
+                    runTask(timeout);
+                }
+                expired.clear();
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, guarded by its own lock.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        private long checkedTick = -1;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        void expire(long tick, long deadline, List<Timeout> expired) {
+            checkedTick = tick;
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                //timeouts of next rounds stay in bucket, cancelled ones are removed by cancelling thread
+                if (timeout.deadline <= deadline && timeout.expire()) {
+                    remove(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Scheduled task handle.
+     * Cancellation and expiration are decided by a single state change, so that {@link #cancel()} never waits for
+     * the task : when it fails, task has been or is being run, and {@link #awaitDone()} waits for its end.
+     */
+    public static final class Timeout implements Runnable {
+        static final int INIT = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+        static final int DONE = 3;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = INIT;
+
+        //set when scheduled, links guarded by bucket lock
+        private volatile Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel task if not already run.
+         *
+         * @return true if task will not be run, false if task has been or is being run.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) return false;
+            //once cancelled, timer doesn't remove timeout from its bucket anymore
+            Bucket current = bucket;
+            synchronized (current) {
+                current.remove(this);
+            }
+            return true;
+        }
+
+        /**
+         * Wait for end of an expired task. Return immediately if task has been cancelled.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void awaitDone() throws InterruptedException {
+            if (state != EXPIRED) return;
+            synchronized (this) {
+                while (state == EXPIRED) {
+                    wait();
+                }
+            }
+        }
+
+        boolean expire() {
+            return STATE.compareAndSet(this, INIT, EXPIRED);
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    state = DONE;
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -59,43 +59,98 @@ public class SchedulerServiceProviderHolder {
 
     /**
      * The default provider will construct a new pool on every request.
+     * When system property "mariadb.useVirtualThreads" is set to true and java version support them,
+     * pools use virtual threads.
      */
-    public static SchedulerProvider DEFAULT_PROVIDER = new SchedulerProvider() {
-        @Override
-        public DynamicSizedSchedulerInterface getScheduler(int minimumThreads) {
-            return new DynamicSizedSchedulerImpl(minimumThreads);
-        }
-
-        @Override
-        public ScheduledThreadPoolExecutor getFixedSizeScheduler(int minimumThreads) {
-            return new FixedSizedSchedulerImpl(minimumThreads);
-        }
+    public static SchedulerProvider DEFAULT_PROVIDER = newProvider(Boolean.getBoolean("mariadb.useVirtualThreads"));
 
-        @Override
-        public ScheduledThreadPoolExecutor getTimeoutScheduler() {
-            ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1, new MariaDbThreadFactory());
-            timeoutScheduler.setRemoveOnCancelPolicy(true);
-            return timeoutScheduler;
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public ThreadPoolExecutor getBulkScheduler() {
-            return new ThreadPoolExecutor(5, 100, 1, TimeUnit.MINUTES, new SynchronousQueue(), new MariaDbThreadFactory());
-        }
-
-    };
+    /**
+     * Provider using virtual threads (java 21+), so that blocking socket operations done by driver threads don't
+     * use platform threads. Bulk scheduler is then not limited in size.
+     * If virtual threads are not supported, pools use platform threads like default provider.
+     */
+    public static final SchedulerProvider VIRTUAL_THREAD_PROVIDER = newProvider(true);
+
+    private static SchedulerProvider newProvider(boolean useVirtualThreads) {
+        final boolean virtualThreads = useVirtualThreads && VirtualThreadFactory.isAvailable();
+        return new SchedulerProvider() {
+            @Override
+            public DynamicSizedSchedulerInterface getScheduler(int minimumThreads) {
+                return new DynamicSizedSchedulerImpl(minimumThreads, threadFactory());
+            }
+
+            @Override
+            public ScheduledThreadPoolExecutor getFixedSizeScheduler(int minimumThreads) {
+                return new FixedSizedSchedulerImpl(minimumThreads, threadFactory());
+            }
+
+            @Override
+            public ScheduledThreadPoolExecutor getTimeoutScheduler() {
+                ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1, threadFactory());
+                timeoutScheduler.setRemoveOnCancelPolicy(true);
+                return timeoutScheduler;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public ThreadPoolExecutor getBulkScheduler() {
+                if (virtualThreads) {
+                    //virtual threads are cheap : a new thread by task, without limit
+                    return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                            threadFactory());
+                }
+                return new ThreadPoolExecutor(5, 100, 1, TimeUnit.MINUTES, new SynchronousQueue<Runnable>(), threadFactory());
+            }
+
+            private ThreadFactory threadFactory() {
+                return virtualThreads ? VirtualThreadFactory.getFactory() : new MariaDbThreadFactory();
+            }
+        };
+    }
 
     private static volatile SchedulerProvider currentProvider = null;
+    private static volatile ProviderTimer providerTimer = null;
 
     /**
      * Change the current set scheduler provider.  This provider will be provided in future requests
      * to {@link #getSchedulerProvider()}.
+     * Timeout timer of previous provider is shut down once its pending timeouts are done.
      *
      * @param newProvider New provider to use, or {@code null} to use the default provider
      */
     public static void setSchedulerProvider(SchedulerProvider newProvider) {
-        currentProvider = newProvider;
+        synchronized (SchedulerServiceProviderHolder.class) {
+            currentProvider = newProvider;
+            ProviderTimer current = providerTimer;
+            if (current != null && current.provider != getSchedulerProvider()) {
+                providerTimer = null;
+                current.timer.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Get the shared query timeout timer of current provider : timer loop runs on provider timeout scheduler, and
+     * expired tasks on provider bulk scheduler. Timer is created on first use, and shut down with its schedulers
+     * when provider is changed.
+     *
+     * @return timeout timer
+     */
+    public static HashedWheelTimer getTimeoutTimer() {
+        ProviderTimer current = providerTimer;
+        SchedulerProvider provider = getSchedulerProvider();
+        if (current != null && current.provider == provider) return current.timer;
+        synchronized (SchedulerServiceProviderHolder.class) {
+            provider = getSchedulerProvider();
+            current = providerTimer;
+            if (current == null || current.provider != provider) {
+                if (current != null) current.timer.shutdown();
+                current = new ProviderTimer(provider, new HashedWheelTimer(100, TimeUnit.MILLISECONDS, 512,
+                        provider.getTimeoutScheduler(), provider.getBulkScheduler()));
+                providerTimer = current;
+            }
+            return current.timer;
+        }
     }
 
     /**
@@ -147,6 +202,16 @@ public class SchedulerServiceProviderHolder {
         return getSchedulerProvider().getBulkScheduler();
     }
 
+    private static final class ProviderTimer {
+        private final SchedulerProvider provider;
+        private final HashedWheelTimer timer;
+
+        ProviderTimer(SchedulerProvider provider, HashedWheelTimer timer) {
+            this.provider = provider;
+            this.timer = timer;
+        }
+    }
+
     /**
      * <p>Provider for thread pools which allow scheduling capabilities.  It is expected that the
      * thread pools entire lifecycle (start to stop) is done through the same provider instance.</p>
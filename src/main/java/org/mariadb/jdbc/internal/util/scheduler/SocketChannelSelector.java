@@ -0,0 +1,203 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012-2014 Monty Program Ab.
+Copyright (c) 2012-2016 MariaDB Corporation AB
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import org.mariadb.jdbc.internal.logging.Logger;
+import org.mariadb.jdbc.internal.logging.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Single thread waiting for server data on connections socket channels.
+ * An asynchronous execution registers its channel once command is send, and result reading task is only given to
+ * executor when data is available, so no thread is blocked while server is processing command.
+ * Channel is in non-blocking mode only while registered, and set back to blocking mode before task is run.
+ * Selector thread is started on first registration, and stops (closing selector) once no channel has been registered
+ * for IDLE_TIMEOUT milliseconds.
+ */
+public class SocketChannelSelector implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(SocketChannelSelector.class);
+    private static final long IDLE_TIMEOUT = 60000;
+    private static SocketChannelSelector instance;
+    //used when task executor has no thread available, so that selector thread never reads results.
+    //Daemon threads, that are stopped after 60s without task.
+    private static final ExecutorService fallbackExecutor = Executors.newCachedThreadPool(new MariaDbThreadFactory());
+
+    private final Selector selector;
+    private final Queue<Registration> registrations = new ConcurrentLinkedQueue<>();
+
+    private SocketChannelSelector() throws IOException {
+        selector = Selector.open();
+    }
+
+    /**
+     * Run task using executor when channel has data to read.
+     * Selector thread is started if not running.
+     *
+     * @param channel  connection channel
+     * @param task     task that will read data
+     * @param executor executor
+     * @throws IOException if channel blocking mode cannot be changed or selector cannot be opened
+     */
+    public static void register(SocketChannel channel, Runnable task, Executor executor) throws IOException {
+        synchronized (SocketChannelSelector.class) {
+            if (instance == null) {
+                SocketChannelSelector selectorThread = new SocketChannelSelector();
+                Thread thread = new MariaDbThreadFactory().newThread(selectorThread);
+                thread.setName("mariaDb-socket-selector");
+                thread.start();
+                instance = selectorThread;
+            }
+            channel.configureBlocking(false);
+            instance.registrations.add(new Registration(channel, task, executor));
+            instance.selector.wakeup();
+        }
+    }
+
+    /**
+     * Stop selector if no channel is registered nor waiting for registration.
+     *
+     * @return true if selector has been stopped
+     */
+    private boolean stopIfIdle() {
+        synchronized (SocketChannelSelector.class) {
+            if (!registrations.isEmpty() || !selector.keys().isEmpty()) return false;
+            instance = null;
+        }
+        try {
+            selector.close();
+        } catch (IOException ioException) {
+            //eat exception
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        List<Registration> ready = new ArrayList<>();
+        while (true) {
+            try {
+                if (selector.select(IDLE_TIMEOUT) == 0 && registrations.isEmpty() && selector.keys().isEmpty()
+                        && stopIfIdle()) {
+                    return;
+                }
+
+                Registration registration;
+                while ((registration = registrations.poll()) != null) {
+                    try {
+                        registration.channel.register(selector, SelectionKey.OP_READ, registration);
+                    } catch (ClosedChannelException closedException) {
+                        //task will report connection error
+                        ready.add(registration);
+                    }
+                }
+
+                //channel must be deregistered before going back to blocking mode,
+                //and cancelled keys are only deregistered on next selection.
+                while (!selector.selectedKeys().isEmpty()) {
+                    Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                    while (iterator.hasNext()) {
+                        SelectionKey key = iterator.next();
+                        iterator.remove();
+                        key.cancel();
+                        ready.add((Registration) key.attachment());
+                    }
+                    selector.selectNow();
+                }
+
+                for (Registration readyRegistration : ready) {
+                    readyRegistration.start();
+                }
+                ready.clear();
+            } catch (Throwable throwable) {
+                logger.error("Socket channel selector error", throwable);
+            }
+        }
+    }
+
+    private static class Registration {
+        private final SocketChannel channel;
+        private final Runnable task;
+        private final Executor executor;
+
+        Registration(SocketChannel channel, Runnable task, Executor executor) {
+            this.channel = channel;
+            this.task = task;
+            this.executor = executor;
+        }
+
+        void start() {
+            try {
+                if (channel.isOpen()) channel.configureBlocking(true);
+            } catch (IOException ioException) {
+                //task will report connection error
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException rejectedException) {
+                fallbackExecutor.execute(task);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class AsyncExecuteTest extends BaseTest {
+
+    /**
+     * Tables initialisation.
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("asyncExecuteTest", "id int not null primary key auto_increment, test varchar(100)");
+    }
+
+    @Test
+    public void asyncExecute() throws Exception {
+        checkAsyncExecute("&useSocketChannel=false");
+    }
+
+    @Test
+    public void asyncExecuteSocketChannel() throws Exception {
+        checkAsyncExecute("&useSocketChannel=true");
+    }
+
+    private void checkAsyncExecute(String parameters) throws Exception {
+        try (Connection connection = setConnection(parameters)) {
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            Future<Boolean> future = stmt.executeAsync("SELECT SLEEP(0.1), 'async'");
+            assertFalse(future.cancel(true));
+            assertTrue(future.get());
+            ResultSet rs = stmt.getResultSet();
+            assertTrue(rs.next());
+            assertEquals("async", rs.getString(2));
+
+            future = stmt.executeAsync("INSERT INTO asyncExecuteTest (test) VALUES ('a'), ('b')");
+            assertFalse(future.get());
+            assertEquals(2, stmt.getUpdateCount());
+
+            //connection commands wait for async result
+            future = stmt.executeAsync("SELECT SLEEP(0.1)");
+            Statement otherStmt = connection.createStatement();
+            rs = otherStmt.executeQuery("SELECT 'other'");
+            assertTrue(future.isDone());
+            assertTrue(rs.next());
+            assertEquals("other", rs.getString(1));
+        }
+    }
+
+    @Test
+    public void asyncExecuteError() throws Exception {
+        try (Connection connection = setConnection("&useSocketChannel=true")) {
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            Future<Boolean> future = stmt.executeAsync("SELECT * FROM asyncUnknownTable");
+            try {
+                future.get();
+                fail("Must have thrown error");
+            } catch (ExecutionException executionException) {
+                assertTrue(executionException.getCause() instanceof SQLException);
+                assertTrue(executionException.getCause().getMessage().contains("asyncUnknownTable"));
+            }
+            //connection still usable
+            assertTrue(stmt.execute("SELECT 1"));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void asyncExecuteConnectionError() throws Exception {
+        checkAsyncConnectionError("&useSocketChannel=false");
+        checkAsyncConnectionError("&useSocketChannel=true");
+    }
+
+    private void checkAsyncConnectionError(String parameters) throws Exception {
+        try (Connection connection = setConnection(parameters)) {
+            long threadId = ((MariaDbConnection) connection).getServerThreadId();
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            Future<Boolean> future = stmt.executeAsync("SELECT SLEEP(5)");
+            sharedConnection.createStatement().execute("KILL " + threadId);
+            //waits for async result with connection lock, while reader handles connection error
+            try {
+                connection.createStatement().execute("SELECT 1");
+                fail("Must have thrown error");
+            } catch (SQLException sqle) {
+                //expected
+            }
+            try {
+                future.get();
+                fail("Must have thrown error");
+            } catch (ExecutionException executionException) {
+                assertTrue(executionException.getCause() instanceof SQLException);
+            }
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void asyncExecuteWaitTimeout() throws Exception {
+        try (Connection connection = setConnection("&useSocketChannel=true&socketTimeout=500")) {
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            Future<Boolean> future = stmt.executeAsync("SELECT SLEEP(3)");
+            try {
+                connection.createStatement().execute("SELECT 1");
+                fail("Must have thrown error");
+            } catch (SQLException sqle) {
+                assertTrue(sqle.getMessage().contains("Timeout waiting for asynchronous query result"));
+            }
+            assertTrue(future.isDone());
+            try {
+                future.get();
+                fail("Must have thrown error");
+            } catch (ExecutionException executionException) {
+                assertTrue(executionException.getCause() instanceof SQLException);
+                assertEquals("08000", ((SQLException) executionException.getCause()).getSQLState());
+            }
+            assertTrue(connection.isClosed());
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void asyncExecuteWaitInterrupted() throws Exception {
+        try (Connection connection = setConnection("&useSocketChannel=true")) {
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            Future<Boolean> future = stmt.executeAsync("SELECT SLEEP(1)");
+            Thread.currentThread().interrupt();
+            try {
+                connection.createStatement().execute("SELECT 1");
+                fail("Must have thrown error");
+            } catch (SQLException sqle) {
+                assertTrue(sqle.getMessage().contains("Interrupted waiting for asynchronous query result"));
+            }
+            assertTrue(Thread.interrupted());
+            assertTrue(future.get());
+            //connection still usable once result has been read
+            assertTrue(stmt.execute("SELECT 2"));
+        }
+    }
+
+    @Test
+    public void asyncExecuteMultipleConnections() throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        List<MariaDbStatement> statements = new ArrayList<>();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 10; i++) {
+                Connection connection = setConnection("&useSocketChannel=true");
+                connections.add(connection);
+                MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+                statements.add(stmt);
+                futures.add(stmt.executeAsync("SELECT SLEEP(0.2), " + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertTrue(futures.get(i).get());
+                ResultSet rs = statements.get(i).getResultSet();
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(2));
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class BasicBatchTest extends BaseTest {
         createTable("rewritetest", "id int not null primary key, a varchar(10), b int", "engine=innodb");
         createTable("rewritetest2", "id int not null primary key, a varchar(10), b int", "engine=innodb");
         createTable("bug501452", "id int not null primary key, value varchar(20)");
+        createTable("largeBatch", "id int not null primary key auto_increment, test int");
     }
 
     @Test
@@ -71,6 +72,35 @@ public class BasicBatchTest extends BaseTest {
 
     }
 
+    @Test
+    public void largeBatchGeneratedKeys() throws SQLException {
+        largeBatchGeneratedKeys("&rewriteBatchedStatements=false");
+        largeBatchGeneratedKeys("&rewriteBatchedStatements=true");
+    }
+
+    private void largeBatchGeneratedKeys(String parameters) throws SQLException {
+        try (Connection connection = setConnection(parameters)) {
+            connection.createStatement().execute("TRUNCATE largeBatch");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO largeBatch (test) VALUES (?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < 5000; i++) {
+                ps.setInt(1, i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(5000, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertTrue(updateCount == 1 || updateCount == Statement.SUCCESS_NO_INFO);
+            }
+            ResultSet rs = ps.getGeneratedKeys();
+            for (int i = 1; i <= 5000; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+            }
+            assertFalse(rs.next());
+        }
+    }
+
     @Test
     public void batchTestStmt() throws SQLException {
         Statement stmt = sharedConnection.createStatement();
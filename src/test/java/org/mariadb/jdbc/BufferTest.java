@@ -4,10 +4,16 @@ package org.mariadb.jdbc;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.util.buffer.BufferPool;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.sql.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -17,6 +23,7 @@ public class BufferTest extends BaseTest {
     @BeforeClass()
     public static void initClass() throws SQLException {
         createTable("BufferTest", "test longText");
+        createTable("BufferStreamTest", "id int, test longblob");
     }
 
     static char[] array8m;
@@ -178,6 +185,191 @@ public class BufferTest extends BaseTest {
         }
     }
 
+    @Test
+    public void compressionLevelAndThreshold() throws SQLException {
+        for (String level : new String[]{"0", "1", "9"}) {
+            try (Connection connection = setConnection("&useCompression=true&compressionThreshold=0&compressionLevel="
+                    + level)) {
+                Statement stmt = connection.createStatement();
+                stmt.execute("TRUNCATE BufferTest");
+                PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO BufferTest VALUES (?)");
+                for (int size : new int[]{10, 100000, 50, 1000000}) {
+                    preparedStatement.setString(1, new String(array8m, 0, size));
+                    preparedStatement.execute();
+                }
+                ResultSet rs = stmt.executeQuery("SELECT LENGTH(test), test FROM BufferTest");
+                for (int size : new int[]{10, 100000, 50, 1000000}) {
+                    assertTrue(rs.next());
+                    assertEquals(size, rs.getInt(1));
+                    assertEquals(new String(array8m, 0, size), rs.getString(2));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unknownCompressionCodec() throws SQLException {
+        try (Connection connection = setConnection("&useCompression=true&compressionCodec=org.mariadb.UnknownCodec")) {
+            fail("must have thrown exception");
+        } catch (SQLException sqlexception) {
+            assertTrue(sqlexception.getMessage().contains("Could not create compression codec"));
+        }
+        try (Connection connection = setConnection("&useCompression=true&compressionCodec=java.lang.String")) {
+            fail("must have thrown exception");
+        } catch (SQLException sqlexception) {
+            assertTrue(sqlexception.getMessage().contains("Could not create compression codec"));
+        }
+    }
+
+    @Test
+    public void send20mDirectBuffers() throws SQLException {
+        Assume.assumeTrue(checkMaxAllowedPacketMore20m("send20mDirectBuffers"));
+        sendSqlData("&useSocketChannel=true&useDirectBuffers=true", array20m);
+        sendByteBufferData("&useSocketChannel=true&useDirectBuffers=true", array20m);
+    }
+
+    @Test
+    public void directBuffersRewriteBatch() throws SQLException {
+        try (Connection connection = setConnection("&useSocketChannel=true&useDirectBuffers=true"
+                + "&rewriteBatchedStatements=true")) {
+            Statement stmt = connection.createStatement();
+            stmt.execute("TRUNCATE BufferTest");
+            PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO BufferTest VALUES (?)");
+            for (int i = 0; i < 20000; i++) {
+                preparedStatement.setString(1, i + "'é中🎤" + new String(array8m, 0, i % 100));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            ResultSet rs = stmt.executeQuery("SELECT COUNT(*), SUM(CHAR_LENGTH(test)) FROM BufferTest "
+                    + "WHERE test LIKE '%''é中🎤%'");
+            assertTrue(rs.next());
+            assertEquals(20000, rs.getInt(1));
+            long expectedLength = 0;
+            for (int i = 0; i < 20000; i++) expectedLength += String.valueOf(i).length() + 4 + i % 100;
+            assertEquals(expectedLength, rs.getLong(2));
+        }
+    }
+
+    @Test
+    public void pooledBuffersReused() throws SQLException {
+        char[] arr = new char[1000000];
+        System.arraycopy(array8m, 0, arr, 0, arr.length);
+        sendByteBufferData("", arr);
+        BufferPool.Stats stats = BufferPool.getStats();
+        Assume.assumeTrue("buffer pool disabled", stats.getPooledBytes() > 0);
+
+        sendByteBufferData("", arr);
+        BufferPool.Stats newStats = BufferPool.getStats();
+        assertTrue(newStats.getBorrowed() > stats.getBorrowed());
+        assertEquals(stats.getAllocated(), newStats.getAllocated());
+    }
+
+    @Test
+    public void streamLargeValue() throws Exception {
+        Assume.assumeTrue(checkMaxAllowedPacketMore20m("streamLargeValue"));
+        insertStreamData();
+        for (String options : new String[] {"", "&useServerPrepStmts=true", "&useCompression=true"}) {
+            try (Connection connection = setConnection(options)) {
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        "SELECT id, test FROM BufferStreamTest WHERE id > ? ORDER BY id");
+                preparedStatement.setFetchSize(10);
+                preparedStatement.setInt(1, 0);
+                ResultSet rs = preparedStatement.executeQuery();
+
+                //value read from socket
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+                InputStream is = rs.getBinaryStream(2);
+                checkStream(is, 20000000);
+                try {
+                    rs.getBytes(2);
+                    fail("value has already been streamed");
+                } catch (SQLException sqle) {
+                    assertTrue(sqle.getMessage().contains("already been read as a stream"));
+                }
+
+                //small row
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+                assertEquals("small", rs.getString(2));
+
+                //value not read, skipped
+                assertTrue(rs.next());
+                assertEquals(3, rs.getInt(1));
+                rs.getBinaryStream(2).read(new byte[1000]);
+
+                //value read as usual
+                assertTrue(rs.next());
+                assertEquals(4, rs.getInt(1));
+                byte[] value = rs.getBytes(2);
+                assertEquals(20000000, value.length);
+                checkStream(new ByteArrayInputStream(value), 20000000);
+
+                assertTrue(rs.next());
+                assertEquals(5, rs.getInt(1));
+                Reader reader = rs.getCharacterStream(2);
+                assertEquals('0', reader.read());
+                assertEquals('1', reader.read());
+
+                //other query while value hasn't been completely read
+                Statement stmt = connection.createStatement();
+                ResultSet rs2 = stmt.executeQuery("SELECT COUNT(*) FROM BufferStreamTest");
+                assertTrue(rs2.next());
+                assertEquals(6, rs2.getInt(1));
+
+                assertTrue(rs.next());
+                assertEquals(6, rs.getInt(1));
+                assertEquals(20000000, rs.getString(2).length());
+                assertFalse(rs.next());
+            }
+        }
+    }
+
+    @Test
+    public void streamLargeValueClose() throws Exception {
+        Assume.assumeTrue(checkMaxAllowedPacketMore20m("streamLargeValueClose"));
+        insertStreamData();
+        try (Connection connection = setConnection()) {
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(1);
+            ResultSet rs = stmt.executeQuery("SELECT id, test FROM BufferStreamTest ORDER BY id");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            rs.getBinaryStream(2).read();
+            rs.close();
+
+            rs = stmt.executeQuery("SELECT test, id FROM BufferStreamTest WHERE id = 1");
+            assertTrue(rs.next());
+            assertEquals(20000000, rs.getBytes(1).length);
+            assertEquals(1, rs.getInt(2));
+        }
+    }
+
+    private void insertStreamData() throws SQLException {
+        Statement stmt = sharedConnection.createStatement();
+        stmt.execute("TRUNCATE BufferStreamTest");
+        PreparedStatement preparedStatement = sharedConnection.prepareStatement("INSERT INTO BufferStreamTest VALUES (?, ?)");
+        String value = new String(array20m);
+        for (int i = 1; i <= 6; i++) {
+            preparedStatement.setInt(1, i);
+            preparedStatement.setString(2, i == 2 ? "small" : value);
+            preparedStatement.execute();
+        }
+    }
+
+    private void checkStream(InputStream is, int length) throws IOException {
+        byte[] buf = new byte[65536];
+        int read = 0;
+        int count;
+        while ((count = is.read(buf)) > 0) {
+            for (int i = 0; i < count; i++) {
+                assertEquals(0x30 + ((read + i) % 10), buf[i]);
+            }
+            read += count;
+        }
+        assertEquals(length, read);
+    }
+
     /**
      * Insert data using bytebuffer implementation on PacketOutputStream.
      * @param compression use packet compression
@@ -185,7 +377,11 @@ public class BufferTest extends BaseTest {
      * @throws SQLException if anything wrong append
      */
     private void sendByteBufferData(boolean compression, char[] arr) throws SQLException {
-        try (Connection connection = setConnection("&useCompression=" + compression)) {
+        sendByteBufferData("&useCompression=" + compression, arr);
+    }
+
+    private void sendByteBufferData(String connectionOptions, char[] arr) throws SQLException {
+        try (Connection connection = setConnection(connectionOptions)) {
             Statement stmt = connection.createStatement();
             stmt.execute("TRUNCATE BufferTest");
             PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO BufferTest VALUES (?)");
@@ -202,7 +398,11 @@ public class BufferTest extends BaseTest {
      * @throws SQLException if anything wrong append
      */
     private void sendSqlData(boolean compression, char[] arr) throws SQLException {
-        try (Connection connection = setConnection("&useCompression=" + compression)) {
+        sendSqlData("&useCompression=" + compression, arr);
+    }
+
+    private void sendSqlData(String connectionOptions, char[] arr) throws SQLException {
+        try (Connection connection = setConnection(connectionOptions)) {
             Statement stmt = connection.createStatement();
             stmt.execute("TRUNCATE BufferTest");
             stmt.execute("INSERT INTO BufferTest VALUES ('" + new String(arr) + "')");
@@ -0,0 +1,184 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkLoaderTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     *
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("BulkLoaderTest", "id int, test varchar(100), bin blob, ts timestamp(3) NULL",
+                "CHARSET utf8mb4");
+        createTable("BulkLoaderStreamTest", "id int, test varchar(100)", "CHARSET utf8mb4");
+        createTable("BulkLoaderErrorTest", "id int");
+        try (Statement stmt = sharedConnection.createStatement()) {
+            stmt.execute("CREATE TRIGGER BulkLoaderErrorTrigger BEFORE INSERT ON BulkLoaderErrorTest FOR EACH ROW "
+                    + "BEGIN IF NEW.id = 5 THEN SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'forbidden id'; END IF; END");
+        }
+    }
+
+    private static String text(int id) {
+        return "t\\ab\tc\nd\reé中😀" + id;
+    }
+
+    private static byte[] binary(int id) {
+        return new byte[] {0, (byte) id, '\\', '\t', '\n', (byte) 0xff, (byte) 0x80, 'N'};
+    }
+
+    @Test
+    public void loadRows() throws SQLException {
+        final int rowNumber = 5000;
+        final Timestamp timestamp = Timestamp.valueOf("2016-10-18 10:20:30.123");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < rowNumber; i++) {
+            rows.add(new Object[] {i, text(i), binary(i), i % 2 == 0 ? null : timestamp});
+        }
+
+        MariaDbBulkLoader loader = new MariaDbBulkLoader(new MariaDbDataSource(connUri), "BulkLoaderTest",
+                "id", "test", "bin", "ts")
+                .setConnections(3)
+                .setChunkSize(4096)
+                .setMaxPendingChunks(1);
+        MariaDbBulkLoader.Result result = loader.load(rows.iterator());
+        assertFalse(result.hasErrors());
+        assertEquals(rowNumber, result.getUpdateCount());
+        assertTrue(result.getChunkCount() > 10);
+
+        try (Statement stmt = sharedConnection.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT * FROM BulkLoaderTest ORDER BY id");
+            for (int i = 0; i < rowNumber; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                assertEquals(text(i), rs.getString(2));
+                assertArrayEquals(binary(i), rs.getBytes(3));
+                if (i % 2 == 0) {
+                    assertNull(rs.getTimestamp(4));
+                } else {
+                    assertEquals(timestamp, rs.getTimestamp(4));
+                }
+            }
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void loadStream() throws SQLException {
+        final int rowNumber = 2000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rowNumber; i++) {
+            sb.append(i).append("\tline\\\nbreak\\\\\n");
+        }
+        MariaDbBulkLoader loader = new MariaDbBulkLoader(new MariaDbDataSource(connUri), "BulkLoaderStreamTest")
+                .setConnections(2)
+                .setChunkSize(1000);
+        MariaDbBulkLoader.Result result = loader.load(
+                new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        assertFalse(result.hasErrors());
+        assertEquals(rowNumber, result.getUpdateCount());
+
+        try (Statement stmt = sharedConnection.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT * FROM BulkLoaderStreamTest ORDER BY id");
+            for (int i = 0; i < rowNumber; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                assertEquals("line\nbreak\\", rs.getString(2));
+            }
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void chunkErrors() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new Object[] {i});
+        }
+        //one row by chunk
+        MariaDbBulkLoader loader = new MariaDbBulkLoader(new MariaDbDataSource(connUri), "BulkLoaderErrorTest", "id")
+                .setConnections(2)
+                .setChunkSize(1);
+        MariaDbBulkLoader.Result result = loader.load(rows.iterator());
+        assertEquals(10, result.getChunkCount());
+        assertEquals(9, result.getUpdateCount());
+        assertEquals(1, result.getErrors().size());
+        MariaDbBulkLoader.ChunkError error = result.getErrors().get(0);
+        assertEquals(5, error.getChunkIndex());
+        assertEquals(5, error.getPosition());
+        assertTrue(error.getException().getMessage().contains("forbidden id"));
+
+        try (Connection connection = setConnection()) {
+            ResultSet rs = connection.createStatement().executeQuery("SELECT count(*) FROM BulkLoaderErrorTest");
+            assertTrue(rs.next());
+            assertEquals(9, rs.getInt(1));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void workerFailure() throws SQLException {
+        //connection threads die on an unexpected error
+        MariaDbDataSource dataSource = new MariaDbDataSource(connUri) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                final Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class}, new InvocationHandler() {
+                            @Override
+                            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                                if ("createStatement".equals(method.getName())) {
+                                    throw new IllegalStateException("unexpected");
+                                }
+                                return method.invoke(connection, args);
+                            }
+                        });
+            }
+        };
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new Object[] {i});
+        }
+        MariaDbBulkLoader loader = new MariaDbBulkLoader(dataSource, "BulkLoaderErrorTest", "id")
+                .setConnections(1)
+                .setChunkSize(1)
+                .setMaxPendingChunks(1);
+        try {
+            loader.load(rows.iterator());
+            fail("Must have thrown error");
+        } catch (SQLException sqle) {
+            assertTrue(sqle.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void connectionError() throws SQLException {
+        MariaDbDataSource dataSource = new MariaDbDataSource(connUri);
+        dataSource.setPassword("wrongPassword");
+        dataSource.setUser("wrongUser");
+        new MariaDbBulkLoader(dataSource, "BulkLoaderErrorTest").load(Arrays.<Object[]>asList().iterator());
+    }
+}
@@ -4,13 +4,22 @@ import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.protocol.KillChannel;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class CancelTest extends BaseTest {
 
@@ -56,6 +65,119 @@ public class CancelTest extends BaseTest {
         }
     }
 
+    @Test(expected = SQLTimeoutException.class)
+    public void timeoutSleepWithoutKillChannel() throws Exception {
+        try (Connection connection = setConnection("&useSharedKillChannel=false")) {
+            Statement stmt = connection.createStatement();
+            stmt.setQueryTimeout(1);
+            stmt.execute("select sleep(100)");
+        }
+    }
+
+    @Test
+    public void concurrentTimeoutsShareKillChannel() throws Exception {
+        KillChannel.Stats before = KillChannel.getStats();
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(exec.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        try (Connection connection = setConnection()) {
+                            Statement stmt = connection.createStatement();
+                            stmt.setQueryTimeout(1);
+                            stmt.execute("select sleep(100)");
+                            return false;
+                        } catch (SQLTimeoutException timeout) {
+                            return true;
+                        }
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            exec.shutdown();
+        }
+
+        KillChannel.Stats after = KillChannel.getStats();
+        assertEquals(8, after.getRequested() - before.getRequested());
+        assertEquals(8, after.getSent() - before.getSent());
+        //shared connection is created once, then reused
+        assertTrue(after.getConnections() - before.getConnections() <= 1);
+        assertTrue(after.getMaxLatency() > 0);
+    }
+
+    @Test
+    public void killChannelByOptions() throws Exception {
+        UrlParser urlParser = UrlParser.parse(connUri);
+        HostAddress hostAddress = urlParser.getHostAddresses().get(0);
+        KillChannel channel = KillChannel.get(urlParser, hostAddress);
+        assertTrue(channel == KillChannel.get(UrlParser.parse(connUri), hostAddress));
+
+        //same host and user, but other options : channel connection must not use first connection options
+        UrlParser otherParser = UrlParser.parse(connUri + "&useSsl=true&trustServerCertificate=true");
+        assertTrue(channel != KillChannel.get(otherParser, hostAddress));
+    }
+
+    @Test(timeout = 30000)
+    public void killChannelBatch() throws Exception {
+        //rate of 1 kill by second : kills requested while first one is throttled are sent in one round trip
+        UrlParser urlParser = UrlParser.parse(connUri + "&killChannelMaxRate=1");
+        final KillChannel channel = KillChannel.get(urlParser, urlParser.getHostAddresses().get(0));
+        List<Connection> connections = new ArrayList<>();
+        List<Future<Boolean>> sleeps = new ArrayList<>();
+        final List<Long> threadIds = new ArrayList<>();
+        ExecutorService exec = Executors.newFixedThreadPool(5);
+        try {
+            for (int i = 0; i < 4; i++) {
+                Connection connection = setConnection();
+                connections.add(connection);
+                sleeps.add(connection.createStatement().unwrap(MariaDbStatement.class).executeAsync("SELECT SLEEP(20)"));
+                threadIds.add(((MariaDbConnection) connection).getServerThreadId());
+            }
+            //unknown thread id
+            threadIds.add(999999999L);
+
+            KillChannel.Stats before = KillChannel.getStats();
+            List<Future<Boolean>> kills = new ArrayList<>();
+            for (final Long threadId : threadIds) {
+                kills.add(exec.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        try {
+                            channel.kill(threadId);
+                            return true;
+                        } catch (QueryException queryException) {
+                            return false;
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertTrue(kills.get(i).get());
+                try {
+                    sleeps.get(i).get();
+                } catch (ExecutionException executionException) {
+                    assertTrue(executionException.getCause().getMessage().contains("interrupted"));
+                }
+            }
+            assertFalse(kills.get(4).get());
+
+            KillChannel.Stats after = KillChannel.getStats();
+            assertEquals(4, after.getSent() - before.getSent());
+            assertEquals(1, after.getFailed() - before.getFailed());
+            assertEquals(2, after.getRoundTrips() - before.getRoundTrips());
+        } finally {
+            exec.shutdown();
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
     @Test
     public void noTimeoutSleep() throws Exception {
         Statement stmt = sharedConnection.createStatement();
@@ -23,6 +23,7 @@ public class ConnectionTest extends BaseTest {
     @BeforeClass()
     public static void initClass() throws SQLException {
         createTable("dummy", "a BLOB");
+        createTable("resetConnection", "id int");
     }
 
     /**
@@ -333,4 +334,175 @@ public class ConnectionTest extends BaseTest {
             assertEquals(1, failedProperties.size());
         }
     }
+
+    /**
+     * Session state reflects values set by sessionVariables option, with or without server session tracking.
+     * @throws SQLException if any error occur.
+     */
+    @Test
+    public void sessionStateFromSessionVariables() throws SQLException {
+        String isolationVariable = isMariadbServer() ? "tx_isolation" : "transaction_isolation";
+        try (Connection connection = setConnection("&sessionVariables=auto_increment_increment=5,"
+                + isolationVariable + "='SERIALIZABLE'")) {
+            assertEquals(5, ((MariaDbConnection) connection).getAutoIncrementIncrement());
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+        }
+    }
+
+    /**
+     * Connection getters answer from session state tracked by driver, including changes made by queries.
+     * @throws SQLException if any error occur.
+     */
+    @Test
+    public void sessionStateTracking() throws SQLException {
+        Assume.assumeTrue(isMariadbServer() ? minVersion(10, 2) : minVersion(5, 7));
+        Statement stmt = sharedConnection.createStatement();
+        stmt.execute("CREATE DATABASE IF NOT EXISTS sessionTrackDb");
+        try (Connection connection = setConnection()) {
+            String database = connection.getCatalog();
+            Statement statement = connection.createStatement();
+
+            statement.execute("USE sessionTrackDb");
+            assertEquals("sessionTrackDb", connection.getCatalog());
+            connection.setCatalog(database);
+            assertEquals(database, connection.getCatalog());
+
+            statement.execute("SET SESSION TRANSACTION ISOLATION LEVEL SERIALIZABLE");
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+            connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            assertEquals(Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
+
+            statement.execute("SET SESSION auto_increment_increment=3");
+            assertEquals(3, ((MariaDbConnection) connection).getAutoIncrementIncrement());
+
+            connection.setClientInfo("ClientUser", "trackedUser");
+            assertEquals("trackedUser", connection.getClientInfo("ClientUser"));
+            ResultSet rs = statement.executeQuery("SELECT @ClientUser");
+            assertTrue(rs.next());
+            assertEquals("trackedUser", rs.getString(1));
+        } finally {
+            stmt.execute("DROP DATABASE sessionTrackDb");
+        }
+    }
+
+    @Test
+    public void initializeSession() throws SQLException {
+        Statement stmt = sharedConnection.createStatement();
+        try (Connection connection = setConnection("&createDatabaseIfNotExist=true&jdbcCompliantTruncation=true"
+                + "&sessionVariables=auto_increment_increment=4,sql_mode=CONCAT(@@sql_mode,',ANSI_QUOTES')",
+                "initSessionDb")) {
+            assertEquals("initSessionDb", connection.getCatalog());
+            assertEquals(4, ((MariaDbConnection) connection).getAutoIncrementIncrement());
+            assertTrue(connection.getAutoCommit());
+
+            Statement statement = connection.createStatement();
+            ResultSet rs = statement.executeQuery("SELECT DATABASE(), @@auto_increment_increment, @@sql_mode");
+            assertTrue(rs.next());
+            assertEquals("initSessionDb", rs.getString(1));
+            assertEquals(4, rs.getInt(2));
+            assertTrue(rs.getString(3).contains("STRICT_TRANS_TABLES"));
+            assertTrue(rs.getString(3).contains("ANSI_QUOTES"));
+        } finally {
+            stmt.execute("DROP DATABASE IF EXISTS initSessionDb");
+        }
+    }
+
+    @Test
+    public void resetConnection() throws SQLException {
+        try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+            final String catalog = connection.getCatalog();
+            int isolation = connection.getTransactionIsolation();
+            int newIsolation = isolation == Connection.TRANSACTION_SERIALIZABLE
+                    ? Connection.TRANSACTION_READ_COMMITTED : Connection.TRANSACTION_SERIALIZABLE;
+            PreparedStatement preparedStatement = connection.prepareStatement("SELECT ?");
+            preparedStatement.setInt(1, 1);
+            preparedStatement.executeQuery();
+
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(newIsolation);
+            connection.setReadOnly(true);
+            connection.setClientInfo("ClientUser", "resetUser");
+            Statement stmt = connection.createStatement();
+            stmt.execute("INSERT INTO resetConnection VALUES (1)");
+            connection.setCatalog("mysql");
+
+            ((MariaDbConnection) connection).reset();
+
+            assertTrue(connection.getAutoCommit());
+            assertEquals(isolation, connection.getTransactionIsolation());
+            assertEquals(catalog, connection.getCatalog());
+            assertFalse(connection.isReadOnly());
+            assertNull(connection.getClientInfo("ClientUser"));
+
+            ResultSet rs = stmt.executeQuery("SELECT @@autocommit, database(), @ClientUser");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals(catalog, rs.getString(2));
+            assertNull(rs.getString(3));
+            rs = stmt.executeQuery("SELECT COUNT(*) FROM resetConnection");
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+
+            //prepared statement cached before reset must be prepared again
+            preparedStatement = connection.prepareStatement("SELECT ?");
+            preparedStatement.setInt(1, 2);
+            rs = preparedStatement.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void resetConnectionStatementState() throws SQLException {
+        Assume.assumeTrue(isMariadbServer() ? minVersion(10, 2) : minVersion(5, 7));
+        try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+            PreparedStatement preparedStatement = connection.prepareStatement("SELECT ?");
+            preparedStatement.setInt(1, 1);
+            preparedStatement.executeQuery();
+            Statement stmt = connection.createStatement();
+            stmt.setMaxRows(1);
+            stmt.executeQuery("SELECT 1 UNION ALL SELECT 2");
+
+            ((MariaDbConnection) connection).reset();
+
+            //SQL_SELECT_LIMIT reset by server must be set again
+            ResultSet rs = stmt.executeQuery("SELECT 1 UNION ALL SELECT 2");
+            assertTrue(rs.next());
+            assertFalse(rs.next());
+
+            //server statement released by reset is prepared again
+            preparedStatement.setInt(1, 3);
+            rs = preparedStatement.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(3, rs.getInt(1));
+            preparedStatement.close();
+        }
+    }
+
+    @Test
+    public void skipRedundantSetters() throws SQLException {
+        try (Connection connection = setConnection("&skipRedundantSetters=true")) {
+            Statement stmt = connection.createStatement();
+            int isolation = connection.getTransactionIsolation();
+            String catalog = connection.getCatalog();
+            final long questions = questions(stmt);
+
+            connection.setTransactionIsolation(isolation);
+            connection.setCatalog(catalog);
+            connection.setReadOnly(false);
+            connection.setAutoCommit(true);
+            //only the status query is counted
+            assertEquals(questions + 1, questions(stmt));
+
+            connection.setTransactionIsolation(isolation == Connection.TRANSACTION_SERIALIZABLE
+                    ? Connection.TRANSACTION_READ_COMMITTED : Connection.TRANSACTION_SERIALIZABLE);
+            assertEquals(questions + 3, questions(stmt));
+        }
+    }
+
+    private long questions(Statement stmt) throws SQLException {
+        ResultSet rs = stmt.executeQuery("SHOW SESSION STATUS LIKE 'Questions'");
+        assertTrue(rs.next());
+        return rs.getLong(2);
+    }
 }
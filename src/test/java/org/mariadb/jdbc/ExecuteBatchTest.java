@@ -18,6 +18,8 @@ public class ExecuteBatchTest extends BaseTest {
     public static void initClass() throws SQLException {
         createTable("ExecuteBatchTest", "id int not null primary key auto_increment, test varchar(100) , test2 int");
         createTable("ExecuteBatchUseBatchMultiSend", "test varchar(100)");
+        createTable("ExecuteBatchBulkStmts", "id int not null primary key auto_increment, test varchar(100), test2 bigint, "
+                + "test3 datetime(3)");
     }
 
     static String oneHundredLengthString = "";
@@ -172,4 +174,84 @@ public class ExecuteBatchTest extends BaseTest {
             }
         }
     }
+
+    @Test
+    public void useBulkStmts() throws Exception {
+        Assume.assumeTrue(isMariadbServer() && minVersion(10, 2));
+        sharedConnection.createStatement().execute("TRUNCATE TABLE ExecuteBatchBulkStmts");
+        Timestamp timestamp = Timestamp.valueOf("2016-10-18 10:20:30.123");
+        int[] ids = new int[1000];
+        try (Connection connection = setConnection("&useBulkStmts=true")) {
+            String sql = "insert into ExecuteBatchBulkStmts (test, test2, test3) values (?, ?, ?)";
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < 1000; i++) {
+                    if (i % 3 == 0) {
+                        pstmt.setNull(1, Types.VARCHAR);
+                    } else {
+                        pstmt.setString(1, "test" + i);
+                    }
+                    //type change : parameters are sent in multiple commands
+                    if (i < 500) {
+                        pstmt.setInt(2, i);
+                    } else {
+                        pstmt.setLong(2, i * 10000000000L);
+                    }
+                    pstmt.setTimestamp(3, timestamp);
+                    pstmt.addBatch();
+                }
+                int[] updateCounts = pstmt.executeBatch();
+                Assert.assertEquals(1000, updateCounts.length);
+                for (int i = 0; i < updateCounts.length; i++) {
+                    Assert.assertEquals(Statement.SUCCESS_NO_INFO, updateCounts[i]);
+                }
+                ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                for (int i = 0; i < 1000; i++) {
+                    Assert.assertTrue(generatedKeys.next());
+                    ids[i] = generatedKeys.getInt(1);
+                }
+                Assert.assertFalse(generatedKeys.next());
+            }
+
+            //auto-increment ids may not be contiguous between commands
+            ResultSet rs = connection.createStatement().executeQuery("SELECT * FROM ExecuteBatchBulkStmts ORDER BY id");
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertTrue(rs.next());
+                Assert.assertEquals(ids[i], rs.getInt(1));
+                Assert.assertEquals(i % 3 == 0 ? null : "test" + i, rs.getString(2));
+                Assert.assertEquals(i < 500 ? i : i * 10000000000L, rs.getLong(3));
+                Assert.assertEquals(timestamp, rs.getTimestamp(4));
+            }
+            Assert.assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void useBulkStmtsError() throws Exception {
+        Assume.assumeTrue(isMariadbServer() && minVersion(10, 2));
+        sharedConnection.createStatement().execute("TRUNCATE TABLE ExecuteBatchBulkStmts");
+        try (Connection connection = setConnection("&useBulkStmts=true")) {
+            String sql = "insert into ExecuteBatchBulkStmts (id, test) values (?, ?)";
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (int i = 1; i <= 10; i++) {
+                    pstmt.setInt(1, i == 6 ? 5 : i);
+                    pstmt.setString(2, "test" + i);
+                    pstmt.addBatch();
+                }
+                try {
+                    pstmt.executeBatch();
+                    Assert.fail("must have thrown error on duplicate key");
+                } catch (BatchUpdateException e) {
+                    Assert.assertTrue(e.getMessage().contains("Duplicate entry"));
+                    Assert.assertEquals(10, e.getUpdateCounts().length);
+                    for (int updateCount : e.getUpdateCounts()) {
+                        Assert.assertEquals(Statement.EXECUTE_FAILED, updateCount);
+                    }
+                }
+            }
+            //a bulk command is a single statement : no row is inserted
+            ResultSet rs = connection.createStatement().executeQuery("SELECT count(*) FROM ExecuteBatchBulkStmts");
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(0, rs.getInt(1));
+        }
+    }
 }
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -22,6 +23,8 @@ public class FetchSizeTest extends BaseTest {
         createTable("fetchSizeTest3", "id int, test varchar(100)");
         createTable("fetchSizeTest4", "id int, test varchar(100)");
         createTable("fetchSizeTest5", "id int, test varchar(100)");
+        createTable("fetchSizeTest6", "id int, test varchar(100)");
+        createTable("fetchSizeTest7", "id int, test varchar(100)");
     }
 
     @Test
@@ -135,6 +138,65 @@ public class FetchSizeTest extends BaseTest {
         assertEquals("299", resultSet.getString(1));
     }
 
+    @Test
+    public void fetchSizePrefetchTest() throws SQLException {
+        prepareRecords(1000, "fetchSizeTest6");
+        try (Connection connection = setConnection("&useStreamingPrefetch=true")) {
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(10);
+            ResultSet resultSet = stmt.executeQuery("SELECT test FROM fetchSizeTest6");
+            for (int counter = 0; counter < 1000; counter++) {
+                assertTrue(resultSet.next());
+                assertEquals("" + counter, resultSet.getString(1));
+            }
+            assertFalse(resultSet.next());
+            assertFalse(resultSet.next());
+
+            //executing another query while a background read is pending must load remaining rows
+            resultSet = stmt.executeQuery("SELECT test FROM fetchSizeTest6");
+            for (int counter = 0; counter < 105; counter++) {
+                assertTrue(resultSet.next());
+                assertEquals("" + counter, resultSet.getString(1));
+            }
+            Statement stmt2 = connection.createStatement();
+            ResultSet rs2 = stmt2.executeQuery("SELECT 1");
+            assertTrue(rs2.next());
+            assertEquals(1, rs2.getInt(1));
+            for (int counter = 105; counter < 1000; counter++) {
+                assertTrue(resultSet.next());
+                assertEquals("" + counter, resultSet.getString(1));
+            }
+            assertFalse(resultSet.next());
+
+            //closing while a background read is pending must skip remaining rows
+            resultSet = stmt.executeQuery("SELECT test FROM fetchSizeTest6");
+            for (int counter = 0; counter < 55; counter++) {
+                assertTrue(resultSet.next());
+            }
+            resultSet.close();
+            rs2 = stmt2.executeQuery("SELECT 2");
+            assertTrue(rs2.next());
+            assertEquals(2, rs2.getInt(1));
+        }
+    }
+
+    @Test
+    public void fetchSizePrefetchIsLast() throws SQLException {
+        prepareRecords(25, "fetchSizeTest7");
+        try (Connection connection = setConnection("&useStreamingPrefetch=true")) {
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(10);
+            ResultSet resultSet = stmt.executeQuery("SELECT test FROM fetchSizeTest7");
+            //isLast waits for rows being read in background, that are still used by next windows
+            for (int counter = 0; counter < 25; counter++) {
+                assertTrue(resultSet.next());
+                assertEquals(counter == 24, resultSet.isLast());
+                assertEquals("" + counter, resultSet.getString(1));
+            }
+            assertFalse(resultSet.next());
+        }
+    }
+
     private void prepareRecords(int recordNumber, String tableName) throws SQLException {
         PreparedStatement pstmt = sharedConnection.prepareStatement("INSERT INTO " + tableName + " (test) values (?)");
         for (int i = 0; i < recordNumber; i++) {
@@ -1,6 +1,7 @@
 package org.mariadb.jdbc;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -172,13 +173,17 @@ public class LocalInfileInputStreamTest extends BaseTest {
     }
 
     private void checkBigLocalInfile(int fileSize) throws Exception {
+        checkBigLocalInfile(sharedConnection, fileSize, true);
+    }
+
+    private void checkBigLocalInfile(Connection connection, int fileSize, boolean buffered) throws Exception {
         int recordNumber = fileSize / 8;
 
-        try (Statement statement = sharedConnection.createStatement()) {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("truncate `infile`");
             File file = createTmpData(recordNumber);
 
-            try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+            try (InputStream is = buffered ? new BufferedInputStream(new FileInputStream(file)) : new FileInputStream(file)) {
                 MariaDbStatement stmt = statement.unwrap(MariaDbStatement.class);
                 stmt.setLocalInfileInputStream(is);
                 int insertNumber = stmt.executeUpdate("LOAD DATA LOCAL INFILE 'ignoredFileName' "
@@ -225,4 +230,62 @@ public class LocalInfileInputStreamTest extends BaseTest {
         checkBigLocalInfile(maxAllowedPacket * 2);
     }
 
+    @Test
+    public void testFileTransferLocalInfile() throws Exception {
+        try (Connection connection = setConnection("&useSocketChannel=true")) {
+            checkBigLocalInfile(connection, 256, false);
+            checkBigLocalInfile(connection, 16777216 * 2, false);
+        }
+        //compressed protocol : file is read in buffer
+        try (Connection connection = setConnection("&useSocketChannel=true&useCompression=true")) {
+            checkBigLocalInfile(connection, 16777216 * 2, false);
+        }
+    }
+
+    /**
+     * A named pipe reports no size : data must be read until end of stream, and not transferred up to file size.
+     *
+     * @throws Exception if error occurs
+     */
+    @Test
+    public void testPipeLocalInfile() throws Exception {
+        final File fifo = new File(System.getProperty("java.io.tmpdir"), "localInfilePipe" + System.nanoTime());
+        Process mkfifo;
+        try {
+            mkfifo = new ProcessBuilder("mkfifo", fifo.getAbsolutePath()).start();
+        } catch (IOException ioException) {
+            mkfifo = null;
+        }
+        Assume.assumeTrue(mkfifo != null && mkfifo.waitFor() == 0);
+        final int recordNumber = 10000;
+        Thread writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try (BufferedWriter writer = new BufferedWriter(new FileWriter(fifo))) {
+                    for (int i = 0; i < recordNumber; i++) {
+                        writer.write("\"a\",\"b\"\n");
+                    }
+                } catch (IOException ioException) {
+                    throw new RuntimeException(ioException);
+                }
+            }
+        });
+        writerThread.start();
+        try (Connection connection = setConnection("&useSocketChannel=true");
+             InputStream is = new FileInputStream(fifo)) {
+            Statement statement = connection.createStatement();
+            statement.execute("truncate `infile`");
+            MariaDbStatement stmt = statement.unwrap(MariaDbStatement.class);
+            stmt.setLocalInfileInputStream(is);
+            int insertNumber = stmt.executeUpdate("LOAD DATA LOCAL INFILE 'ignoredFileName' "
+                    + "INTO TABLE `infile` "
+                    + "COLUMNS TERMINATED BY ',' ENCLOSED BY '\\\"' ESCAPED BY '\\\\' "
+                    + "LINES TERMINATED BY '\\n' (`a`, `b`)");
+            assertEquals(recordNumber, insertNumber);
+        } finally {
+            writerThread.join();
+            fifo.delete();
+        }
+    }
+
 }
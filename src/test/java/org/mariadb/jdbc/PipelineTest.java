@@ -0,0 +1,109 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class PipelineTest extends BaseTest {
+
+    /**
+     * Tables initialisation.
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("pipelineTest1", "id int not null primary key, test varchar(100)");
+        createTable("pipelineTest2", "id int not null primary key, test varchar(100)");
+        createTable("pipelineTest3", "id int not null primary key, test varchar(100)");
+    }
+
+    @Test
+    public void mixedCommands() throws SQLException {
+        checkMixedCommands(sharedConnection, "pipelineTest1");
+    }
+
+    @Test
+    public void mixedCommandsServerPrepare() throws SQLException {
+        try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+            checkMixedCommands(connection, "pipelineTest2");
+        }
+    }
+
+    private void checkMixedCommands(Connection connection, String table) throws SQLException {
+        PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?)");
+        MariaDbPipeline pipeline = ((MariaDbConnection) connection).pipeline();
+        pipeline.add("INSERT INTO " + table + " VALUES (1, 'a'), (2, 'b')");
+        for (int i = 3; i < 6; i++) {
+            preparedStatement.setInt(1, i);
+            preparedStatement.setString(2, "val" + i);
+            pipeline.add(preparedStatement);
+        }
+        pipeline.add("SELECT 'pipeline?'");
+        pipeline.add("SELECT id, test FROM " + table + " ORDER BY id");
+        assertEquals(6, pipeline.size());
+
+        assertArrayEquals(new int[]{2, 1, 1, 1, -1, -1}, pipeline.execute());
+        assertEquals(0, pipeline.size());
+
+        ResultSet rs = pipeline.getResultSet(4);
+        assertTrue(rs.next());
+        assertEquals("pipeline?", rs.getString(1));
+
+        rs = pipeline.getResultSet(5);
+        for (int i = 1; i < 6; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getInt(1));
+        }
+        assertEquals("val5", rs.getString(2));
+        assertFalse(rs.next());
+        assertNull(pipeline.getResultSet(0));
+        pipeline.close();
+    }
+
+    @Test
+    public void errorInPipeline() throws SQLException {
+        MariaDbPipeline pipeline = ((MariaDbConnection) sharedConnection).pipeline()
+                .add("INSERT INTO pipelineTest3 VALUES (1, 'a')")
+                .add("INSERT INTO pipelineTest3 VALUES (1, 'duplicate')")
+                .add("INSERT INTO pipelineTest3 VALUES (2, 'b')")
+                .add("SELECT count(*) FROM pipelineTest3");
+        try {
+            pipeline.execute();
+            fail("Must have thrown error");
+        } catch (SQLException sqle) {
+            assertTrue(sqle.getMessage().contains("Duplicate entry"));
+        }
+
+        //following commands have been executed
+        assertArrayEquals(new int[]{1, Statement.EXECUTE_FAILED, 1, -1}, pipeline.getUpdateCounts());
+        ResultSet rs = pipeline.getResultSet(3);
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+
+        //connection is still usable
+        assertArrayEquals(new int[]{-1}, pipeline.add("SELECT 1").execute());
+    }
+
+    @Test
+    public void missingParameter() throws SQLException {
+        PreparedStatement preparedStatement = sharedConnection.prepareStatement("SELECT ?, ?");
+        preparedStatement.setInt(1, 1);
+        try {
+            ((MariaDbConnection) sharedConnection).pipeline().add(preparedStatement);
+            fail("Must have thrown error");
+        } catch (SQLException sqle) {
+            //normal exception
+        }
+    }
+
+    @Test
+    public void emptyPipeline() throws SQLException {
+        assertEquals(0, ((MariaDbConnection) sharedConnection).pipeline().execute().length);
+    }
+}
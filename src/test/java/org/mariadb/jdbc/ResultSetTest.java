@@ -4,9 +4,11 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 
 import static org.junit.Assert.*;
 
@@ -18,6 +20,7 @@ public class ResultSetTest extends BaseTest {
     @BeforeClass()
     public static void initClass() throws SQLException {
         createTable("result_set_test", "id int not null primary key auto_increment, name char(20)");
+        createTable("result_set_lengths", "id int, s1 varchar(10), s2 text, s3 mediumtext, d datetime");
     }
 
     @Test
@@ -269,6 +272,84 @@ public class ResultSetTest extends BaseTest {
         }
     }
 
+    @Test
+    public void columnLengthEncodingTest() throws SQLException {
+        Statement stmt = sharedConnection.createStatement();
+        stmt.execute("INSERT INTO result_set_lengths VALUES (1, '', REPEAT('a', 300), REPEAT('b', 70000), null),"
+                + " (2, null, '', null, '2016-01-02 03:04:05')");
+        ResultSet rs = stmt.executeQuery("SELECT * FROM result_set_lengths ORDER BY id");
+        checkColumnLengths(rs);
+
+        PreparedStatement preparedStatement = sharedConnection.prepareStatement(
+                "SELECT * FROM result_set_lengths WHERE id > ? ORDER BY id");
+        preparedStatement.setInt(1, 0);
+        checkColumnLengths(preparedStatement.executeQuery());
+    }
+
+    private void checkColumnLengths(ResultSet rs) throws SQLException {
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        assertEquals("", rs.getString(2));
+        assertFalse(rs.wasNull());
+        assertEquals(300, rs.getString(3).length());
+        assertEquals(70000, rs.getString(4).length());
+        assertEquals('b', rs.getString(4).charAt(69999));
+        assertNull(rs.getTimestamp(5));
+        assertTrue(rs.wasNull());
+        assertEquals(1, rs.getInt(1));
+
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+        assertNull(rs.getString(2));
+        assertTrue(rs.wasNull());
+        assertEquals("", rs.getString(3));
+        assertNull(rs.getBinaryStream(4));
+        assertEquals(Timestamp.valueOf("2016-01-02 03:04:05"), rs.getTimestamp(5));
+        assertFalse(rs.next());
+    }
+
+    @Test
+    public void numericDecodingTest() throws SQLException {
+        String sql = "SELECT 1.000, -15, 123456789012345678, 1234567890123456789, 0.1, -2.5e-3, 1.7976931348623157E308,"
+                + " '1e5', '12.5', '00042', 3000000000, CAST(-1 AS DECIMAL(5,2)), 0.30000000000000004";
+        ResultSet rs = sharedConnection.createStatement().executeQuery(sql);
+        checkNumericDecoding(rs);
+        PreparedStatement preparedStatement = sharedConnection.prepareStatement(sql + " FROM DUAL WHERE 1 = ?");
+        preparedStatement.setInt(1, 1);
+        checkNumericDecoding(preparedStatement.executeQuery());
+    }
+
+    private void checkNumericDecoding(ResultSet rs) throws SQLException {
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        assertEquals(1L, rs.getLong(1));
+        assertEquals(-15, rs.getInt(2));
+        assertEquals(123456789012345678L, rs.getLong(3));
+        assertEquals(1234567890123456789L, rs.getLong(4));
+        try {
+            rs.getInt(4);
+            fail("value is not in Integer range");
+        } catch (SQLException sqle) {
+            assertTrue(sqle.getMessage().contains("Out of range"));
+        }
+        for (int i = 1; i <= 13; i++) {
+            assertEquals(Double.parseDouble(rs.getString(i)), rs.getDouble(i), 0);
+        }
+        assertEquals(0.1d, rs.getDouble(5), 0);
+        assertEquals(-0.0025d, rs.getDouble(6), 0);
+        assertEquals(Double.MAX_VALUE, rs.getDouble(7), 0);
+        assertEquals(100000d, rs.getDouble(8), 0);
+        assertEquals(42, rs.getInt(10));
+        assertEquals(3000000000L, rs.getLong(11));
+        assertEquals(-1, rs.getInt(12));
+        try {
+            rs.getInt(9);
+            fail("12.5 is not an integer");
+        } catch (SQLException sqle) {
+            assertTrue(sqle.getMessage().contains("Out of range"));
+        }
+    }
+
     private void insertRows(int numberOfRowsToInsert) throws SQLException {
         sharedConnection.createStatement().execute("truncate result_set_test ");
         for (int i = 1; i <= numberOfRowsToInsert; i++) {
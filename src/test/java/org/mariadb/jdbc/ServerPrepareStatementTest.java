@@ -5,6 +5,7 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
 
 import java.io.*;
 import java.math.BigDecimal;
@@ -238,6 +239,47 @@ public class ServerPrepareStatementTest extends BaseTest {
         }
     }
 
+    @Test
+    public void prepStmtCacheEviction() throws Throwable {
+        Assume.assumeTrue(sharedOptions().useServerPrepStmts);
+        Connection connection = null;
+        try {
+            connection = setConnection("&prepStmtCacheSize=2");
+            ServerPrepareStatementCache cache = ((MariaDbConnection) connection).getServerPrepareStatementCache();
+            for (int i = 1; i < 3; i++) {
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT " + i);
+                preparedStatement.execute();
+                preparedStatement.close();
+            }
+            assertEquals(2, cache.size());
+            assertEquals(0, cache.getEvictions());
+            long closedStatements = getComStmtClose(connection);
+
+            //evict "SELECT 1" : release is send with next command
+            PreparedStatement preparedStatement = connection.prepareStatement("SELECT 3");
+            assertEquals(1, cache.getEvictions());
+            preparedStatement.execute();
+            preparedStatement.close();
+            assertEquals(closedStatements + 1, getComStmtClose(connection));
+
+            long hits = cache.getHits();
+            preparedStatement = connection.prepareStatement("SELECT 2");
+            preparedStatement.execute();
+            preparedStatement.close();
+            assertEquals(hits + 1, cache.getHits());
+            assertTrue(cache.getMisses() >= 3);
+        } finally {
+            connection.close();
+        }
+    }
+
+    private long getComStmtClose(Connection connection) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_close'");
+        assertTrue(rs.next());
+        return rs.getLong(2);
+    }
+
     /**
      * CONJ-290 : Timestamps format error when using prepareStatement with options useFractionalSeconds and useServerPrepStmts.
      * @throws SQLException exception
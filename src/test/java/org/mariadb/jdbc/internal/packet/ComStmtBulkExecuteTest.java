@@ -0,0 +1,89 @@
+package org.mariadb.jdbc.internal.packet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.parameters.IntParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.LongParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.NullParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.packet.dao.parameters.StringParameter;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ComStmtBulkExecuteTest {
+
+    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private PacketOutputStream writer = new PacketOutputStream(out, false, 1024);
+
+    private int write(List<ParameterHolder[]> parametersList, int fromIndex) throws Exception {
+        out.reset();
+        writer.startPacket(0);
+        int end = ComStmtBulkExecute.writeCmd(7, parametersList, fromIndex, 2, writer);
+        writer.finishPacketWithoutRelease(false);
+        writer.releaseBuffer();
+        return end;
+    }
+
+    @Test
+    public void command() throws Exception {
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        parametersList.add(new ParameterHolder[] {new NullParameter(), new StringParameter("a", false)});
+        parametersList.add(new ParameterHolder[] {new IntParameter(2), new NullParameter()});
+        Assert.assertEquals(2, write(parametersList, 0));
+
+        ByteBuffer packet = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        Assert.assertEquals(packet.limit() - 4, packet.getInt() & 0xffffff);
+        Assert.assertEquals(Packet.COM_STMT_BULK_EXECUTE, packet.get());
+        Assert.assertEquals(7, packet.getInt());
+        Assert.assertEquals(128, packet.getShort());
+        //types of first non-null values
+        Assert.assertEquals(MariaDbType.INTEGER.getType(), packet.getShort());
+        Assert.assertEquals(MariaDbType.VARCHAR.getType(), packet.getShort());
+        //first parameter set : null indicator, then value
+        Assert.assertEquals(1, packet.get());
+        Assert.assertEquals(0, packet.get());
+        Assert.assertEquals(1, packet.get());
+        Assert.assertEquals('a', packet.get());
+        //second parameter set
+        Assert.assertEquals(0, packet.get());
+        Assert.assertEquals(2, packet.getInt());
+        Assert.assertEquals(1, packet.get());
+        Assert.assertFalse(packet.hasRemaining());
+    }
+
+    @Test
+    public void splitOnTypeChange() throws Exception {
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ParameterHolder value = (i < 4) ? new IntParameter(i) : new LongParameter(i);
+            parametersList.add(new ParameterHolder[] {value, new NullParameter()});
+        }
+        Assert.assertEquals(4, write(parametersList, 0));
+        Assert.assertEquals(10, write(parametersList, 4));
+    }
+
+    @Test
+    public void splitOnMaxAllowedPacket() throws Exception {
+        writer.setMaxAllowedPacket(1000);
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) sb.append('a');
+        for (int i = 0; i < 30; i++) {
+            parametersList.add(new ParameterHolder[] {new IntParameter(i), new StringParameter(sb.toString(), false)});
+        }
+        int index = 0;
+        int commands = 0;
+        while (index < parametersList.size()) {
+            index = write(parametersList, index);
+            Assert.assertTrue(out.size() < 1000);
+            commands++;
+        }
+        Assert.assertEquals(5, commands);
+    }
+}
@@ -0,0 +1,89 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompressionEngineTest {
+
+    @Test
+    public void zlibRoundTrip() throws IOException {
+        roundTrip(new ZlibCompressionCodec());
+    }
+
+    @Test
+    public void zstdRoundTrip() throws IOException {
+        roundTrip(new ZstdCompressionCodec());
+    }
+
+    private void roundTrip(CompressionCodec codec) throws IOException {
+        codec.setCompressionLevel(-1);
+        CompressionEngine engine = new CompressionEngine(codec, 100);
+
+        byte[] small = new byte[100];
+        assertEquals(-1, engine.compress(small, 0, small.length));
+
+        byte[] random = new byte[50000];
+        new Random(1).nextBytes(random);
+        assertEquals(-1, engine.compress(random, 0, random.length));
+
+        for (int size : new int[]{1000, 2000000, 500}) {
+            byte[] data = new byte[size + 10];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) ("abcdefghij".charAt(i % 10) + (i / 10000));
+            }
+            int compressedLength = engine.compress(data, 10, size);
+            assertTrue(compressedLength > 0 && compressedLength < size);
+            byte[] compressed = Arrays.copyOf(engine.getCompressedData(), compressedLength);
+
+            byte[] decompressed = engine.decompress(new ByteArrayInputStream(compressed), compressedLength, size);
+            assertArrayEquals(Arrays.copyOfRange(data, 10, size + 10), Arrays.copyOf(decompressed, size));
+        }
+        engine.close();
+    }
+
+    @Test
+    public void closedDuringDecompression() throws IOException {
+        final CompressionEngine engine = new CompressionEngine(new ZlibCompressionCodec(), 0);
+        byte[] data = new byte[1000];
+        final int compressedLength = engine.compress(data, 0, data.length);
+        final byte[] compressed = Arrays.copyOf(engine.getCompressedData(), compressedLength);
+
+        //connection closed while reader waits for compressed data
+        InputStream slowStream = new ByteArrayInputStream(compressed) {
+            @Override
+            public synchronized int read(byte[] bytes, int off, int len) {
+                engine.close();
+                return super.read(bytes, off, len);
+            }
+        };
+        byte[] decompressed = engine.decompress(slowStream, compressedLength, data.length);
+        assertArrayEquals(data, Arrays.copyOf(decompressed, data.length));
+
+        assertEquals(-1, engine.compress(data, 0, data.length));
+        try {
+            engine.decompress(new ByteArrayInputStream(compressed), compressedLength, data.length);
+            fail("Must have thrown error");
+        } catch (IOException ioException) {
+            //expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidLength() throws IOException {
+        CompressionEngine engine = new CompressionEngine(new ZlibCompressionCodec(), 0);
+        byte[] data = new byte[1000];
+        int compressedLength = engine.compress(data, 0, data.length);
+        byte[] compressed = Arrays.copyOf(engine.getCompressedData(), compressedLength);
+        engine.decompress(new ByteArrayInputStream(compressed), compressedLength, 2000);
+    }
+}
@@ -0,0 +1,145 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DirectBufferChainTest {
+
+    private ServerSocketChannel serverChannel;
+    private SocketChannel clientChannel;
+    private SocketChannel acceptedChannel;
+    private ExecutorService executor;
+
+    /**
+     * Local socket channel pair.
+     *
+     * @throws IOException if connection fail
+     */
+    @Before
+    public void connect() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        acceptedChannel = serverChannel.accept();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Close channels.
+     *
+     * @throws IOException if close fail
+     */
+    @After
+    public void close() throws IOException {
+        executor.shutdownNow();
+        clientChannel.close();
+        acceptedChannel.close();
+        serverChannel.close();
+    }
+
+    @Test
+    public void singlePacket() throws Exception {
+        PacketOutputStream writer = directWriter(1024 * 1024);
+        String value = "abc é 中 🎤 ";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) sb.append(value);
+        byte[] expected = sb.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(expected.length > DirectBufferChain.CHUNK_SIZE * 2);
+
+        Future<byte[]> read = readPackets(1, 1024 * 1024);
+        writer.startPacket(0);
+        writer.writeString(sb.toString());
+        writer.finishPacketWithoutRelease(false);
+        assertArrayEquals(expected, read.get());
+    }
+
+    @Test
+    public void multiplePackets() throws Exception {
+        int maxPacketSize = 100000;
+        PacketOutputStream writer = directWriter(maxPacketSize);
+        byte[] data = new byte[350000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+
+        final Future<byte[]> read = readPackets(4, maxPacketSize);
+        writer.startPacket(0, false);
+        writer.write(data, 0, 1000);
+        writer.assureBufferCapacity(DirectBufferChain.CHUNK_SIZE + 1);
+        writer.write(data, 1000, DirectBufferChain.CHUNK_SIZE + 1);
+        writer.write(data, DirectBufferChain.CHUNK_SIZE + 1001, data.length - DirectBufferChain.CHUNK_SIZE - 1001);
+        writer.finishPacketWithoutRelease(false);
+        assertArrayEquals(data, read.get());
+    }
+
+    @Test
+    public void exactMultipleOfPacketSize() throws Exception {
+        int maxPacketSize = 100000;
+        PacketOutputStream writer = directWriter(maxPacketSize);
+        byte[] data = new byte[2 * maxPacketSize];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 7);
+
+        //2 full packets, then an empty one
+        Future<byte[]> read = readPackets(3, maxPacketSize);
+        writer.startPacket(0, false);
+        writer.write(data);
+        writer.finishPacketWithoutRelease(false);
+        assertArrayEquals(data, read.get());
+
+        //chain is reused for next command
+        read = readPackets(1, maxPacketSize);
+        writer.releaseBuffer();
+        writer.startPacket(0, false);
+        writer.write(data, 0, 10);
+        writer.finishPacketWithoutRelease(false);
+        assertEquals(10, read.get().length);
+    }
+
+    private PacketOutputStream directWriter(int maxAllowedPacket) {
+        PacketOutputStream writer = new PacketOutputStream(new SocketChannelOutputStream(clientChannel), false, 1024);
+        writer.setMaxAllowedPacket(maxAllowedPacket);
+        writer.useDirectBuffers();
+        assertTrue(writer.isUsingDirectBuffers());
+        return writer;
+    }
+
+    /**
+     * Read packets, checking sequence and that all packets but last have maximum size.
+     */
+    private Future<byte[]> readPackets(final int packetNumber, final int maxPacketSize) {
+        return executor.submit(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+                DataInputStream in = new DataInputStream(Channels.newInputStream(acceptedChannel));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] header = new byte[4];
+                for (int i = 0; i < packetNumber; i++) {
+                    in.readFully(header);
+                    int length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+                    assertEquals(i, header[3]);
+                    if (i < packetNumber - 1) assertEquals(maxPacketSize, length);
+                    byte[] packet = new byte[length];
+                    in.readFully(packet);
+                    out.write(packet);
+                }
+                return out.toByteArray();
+            }
+        });
+    }
+}
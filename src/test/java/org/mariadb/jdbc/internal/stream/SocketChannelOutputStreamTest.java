@@ -0,0 +1,114 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SocketChannelOutputStreamTest {
+
+    private ServerSocketChannel serverChannel;
+    private SocketChannel clientChannel;
+    private SocketChannel acceptedChannel;
+    private ExecutorService executor;
+
+    /**
+     * Local socket channel pair.
+     *
+     * @throws IOException if connection fail
+     */
+    @Before
+    public void connect() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        acceptedChannel = serverChannel.accept();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Close channels.
+     *
+     * @throws IOException if close fail
+     */
+    @After
+    public void close() throws IOException {
+        executor.shutdownNow();
+        clientChannel.close();
+        acceptedChannel.close();
+        serverChannel.close();
+    }
+
+    @Test
+    public void transferFile() throws Exception {
+        byte[] data = new byte[250000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 13);
+        File file = File.createTempFile("transferFile", ".tmp");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+
+        PacketOutputStream writer = new PacketOutputStream(new SocketChannelOutputStream(clientChannel), false, 1024);
+        writer.setMaxAllowedPacket(100004);
+
+        //packets of 100000 bytes, then end of file empty packet
+        Future<byte[]> read = readPackets(new int[] {100000, 100000, 50000, 0}, 2);
+        try (InputStream is = new FileInputStream(file)) {
+            writer.sendFile(is, 2);
+        }
+        assertArrayEquals(data, read.get());
+
+        //file read from current position
+        read = readPackets(new int[] {100000, 49990, 0}, 0);
+        try (FileInputStream is = new FileInputStream(file)) {
+            is.skip(100010);
+            writer.sendFile(is, 0);
+        }
+        byte[] expected = new byte[data.length - 100010];
+        System.arraycopy(data, 100010, expected, 0, expected.length);
+        assertArrayEquals(expected, read.get());
+    }
+
+    /**
+     * Read packets, checking sequence and lengths.
+     */
+    private Future<byte[]> readPackets(final int[] lengths, final int firstSeq) {
+        return executor.submit(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+                DataInputStream in = new DataInputStream(Channels.newInputStream(acceptedChannel));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] header = new byte[4];
+                for (int i = 0; i < lengths.length; i++) {
+                    in.readFully(header);
+                    int length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+                    assertEquals(firstSeq + i, header[3]);
+                    assertEquals(lengths[i], length);
+                    byte[] packet = new byte[length];
+                    in.readFully(packet);
+                    out.write(packet);
+                }
+                return out.toByteArray();
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Utf8EncoderTest {
+
+    private static final String[] SAMPLES = new String[]{
+        "",
+        "abcdefghij 0123456789",
+        "éèàçù ñ ß",
+        "中文 日本語 한국어",
+        "emoji 😀 🎉 end",
+        "mixed a é 中 😀 z"
+    };
+
+    @Test
+    public void encodeAsStringGetBytes() {
+        for (String sample : SAMPLES) {
+            byte[] expected = sample.getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, encode(sample, false, false));
+            assertEquals(expected.length, Utf8Encoder.encodedLength(sample, false, false));
+        }
+    }
+
+    @Test
+    public void encodeWithOffset() {
+        String sample = "a é 中 😀";
+        byte[] arr = new byte[5 + sample.length() * 3];
+        int position = Utf8Encoder.encode(sample, arr, 5, false, false);
+        byte[] expected = sample.getBytes(StandardCharsets.UTF_8);
+        assertEquals(5 + expected.length, position);
+        assertArrayEquals(expected, Arrays.copyOfRange(arr, 5, position));
+    }
+
+    @Test
+    public void invalidSurrogates() {
+        assertArrayEquals(new byte[]{'a', 0x63, 'b'}, encode("a\uD83Db", false, false));
+        assertArrayEquals(new byte[]{'a', 0x63, 'b'}, encode("a\uDE00b", false, false));
+        assertArrayEquals(new byte[]{'a', 0x63}, encode("a\uD83D", false, false));
+        assertEquals(2, Utf8Encoder.encodedLength("a\uD83D", false, false));
+    }
+
+    @Test
+    public void escapeBackslash() {
+        checkEscape("a'b\\c\"d\u0000e", "a\\'b\\\\c\\\"d\\\u0000e", false);
+        checkEscape("é'中\\\"\u0000", "é\\'中\\\\\\\"\\\u0000", false);
+    }
+
+    @Test
+    public void escapeNoBackslash() {
+        checkEscape("a'b\\c\"d\u0000e", "a''b\\c\"d\u0000e", true);
+        checkEscape("é'中\\'", "é''中\\''", true);
+    }
+
+    private void checkEscape(String value, String expectedString, boolean noBackslashEscapes) {
+        byte[] expected = expectedString.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, encode(value, true, noBackslashEscapes));
+        assertEquals(expected.length, Utf8Encoder.encodedLength(value, true, noBackslashEscapes));
+    }
+
+    private byte[] encode(String value, boolean escape, boolean noBackslashEscapes) {
+        byte[] arr = new byte[value.length() * 3];
+        int position = Utf8Encoder.encode(value, arr, 0, escape, noBackslashEscapes);
+        return Arrays.copyOf(arr, position);
+    }
+}
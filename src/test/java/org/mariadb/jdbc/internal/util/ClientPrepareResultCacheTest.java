@@ -0,0 +1,50 @@
+package org.mariadb.jdbc.internal.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+
+import static org.junit.Assert.*;
+
+public class ClientPrepareResultCacheTest {
+    @After
+    @Before
+    public void cacheReset() {
+        ClientPrepareResultCache.clear();
+    }
+
+    @Test
+    public void sharedResultTest() {
+        String sql = "INSERT INTO t(a, b) VALUES (?, ?)";
+        ClientPrepareResult prepareResult = ClientPrepareResultCache.get(sql, false, false);
+        assertEquals(2, prepareResult.getParamCount());
+        assertSame(prepareResult, ClientPrepareResultCache.get(new String(sql), false, false));
+
+        //escape mode and rewrite mode are part of the key
+        assertNotSame(prepareResult, ClientPrepareResultCache.get(sql, true, false));
+        ClientPrepareResult rewritable = ClientPrepareResultCache.get(sql, false, true);
+        assertNotSame(prepareResult, rewritable);
+        assertTrue(rewritable.isRewriteType());
+        assertEquals(3, ClientPrepareResultCache.size());
+    }
+
+    @Test
+    public void boundedSizeTest() {
+        for (int i = 0; i < ClientPrepareResultCache.MAX_SIZE + 100; i++) {
+            ClientPrepareResultCache.get("SELECT ?, " + i, false, false);
+        }
+        assertEquals(ClientPrepareResultCache.MAX_SIZE, ClientPrepareResultCache.size());
+    }
+
+    @Test
+    public void longQueryNotCachedTest() {
+        StringBuilder sb = new StringBuilder("SELECT ?");
+        while (sb.length() < ClientPrepareResultCache.MAX_SQL_LENGTH) {
+            sb.append(", 1");
+        }
+        String sql = sb.toString();
+        assertNotSame(ClientPrepareResultCache.get(sql, false, false), ClientPrepareResultCache.get(sql, false, false));
+        assertEquals(0, ClientPrepareResultCache.size());
+    }
+}
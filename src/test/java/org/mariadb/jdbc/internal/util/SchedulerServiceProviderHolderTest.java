@@ -2,9 +2,12 @@ package org.mariadb.jdbc.internal.util;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.After;
 import org.junit.Before;
@@ -13,6 +16,7 @@ import org.mariadb.jdbc.internal.util.scheduler.DynamicSizedSchedulerInterface;
 import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder.SchedulerProvider;
+import org.mariadb.jdbc.internal.util.scheduler.VirtualThreadFactory;
 import org.threadly.concurrent.DoNothingRunnable;
 import org.threadly.test.concurrent.TestRunnable;
 
@@ -62,6 +66,34 @@ public class SchedulerServiceProviderHolderTest {
         }
     }
 
+    @Test
+    public void virtualThreadProviderTest() throws Exception {
+        SchedulerServiceProviderHolder.setSchedulerProvider(SchedulerServiceProviderHolder.VIRTUAL_THREAD_PROVIDER);
+        testRunnable(SchedulerServiceProviderHolder.getScheduler(1));
+        testRunnable(SchedulerServiceProviderHolder.getFixedSizeScheduler(1));
+        testRunnable(SchedulerServiceProviderHolder.getTimeoutScheduler());
+
+        ThreadPoolExecutor bulkScheduler = SchedulerServiceProviderHolder.getBulkScheduler();
+        try {
+            FutureTask<Thread> task = new FutureTask<>(new Callable<Thread>() {
+                @Override
+                public Thread call() {
+                    return Thread.currentThread();
+                }
+            });
+            bulkScheduler.execute(task);
+            Thread thread = task.get();
+            if (VirtualThreadFactory.isAvailable()) {
+                assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+                assertEquals(Integer.MAX_VALUE, bulkScheduler.getMaximumPoolSize());
+            } else {
+                assertTrue(thread.isDaemon());
+            }
+        } finally {
+            bulkScheduler.shutdown();
+        }
+    }
+
     @Test
     public void setAndGetProviderTest() {
         SchedulerProvider emptyProvider = new SchedulerProvider() {
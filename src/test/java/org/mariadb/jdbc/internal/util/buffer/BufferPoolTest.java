@@ -0,0 +1,100 @@
+package org.mariadb.jdbc.internal.util.buffer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class BufferPoolTest {
+
+    @Before
+    public void emptyPool() {
+        BufferPool.setLimits(1024 * 1024, 256 * 1024);
+    }
+
+    @After
+    public void restoreLimits() {
+        BufferPool.setLimits(64L * 1024 * 1024, 16 * 1024 * 1024);
+    }
+
+    @Test
+    public void sizeClasses() {
+        Assert.assertEquals(8192, BufferPool.borrow(1).length);
+        Assert.assertEquals(8192, BufferPool.borrow(8192).length);
+        Assert.assertEquals(16384, BufferPool.borrow(8193).length);
+        Assert.assertEquals(262144, BufferPool.borrow(200000).length);
+        //over maximum pooled size : exact length
+        Assert.assertEquals(300000, BufferPool.borrow(300000).length);
+        Assert.assertEquals(65536, BufferPool.borrowDirect(40000).capacity());
+    }
+
+    @Test
+    public void reuse() {
+        byte[] array = BufferPool.borrow(10000);
+        BufferPool.giveBack(array);
+        Assert.assertEquals(16384, BufferPool.getStats().getPooledBytes());
+        Assert.assertSame(array, BufferPool.borrow(12000));
+        Assert.assertNotSame(array, BufferPool.borrow(12000));
+        Assert.assertEquals(0, BufferPool.getStats().getPooledBytes());
+
+        ByteBuffer buffer = BufferPool.borrowDirect(10000);
+        buffer.putInt(1);
+        BufferPool.giveBack(buffer);
+        ByteBuffer reused = BufferPool.borrowDirect(10000);
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.position());
+        Assert.assertEquals(reused.capacity(), reused.limit());
+    }
+
+    @Test
+    public void notPooled() {
+        final long returned = BufferPool.getStats().getReturned();
+        BufferPool.giveBack(new byte[10000]);
+        BufferPool.giveBack(new byte[4096]);
+        BufferPool.giveBack(BufferPool.borrow(300000));
+        BufferPool.giveBack(ByteBuffer.allocate(8192));
+        BufferPool.giveBack((byte[]) null);
+        Assert.assertEquals(returned, BufferPool.getStats().getReturned());
+        Assert.assertEquals(0, BufferPool.getStats().getPooledBytes());
+    }
+
+    @Test
+    public void maxSize() {
+        long discarded = BufferPool.getStats().getDiscarded();
+        for (int i = 0; i < 5; i++) {
+            BufferPool.giveBack(new byte[262144]);
+        }
+        Assert.assertEquals(1024 * 1024, BufferPool.getStats().getPooledBytes());
+        Assert.assertEquals(discarded + 1, BufferPool.getStats().getDiscarded());
+
+        BufferPool.clear();
+        Assert.assertEquals(0, BufferPool.getStats().getPooledBytes());
+    }
+
+    @Test
+    public void closedWriterBufferNotPooled() throws IOException {
+        PacketOutputStream writer = new PacketOutputStream(new ByteArrayOutputStream(), false, 1024);
+        writer.startPacket(0, false);
+        writer.write(new byte[100000]);
+        //close can be called by another thread while buffer is in use
+        writer.close();
+        Assert.assertEquals(0, BufferPool.getStats().getPooledBytes());
+    }
+
+    @Test
+    public void disabled() {
+        BufferPool.setLimits(0, 256 * 1024);
+        long allocated = BufferPool.getStats().getAllocated();
+        byte[] array = BufferPool.borrow(10000);
+        Assert.assertEquals(10000, array.length);
+        BufferPool.giveBack(array);
+        Assert.assertNotSame(array, BufferPool.borrow(10000));
+        Assert.assertEquals(allocated + 2, BufferPool.getStats().getAllocated());
+        Assert.assertEquals(0, BufferPool.getStats().getPooledBytes());
+    }
+}
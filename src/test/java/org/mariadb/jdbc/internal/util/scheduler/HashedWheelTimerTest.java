@@ -0,0 +1,156 @@
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HashedWheelTimerTest {
+
+    private final ExecutorService workerExecutor = Executors.newSingleThreadExecutor(new MariaDbThreadFactory());
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    //small wheel, so that timeouts need many rounds
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8, workerExecutor, executor);
+
+    @After
+    public void shutdown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void expire() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long start = System.nanoTime();
+        final List<Long> elapsed = new ArrayList<>();
+        for (final long delay : new long[] {0, 150, 300}) {
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (elapsed) {
+                        elapsed.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(elapsed.get(1) >= 150);
+        assertTrue(elapsed.get(2) >= 300);
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            timeouts.add(timer.schedule(task, 50 + i % 100, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+            assertFalse(timeouts.get(i).cancel());
+        }
+
+        long end = System.currentTimeMillis() + 5000;
+        while (runs.get() < 500 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        for (int i = 1; i < 1000; i += 2) {
+            assertFalse(timeouts.get(i).cancel());
+            timeouts.get(i).awaitDone();
+        }
+        assertEquals(500, runs.get());
+    }
+
+    @Test
+    public void awaitRunningTask() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger done = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    //eat
+                }
+                done.incrementAndGet();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        timeout.awaitDone();
+        assertEquals(1, done.get());
+    }
+
+    @Test
+    public void shutdownAfterPendingTimeouts() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+        timer.shutdown();
+        try {
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    //never run
+                }
+            }, 10, TimeUnit.MILLISECONDS);
+            fail("must have been rejected");
+        } catch (RejectedExecutionException rejected) {
+            //expected
+        }
+
+        //pending timeout still expires, then timer thread and task executor stop
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(workerExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void providerTimeoutTimer() throws Exception {
+        HashedWheelTimer providerTimer = SchedulerServiceProviderHolder.getTimeoutTimer();
+        assertTrue(providerTimer == SchedulerServiceProviderHolder.getTimeoutTimer());
+        SchedulerServiceProviderHolder.setSchedulerProvider(SchedulerServiceProviderHolder.VIRTUAL_THREAD_PROVIDER);
+        try {
+            //timer of previous provider is shut down
+            try {
+                providerTimer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        //never run
+                    }
+                }, 10, TimeUnit.MILLISECONDS);
+                fail("must have been rejected");
+            } catch (RejectedExecutionException rejected) {
+                //expected
+            }
+            assertTrue(providerTimer != SchedulerServiceProviderHolder.getTimeoutTimer());
+        } finally {
+            SchedulerServiceProviderHolder.setSchedulerProvider(null);
+        }
+    }
+}